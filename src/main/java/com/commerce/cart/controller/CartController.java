@@ -1,6 +1,8 @@
 package com.commerce.cart.controller;
 
 import com.commerce.cart.dto.AddCartRequestDto;
+import com.commerce.cart.dto.AddCartsRequestDto;
+import com.commerce.cart.dto.CartIdsRequestDto;
 import com.commerce.cart.service.CartServiceImpl;
 import com.commerce.global.common.CommonResponse;
 import com.commerce.global.common.dto.PagingCommonRequestDto;
@@ -25,6 +27,16 @@ public class CartController {
         return CommonResponse.setResponse();
     }
 
+    @PostMapping("/v1/carts")
+    public ResponseEntity<?> addCarts(@RequestBody AddCartsRequestDto addCartsRequestDto) {
+        return CommonResponse.setResponse(cartServiceImpl.addCarts(addCartsRequestDto.getCarts()));
+    }
+
+    @PostMapping("/v1/carts/delete")
+    public ResponseEntity<?> deleteCarts(@RequestBody CartIdsRequestDto cartIdsRequestDto) {
+        return CommonResponse.setResponse(cartServiceImpl.deleteCarts(cartIdsRequestDto.getCartIds()));
+    }
+
     @DeleteMapping("/v1/cart/{cartId}")
     public ResponseEntity<?> deleteCart(@PathVariable Long cartId) {
         cartServiceImpl.deleteCart(cartId);
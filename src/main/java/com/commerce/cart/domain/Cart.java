@@ -1,7 +1,6 @@
 package com.commerce.cart.domain;
 
 import com.commerce.global.common.BaseEntity;
-import com.commerce.global.common.exception.BadRequestException;
 import com.commerce.product.domain.Item;
 import com.commerce.product.domain.Option;
 import com.commerce.product.domain.Product;
@@ -14,21 +13,29 @@ import org.hibernate.annotations.DynamicUpdate;
 import javax.persistence.*;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
 
+import static com.commerce.global.common.constants.CommonConstants.ID_ALLOCATION_SIZE;
+import static com.commerce.global.common.constants.CommonConstants.ID_GENERATOR_TABLE;
 import static javax.persistence.FetchType.LAZY;
-import static javax.persistence.GenerationType.IDENTITY;
+import static javax.persistence.GenerationType.TABLE;
 import static lombok.AccessLevel.PROTECTED;
 
 @Getter
 @Entity
 @DynamicUpdate
-@Table(name = "CART")
+@Table(name = "CART", indexes = {
+        @Index(name = "idx_cart_order_id", columnList = "order_id")}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_cart_member_id_item_id_product_id_option_id_activated_key", columnNames = {"member_id", "item_id", "product_id", "option_id", "activated_key"})})
 @NoArgsConstructor(access = PROTECTED)
 public class Cart extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = IDENTITY)
-    @Column(name = "id", insertable = false, updatable = false)
+    @GeneratedValue(strategy = TABLE, generator = "cart_id_generator")
+    @TableGenerator(name = "cart_id_generator", table = ID_GENERATOR_TABLE, pkColumnValue = "CART", allocationSize = ID_ALLOCATION_SIZE)
+    @Column(name = "id", updatable = false)
     private Long id;
 
     @ManyToOne(fetch = LAZY)
@@ -52,6 +59,16 @@ public class Cart extends BaseEntity {
     @Column(name = "item_used_quantity", nullable = false)
     private int itemUsedQuantity;
 
+    @Column(name = "order_id")
+    private Long orderId;
+
+    /**
+     * 활성화된 장바구니는 true, 비활성화된 장바구니는 null
+     * 회원, 아이템, 상품, 옵션별로 활성화된 장바구니가 하나만 있도록 unique key 에 포함하며, 비활성화된 장바구니는 null 이라 여러건이 있어도 중복되지 않는다.
+     */
+    @Column(name = "activated_key")
+    private Boolean activatedKey;
+
     @Builder
     public Cart(Long id, Option option, Product product, Item item, Member member, int userPurchaseQuantity, int itemUsedQuantity) {
         this.id = id;
@@ -61,6 +78,7 @@ public class Cart extends BaseEntity {
         this.member = member;
         this.userPurchaseQuantity = userPurchaseQuantity;
         this.itemUsedQuantity = itemUsedQuantity;
+        this.activatedKey = true;
         this.createdAt = LocalDateTime.now();
     }
 
@@ -70,37 +88,26 @@ public class Cart extends BaseEntity {
      */
     public void updateActivated(Boolean activated) {
         this.activated = activated;
+        this.activatedKey = activated ? true : null;
         this.updatedAt = LocalDateTime.now();
     }
 
     /**
-     * 사용자 구매 수량, 재고 수량 변경
-     * @param userPurchaseQuantity 사용자 구매 수량
-     * @param itemUsedQuantity 재고 수량
+     * 주문한 장바구니 비활성화 (주문이 만료되면 다시 활성화할 수 있도록 주문번호를 남겨둔다)
+     * @param orderId 주문번호
      */
-    public void addQuantity(int userPurchaseQuantity, int itemUsedQuantity) {
-        this.userPurchaseQuantity += userPurchaseQuantity;
-        this.itemUsedQuantity += userPurchaseQuantity * itemUsedQuantity;
-        this.updatedAt = LocalDateTime.now();
-    }
-
-    public static void checkCartsEmpty(List<Cart> carts) {
-        if (carts.size() < 1) {
-            throw new BadRequestException("장바구니에 담긴 상품이 없습니다.");
-        }
+    public void checkout(Long orderId) {
+        this.orderId = orderId;
+        updateActivated(false);
     }
 
     /**
-     * 장바구니에 담긴 상품이 cartIds 에 포함되어 있는지 확인
+     * item id 별 재고 사용 수량 합계 (같은 item 의 장바구니가 여러 건이면 합산)
      * @param carts 장바구니 목록
-     * @param cartIds 장바구니 아이디 목록
      */
-    public static void checkContainCartsByIds(List<Cart> carts, List<Long> cartIds) {
-        for (Cart cart : carts) {
-            if (!cartIds.contains(cart.getId())) {
-                throw new BadRequestException("장바구니에 담긴 상품의 정보가 올바르지 않습니다.");
-            }
-        }
+    public static Map<Long, Integer> sumItemUsedQuantityByItemId(List<Cart> carts) {
+        return carts.stream()
+                .collect(Collectors.groupingBy(cart -> cart.getItem().getId(), TreeMap::new, Collectors.summingInt(Cart::getItemUsedQuantity)));
     }
 
 }
@@ -0,0 +1,14 @@
+package com.commerce.cart.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class AddCartsRequestDto {
+
+    private List<AddCartRequestDto> carts;
+
+}
@@ -0,0 +1,49 @@
+package com.commerce.cart.dto;
+
+import com.commerce.global.common.exception.BadRequestException;
+import com.commerce.product.domain.Item;
+import com.commerce.product.domain.Option;
+import com.commerce.product.domain.Product;
+import lombok.Getter;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * 장바구니에 담을 아이템, 상품, 옵션 (하나의 쿼리로 조회하고, 없는 정보는 null 로 조회된다)
+ */
+@Getter
+public class CartAddTargetDto {
+
+    private final Item item;
+    private final Product product;
+    private final Option option;
+    private final Long itemProductMappingId;
+
+    /**
+     * QueryDSL Projections 용 생성자
+     */
+    public CartAddTargetDto(Item item, Product product, Option option, Long itemProductMappingId) {
+        this.item = item;
+        this.product = product;
+        this.option = option;
+        this.itemProductMappingId = itemProductMappingId;
+    }
+
+    /**
+     * 아이템, 상품, 옵션, 아이템 상품 매핑 정보 존재 체크
+     * @param target 조회 결과 (아이템이 없으면 null)
+     */
+    public static void checkExist(CartAddTargetDto target) {
+        if (ObjectUtils.isEmpty(target) || ObjectUtils.isEmpty(target.item)) {
+            throw new BadRequestException("해당 아이템이 존재하지 않습니다.");
+        }
+        if (ObjectUtils.isEmpty(target.product)) {
+            throw new BadRequestException("해당 상품이 없습니다.");
+        }
+        if (ObjectUtils.isEmpty(target.option)) {
+            throw new BadRequestException("해당 옵션이 존재하지 않습니다.");
+        }
+        if (ObjectUtils.isEmpty(target.itemProductMappingId)) {
+            throw new BadRequestException("해당 아이템과 상품의 매핑 정보가 존재하지 않습니다.");
+        }
+    }
+}
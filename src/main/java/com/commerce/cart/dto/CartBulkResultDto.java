@@ -0,0 +1,41 @@
+package com.commerce.cart.dto;
+
+import lombok.Getter;
+
+/**
+ * 장바구니 일괄 추가, 삭제 결과 (요청 1줄당 1개)
+ */
+@Getter
+public class CartBulkResultDto {
+
+    private static final String SUCCESS_MESSAGE = "success";
+
+    private final int line;
+    private final Long cartId;
+    private final boolean applied;
+    private final String message;
+
+    private CartBulkResultDto(int line, Long cartId, boolean applied, String message) {
+        this.line = line;
+        this.cartId = cartId;
+        this.applied = applied;
+        this.message = message;
+    }
+
+    /**
+     * @param line 요청 순번 (0 부터 시작)
+     * @param cartId 장바구니 아이디
+     */
+    public static CartBulkResultDto success(int line, Long cartId) {
+        return new CartBulkResultDto(line, cartId, true, SUCCESS_MESSAGE);
+    }
+
+    /**
+     * @param line 요청 순번 (0 부터 시작)
+     * @param cartId 장바구니 아이디 (추가에 실패한 경우 null)
+     * @param message 실패 사유
+     */
+    public static CartBulkResultDto failure(int line, Long cartId, String message) {
+        return new CartBulkResultDto(line, cartId, false, message);
+    }
+}
@@ -0,0 +1,19 @@
+package com.commerce.cart.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 비활성화된 장바구니 정리 결과 (id 구간 1개)
+ */
+@Getter
+@RequiredArgsConstructor
+public class CartCompactResultDto {
+
+    /** 확인한 구간의 마지막 장바구니 아이디 (확인한 장바구니가 없으면 null) */
+    private final Long lastId;
+    /** 확인한 장바구니 수 */
+    private final int scannedCount;
+    /** 삭제한 장바구니 수 */
+    private final long deletedCount;
+}
@@ -0,0 +1,42 @@
+package com.commerce.cart.dto;
+
+import com.commerce.cart.domain.Cart;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 메모리 장바구니 저장소의 장바구니 상태 (CART 에 반영할 값)
+ */
+@Getter
+@Builder
+public class CartWriteDto {
+
+    private final Long id;
+    private final Long memberId;
+    private final Long itemId;
+    private final Long productId;
+    private final Long optionId;
+    private final int userPurchaseQuantity;
+    private final int itemUsedQuantity;
+    private final boolean activated;
+    /** CART 에 이미 저장된 장바구니인지 여부 (false 면 insert, true 면 update) */
+    private final boolean persisted;
+    private final LocalDateTime createdAt;
+
+    public static CartWriteDto from(Cart cart) {
+        return CartWriteDto.builder()
+                .id(cart.getId())
+                .memberId(cart.getMember().getId())
+                .itemId(cart.getItem().getId())
+                .productId(cart.getProduct().getId())
+                .optionId(cart.getOption().getId())
+                .userPurchaseQuantity(cart.getUserPurchaseQuantity())
+                .itemUsedQuantity(cart.getItemUsedQuantity())
+                .activated(cart.isActivated())
+                .persisted(true)
+                .createdAt(cart.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,19 @@
+package com.commerce.cart.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 메모리 장바구니 저장소의 변경을 CART 에 반영한 결과
+ */
+@Getter
+@RequiredArgsConstructor
+public class CartWriteResultDto {
+
+    /** update 되지 않은 장바구니 아이디 목록 (CART 에서 이미 비활성화된 경우) */
+    private final List<Long> staleCartIds;
+    /** insert 되지 않고 같은 회원, 아이템, 상품, 옵션의 활성화된 장바구니에 수량을 더한 장바구니 아이디 목록 */
+    private final List<Long> mergedCartIds;
+}
@@ -1,8 +1,13 @@
 package com.commerce.cart.repository;
 
 import com.commerce.cart.domain.Cart;
+import com.commerce.cart.dto.AddCartRequestDto;
+import com.commerce.cart.dto.CartAddTargetDto;
+import com.commerce.cart.dto.CartWriteDto;
+import com.commerce.cart.dto.CartWriteResultDto;
 import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface CartRepositoryCustom {
@@ -12,4 +17,30 @@ public interface CartRepositoryCustom {
     List<Cart> findCartsByMemberId(Long memberId, Pageable pageable);
 
     List<Cart> findCartsByCartIdsAndMemberId(List<Long> cartIds, Long memberId);
+
+    List<Cart> findCheckoutCartsByCartIdsAndUserId(List<Long> cartIds, String userId);
+
+    List<Cart> findCheckedOutCartsByOrderIds(List<Long> orderIds);
+
+    List<Cart> findActiveCartsByMemberIds(List<Long> memberIds);
+
+    long reactivateCarts(List<Long> cartIds);
+
+    CartAddTargetDto findCartAddTarget(Long itemId, Long productId, Long optionId);
+
+    Long upsertCart(Long memberId, Long itemId, Long productId, Long optionId, int userPurchaseQuantity, int itemUsedQuantity);
+
+    List<CartAddTargetDto> findCartAddTargets(List<AddCartRequestDto> requestDtos);
+
+    List<Long> upsertCarts(List<CartWriteDto> cartWrites);
+
+    long deactivateCarts(List<Long> cartIds, Long memberId);
+
+    CartWriteResultDto writeCarts(List<CartWriteDto> cartWrites);
+
+    Long nextCartId();
+
+    List<Long> findIdsAfter(Long afterId, int limit);
+
+    long deleteInactiveCarts(Long afterId, Long lastId, LocalDateTime cutoff);
 }
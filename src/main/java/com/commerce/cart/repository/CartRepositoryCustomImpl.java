@@ -1,18 +1,46 @@
 package com.commerce.cart.repository;
 
 import com.commerce.cart.domain.Cart;
+import com.commerce.cart.dto.AddCartRequestDto;
+import com.commerce.cart.dto.CartAddTargetDto;
+import com.commerce.cart.dto.CartWriteDto;
+import com.commerce.cart.dto.CartWriteResultDto;
+import com.commerce.product.domain.Item;
+import com.commerce.product.domain.Option;
+import com.commerce.product.domain.Product;
+import com.querydsl.core.types.Projections;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
 import org.springframework.data.domain.Pageable;
 
+import javax.persistence.EntityManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static com.commerce.cart.domain.QCart.cart;
+import static com.commerce.product.domain.QItem.item;
+import static com.commerce.product.domain.QItemProductMapping.itemProductMapping;
+import static com.commerce.product.domain.QOption.option;
+import static com.commerce.product.domain.QProduct.product;
 
 @RequiredArgsConstructor
 public class CartRepositoryCustomImpl implements CartRepositoryCustom {
 
     private final JPAQueryFactory queryFactory;
+    private final EntityManager entityManager;
 
     @Override
     public Cart findByIdAndMemberId(Long cartId, Long memberId) {
@@ -24,13 +52,15 @@ public class CartRepositoryCustomImpl implements CartRepositoryCustom {
                 .fetchFirst();
     }
 
+    /**
+     * 회원의 장바구니 목록 조회 (CART 만 조회하고, 목록에 필요한 가격, 재고, 상품 정보는 ItemSnapshotCache 에서 채운다)
+     * @param memberId 회원 아이디
+     * @param pageable
+     */
     @Override
     public List<Cart> findCartsByMemberId(Long memberId, Pageable pageable) {
         return queryFactory
                 .selectFrom(cart)
-                .join(cart.option).fetchJoin()
-                .join(cart.product).fetchJoin()
-                .join(cart.item).fetchJoin()
                 .where(cart.member.id.eq(memberId)
                         , cart.activated.eq(true))
                 .offset(pageable.getOffset())
@@ -50,4 +80,414 @@ public class CartRepositoryCustomImpl implements CartRepositoryCustom {
                         , cart.activated.eq(true))
                 .fetch();
     }
+
+    /**
+     * 주문 생성 검증용 장바구니 목록 조회 (회원, 옵션, 상품, 재고 상품을 한번에 조회)
+     * 상품, 옵션, 재고 상품의 활성화 여부는 검증에서 확인하도록 조건에 넣지 않는다.
+     * @param cartIds 장바구니 아이디 목록
+     * @param userId 회원 아이디
+     */
+    @Override
+    public List<Cart> findCheckoutCartsByCartIdsAndUserId(List<Long> cartIds, String userId) {
+        return queryFactory
+                .selectFrom(cart)
+                .join(cart.member).fetchJoin()
+                .join(cart.option).fetchJoin()
+                .join(cart.product).fetchJoin()
+                .join(cart.item).fetchJoin()
+                .where(cart.id.in(cartIds)
+                        , cart.member.userId.eq(userId)
+                        , cart.member.activated.eq(true)
+                        , cart.activated.eq(true))
+                .fetch();
+    }
+
+    /**
+     * 주문하여 비활성화된 장바구니 목록 조회
+     * @param orderIds 주문번호 목록
+     */
+    @Override
+    public List<Cart> findCheckedOutCartsByOrderIds(List<Long> orderIds) {
+        return queryFactory
+                .selectFrom(cart)
+                .where(cart.orderId.in(orderIds)
+                        , cart.activated.eq(false))
+                .fetch();
+    }
+
+    @Override
+    public List<Cart> findActiveCartsByMemberIds(List<Long> memberIds) {
+        return queryFactory
+                .selectFrom(cart)
+                .where(cart.member.id.in(memberIds)
+                        , cart.activated.eq(true))
+                .fetch();
+    }
+
+    /**
+     * 장바구니 다시 활성화 (주문번호를 지운다)
+     * @param cartIds 장바구니 아이디 목록
+     * @return 활성화한 장바구니 수
+     */
+    @Override
+    public long reactivateCarts(List<Long> cartIds) {
+        return queryFactory.update(cart)
+                .set(cart.activated, true)
+                .set(cart.activatedKey, true)
+                .setNull(cart.orderId)
+                .set(cart.updatedAt, LocalDateTime.now())
+                .where(cart.id.in(cartIds)
+                        , cart.activated.eq(false))
+                .execute();
+    }
+
+    /**
+     * 장바구니에 담을 아이템, 상품, 옵션, 아이템 상품 매핑 정보를 하나의 쿼리로 조회
+     * 아이템 기준으로 나머지를 left join 하므로 없는 정보는 null 로 조회된다. (아이템이 없으면 null 반환)
+     * @param itemId 아이템 id
+     * @param productId 상품 id
+     * @param optionId 옵션 id
+     */
+    @Override
+    public CartAddTargetDto findCartAddTarget(Long itemId, Long productId, Long optionId) {
+        return queryFactory
+                .select(Projections.constructor(CartAddTargetDto.class
+                        , item
+                        , product
+                        , option
+                        , itemProductMapping.id))
+                .from(item)
+                .leftJoin(product).on(product.id.eq(productId)
+                        , product.activated.eq(true))
+                .leftJoin(option).on(option.id.eq(optionId)
+                        , option.productId.eq(product.id)
+                        , option.activated.eq(true))
+                .leftJoin(itemProductMapping).on(itemProductMapping.item.eq(item)
+                        , itemProductMapping.product.eq(product)
+                        , itemProductMapping.activated.eq(true))
+                .where(item.id.eq(itemId)
+                        , item.activated.eq(true))
+                .fetchFirst();
+    }
+
+    /**
+     * 장바구니 추가 (같은 회원, 아이템, 상품, 옵션의 활성화된 장바구니가 있으면 수량을 더한다)
+     * 회원, 아이템, 상품, 옵션, activated_key 의 unique key 로 INSERT ... ON DUPLICATE KEY UPDATE 하므로 동시에 추가해도 장바구니가 중복되지 않는다.
+     * 수량을 더한 경우에도 새 id 를 하나 할당받으므로 id 에 빈 번호가 생길 수 있다.
+     * @return 장바구니 아이디
+     */
+    @Override
+    public Long upsertCart(Long memberId, Long itemId, Long productId, Long optionId, int userPurchaseQuantity, int itemUsedQuantity) {
+        Long cartId = nextCartId();
+        LocalDateTime now = LocalDateTime.now();
+        entityManager.createNativeQuery("insert into CART (id, member_id, item_id, product_id, option_id"
+                        + ", user_purchase_quantity, item_used_quantity, activated, activated_key, created_at)"
+                        + " values (:id, :memberId, :itemId, :productId, :optionId"
+                        + ", :userPurchaseQuantity, :itemUsedQuantity, true, true, :now)"
+                        + " on duplicate key update user_purchase_quantity = user_purchase_quantity + :userPurchaseQuantity"
+                        + ", item_used_quantity = item_used_quantity + :itemUsedQuantity"
+                        + ", updated_at = :now")
+                .setParameter("id", cartId)
+                .setParameter("memberId", memberId)
+                .setParameter("itemId", itemId)
+                .setParameter("productId", productId)
+                .setParameter("optionId", optionId)
+                .setParameter("userPurchaseQuantity", userPurchaseQuantity)
+                .setParameter("itemUsedQuantity", itemUsedQuantity)
+                .setParameter("now", now)
+                .executeUpdate();
+
+        return queryFactory
+                .select(cart.id)
+                .from(cart)
+                .where(cart.member.id.eq(memberId)
+                        , cart.item.id.eq(itemId)
+                        , cart.product.id.eq(productId)
+                        , cart.option.id.eq(optionId)
+                        , cart.activatedKey.eq(true))
+                .fetchOne();
+    }
+
+    /**
+     * 장바구니에 담을 아이템, 상품, 옵션, 아이템 상품 매핑 정보를 요청 수와 관계없이 4번의 쿼리로 조회
+     * 아이템, 상품, 옵션, 매핑을 각각 in 조건으로 조회한 뒤 요청마다 조합하며, 없는 정보는 findCartAddTarget 과 같이 null 로 채운다.
+     * @param requestDtos 장바구니 추가 요청 목록
+     * @return 요청 순서대로 조회 결과 (요청 줄이 null 이거나 아이템이 없으면 null)
+     */
+    @Override
+    public List<CartAddTargetDto> findCartAddTargets(List<AddCartRequestDto> requestDtos) {
+        List<AddCartRequestDto> lines = requestDtos.stream().filter(Objects::nonNull).collect(Collectors.toList());
+        Set<Long> itemIds = lines.stream().map(AddCartRequestDto::getItemId).filter(Objects::nonNull).collect(Collectors.toSet());
+        Set<Long> productIds = lines.stream().map(AddCartRequestDto::getProductId).filter(Objects::nonNull).collect(Collectors.toSet());
+        Set<Long> optionIds = lines.stream().map(AddCartRequestDto::getOptionId).filter(Objects::nonNull).collect(Collectors.toSet());
+
+        Map<Long, Item> items = itemIds.isEmpty() ? Map.of() : queryFactory.selectFrom(item)
+                .where(item.id.in(itemIds)
+                        , item.activated.eq(true))
+                .fetch().stream().collect(Collectors.toMap(Item::getId, Function.identity()));
+        Map<Long, Product> products = productIds.isEmpty() ? Map.of() : queryFactory.selectFrom(product)
+                .where(product.id.in(productIds)
+                        , product.activated.eq(true))
+                .fetch().stream().collect(Collectors.toMap(Product::getId, Function.identity()));
+        Map<Long, Option> options = optionIds.isEmpty() ? Map.of() : queryFactory.selectFrom(option)
+                .where(option.id.in(optionIds)
+                        , option.activated.eq(true))
+                .fetch().stream().collect(Collectors.toMap(Option::getId, Function.identity()));
+        Map<String, Long> mappingIds = new HashMap<>();
+        if (items.isEmpty() || products.isEmpty()) {
+            return toCartAddTargets(requestDtos, items, products, options, mappingIds);
+        }
+        queryFactory.select(itemProductMapping.id, itemProductMapping.item.id, itemProductMapping.product.id)
+                .from(itemProductMapping)
+                .where(itemProductMapping.item.id.in(itemIds)
+                        , itemProductMapping.product.id.in(productIds)
+                        , itemProductMapping.activated.eq(true))
+                .fetch()
+                .forEach(tuple -> mappingIds.putIfAbsent(tuple.get(itemProductMapping.item.id) + ":" + tuple.get(itemProductMapping.product.id),
+                        tuple.get(itemProductMapping.id)));
+        return toCartAddTargets(requestDtos, items, products, options, mappingIds);
+    }
+
+    /**
+     * 조회한 아이템, 상품, 옵션, 매핑 정보를 요청마다 조합 (상품에 속하지 않은 옵션은 null 로 채운다)
+     */
+    private List<CartAddTargetDto> toCartAddTargets(List<AddCartRequestDto> requestDtos, Map<Long, Item> items, Map<Long, Product> products,
+                                                    Map<Long, Option> options, Map<String, Long> mappingIds) {
+        List<CartAddTargetDto> targets = new ArrayList<>();
+        requestDtos.forEach(requestDto -> {
+            Item targetItem = requestDto == null || requestDto.getItemId() == null ? null : items.get(requestDto.getItemId());
+            if (targetItem == null) {
+                targets.add(null);
+                return;
+            }
+            Product targetProduct = requestDto.getProductId() == null ? null : products.get(requestDto.getProductId());
+            Option targetOption = targetProduct == null || requestDto.getOptionId() == null ? null : options.get(requestDto.getOptionId());
+            if (targetOption != null && !targetProduct.getId().equals(targetOption.getProductId())) {
+                targetOption = null;
+            }
+            Long mappingId = targetProduct == null ? null : mappingIds.get(targetItem.getId() + ":" + targetProduct.getId());
+            targets.add(new CartAddTargetDto(targetItem, targetProduct, targetOption, mappingId));
+        });
+        return targets;
+    }
+
+    /**
+     * 장바구니 일괄 추가 (같은 회원, 아이템, 상품, 옵션의 활성화된 장바구니가 있으면 수량을 더한다)
+     * upsertCart 와 같은 INSERT ... ON DUPLICATE KEY UPDATE 를 JDBC batch 로 한번에 실행하고, 장바구니 아이디는 한번의 조회로 가져온다.
+     * @param cartWrites 추가할 장바구니 목록 (id 는 새로 할당하므로 비워둔다)
+     * @return 요청 순서대로 장바구니 아이디
+     */
+    @Override
+    public List<Long> upsertCarts(List<CartWriteDto> cartWrites) {
+        List<Long> cartIds = new ArrayList<>();
+        cartWrites.forEach(cartWrite -> cartIds.add(nextCartId()));
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement insert = connection.prepareStatement("insert into CART (id, member_id, item_id, product_id, option_id"
+                    + ", user_purchase_quantity, item_used_quantity, activated, activated_key, created_at)"
+                    + " values (?, ?, ?, ?, ?, ?, ?, true, true, ?)"
+                    + " on duplicate key update user_purchase_quantity = user_purchase_quantity + ?"
+                    + ", item_used_quantity = item_used_quantity + ?, updated_at = ?")) {
+                for (int i = 0; i < cartWrites.size(); i++) {
+                    CartWriteDto cartWrite = cartWrites.get(i);
+                    insert.setLong(1, cartIds.get(i));
+                    insert.setLong(2, cartWrite.getMemberId());
+                    insert.setLong(3, cartWrite.getItemId());
+                    insert.setLong(4, cartWrite.getProductId());
+                    insert.setLong(5, cartWrite.getOptionId());
+                    insert.setInt(6, cartWrite.getUserPurchaseQuantity());
+                    insert.setInt(7, cartWrite.getItemUsedQuantity());
+                    insert.setTimestamp(8, now);
+                    insert.setInt(9, cartWrite.getUserPurchaseQuantity());
+                    insert.setInt(10, cartWrite.getItemUsedQuantity());
+                    insert.setTimestamp(11, now);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+        });
+
+        Set<Long> memberIds = cartWrites.stream().map(CartWriteDto::getMemberId).collect(Collectors.toSet());
+        Set<Long> itemIds = cartWrites.stream().map(CartWriteDto::getItemId).collect(Collectors.toSet());
+        Map<String, Long> savedCartIds = queryFactory
+                .select(cart.id, cart.member.id, cart.item.id, cart.product.id, cart.option.id)
+                .from(cart)
+                .where(cart.member.id.in(memberIds)
+                        , cart.item.id.in(itemIds)
+                        , cart.activatedKey.eq(true))
+                .fetch().stream()
+                .collect(Collectors.toMap(tuple -> cartKey(tuple.get(cart.member.id), tuple.get(cart.item.id),
+                        tuple.get(cart.product.id), tuple.get(cart.option.id)), tuple -> tuple.get(cart.id)));
+        return cartWrites.stream()
+                .map(cartWrite -> savedCartIds.get(cartKey(cartWrite.getMemberId(), cartWrite.getItemId(), cartWrite.getProductId(), cartWrite.getOptionId())))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 장바구니 일괄 삭제 (update)
+     * @param cartIds 장바구니 아이디 목록
+     * @param memberId 회원 아이디
+     * @return 삭제한 장바구니 수
+     */
+    @Override
+    public long deactivateCarts(List<Long> cartIds, Long memberId) {
+        return queryFactory.update(cart)
+                .set(cart.activated, false)
+                .setNull(cart.activatedKey)
+                .set(cart.updatedAt, LocalDateTime.now())
+                .where(cart.id.in(cartIds)
+                        , cart.member.id.eq(memberId)
+                        , cart.activated.eq(true))
+                .execute();
+    }
+
+    /**
+     * 메모리 장바구니 저장소의 변경을 JDBC batch 로 한번에 반영
+     * 새 장바구니는 insert 하고, 같은 회원, 아이템, 상품, 옵션의 활성화된 장바구니가 이미 있으면 덮어쓰지 않고 그 장바구니에 수량을 더한다.
+     * (같은 아이디로 다시 insert 하는 경우는 이미 반영된 장바구니이므로 수량을 더하지 않고 그대로 쓴다)
+     * 저장된 장바구니는 아직 활성화된 경우에만 update 하여 주문으로 비활성화된 장바구니를 되살리지 않는다.
+     * @param cartWrites 반영할 장바구니 상태 목록
+     * @return update 되지 않은 장바구니와 다른 장바구니에 합쳐진 장바구니 아이디 목록
+     */
+    @Override
+    public CartWriteResultDto writeCarts(List<CartWriteDto> cartWrites) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            List<CartWriteDto> inserts = new ArrayList<>();
+            List<CartWriteDto> updates = new ArrayList<>();
+            cartWrites.forEach(cartWrite -> (cartWrite.isPersisted() ? updates : inserts).add(cartWrite));
+
+            List<Long> mergedCartIds = new ArrayList<>();
+            if (!inserts.isEmpty()) {
+                try (PreparedStatement insert = connection.prepareStatement("insert into CART (id, member_id, item_id, product_id, option_id"
+                        + ", user_purchase_quantity, item_used_quantity, activated, activated_key, created_at, updated_at)"
+                        + " values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)"
+                        + " on duplicate key update"
+                        + " user_purchase_quantity = case when id = ? then ? else user_purchase_quantity + ? end"
+                        + ", item_used_quantity = case when id = ? then ? else item_used_quantity + ? end"
+                        + ", updated_at = ?")) {
+                    for (CartWriteDto cartWrite : inserts) {
+                        insert.setLong(1, cartWrite.getId());
+                        insert.setLong(2, cartWrite.getMemberId());
+                        insert.setLong(3, cartWrite.getItemId());
+                        insert.setLong(4, cartWrite.getProductId());
+                        insert.setLong(5, cartWrite.getOptionId());
+                        insert.setInt(6, cartWrite.getUserPurchaseQuantity());
+                        insert.setInt(7, cartWrite.getItemUsedQuantity());
+                        insert.setBoolean(8, cartWrite.isActivated());
+                        if (cartWrite.isActivated()) {
+                            insert.setBoolean(9, true);
+                        } else {
+                            insert.setNull(9, Types.BOOLEAN);
+                        }
+                        insert.setTimestamp(10, Timestamp.valueOf(cartWrite.getCreatedAt()));
+                        insert.setTimestamp(11, now);
+                        insert.setLong(12, cartWrite.getId());
+                        insert.setInt(13, cartWrite.getUserPurchaseQuantity());
+                        insert.setInt(14, cartWrite.getUserPurchaseQuantity());
+                        insert.setLong(15, cartWrite.getId());
+                        insert.setInt(16, cartWrite.getItemUsedQuantity());
+                        insert.setInt(17, cartWrite.getItemUsedQuantity());
+                        insert.setTimestamp(18, now);
+                        insert.addBatch();
+                    }
+                    insert.executeBatch();
+                }
+
+                List<Long> insertedCartIds = new ArrayList<>();
+                try (PreparedStatement select = connection.prepareStatement("select id from CART where id in ("
+                        + inserts.stream().map(cartWrite -> "?").collect(Collectors.joining(", ")) + ")")) {
+                    for (int i = 0; i < inserts.size(); i++) {
+                        select.setLong(i + 1, inserts.get(i).getId());
+                    }
+                    try (ResultSet resultSet = select.executeQuery()) {
+                        while (resultSet.next()) {
+                            insertedCartIds.add(resultSet.getLong(1));
+                        }
+                    }
+                }
+                inserts.stream()
+                        .map(CartWriteDto::getId)
+                        .filter(cartId -> !insertedCartIds.contains(cartId))
+                        .forEach(mergedCartIds::add);
+            }
+
+            List<Long> staleCartIds = new ArrayList<>();
+            if (updates.isEmpty()) {
+                return new CartWriteResultDto(staleCartIds, mergedCartIds);
+            }
+            try (PreparedStatement update = connection.prepareStatement("update CART set user_purchase_quantity = ?, item_used_quantity = ?"
+                    + ", activated = ?, activated_key = ?, updated_at = ? where id = ? and activated = true")) {
+                for (CartWriteDto cartWrite : updates) {
+                    update.setInt(1, cartWrite.getUserPurchaseQuantity());
+                    update.setInt(2, cartWrite.getItemUsedQuantity());
+                    update.setBoolean(3, cartWrite.isActivated());
+                    if (cartWrite.isActivated()) {
+                        update.setBoolean(4, true);
+                    } else {
+                        update.setNull(4, Types.BOOLEAN);
+                    }
+                    update.setTimestamp(5, now);
+                    update.setLong(6, cartWrite.getId());
+                    update.addBatch();
+                }
+                int[] updatedCounts = update.executeBatch();
+                for (int i = 0; i < updatedCounts.length; i++) {
+                    if (updatedCounts[i] == 0) {
+                        staleCartIds.add(updates.get(i).getId());
+                    }
+                }
+            }
+            return new CartWriteResultDto(staleCartIds, mergedCartIds);
+        });
+    }
+
+    /**
+     * 아이디 순으로 afterId 다음 장바구니 아이디 목록 조회 (정리할 id 구간을 정할 때 사용, primary key 만 읽는다)
+     * @param afterId 이 아이디보다 큰 장바구니부터 조회
+     * @param limit 조회할 개수
+     */
+    @Override
+    public List<Long> findIdsAfter(Long afterId, int limit) {
+        return queryFactory
+                .select(cart.id)
+                .from(cart)
+                .where(cart.id.gt(afterId))
+                .orderBy(cart.id.asc())
+                .limit(limit)
+                .fetch();
+    }
+
+    /**
+     * id 구간 안의 오래된 비활성화 장바구니 삭제
+     * 비활성화할 때 updated_at 을 갱신하므로 updated_at 을 비활성화 시각으로 보고, 값이 없으면 created_at 으로 판단한다.
+     * @param afterId 구간 시작 (이 아이디보다 큰 장바구니)
+     * @param lastId 구간 끝 (이 아이디까지)
+     * @param cutoff 이 시각 이전에 비활성화된 장바구니를 삭제한다
+     * @return 삭제한 장바구니 수
+     */
+    @Override
+    public long deleteInactiveCarts(Long afterId, Long lastId, LocalDateTime cutoff) {
+        return queryFactory.delete(cart)
+                .where(cart.id.gt(afterId)
+                        , cart.id.loe(lastId)
+                        , cart.activated.eq(false)
+                        , cart.updatedAt.lt(cutoff).or(cart.updatedAt.isNull().and(cart.createdAt.lt(cutoff))))
+                .execute();
+    }
+
+    /**
+     * CART 엔티티의 id 생성기로 새 장바구니 아이디 할당
+     * ID_GENERATOR 테이블에서 ID_ALLOCATION_SIZE 개씩 미리 받아 두므로 대부분 DB 를 거치지 않는다.
+     */
+    @Override
+    public Long nextCartId() {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        return (Long) session.getFactory().getMetamodel().entityPersister(Cart.class)
+                .getIdentifierGenerator().generate(session, null);
+    }
+
+    private static String cartKey(Long memberId, Long itemId, Long productId, Long optionId) {
+        return memberId + ":" + itemId + ":" + productId + ":" + optionId;
+    }
 }
@@ -0,0 +1,15 @@
+package com.commerce.cart.service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 장바구니 변경 이벤트 (추가, 수량 변경, 삭제 시 커밋 이후 이벤트 버스로 발행)
+ */
+@Getter
+@RequiredArgsConstructor
+public class CartChangedEvent {
+
+    private final Long memberId;
+    private final Long cartId;
+}
@@ -0,0 +1,31 @@
+package com.commerce.cart.service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * 비활성화된 장바구니 정리 상태
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class CartCompactMetrics {
+
+    /** 전체 id 구간을 끝까지 확인한 횟수 */
+    private final long passCount;
+    /** 처리한 구간 수 */
+    private final long chunkCount;
+    /** 확인한 장바구니 수 */
+    private final long scannedRows;
+    /** 삭제한 장바구니 수 */
+    private final long reclaimedRows;
+    /** 구간 처리에 걸린 시간 합계 */
+    private final long totalChunkNanos;
+    /** 가장 오래 걸린 구간의 처리 시간 */
+    private final long maxChunkNanos;
+    /** 마지막 구간의 처리 시간 */
+    private final long lastChunkNanos;
+    /** 다음에 확인할 구간의 시작 (이 아이디보다 큰 장바구니부터) */
+    private final long cursor;
+}
@@ -0,0 +1,49 @@
+package com.commerce.cart.service;
+
+import com.commerce.cart.dto.CartCompactResultDto;
+import com.commerce.cart.repository.CartRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 비활성화된 장바구니 정리
+ * 장바구니 삭제, 주문은 activated 만 false 로 바꾸므로, 보관 기간이 지난 비활성화 장바구니를 primary key 구간 단위 트랜잭션으로 삭제한다.
+ * 구간은 아이디 순으로 chunk-size 개의 장바구니로 나누므로, 서버마다 ID_GENERATOR 에서 블록 단위로 할당받고 다 쓰지 못한 아이디 때문에 빈 번호가 많아도 구간마다 같은 수의 row 를 확인한다.
+ * 주문 내역은 ORDER_ITEM 에 따로 저장되어 있으므로 보관 테이블로 옮기지 않고 삭제한다.
+ */
+@Service
+@Transactional(readOnly = true)
+public class CartCompactServiceImpl {
+
+    private final CartRepository cartRepository;
+    private final int chunkSize;
+
+    public CartCompactServiceImpl(CartRepository cartRepository,
+                                  @Value("${cart.compact.chunk-size:1000}") int chunkSize) {
+        this.cartRepository = cartRepository;
+        this.chunkSize = chunkSize;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * afterId 다음 chunk-size 개 장바구니 구간에서 cutoff 이전에 비활성화된 장바구니 삭제
+     * @param afterId 이 아이디보다 큰 장바구니부터 확인
+     * @param cutoff 이 시각 이전에 비활성화된 장바구니를 삭제한다
+     */
+    @Transactional
+    public CartCompactResultDto compact(Long afterId, LocalDateTime cutoff) {
+        List<Long> cartIds = cartRepository.findIdsAfter(afterId, chunkSize);
+        if (cartIds.isEmpty()) {
+            return new CartCompactResultDto(null, 0, 0);
+        }
+        Long lastId = cartIds.get(cartIds.size() - 1);
+        return new CartCompactResultDto(lastId, cartIds.size(), cartRepository.deleteInactiveCarts(afterId, lastId, cutoff));
+    }
+}
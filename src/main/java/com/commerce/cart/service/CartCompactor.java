@@ -0,0 +1,130 @@
+package com.commerce.cart.service;
+
+import com.commerce.cart.dto.CartCompactResultDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 비활성화된 장바구니 정리 작업
+ * 아이디 순으로 이어서 chunk 단위로 정리하고, 마지막 장바구니까지 확인하면 pass-interval-millis 뒤에 처음부터 다시 확인한다.
+ * 확인한 row 수를 max-rows-per-second 로 제한한다. 실행마다 지난 시간만큼 허용량을 채우고 허용량이 남아있는 동안만 chunk 를 처리하며,
+ * 스케줄러 스레드를 다른 작업과 함께 사용하므로 기다리지 않고 다음 실행 때 이어서 정리한다.
+ * 삭제한 row 수와 구간 처리 시간은 metrics-log-millis 마다 로그로 남긴다.
+ * 주문 준비 상태로 남은 주문의 장바구니는 주문 정리(OrderSweeper)가 다시 활성화해야 하므로 retention-days 는 order.sweep.stale-hours 보다 길어야 한다.
+ */
+@Slf4j
+@Component
+public class CartCompactor {
+
+    private final CartCompactServiceImpl cartCompactServiceImpl;
+    private final boolean enabled;
+    private final long retentionDays;
+    private final double maxRowsPerSecond;
+    private final double maxAllowance;
+    private final long passIntervalMillis;
+
+    private final LongAdder passCount = new LongAdder();
+    private final LongAdder chunkCount = new LongAdder();
+    private final LongAdder scannedRows = new LongAdder();
+    private final LongAdder reclaimedRows = new LongAdder();
+    private final LongAdder totalChunkNanos = new LongAdder();
+    private final AtomicLong maxChunkNanos = new AtomicLong();
+    private final AtomicLong lastChunkNanos = new AtomicLong();
+    private final AtomicLong cursor = new AtomicLong();
+    private double allowance;
+    private long allowanceUpdatedAt = System.nanoTime();
+    private long nextPassAt;
+
+    public CartCompactor(CartCompactServiceImpl cartCompactServiceImpl,
+                         @Value("${cart.compact.enabled:true}") boolean enabled,
+                         @Value("${cart.compact.retention-days:30}") long retentionDays,
+                         @Value("${cart.compact.max-rows-per-second:2000}") double maxRowsPerSecond,
+                         @Value("${cart.compact.pass-interval-millis:3600000}") long passIntervalMillis,
+                         @Value("${order.sweep.stale-hours:24}") long staleHours) {
+        if (TimeUnit.DAYS.toHours(retentionDays) <= staleHours) {
+            throw new IllegalArgumentException("cart.compact.retention-days 는 order.sweep.stale-hours 보다 길어야 합니다. retentionDays=" + retentionDays);
+        }
+        this.cartCompactServiceImpl = cartCompactServiceImpl;
+        this.enabled = enabled;
+        this.retentionDays = retentionDays;
+        this.maxRowsPerSecond = maxRowsPerSecond;
+        this.maxAllowance = Math.max(maxRowsPerSecond, cartCompactServiceImpl.getChunkSize());
+        this.passIntervalMillis = passIntervalMillis;
+        this.allowance = maxAllowance;
+    }
+
+    @Scheduled(fixedDelayString = "${cart.compact.compact-millis:1000}")
+    public void compact() {
+        if (!enabled || System.currentTimeMillis() < nextPassAt) {
+            return;
+        }
+        refillAllowance();
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        try {
+            while (allowance > 0) {
+                long startedAt = System.nanoTime();
+                CartCompactResultDto result = cartCompactServiceImpl.compact(cursor.get(), cutoff);
+                record(result, System.nanoTime() - startedAt);
+                allowance -= result.getScannedCount();
+
+                if (result.getScannedCount() < cartCompactServiceImpl.getChunkSize()) {
+                    cursor.set(0);
+                    passCount.increment();
+                    nextPassAt = System.currentTimeMillis() + passIntervalMillis;
+                    break;
+                }
+                cursor.set(result.getLastId());
+            }
+        } catch (RuntimeException e) {
+            log.error("비활성화된 장바구니 정리에 실패하였습니다. cursor={}", cursor.get(), e);
+        }
+    }
+
+    public CartCompactMetrics getMetrics() {
+        return new CartCompactMetrics(
+                passCount.sum(),
+                chunkCount.sum(),
+                scannedRows.sum(),
+                reclaimedRows.sum(),
+                totalChunkNanos.sum(),
+                maxChunkNanos.get(),
+                lastChunkNanos.get(),
+                cursor.get());
+    }
+
+    @Scheduled(fixedDelayString = "${cart.compact.metrics-log-millis:60000}")
+    public void logMetrics() {
+        if (enabled) {
+            log.info("비활성화된 장바구니 정리 상태 {}", getMetrics());
+        }
+    }
+
+    /**
+     * 지난 시간만큼 확인할 수 있는 row 수를 채운다 (최대 1초 또는 1 chunk 분량까지 모아둔다)
+     */
+    private void refillAllowance() {
+        long now = System.nanoTime();
+        allowance = Math.min(maxAllowance, allowance + (now - allowanceUpdatedAt) / 1_000_000_000.0 * maxRowsPerSecond);
+        allowanceUpdatedAt = now;
+    }
+
+    private void record(CartCompactResultDto result, long elapsedNanos) {
+        chunkCount.increment();
+        scannedRows.add(result.getScannedCount());
+        reclaimedRows.add(result.getDeletedCount());
+        totalChunkNanos.add(elapsedNanos);
+        lastChunkNanos.set(elapsedNanos);
+        maxChunkNanos.accumulateAndGet(elapsedNanos, Math::max);
+        if (result.getDeletedCount() > 0) {
+            log.debug("비활성화된 장바구니를 삭제하였습니다. lastId={}, size={}, elapsedMillis={}",
+                    result.getLastId(), result.getDeletedCount(), TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        }
+    }
+}
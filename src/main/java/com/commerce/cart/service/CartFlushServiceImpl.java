@@ -0,0 +1,52 @@
+package com.commerce.cart.service;
+
+import com.commerce.cart.dto.CartWriteDto;
+import com.commerce.cart.dto.CartWriteResultDto;
+import com.commerce.cart.repository.CartRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 메모리 장바구니 저장소(CartStore)와 CART 사이의 조회, 반영
+ * 반영은 호출한 쪽의 트랜잭션과 관계없이 바로 커밋되도록 새 트랜잭션으로 처리한다.
+ */
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class CartFlushServiceImpl {
+
+    private final CartRepository cartRepository;
+
+    /**
+     * 회원의 활성화된 장바구니 조회
+     * @param memberId 회원 아이디
+     */
+    public List<CartWriteDto> load(Long memberId) {
+        return cartRepository.findActiveCartsByMemberIds(List.of(memberId)).stream()
+                .map(CartWriteDto::from)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 새 장바구니 아이디 할당 (CART 엔티티의 id 생성기를 사용하여 CART 에 직접 추가하는 장바구니와 아이디가 겹치지 않는다)
+     */
+    @Transactional
+    public Long nextCartId() {
+        return cartRepository.nextCartId();
+    }
+
+    /**
+     * 장바구니 변경을 CART 에 반영
+     * @param cartWrites 반영할 장바구니 상태 목록
+     * @return update 되지 않은 장바구니와 다른 장바구니에 합쳐진 장바구니 아이디 목록
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public CartWriteResultDto write(List<CartWriteDto> cartWrites) {
+        return cartRepository.writeCarts(cartWrites);
+    }
+}
@@ -2,27 +2,34 @@ package com.commerce.cart.service;
 
 import com.commerce.cart.domain.Cart;
 import com.commerce.cart.dto.AddCartRequestDto;
+import com.commerce.cart.dto.CartAddTargetDto;
+import com.commerce.cart.dto.CartBulkResultDto;
 import com.commerce.cart.dto.CartResponseDto;
+import com.commerce.cart.dto.CartWriteDto;
 import com.commerce.cart.repository.CartRepository;
 import com.commerce.global.common.dto.PagingCommonRequestDto;
+import com.commerce.global.common.event.DomainEventPublisher;
 import com.commerce.global.common.exception.BadRequestException;
 import com.commerce.product.domain.Item;
-import com.commerce.product.domain.ItemProductMapping;
-import com.commerce.product.domain.Option;
-import com.commerce.product.domain.Product;
-import com.commerce.product.domain.ItemProductMappingRepository;
-import com.commerce.product.domain.ItemRepository;
-import com.commerce.product.domain.OptionRepository;
-import com.commerce.product.domain.ProductRepository;
-import com.commerce.user.domain.Member;
+import com.commerce.product.dto.ItemSnapshotDto;
+import com.commerce.product.dto.ProductSnapshotDto;
+import com.commerce.product.service.ItemServiceImpl;
+import com.commerce.product.service.ProductServiceImpl;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.ObjectUtils;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static com.commerce.product.domain.Product.*;
 
@@ -31,18 +38,24 @@ import static com.commerce.product.domain.Product.*;
 @RequiredArgsConstructor
 public class CartServiceImpl {
 
+    private static final int MAX_BULK_SIZE = 100;
+
     private final CartRepository cartRepository;
-    private final ProductRepository productRepository;
-    private final ItemRepository itemRepository;
-    private final ItemProductMappingRepository itemProductMappingRepository;
-    private final OptionRepository optionRepository;
+    private final ItemServiceImpl itemServiceImpl;
+    private final ProductServiceImpl productServiceImpl;
+    private final CartStore cartStore;
+    private final DomainEventPublisher domainEventPublisher;
 
     /**
      * 장바구니 목록 조회
+     * CART 만 조회하고(메모리 장바구니 저장소를 사용하면 저장소의 장바구니), 가격, 재고, 상품 정보는 ItemSnapshotCache 에서 채운다.
      * @param requestDto
      */
     public List<CartResponseDto> findCarts(PagingCommonRequestDto requestDto) {
-        List<Cart> carts = cartRepository.findCartsByMemberId(1L, PageRequest.of(requestDto.getLimit(), requestDto.getOffset()));
+        PageRequest pageRequest = PageRequest.of(requestDto.getLimit(), requestDto.getOffset());
+        List<CartWriteDto> carts = cartStore.isEnabled()
+                ? findStoredCarts(1L, pageRequest)
+                : cartRepository.findCartsByMemberId(1L, pageRequest).stream().map(CartWriteDto::from).collect(Collectors.toList());
         List<CartResponseDto> cartResponseDtos = new ArrayList<>();
         setResponseDtos(carts, cartResponseDtos);
         return cartResponseDtos;
@@ -50,27 +63,22 @@ public class CartServiceImpl {
 
     /**
      * 장바구니 추가
+     * 아이템, 상품, 옵션, 아이템 상품 매핑 정보를 하나의 쿼리로 확인하고, 같은 장바구니가 있으면 수량을 더하는 upsert 로 저장한다.
+     * 메모리 장바구니 저장소를 사용하면 저장소에만 담고 CART 에는 나중에 반영된다.
      * @param requestDto
      */
     @Transactional
     public void addCart(AddCartRequestDto requestDto) {
-        Cart cart = checkCart(requestDto.getItemId(), requestDto.getProductId(), requestDto.getOptionId());
-        if (!ObjectUtils.isEmpty(cart)) {
-            cart.addQuantity(requestDto.getQuantity(), findOption(requestDto.getOptionId()).getItemUsedQuantity());
-            return;
-        }
+        checkQuantity(requestDto.getQuantity());
+        CartAddTargetDto target = cartRepository.findCartAddTarget(requestDto.getItemId(), requestDto.getProductId(), requestDto.getOptionId());
+        CartAddTargetDto.checkExist(target);
+        checkStock(target.getItem());
 
-        Item item = checkItem(requestDto.getItemId());
-        Product product = findProduct(requestDto.getProductId());
-        Option option = findOption(requestDto.getOptionId());
-        cartRepository.save(Cart.builder()
-                .member(Member.builder().id(1L).build())
-                .product(product)
-                .item(item)
-                .option(option)
-                .userPurchaseQuantity(requestDto.getQuantity())
-                .itemUsedQuantity(requestDto.getQuantity() * option.getItemUsedQuantity())
-                .build());
+        int itemUsedQuantity = requestDto.getQuantity() * target.getOption().getItemUsedQuantity();
+        Long cartId = cartStore.isEnabled()
+                ? cartStore.add(1L, requestDto.getItemId(), requestDto.getProductId(), requestDto.getOptionId(), requestDto.getQuantity(), itemUsedQuantity)
+                : cartRepository.upsertCart(1L, requestDto.getItemId(), requestDto.getProductId(), requestDto.getOptionId(), requestDto.getQuantity(), itemUsedQuantity);
+        domainEventPublisher.publishAfterCommit(new CartChangedEvent(1L, cartId));
     }
 
     /**
@@ -79,45 +87,167 @@ public class CartServiceImpl {
      */
     @Transactional
     public void deleteCart(Long cartId) {
-        Cart cart = findCart(cartId);
-        cart.updateActivated(false);
+        if (cartStore.isEnabled()) {
+            if (!cartStore.delete(1L, cartId)) {
+                throw new BadRequestException("해당 장바구니가 존재하지 않습니다.");
+            }
+        } else {
+            Cart cart = findCart(cartId);
+            cart.updateActivated(false);
+        }
+        domainEventPublisher.publishAfterCommit(new CartChangedEvent(1L, cartId));
     }
 
     /**
-     * 아이템 조회, 재고 확인 및 validation 여부 확인
-     * @param itemId
+     * 장바구니 일괄 추가 (위시리스트 복원, 재주문처럼 여러 줄을 한번에 담을 때 사용, 줄마다 결과를 반환한다)
+     * 요청 수와 관계없이 아이템, 상품, 옵션, 매핑 정보와 재고를 정해진 횟수의 쿼리로 확인하고, 담을 수 있는 줄만 한번에 upsert 한다.
+     * @param requestDtos 장바구니 추가 요청 목록
      */
-    private Item checkItem(Long itemId) {
-        Item item = itemRepository.findByIdAndActivated(itemId, true);
-        if (ObjectUtils.isEmpty(item)) {
-            throw new BadRequestException("해당 아이템이 존재하지 않습니다.");
+    @Transactional
+    public List<CartBulkResultDto> addCarts(List<AddCartRequestDto> requestDtos) {
+        checkBulkSize(requestDtos);
+        List<CartAddTargetDto> targets = cartRepository.findCartAddTargets(requestDtos);
+        Map<Long, Integer> stockQuantities = itemServiceImpl.getStockQuantities(targets.stream()
+                .filter(Objects::nonNull)
+                .map(CartAddTargetDto::getItem)
+                .distinct()
+                .collect(Collectors.toList()));
+
+        Map<Integer, String> failureMessages = new LinkedHashMap<>();
+        List<Integer> addableLines = new ArrayList<>();
+        List<CartWriteDto> cartWrites = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (int line = 0; line < requestDtos.size(); line++) {
+            AddCartRequestDto requestDto = requestDtos.get(line);
+            CartAddTargetDto target = targets.get(line);
+            try {
+                checkRequestExist(requestDto);
+                CartAddTargetDto.checkExist(target);
+                checkQuantity(requestDto.getQuantity());
+                if (stockQuantities.get(target.getItem().getId()) < 1) {
+                    throw new BadRequestException("해당 상품은 품절되었습니다.");
+                }
+            } catch (BadRequestException e) {
+                failureMessages.put(line, e.getMessage());
+                continue;
+            }
+            addableLines.add(line);
+            cartWrites.add(CartWriteDto.builder()
+                    .memberId(1L)
+                    .itemId(requestDto.getItemId())
+                    .productId(requestDto.getProductId())
+                    .optionId(requestDto.getOptionId())
+                    .userPurchaseQuantity(requestDto.getQuantity())
+                    .itemUsedQuantity(requestDto.getQuantity() * target.getOption().getItemUsedQuantity())
+                    .activated(true)
+                    .createdAt(now)
+                    .build());
         }
-        if (item.getStockQuantity() < 1) {
-            throw new BadRequestException("해당 상품은 품절되었습니다.");
+
+        List<Long> cartIds = cartWrites.isEmpty() ? List.of() : saveCarts(cartWrites);
+        Map<Integer, Long> addedCartIds = new LinkedHashMap<>();
+        for (int i = 0; i < addableLines.size(); i++) {
+            addedCartIds.put(addableLines.get(i), cartIds.get(i));
+        }
+        new HashSet<>(cartIds).forEach(cartId -> domainEventPublisher.publishAfterCommit(new CartChangedEvent(1L, cartId)));
+
+        List<CartBulkResultDto> results = new ArrayList<>();
+        for (int line = 0; line < requestDtos.size(); line++) {
+            results.add(failureMessages.containsKey(line)
+                    ? CartBulkResultDto.failure(line, null, failureMessages.get(line))
+                    : CartBulkResultDto.success(line, addedCartIds.get(line)));
+        }
+        return results;
+    }
+
+    /**
+     * 장바구니 일괄 삭제 (update, 줄마다 결과를 반환한다)
+     * 회원의 장바구니를 한번에 조회하여 없는 장바구니를 확인하고, 나머지를 하나의 update 로 비활성화한다.
+     * @param cartIds 장바구니 아이디 목록
+     */
+    @Transactional
+    public List<CartBulkResultDto> deleteCarts(List<Long> cartIds) {
+        checkBulkSize(cartIds);
+        List<Long> distinctCartIds = cartIds.stream().filter(Objects::nonNull).distinct().collect(Collectors.toList());
+        Set<Long> deletedCartIds = new HashSet<>();
+        if (cartStore.isEnabled()) {
+            distinctCartIds.stream()
+                    .filter(cartId -> cartStore.delete(1L, cartId))
+                    .forEach(deletedCartIds::add);
+        } else if (!distinctCartIds.isEmpty()) {
+            cartRepository.findCartsByCartIdsAndMemberId(distinctCartIds, 1L).forEach(cart -> deletedCartIds.add(cart.getId()));
+            if (!deletedCartIds.isEmpty()) {
+                cartRepository.deactivateCarts(new ArrayList<>(deletedCartIds), 1L);
+            }
+        }
+        deletedCartIds.forEach(cartId -> domainEventPublisher.publishAfterCommit(new CartChangedEvent(1L, cartId)));
+
+        List<CartBulkResultDto> results = new ArrayList<>();
+        for (int line = 0; line < cartIds.size(); line++) {
+            Long cartId = cartIds.get(line);
+            results.add(deletedCartIds.contains(cartId)
+                    ? CartBulkResultDto.success(line, cartId)
+                    : CartBulkResultDto.failure(line, cartId, "해당 장바구니가 존재하지 않습니다."));
+        }
+        return results;
+    }
+
+    /**
+     * 일괄 추가할 장바구니 저장 (CART 에 한번에 upsert 하거나, 메모리 장바구니 저장소를 사용하면 저장소에 담는다)
+     * @param cartWrites 추가할 장바구니 목록
+     * @return 요청 순서대로 장바구니 아이디
+     */
+    private List<Long> saveCarts(List<CartWriteDto> cartWrites) {
+        if (!cartStore.isEnabled()) {
+            return cartRepository.upsertCarts(cartWrites);
+        }
+        return cartWrites.stream()
+                .map(cartWrite -> cartStore.add(cartWrite.getMemberId(), cartWrite.getItemId(), cartWrite.getProductId(),
+                        cartWrite.getOptionId(), cartWrite.getUserPurchaseQuantity(), cartWrite.getItemUsedQuantity()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 일괄 요청 건수 확인
+     * @param lines 요청 목록
+     */
+    private void checkBulkSize(List<?> lines) {
+        if (ObjectUtils.isEmpty(lines)) {
+            throw new BadRequestException("요청한 장바구니가 없습니다.");
+        }
+        if (lines.size() > MAX_BULK_SIZE) {
+            throw new BadRequestException("장바구니는 한번에 " + MAX_BULK_SIZE + "개까지 요청할 수 있습니다.");
+        }
+    }
+
+    /**
+     * 일괄 요청 줄 확인 (null 인 줄은 그 줄만 실패로 처리한다)
+     * @param requestDto 장바구니 추가 요청
+     */
+    private void checkRequestExist(AddCartRequestDto requestDto) {
+        if (requestDto == null) {
+            throw new BadRequestException("요청한 장바구니 정보가 없습니다.");
         }
-        return item;
     }
 
     /**
-     * 아이템 상품 매핑 정보 조회
-     * @param itemId
-     * @param productId
+     * 수량 확인
+     * @param quantity
      */
-    private ItemProductMapping findItemProductMapping(Long itemId, Long productId) {
-        ItemProductMapping itemProductMapping = itemProductMappingRepository.findTop1ByItemIdAndProductIdAndActivated(itemId, productId, true);
-        if (ObjectUtils.isEmpty(itemProductMapping)) {
-            throw new BadRequestException("해당 아이템과 상품의 매핑 정보가 존재하지 않습니다.");
+    private void checkQuantity(int quantity) {
+        if (quantity < 1) {
+            throw new BadRequestException("수량은 1개 이상이어야 합니다.");
         }
-        return itemProductMapping;
     }
 
     /**
-     * 상품 조회 및 validation 여부 확인
-     * @param productId
+     * 재고 확인
+     * @param item
      */
-    private Product findProduct(Long productId) {
-        return productRepository.findById(productId)
-                .orElseThrow(() -> new BadRequestException("해당 상품이 없습니다."));
+    private void checkStock(Item item) {
+        if (itemServiceImpl.getStockQuantity(item) < 1) {
+            throw new BadRequestException("해당 상품은 품절되었습니다.");
+        }
     }
 
     /**
@@ -133,55 +263,59 @@ public class CartServiceImpl {
     }
 
     /**
-     * 장바구니에 동일 정보가 존재하는지 확인
-     * @param itemId
-     * @param productId
+     * 메모리 장바구니 저장소의 장바구니 조회
+     * @param memberId 회원 아이디
+     * @param pageRequest
      */
-    private Cart checkCart(Long itemId, Long productId, Long optionId) {
-        return cartRepository.findTop1ByItemIdAndProductIdAndOptionIdAndActivated(itemId, productId, optionId, true);
-    }
-
-    /**
-     * 옵션 조회
-     * @param optionId
-     */
-    private Option findOption(Long optionId) {
-        Option option = optionRepository.findTop1ByIdAndActivated(optionId, true);
-        if (ObjectUtils.isEmpty(option)) {
-            throw new BadRequestException("해당 옵션이 존재하지 않습니다.");
-        }
-        return option;
+    private List<CartWriteDto> findStoredCarts(Long memberId, PageRequest pageRequest) {
+        List<CartWriteDto> storedCarts = cartStore.findCarts(memberId);
+        int from = (int) Math.min(pageRequest.getOffset(), storedCarts.size());
+        return storedCarts.subList(from, Math.min(from + pageRequest.getPageSize(), storedCarts.size()));
     }
 
     /**
      * responseDtos 에 데이터 셋팅
+     * 가격, 재고, 상품 정보는 ItemSnapshotCache 에서 읽고 캐시에 없는 item, 상품만 조회한다.
      * @param carts
      * @param cartResponseDtos
      */
-    private void setResponseDtos(List<Cart> carts, List<CartResponseDto> cartResponseDtos) {
+    private void setResponseDtos(List<CartWriteDto> carts, List<CartResponseDto> cartResponseDtos) {
+        if (carts.isEmpty()) {
+            return;
+        }
+        Map<Long, ItemSnapshotDto> items = itemServiceImpl.findItemSnapshots(
+                carts.stream().map(CartWriteDto::getItemId).collect(Collectors.toSet()));
+        Map<Long, ProductSnapshotDto> products = productServiceImpl.findProductSnapshots(
+                carts.stream().map(CartWriteDto::getProductId).collect(Collectors.toSet()));
         carts.forEach(cart -> {
-            DisplayStatus displayStatus = getDisplayStatus(cart);
+            ItemSnapshotDto item = items.get(cart.getItemId());
+            ProductSnapshotDto product = products.get(cart.getProductId());
+            if (item == null || product == null) {
+                return;
+            }
             cartResponseDtos.add(CartResponseDto.builder()
                     .id(cart.getId())
-                    .productId(cart.getProduct().getId())
-                    .itemId(cart.getItem().getId())
+                    .productId(cart.getProductId())
+                    .itemId(cart.getItemId())
                     .quantity(cart.getUserPurchaseQuantity())
-                    .productName(cart.getProduct().getName())
-                    .price(cart.getItem().getPrice())
-                    .imageUrl(cart.getProduct().getImgPath())
-                    .status(displayStatus)
+                    .productName(product.getName())
+                    .price(item.getPrice())
+                    .imageUrl(product.getImgPath())
+                    .status(getDisplayStatus(product, item, cart.getItemUsedQuantity()))
                     .build());
         });
     }
 
     /**
      * 상품 전시 상태 확인
-     * @param cart
+     * @param product
+     * @param item
+     * @param itemUsedQuantity 장바구니에 담긴 재고 수량
      * @return
      */
-    private DisplayStatus getDisplayStatus(Cart cart) {
-        DisplayStatus displayStatus = cart.getProduct().getStatus();
-        if (cart.getItem().getStockQuantity() < cart.getItemUsedQuantity()) {
+    private DisplayStatus getDisplayStatus(ProductSnapshotDto product, ItemSnapshotDto item, int itemUsedQuantity) {
+        DisplayStatus displayStatus = product.getStatus();
+        if (item.getStockQuantity() < itemUsedQuantity) {
             displayStatus = DisplayStatus.SOLD_OUT;
         }
         return displayStatus;
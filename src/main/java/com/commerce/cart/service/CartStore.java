@@ -0,0 +1,460 @@
+package com.commerce.cart.service;
+
+import com.commerce.cart.dto.CartWriteDto;
+import com.commerce.cart.dto.CartWriteResultDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 메모리 장바구니 저장소 (write-behind, cart.store.write-behind 가 true 일 때 사용)
+ * 회원별 장바구니를 회원 아이디 hash 로 나눈 stripes 개의 칸에 나누어 담고, 칸마다 락을 따로 잡아 다른 칸의 회원끼리는 경합하지 않는다.
+ * 장바구니 추가, 삭제는 메모리에만 반영하고, flush-millis 마다 바뀐 장바구니를 batch-size 씩 모아 CART 에 JDBC batch 로 반영한다.
+ * 반영하는 동안 다시 바뀐 장바구니는 버전으로 구분하여 다음 반영 때 다시 쓴다.
+ * 칸마다 max-members / stripes 명까지 담고, 넘치거나 idle-seconds 동안 사용하지 않은 회원은 CART 에 모두 반영된 경우에만 메모리에서 내린다.
+ * 주문은 CART 를 기준으로 하므로 주문 전에 flush 로 회원의 장바구니를 먼저 반영하고, 주문이나 주문 정리로 CART 가 바뀌면 evictAfterCommit 으로 다시 읽도록 한다.
+ * 반영한 뒤 내리기 전까지 주문된 장바구니에 더한 수량은 주문된 장바구니에 update 되지 않으므로, 더한 수량만큼 새 장바구니로 다시 담는다.
+ * 서버마다 따로 메모리에 담으므로 같은 회원의 요청이 여러 서버로 나뉘지 않는 환경(sticky session 또는 단일 서버)에서만 사용한다.
+ */
+@Slf4j
+@Component
+public class CartStore {
+
+    private final CartFlushServiceImpl cartFlushServiceImpl;
+    private final boolean enabled;
+    private final Stripe[] stripes;
+    private final int maxMembersPerStripe;
+    private final long idleMillis;
+    private final int batchSize;
+
+    public CartStore(CartFlushServiceImpl cartFlushServiceImpl,
+                     @Value("${cart.store.write-behind:false}") boolean enabled,
+                     @Value("${cart.store.stripes:16}") int stripes,
+                     @Value("${cart.store.max-members:10000}") int maxMembers,
+                     @Value("${cart.store.idle-seconds:600}") long idleSeconds,
+                     @Value("${cart.store.batch-size:500}") int batchSize) {
+        this.cartFlushServiceImpl = cartFlushServiceImpl;
+        this.enabled = enabled;
+        this.stripes = new Stripe[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new Stripe();
+        }
+        this.maxMembersPerStripe = Math.max(1, maxMembers / stripes);
+        this.idleMillis = idleSeconds * 1000;
+        this.batchSize = batchSize;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 회원의 활성화된 장바구니 목록 (장바구니 아이디 순)
+     * @param memberId 회원 아이디
+     */
+    public List<CartWriteDto> findCarts(Long memberId) {
+        return withMember(memberId, memberCarts -> memberCarts.carts.values().stream()
+                .filter(entry -> entry.activated)
+                .sorted(Comparator.comparing(entry -> entry.id))
+                .map(CartEntry::toWriteDto)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * 장바구니 추가 (같은 아이템, 상품, 옵션의 장바구니가 있으면 수량을 더한다)
+     * 새 장바구니 아이디는 칸의 락 밖에서 CART 의 id 생성기로 할당받고 다시 시도하므로, 그사이 같은 장바구니가 추가되었으면 할당받은 아이디는 사용하지 않는다.
+     * @return 장바구니 아이디
+     */
+    public Long add(Long memberId, Long itemId, Long productId, Long optionId, int userPurchaseQuantity, int itemUsedQuantity) {
+        Long newCartId = null;
+        while (true) {
+            Long allocatedCartId = newCartId;
+            Long cartId = withMember(memberId, memberCarts -> {
+                for (CartEntry entry : memberCarts.carts.values()) {
+                    if (entry.activated && entry.itemId.equals(itemId) && entry.productId.equals(productId) && entry.optionId.equals(optionId)) {
+                        entry.userPurchaseQuantity += userPurchaseQuantity;
+                        entry.itemUsedQuantity += itemUsedQuantity;
+                        entry.version++;
+                        return entry.id;
+                    }
+                }
+                if (allocatedCartId == null) {
+                    return null;
+                }
+                CartEntry entry = new CartEntry(allocatedCartId, memberId, itemId, productId, optionId, LocalDateTime.now());
+                entry.userPurchaseQuantity = userPurchaseQuantity;
+                entry.itemUsedQuantity = itemUsedQuantity;
+                entry.version = 1;
+                memberCarts.carts.put(entry.id, entry);
+                return entry.id;
+            });
+            if (cartId != null) {
+                return cartId;
+            }
+            newCartId = cartFlushServiceImpl.nextCartId();
+        }
+    }
+
+    /**
+     * 장바구니 삭제 (비활성화)
+     * @return 삭제 여부 (회원의 활성화된 장바구니가 아니면 false)
+     */
+    public boolean delete(Long memberId, Long cartId) {
+        return withMember(memberId, memberCarts -> {
+            CartEntry entry = memberCarts.carts.get(cartId);
+            if (entry == null || !entry.activated) {
+                return false;
+            }
+            entry.activated = false;
+            entry.version++;
+            return true;
+        });
+    }
+
+    /**
+     * 회원의 바뀐 장바구니를 CART 에 바로 반영
+     * @param memberId 회원 아이디
+     */
+    public void flush(Long memberId) {
+        if (!enabled) {
+            return;
+        }
+        Stripe stripe = stripe(memberId);
+        stripe.flushLock.lock();
+        try {
+            List<PendingWrite> writes = new ArrayList<>();
+            synchronized (stripe) {
+                MemberCarts memberCarts = stripe.members.get(memberId);
+                if (memberCarts != null) {
+                    memberCarts.collectPendingWrites(writes);
+                }
+            }
+            write(stripe, writes);
+        } finally {
+            stripe.flushLock.unlock();
+        }
+    }
+
+    /**
+     * 회원의 장바구니를 메모리에서 내려 다음 요청 때 CART 에서 다시 읽도록 한다.
+     * 트랜잭션 안에서 호출되면 커밋된 이후에 내린다. 바뀐 장바구니는 먼저 반영하고, 반영하는 사이 다시 바뀌었으면 내리지 않는다.
+     * (내리지 못한 회원의 주문된 장바구니는 update 되지 않으므로 다음 반영 때 그 장바구니만 지운다)
+     * @param memberIds 회원 아이디 목록
+     */
+    public void evictAfterCommit(Collection<Long> memberIds) {
+        if (!enabled) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            memberIds.forEach(this::evict);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                memberIds.forEach(CartStore.this::evict);
+            }
+        });
+    }
+
+    /**
+     * 모든 회원의 바뀐 장바구니를 CART 에 반영하고, 오래 사용하지 않은 회원을 메모리에서 내린다.
+     * 반영에 실패한 칸의 장바구니는 바뀐 상태로 남아 다음 실행 때 다시 반영한다.
+     */
+    @Scheduled(fixedDelayString = "${cart.store.flush-millis:1000}")
+    public void flushAll() {
+        if (!enabled) {
+            return;
+        }
+        for (Stripe stripe : stripes) {
+            try {
+                flushStripe(stripe);
+            } catch (RuntimeException e) {
+                log.error("장바구니 반영에 실패하였습니다.", e);
+            }
+        }
+    }
+
+    /**
+     * 메모리에 담긴 회원 수
+     */
+    public int getMemberCount() {
+        int count = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                count += stripe.members.size();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 회원의 장바구니로 작업 (메모리에 없으면 CART 에서 읽어 담는다)
+     * CART 조회는 칸의 락 밖에서 하고, 칸이 넘쳐 반영되지 않은 회원만 남으면 호출한 스레드가 칸을 반영하여 메모리를 비운다.
+     */
+    private <T> T withMember(Long memberId, Function<MemberCarts, T> action) {
+        Stripe stripe = stripe(memberId);
+        while (true) {
+            T result = null;
+            boolean found = false;
+            boolean overflow = false;
+            synchronized (stripe) {
+                MemberCarts memberCarts = stripe.members.get(memberId);
+                if (memberCarts != null) {
+                    memberCarts.accessedAt = System.currentTimeMillis();
+                    result = action.apply(memberCarts);
+                    found = true;
+                    overflow = !evictOverflow(stripe);
+                }
+            }
+            if (found) {
+                if (overflow) {
+                    flushStripe(stripe);
+                }
+                return result;
+            }
+
+            List<CartWriteDto> loaded = cartFlushServiceImpl.load(memberId);
+            synchronized (stripe) {
+                stripe.members.putIfAbsent(memberId, new MemberCarts(loaded));
+            }
+        }
+    }
+
+    private void evict(Long memberId) {
+        flush(memberId);
+        Stripe stripe = stripe(memberId);
+        synchronized (stripe) {
+            MemberCarts memberCarts = stripe.members.get(memberId);
+            if (memberCarts != null && !memberCarts.isDirty()) {
+                stripe.members.remove(memberId);
+            }
+        }
+    }
+
+    private void flushStripe(Stripe stripe) {
+        stripe.flushLock.lock();
+        try {
+            List<PendingWrite> writes = new ArrayList<>();
+            synchronized (stripe) {
+                stripe.members.values().forEach(memberCarts -> memberCarts.collectPendingWrites(writes));
+            }
+            for (int from = 0; from < writes.size(); from += batchSize) {
+                write(stripe, writes.subList(from, Math.min(from + batchSize, writes.size())));
+            }
+            synchronized (stripe) {
+                evictIdle(stripe);
+                evictOverflow(stripe);
+            }
+        } finally {
+            stripe.flushLock.unlock();
+        }
+    }
+
+    /**
+     * CART 에 반영하고, 반영한 버전을 기록한다.
+     * 비활성화된 장바구니는 반영된 뒤 메모리에서 지우고, update 되지 않은 장바구니는 CART 에서 이미 비활성화(주문)되었으므로 그 장바구니만 메모리에서 지운다.
+     * update 되지 않은 장바구니에 마지막 반영 이후 더한 수량이 있으면 그 수량만 새 장바구니로 다시 담아 다음 반영 때 insert 한다.
+     * 다른 장바구니에 합쳐진 장바구니는 메모리에서 지우고, 회원을 다음 요청 때 CART 에서 다시 읽도록 한다.
+     * 회원의 다른 장바구니는 반영되지 않은 변경이 있을 수 있으므로 그대로 둔다.
+     */
+    private void write(Stripe stripe, List<PendingWrite> writes) {
+        if (writes.isEmpty()) {
+            return;
+        }
+        CartWriteResultDto result = cartFlushServiceImpl.write(
+                writes.stream().map(write -> write.cartWrite).collect(Collectors.toList()));
+        Set<Long> staleCartIds = new HashSet<>(result.getStaleCartIds());
+        Set<Long> mergedCartIds = new HashSet<>(result.getMergedCartIds());
+        Deque<Long> newCartIds = new ArrayDeque<>();
+        for (int i = 0; i < staleCartIds.size(); i++) {
+            newCartIds.add(cartFlushServiceImpl.nextCartId());
+        }
+
+        synchronized (stripe) {
+            for (PendingWrite write : writes) {
+                CartEntry entry = write.entry;
+                MemberCarts memberCarts = stripe.members.get(entry.memberId);
+                if (memberCarts == null || memberCarts.carts.get(entry.id) != entry) {
+                    continue;
+                }
+                if (staleCartIds.contains(entry.id)) {
+                    memberCarts.carts.remove(entry.id);
+                    CartEntry addedEntry = entry.toAddedEntry(newCartIds.poll());
+                    if (addedEntry != null) {
+                        memberCarts.carts.put(addedEntry.id, addedEntry);
+                    }
+                    continue;
+                }
+                if (mergedCartIds.contains(entry.id)) {
+                    memberCarts.carts.remove(entry.id);
+                    memberCarts.reload = true;
+                    continue;
+                }
+                entry.persisted = true;
+                entry.flushedVersion = Math.max(entry.flushedVersion, write.version);
+                entry.flushedUserPurchaseQuantity = write.cartWrite.getUserPurchaseQuantity();
+                entry.flushedItemUsedQuantity = write.cartWrite.getItemUsedQuantity();
+                if (!entry.activated && !entry.isDirty()) {
+                    memberCarts.carts.remove(entry.id);
+                }
+            }
+            stripe.members.values().removeIf(memberCarts -> memberCarts.reload && !memberCarts.isDirty());
+        }
+    }
+
+    private void evictIdle(Stripe stripe) {
+        long now = System.currentTimeMillis();
+        stripe.members.values().removeIf(memberCarts -> now - memberCarts.accessedAt >= idleMillis && !memberCarts.isDirty());
+    }
+
+    /**
+     * 칸이 넘치면 오래전에 사용한 회원부터 반영된 회원만 내린다.
+     * @return 칸이 max-members / stripes 명 이하가 되었는지 여부
+     */
+    private boolean evictOverflow(Stripe stripe) {
+        Iterator<MemberCarts> iterator = stripe.members.values().iterator();
+        while (stripe.members.size() > maxMembersPerStripe && iterator.hasNext()) {
+            if (!iterator.next().isDirty()) {
+                iterator.remove();
+            }
+        }
+        return stripe.members.size() <= maxMembersPerStripe;
+    }
+
+    private Stripe stripe(Long memberId) {
+        return stripes[Math.floorMod(Long.hashCode(memberId), stripes.length)];
+    }
+
+    private static class Stripe {
+        // 접근 순서로 정렬하여 오래전에 사용한 회원부터 내린다
+        private final LinkedHashMap<Long, MemberCarts> members = new LinkedHashMap<>(16, 0.75f, true);
+        // 같은 장바구니의 이전 버전이 나중에 커밋되지 않도록 칸마다 반영을 하나씩 한다
+        private final ReentrantLock flushLock = new ReentrantLock();
+    }
+
+    private static class MemberCarts {
+        private final Map<Long, CartEntry> carts = new LinkedHashMap<>();
+        private long accessedAt = System.currentTimeMillis();
+        // 다른 장바구니에 합쳐진 장바구니가 있어 모두 반영되면 CART 에서 다시 읽는다
+        private boolean reload;
+
+        MemberCarts(List<CartWriteDto> loaded) {
+            loaded.forEach(cartWrite -> carts.put(cartWrite.getId(), CartEntry.from(cartWrite)));
+        }
+
+        boolean isDirty() {
+            return carts.values().stream().anyMatch(CartEntry::isDirty);
+        }
+
+        void collectPendingWrites(List<PendingWrite> writes) {
+            carts.values().stream()
+                    .filter(CartEntry::isDirty)
+                    .forEach(entry -> writes.add(new PendingWrite(entry, entry.version, entry.toWriteDto())));
+        }
+    }
+
+    private static class CartEntry {
+        private final Long id;
+        private final Long memberId;
+        private final Long itemId;
+        private final Long productId;
+        private final Long optionId;
+        private final LocalDateTime createdAt;
+        private int userPurchaseQuantity;
+        private int itemUsedQuantity;
+        private boolean activated = true;
+        private boolean persisted;
+        private long version;
+        private long flushedVersion;
+        private int flushedUserPurchaseQuantity;
+        private int flushedItemUsedQuantity;
+
+        CartEntry(Long id, Long memberId, Long itemId, Long productId, Long optionId, LocalDateTime createdAt) {
+            this.id = id;
+            this.memberId = memberId;
+            this.itemId = itemId;
+            this.productId = productId;
+            this.optionId = optionId;
+            this.createdAt = createdAt;
+        }
+
+        static CartEntry from(CartWriteDto cartWrite) {
+            CartEntry entry = new CartEntry(cartWrite.getId(), cartWrite.getMemberId(), cartWrite.getItemId(),
+                    cartWrite.getProductId(), cartWrite.getOptionId(), cartWrite.getCreatedAt());
+            entry.userPurchaseQuantity = cartWrite.getUserPurchaseQuantity();
+            entry.itemUsedQuantity = cartWrite.getItemUsedQuantity();
+            entry.flushedUserPurchaseQuantity = cartWrite.getUserPurchaseQuantity();
+            entry.flushedItemUsedQuantity = cartWrite.getItemUsedQuantity();
+            entry.persisted = true;
+            return entry;
+        }
+
+        /**
+         * CART 에서 이미 비활성화된 장바구니에 마지막 반영 이후 더한 수량으로 새 장바구니 생성
+         * @param newCartId 새 장바구니 아이디
+         * @return 새 장바구니 (삭제되었거나 더한 수량이 없으면 null)
+         */
+        CartEntry toAddedEntry(Long newCartId) {
+            int addedUserPurchaseQuantity = userPurchaseQuantity - flushedUserPurchaseQuantity;
+            if (!activated || addedUserPurchaseQuantity <= 0) {
+                return null;
+            }
+            CartEntry entry = new CartEntry(newCartId, memberId, itemId, productId, optionId, LocalDateTime.now());
+            entry.userPurchaseQuantity = addedUserPurchaseQuantity;
+            entry.itemUsedQuantity = itemUsedQuantity - flushedItemUsedQuantity;
+            entry.version = 1;
+            return entry;
+        }
+
+        boolean isDirty() {
+            return version != flushedVersion;
+        }
+
+        CartWriteDto toWriteDto() {
+            return CartWriteDto.builder()
+                    .id(id)
+                    .memberId(memberId)
+                    .itemId(itemId)
+                    .productId(productId)
+                    .optionId(optionId)
+                    .userPurchaseQuantity(userPurchaseQuantity)
+                    .itemUsedQuantity(itemUsedQuantity)
+                    .activated(activated)
+                    .persisted(persisted)
+                    .createdAt(createdAt)
+                    .build();
+        }
+    }
+
+    private static class PendingWrite {
+        private final CartEntry entry;
+        private final long version;
+        private final CartWriteDto cartWrite;
+
+        PendingWrite(CartEntry entry, long version, CartWriteDto cartWrite) {
+            this.entry = entry;
+            this.version = version;
+            this.cartWrite = cartWrite;
+        }
+    }
+}
@@ -6,18 +6,19 @@ import com.commerce.global.common.IEnumType;
 import com.commerce.global.common.exception.BadRequestException;
 import com.commerce.order.domain.Order;
 import com.commerce.order.dto.DeliveryResponseDto;
-import com.commerce.user.domain.Member;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
 import org.springframework.util.ObjectUtils;
 
 import javax.persistence.*;
 
 import java.time.LocalDateTime;
 
-import static javax.persistence.GenerationType.IDENTITY;
+import static com.commerce.global.common.constants.CommonConstants.SNOWFLAKE_ID_GENERATOR;
+import static com.commerce.global.common.constants.CommonConstants.SNOWFLAKE_ID_GENERATOR_STRATEGY;
 import static lombok.AccessLevel.PROTECTED;
 
 @Getter
@@ -27,13 +28,13 @@ import static lombok.AccessLevel.PROTECTED;
 public class Delivery extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = IDENTITY)
-    @Column(name = "id", insertable = false, updatable = false)
+    @GeneratedValue(generator = SNOWFLAKE_ID_GENERATOR)
+    @GenericGenerator(name = SNOWFLAKE_ID_GENERATOR, strategy = SNOWFLAKE_ID_GENERATOR_STRATEGY)
+    @Column(name = "id", updatable = false)
     private Long id;
 
-    @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "member_id", referencedColumnName = "id", updatable = false)
-    private Member member;
+    @Column(name = "member_id", nullable = false, updatable = false)
+    private Long memberId;
 
     @JsonIgnore
     @OneToOne
@@ -48,9 +49,9 @@ public class Delivery extends BaseEntity {
     private DeliveryStatus status;
 
     @Builder
-    public Delivery (Long id, Member member, Order order, Address address, DeliveryStatus status) {
+    public Delivery (Long id, Long memberId, Order order, Address address, DeliveryStatus status) {
         this.id = id;
-        this.member = member;
+        this.memberId = memberId;
         this.order = order;
         this.address = address;
         this.status = status;
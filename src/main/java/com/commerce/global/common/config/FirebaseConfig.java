@@ -13,8 +13,14 @@ import java.io.IOException;
 @Configuration
 public class FirebaseConfig {
 
+    /**
+     * 같은 JVM 에서 컨텍스트를 다시 만들면 (설정이 다른 테스트 등) 이미 초기화된 기본 FirebaseApp 을 사용한다.
+     */
     @Bean
     public FirebaseAuth FirebaseInitializer() throws IOException {
+        if (!FirebaseApp.getApps().isEmpty()) {
+            return FirebaseAuth.getInstance();
+        }
         FirebaseOptions options = FirebaseOptions.builder()
                 .setCredentials(GoogleCredentials.fromStream(new FileInputStream("src/main/resources/firebaseAccountKey.json")))
                 .build();
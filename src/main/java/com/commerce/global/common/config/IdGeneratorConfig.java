@@ -0,0 +1,31 @@
+package com.commerce.global.common.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import static com.commerce.global.common.domain.SnowflakeIdentifierGenerator.MAX_BACKWARD_MILLIS;
+import static com.commerce.global.common.domain.SnowflakeIdentifierGenerator.NODE_ID;
+
+/**
+ * Snowflake id 생성기 설정
+ * commerce.id 설정을 Hibernate 설정으로 넘겨 SnowflakeIdentifierGenerator 가 읽도록 한다. (샤드를 사용하면 두 영속성 유닛에 모두 적용된다)
+ * 노드 id 가 같은 서버끼리는 id 가 겹치므로 기본값을 두지 않고, commerce.id.node-id 가 설정되지 않으면 서버를 시작하지 않는다.
+ */
+@Configuration
+public class IdGeneratorConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer snowflakeIdPropertiesCustomizer(@Value("${" + NODE_ID + ":}") String nodeId,
+                                                                        @Value("${" + MAX_BACKWARD_MILLIS + ":5000}") int maxBackwardMillis) {
+        if (!StringUtils.hasText(nodeId)) {
+            throw new IllegalStateException(NODE_ID + " 가 설정되지 않았습니다. 서버마다 다른 노드 id 를 설정해주세요. (환경변수 ID_NODE_ID)");
+        }
+        return hibernateProperties -> {
+            hibernateProperties.put(NODE_ID, Integer.parseInt(nodeId.trim()));
+            hibernateProperties.put(MAX_BACKWARD_MILLIS, maxBackwardMillis);
+        };
+    }
+}
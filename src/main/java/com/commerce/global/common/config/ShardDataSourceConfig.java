@@ -0,0 +1,198 @@
+package com.commerce.global.common.config;
+
+import com.commerce.global.common.datasource.ShardRoutingDataSource;
+import com.commerce.global.common.datasource.ShardSchemaInitializer;
+import com.commerce.global.common.datasource.ShardTransactionManager;
+import com.github.gavlyukovskiy.boot.jdbc.decorator.DataSourceDecorator;
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.JpaProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.orm.jpa.EntityManagerFactoryBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 주문 샤드 설정 (shard.enabled=true 일 때만 사용)
+ * 주문, 주문 아이템, 배송, 주문 목록 조회, 주문 이벤트 테이블만 회원 기준으로 샤드에 나누고 (order 영속성 유닛)
+ * 회원, 장바구니, 상품, 재고 등 나머지 테이블은 기존 spring.datasource 의 공통 DB 하나에 둔다. (기본 영속성 유닛)
+ * 재고는 공통 DB 한 곳에서만 차감하므로 어느 샤드의 주문이든 같은 재고를 사용한다.
+ * shard.datasources 에 0번 샤드부터 순서대로 DB 를 등록하며, 개수는 shard.count 와 같아야 한다.
+ * 샤드마다 주문 테이블 스키마를 가지고 있어야 하며, 시작할 때 ddl-auto 를 모든 샤드에 적용한 뒤 주문 테이블이 없는 샤드가 있으면 시작하지 않는다. (ShardSchemaInitializer)
+ */
+@Configuration
+@ConditionalOnProperty(name = "shard.enabled", havingValue = "true")
+public class ShardDataSourceConfig {
+
+    static final String[] GLOBAL_PACKAGES = {"com.commerce.cart.domain", "com.commerce.product.domain", "com.commerce.user.domain", "com.commerce.global.common"};
+    static final String[] ORDER_PACKAGES = {"com.commerce.order", "com.commerce.delivery"};
+    private static final String ORDER_PERSISTENCE_UNIT = "order";
+    private static final String ORDER_SCHEMA_PERSISTENCE_UNIT = "orderSchema";
+    private static final String ORDER_SHARD_NAME = "orderShard";
+
+    private final JpaProperties jpaProperties;
+    private final HibernateProperties hibernateProperties;
+    private final List<HibernatePropertiesCustomizer> hibernatePropertiesCustomizers;
+
+    public ShardDataSourceConfig(JpaProperties jpaProperties,
+                                 HibernateProperties hibernateProperties,
+                                 ObjectProvider<HibernatePropertiesCustomizer> hibernatePropertiesCustomizers) {
+        this.jpaProperties = jpaProperties;
+        this.hibernateProperties = hibernateProperties;
+        this.hibernatePropertiesCustomizers = hibernatePropertiesCustomizers.orderedStream().collect(Collectors.toList());
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "shard")
+    public ShardProperties shardProperties() {
+        return new ShardProperties();
+    }
+
+    @Bean
+    @Primary
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * 주문 샤드 DataSource
+     * p6spy 는 커넥션을 받자마자 DB 메타데이터를 조회하므로 LazyConnectionDataSourceProxy 바깥을 감싸면 샤드를 지정하기 전에 0번 샤드 커넥션을 가져간다.
+     * 그래서 이 빈은 decorator.datasource.exclude-beans 로 p6spy 대상에서 빼고, 샤드별 커넥션 풀을 각각 p6spy 로 감싼다.
+     */
+    @Bean
+    public DataSource orderDataSource(ShardProperties shardProperties,
+                                      @Value("${shard.count:1}") int shardCount,
+                                      ObjectProvider<DataSourceDecorator> dataSourceDecorators) {
+        List<DataSourceProperties> datasources = shardProperties.getDatasources();
+        if (datasources.size() != shardCount) {
+            throw new IllegalStateException("shard.datasources 개수가 shard.count 와 다릅니다. datasources="
+                    + datasources.size() + ", count=" + shardCount);
+        }
+        List<DataSourceDecorator> decorators = dataSourceDecorators.orderedStream().collect(Collectors.toList());
+        List<DataSource> shards = new ArrayList<>();
+        for (int shardId = 0; shardId < datasources.size(); shardId++) {
+            DataSource shard = datasources.get(shardId).initializeDataSourceBuilder().type(HikariDataSource.class).build();
+            for (DataSourceDecorator decorator : decorators) {
+                shard = decorator.decorate(ORDER_SHARD_NAME + shardId, shard);
+            }
+            shards.add(shard);
+        }
+        return new LazyConnectionDataSourceProxy(new ShardRoutingDataSource(shards));
+    }
+
+    @Bean
+    @Primary
+    public LocalContainerEntityManagerFactoryBean entityManagerFactory(EntityManagerFactoryBuilder builder, DataSource dataSource) {
+        return builder.dataSource(dataSource)
+                .packages(GLOBAL_PACKAGES)
+                .properties(vendorProperties(false))
+                .build();
+    }
+
+    @Bean
+    public LocalContainerEntityManagerFactoryBean orderEntityManagerFactory(EntityManagerFactoryBuilder builder,
+                                                                            @Qualifier("orderDataSource") DataSource orderDataSource) {
+        return builder.dataSource(orderDataSource)
+                .packages(ORDER_PACKAGES)
+                .persistenceUnit(ORDER_PERSISTENCE_UNIT)
+                .properties(vendorProperties(true))
+                .build();
+    }
+
+    /**
+     * 주문 샤드 스키마 초기화 (create-drop 은 스키마를 적용한 EntityManagerFactory 를 닫을 때 지우지 않도록 create 로 적용한다)
+     */
+    @Bean
+    public ShardSchemaInitializer shardSchemaInitializer(EntityManagerFactoryBuilder builder,
+                                                         @Qualifier("orderDataSource") DataSource orderDataSource,
+                                                         @Qualifier("orderEntityManagerFactory") EntityManagerFactory orderEntityManagerFactory) throws SQLException {
+        Map<String, Object> properties = vendorProperties(true);
+        Object ddlAuto = properties.get(AvailableSettings.HBM2DDL_AUTO);
+        if ("create-drop".equals(ddlAuto)) {
+            properties.put(AvailableSettings.HBM2DDL_AUTO, "create");
+        }
+        return new ShardSchemaInitializer(orderDataSource.unwrap(ShardRoutingDataSource.class), orderEntityManagerFactory,
+                ddlAuto == null ? null : shard -> builder.dataSource(shard)
+                        .packages(ORDER_PACKAGES)
+                        .persistenceUnit(ORDER_SCHEMA_PERSISTENCE_UNIT)
+                        .properties(properties)
+                        .build());
+    }
+
+    @Bean
+    @Primary
+    public PlatformTransactionManager transactionManager(@Qualifier("entityManagerFactory") EntityManagerFactory entityManagerFactory,
+                                                         @Qualifier("orderEntityManagerFactory") EntityManagerFactory orderEntityManagerFactory) {
+        return new ShardTransactionManager(entityManagerFactory, orderEntityManagerFactory);
+    }
+
+    /**
+     * spring.jpa 설정으로 Hibernate 설정 생성 (기본 EntityManagerFactory 와 같은 설정을 두 영속성 유닛에 적용한다)
+     * @param order 주문 샤드 영속성 유닛 여부 (import.sql 은 공통 DB 에만 실행한다)
+     */
+    private Map<String, Object> vendorProperties(boolean order) {
+        Map<String, Object> properties = new HashMap<>(hibernateProperties.determineHibernateProperties(jpaProperties.getProperties(),
+                new HibernateSettings().ddlAuto(() -> "none").hibernatePropertiesCustomizers(hibernatePropertiesCustomizers)));
+        if (order) {
+            properties.put("hibernate.hbm2ddl.import_files", "");
+        }
+        return properties;
+    }
+
+    public static class ShardProperties {
+
+        private List<DataSourceProperties> datasources = new ArrayList<>();
+
+        public List<DataSourceProperties> getDatasources() {
+            return datasources;
+        }
+
+        public void setDatasources(List<DataSourceProperties> datasources) {
+            this.datasources = datasources;
+        }
+    }
+
+    /**
+     * 공통 DB 리포지토리 (주문, 배송 리포지토리 제외)
+     */
+    @Configuration
+    @ConditionalOnProperty(name = "shard.enabled", havingValue = "true")
+    @EnableJpaRepositories(basePackages = "com.commerce", excludeFilters = @ComponentScan.Filter(
+            type = FilterType.REGEX, pattern = {"com\\.commerce\\.order\\..*", "com\\.commerce\\.delivery\\..*"}))
+    static class GlobalRepositoryConfig {
+    }
+
+    /**
+     * 주문 샤드 리포지토리
+     */
+    @Configuration
+    @ConditionalOnProperty(name = "shard.enabled", havingValue = "true")
+    @EnableJpaRepositories(basePackages = {"com.commerce.order", "com.commerce.delivery"}, entityManagerFactoryRef = "orderEntityManagerFactory")
+    static class OrderRepositoryConfig {
+    }
+}
@@ -2,6 +2,7 @@ package com.commerce.global.common.config;
 
 import com.commerce.global.common.entrypoint.JwtAuthenticationEntryPoint;
 import com.commerce.global.common.filter.FirebaseTokenFilter;
+import com.commerce.global.common.filter.IdempotencyKeyFilter;
 import com.commerce.global.common.filter.JwtTokenFilter;
 import com.commerce.global.common.handler.JwtAccessDeniedHandler;
 import com.commerce.global.common.token.JwtTokenManager;
@@ -10,6 +11,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.method.configuration.EnableGlobalMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -20,6 +22,9 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 import static com.commerce.global.common.constants.CommonConstants.FIREBASE_AUTH_URL;
+import static com.commerce.global.common.constants.CommonConstants.IDEMPOTENCY_URLS;
+import static com.commerce.global.common.constants.CommonConstants.OPS_ROLE;
+import static com.commerce.global.common.constants.CommonConstants.PAYMENT_ROLE;
 
 @Order(2)
 @EnableWebSecurity
@@ -56,8 +61,13 @@ public class WebSecurityConfig extends WebSecurityConfigurerAdapter {
                 .accessDeniedHandler(jwtAccessDeniedHandler)
                 .and()
                 .authorizeRequests()
+                .antMatchers(HttpMethod.POST, "/v1/orders/cancel")
+                .hasRole(OPS_ROLE)
+                .antMatchers(HttpMethod.POST, "/v1/orders/complete")
+                .hasAnyRole(OPS_ROLE, PAYMENT_ROLE)
                 .antMatchers(
                         "/v1/orders",
+                        "/v1/orders/**",
                         "/v1/order",
                         "/v1/order/**",
                         "/v1/carts",
@@ -71,10 +81,18 @@ public class WebSecurityConfig extends WebSecurityConfigurerAdapter {
     }
 
     @Bean
-    public FilterRegistrationBean firebaseTokenFilterRegistrationBean(FirebaseTokenFilter firebaseTokenFilter) {
-        FilterRegistrationBean filterRegistrationBean = new FilterRegistrationBean();
+    public FilterRegistrationBean<FirebaseTokenFilter> firebaseTokenFilterRegistrationBean(FirebaseTokenFilter firebaseTokenFilter) {
+        FilterRegistrationBean<FirebaseTokenFilter> filterRegistrationBean = new FilterRegistrationBean<>();
         filterRegistrationBean.setFilter(firebaseTokenFilter);
         filterRegistrationBean.addUrlPatterns(FIREBASE_AUTH_URL);
         return filterRegistrationBean;
     }
+
+    @Bean
+    public FilterRegistrationBean<IdempotencyKeyFilter> idempotencyKeyFilterRegistrationBean(IdempotencyKeyFilter idempotencyKeyFilter) {
+        FilterRegistrationBean<IdempotencyKeyFilter> filterRegistrationBean = new FilterRegistrationBean<>();
+        filterRegistrationBean.setFilter(idempotencyKeyFilter);
+        filterRegistrationBean.addUrlPatterns(IDEMPOTENCY_URLS);
+        return filterRegistrationBean;
+    }
 }
@@ -7,4 +7,13 @@ public class CommonConstants {
     public final static int BEARER_TOKEN_BEGIN_INDEX = 7;
     public static final long REFRESH_TOKEN_TIME = 1000L * 60 * 60 * 24 * 365; // 1년
     public static final String FIREBASE_AUTH_URL = "/v1/auth/firebase";
+    public static final String ID_GENERATOR_TABLE = "ID_GENERATOR"; // 장바구니 id 를 미리 할당받는 테이블 (JDBC batch insert 사용)
+    public static final int ID_ALLOCATION_SIZE = 50;
+    public static final String SNOWFLAKE_ID_GENERATOR = "snowflake_id_generator"; // 주문/주문 아이템/배송 id (샤드가 달라도 겹치지 않는 시간순 64bit id, DB 를 거치지 않고 할당)
+    public static final String SNOWFLAKE_ID_GENERATOR_STRATEGY = "com.commerce.global.common.domain.SnowflakeIdentifierGenerator";
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+    public static final String OPS_ROLE = "OPS"; // 운영자 권한 (여러 회원의 주문을 일괄 처리하는 API 만 호출 가능)
+    public static final String PAYMENT_ROLE = "PAYMENT"; // 결제 콜백 권한 (결제가 끝난 주문 일괄 완료만 호출 가능)
+    public static final String[] IDEMPOTENCY_URLS = {"/v1/order", "/v1/order/*"}; // 주문 추가/완료 (Idempotency-Key 헤더로 중복 요청 방지)
 }
@@ -5,4 +5,6 @@ public class ErrorStatusCode {
     public static final int INVALID_TOKEN = 401;
     public static final int INTERNAL_SERVER_ERROR = 500;
     public static final int METHOD_NOT_ALLOWED = 405;
+    public static final int CONFLICT = 409;
+    public static final int UNPROCESSABLE_ENTITY = 422;
 }
@@ -0,0 +1,27 @@
+package com.commerce.global.common.datasource;
+
+/**
+ * 현재 스레드의 트랜잭션이 사용할 샤드 번호 (ShardRouter 가 지정하고 트랜잭션이 끝나면 지운다)
+ */
+public final class ShardContextHolder {
+
+    private static final ThreadLocal<Integer> CURRENT_SHARD = new ThreadLocal<>();
+
+    private ShardContextHolder() {
+    }
+
+    /**
+     * 현재 샤드 번호 (지정되지 않았으면 null)
+     */
+    public static Integer getShardId() {
+        return CURRENT_SHARD.get();
+    }
+
+    static void setShardId(int shardId) {
+        CURRENT_SHARD.set(shardId);
+    }
+
+    static void clear() {
+        CURRENT_SHARD.remove();
+    }
+}
@@ -0,0 +1,124 @@
+package com.commerce.global.common.datasource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Supplier;
+
+/**
+ * 회원 기준 주문 샤드 지정
+ * 회원 번호의 해시로 샤드를 고르고, 현재 트랜잭션이 끝날 때까지 그 샤드의 주문 DB 만 사용하도록 고정한다.
+ * 회원, 장바구니, 상품(재고)은 샤드와 무관한 공통 DB 에 있으므로 샤드를 지정하기 전에도 조회할 수 있다.
+ * 한 트랜잭션에서 다른 회원의 샤드를 지정하면 여러 샤드에 걸친 트랜잭션이 되므로 예외를 던진다.
+ * shard.enabled 가 false 이면 (기본값) 항상 0번 샤드로 지정되어 기존과 동일하게 동작한다.
+ */
+@Component
+public class ShardRouter {
+
+    private final boolean enabled;
+    private final int shardCount;
+
+    public ShardRouter(@Value("${shard.enabled:false}") boolean enabled,
+                       @Value("${shard.count:1}") int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("샤드 개수는 1 이상이어야 합니다. shardCount=" + shardCount);
+        }
+        this.enabled = enabled;
+        this.shardCount = enabled ? shardCount : 1;
+    }
+
+    /**
+     * 주문 샤드 사용 여부 (사용하면 주문 샤드가 하나여도 공통 DB 와 다른 DB 를 사용한다)
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    /**
+     * 회원의 샤드 번호
+     * 회원 번호만으로 계산하므로 서버가 달라도 같은 샤드를 고른다.
+     * @param memberId 회원 번호
+     */
+    public int shardOf(Long memberId) {
+        long hash = memberId;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return Math.floorMod(hash, shardCount);
+    }
+
+    /**
+     * 현재 트랜잭션을 회원의 샤드로 고정 (트랜잭션 안에서 첫 주문 테이블 쿼리 전에 호출해야 한다)
+     * @param memberId 회원 번호
+     */
+    public void bind(Long memberId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("샤드는 트랜잭션 안에서 지정해야 합니다.");
+        }
+        int shardId = shardOf(memberId);
+        Integer currentShardId = ShardContextHolder.getShardId();
+        if (currentShardId != null) {
+            checkSameShard(currentShardId, shardId);
+            return;
+        }
+
+        ShardContextHolder.setShardId(shardId);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                ShardContextHolder.clear();
+            }
+        });
+    }
+
+    /**
+     * 지정한 샤드에서 작업 실행 (회원과 무관하게 샤드마다 실행하는 스케줄러, 일괄 처리용)
+     * 작업 안에서 시작하는 트랜잭션은 모두 이 샤드를 사용하며, 트랜잭션 밖에서 호출해야 한다.
+     * @param shardId 샤드 번호
+     * @param task 작업
+     */
+    public <T> T callOnShard(int shardId, Supplier<T> task) {
+        if (shardId < 0 || shardId >= shardCount) {
+            throw new IllegalArgumentException("샤드 번호가 올바르지 않습니다. shardId=" + shardId);
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("샤드별 작업은 트랜잭션 밖에서 실행해야 합니다.");
+        }
+        Integer currentShardId = ShardContextHolder.getShardId();
+        if (currentShardId != null) {
+            checkSameShard(currentShardId, shardId);
+            return task.get();
+        }
+
+        ShardContextHolder.setShardId(shardId);
+        try {
+            return task.get();
+        } finally {
+            ShardContextHolder.clear();
+        }
+    }
+
+    /**
+     * 지정한 샤드에서 작업 실행
+     * @param shardId 샤드 번호
+     * @param task 작업
+     */
+    public void runOnShard(int shardId, Runnable task) {
+        callOnShard(shardId, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    private static void checkSameShard(int currentShardId, int shardId) {
+        if (currentShardId != shardId) {
+            throw new IllegalStateException("한 트랜잭션에서 여러 샤드를 사용할 수 없습니다. current=" + currentShardId + ", requested=" + shardId);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.commerce.global.common.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 현재 트랜잭션에 지정된 샤드의 DB 로 커넥션을 넘겨주는 DataSource (주문 샤드 테이블 전용)
+ * 트랜잭션 안에서 샤드를 지정하지 않고 주문 테이블을 조회하면 다른 샤드의 주문이 보이지 않으므로 예외를 던진다.
+ * 트랜잭션 밖의 작업 (시작 시 메타데이터 조회, ddl 등) 만 0번 샤드를 사용한다.
+ * 커넥션은 트랜잭션 시작 시점에 가져가므로, 트랜잭션 안에서 샤드를 지정하려면 LazyConnectionDataSourceProxy 로 감싸서 첫 쿼리까지 커넥션 획득을 미뤄야 한다.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final List<DataSource> shards;
+
+    /**
+     * @param shards 샤드 번호 순서의 DataSource 목록
+     */
+    public ShardRoutingDataSource(List<DataSource> shards) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("샤드 DataSource 가 없습니다.");
+        }
+        this.shards = List.copyOf(shards);
+        Map<Object, Object> targetDataSources = new HashMap<>();
+        for (int shardId = 0; shardId < shards.size(); shardId++) {
+            targetDataSources.put(shardId, shards.get(shardId));
+        }
+        setTargetDataSources(targetDataSources);
+        setDefaultTargetDataSource(shards.get(0));
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    /**
+     * 샤드 DataSource
+     * @param shardId 샤드 번호
+     */
+    public DataSource getShard(int shardId) {
+        return shards.get(shardId);
+    }
+
+    public int getShardCount() {
+        return shards.size();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Integer shardId = ShardContextHolder.getShardId();
+        if (shardId == null && TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("샤드가 지정되지 않은 트랜잭션에서 주문 샤드 DB 를 사용할 수 없습니다.");
+        }
+        return shardId;
+    }
+}
@@ -0,0 +1,98 @@
+package com.commerce.global.common.datasource;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+/**
+ * 주문 샤드 스키마 초기화
+ * order 영속성 유닛의 ddl-auto 는 샤드를 지정하지 않은 커넥션 (0번 샤드) 에만 적용되므로, 나머지 샤드마다 같은 설정의 EntityManagerFactory 를 한번씩 만들어 닫는 것으로
+ * 0번 샤드와 같은 ddl-auto (create, update, validate) 를 적용한다.
+ * 그 다음 모든 샤드에 주문 엔티티의 테이블이 있는지 확인하고, 없는 테이블이 있으면 예외를 던져 애플리케이션을 시작하지 않는다.
+ */
+public class ShardSchemaInitializer implements InitializingBean {
+
+    private final ShardRoutingDataSource shardRoutingDataSource;
+    private final EntityManagerFactory orderEntityManagerFactory;
+    private final Function<DataSource, LocalContainerEntityManagerFactoryBean> schemaEntityManagerFactory;
+
+    /**
+     * @param shardRoutingDataSource 주문 샤드 DataSource
+     * @param orderEntityManagerFactory order 영속성 유닛 (확인할 테이블 목록)
+     * @param schemaEntityManagerFactory 샤드 DataSource 에 ddl-auto 를 적용할 EntityManagerFactory 생성 (ddl-auto 가 none 이면 null)
+     */
+    public ShardSchemaInitializer(ShardRoutingDataSource shardRoutingDataSource,
+                                  EntityManagerFactory orderEntityManagerFactory,
+                                  Function<DataSource, LocalContainerEntityManagerFactoryBean> schemaEntityManagerFactory) {
+        this.shardRoutingDataSource = shardRoutingDataSource;
+        this.orderEntityManagerFactory = orderEntityManagerFactory;
+        this.schemaEntityManagerFactory = schemaEntityManagerFactory;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws SQLException {
+        if (schemaEntityManagerFactory != null) {
+            for (int shardId = 1; shardId < shardRoutingDataSource.getShardCount(); shardId++) {
+                LocalContainerEntityManagerFactoryBean entityManagerFactory = schemaEntityManagerFactory.apply(shardRoutingDataSource.getShard(shardId));
+                entityManagerFactory.afterPropertiesSet();
+                entityManagerFactory.destroy();
+            }
+        }
+
+        Set<String> tableNames = findTableNames();
+        for (int shardId = 0; shardId < shardRoutingDataSource.getShardCount(); shardId++) {
+            List<String> missingTableNames = findMissingTableNames(shardRoutingDataSource.getShard(shardId), tableNames);
+            if (!missingTableNames.isEmpty()) {
+                throw new IllegalStateException("주문 샤드에 주문 테이블이 없습니다. shardId=" + shardId + ", tables=" + missingTableNames);
+            }
+        }
+    }
+
+    /**
+     * order 영속성 유닛의 엔티티 테이블 목록
+     */
+    private Set<String> findTableNames() {
+        Set<String> tableNames = new TreeSet<>();
+        orderEntityManagerFactory.unwrap(SessionFactoryImplementor.class).getMetamodel().entityPersisters().values().stream()
+                .filter(AbstractEntityPersister.class::isInstance)
+                .map(persister -> ((AbstractEntityPersister) persister).getTableName())
+                .forEach(tableNames::add);
+        return tableNames;
+    }
+
+    /**
+     * 샤드에 없는 테이블 목록
+     * @param shard 샤드 DataSource
+     * @param tableNames 확인할 테이블 목록
+     */
+    private static List<String> findMissingTableNames(DataSource shard, Set<String> tableNames) throws SQLException {
+        List<String> missingTableNames = new ArrayList<>();
+        try (Connection connection = shard.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (String tableName : tableNames) {
+                String storedTableName = metaData.storesLowerCaseIdentifiers() ? tableName.toLowerCase(Locale.ROOT)
+                        : metaData.storesUpperCaseIdentifiers() ? tableName.toUpperCase(Locale.ROOT) : tableName;
+                try (ResultSet tables = metaData.getTables(connection.getCatalog(), null, storedTableName, new String[]{"TABLE"})) {
+                    if (!tables.next()) {
+                        missingTableNames.add(tableName);
+                    }
+                }
+            }
+        }
+        return missingTableNames;
+    }
+}
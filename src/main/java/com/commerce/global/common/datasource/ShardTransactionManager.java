@@ -0,0 +1,146 @@
+package com.commerce.global.common.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.support.DataAccessUtils;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceException;
+
+/**
+ * 주문 샤드 모드 트랜잭션 매니저
+ * 공통 DB (회원, 장바구니, 상품) 트랜잭션을 시작할 때 주문 샤드 DB 트랜잭션도 함께 시작하고, 커밋과 롤백도 함께 처리한다.
+ * 트랜잭션 동기화 (afterCommit 등) 는 이 매니저가 관리하며, 주문 샤드 트랜잭션 매니저는 동기화를 사용하지 않는다.
+ * 두 DB 를 2PC 없이 커밋하므로 커밋 직전에 주문 샤드의 변경을 먼저 flush 하여 쿼리 오류는 두 DB 모두 롤백되게 하고,
+ * 공통 DB 를 먼저 커밋한 뒤 주문 샤드를 커밋한다. 그 사이에 주문 샤드 커밋만 실패하면 재고 예약, 차감, 장바구니 주문 처리 등 공통 DB 변경만 남으므로
+ * 에러 로그를 남기고 예외를 던지며, 남은 변경은 트랜잭션이 함께 저장한 주문 샤드 커밋 기록(ShardCommit)으로 ShardCommitReconciler 가 되돌린다.
+ */
+@Slf4j
+public class ShardTransactionManager extends JpaTransactionManager {
+
+    private static final long serialVersionUID = 1L;
+
+    private final JpaTransactionManager orderTransactionManager;
+
+    public ShardTransactionManager(EntityManagerFactory entityManagerFactory, EntityManagerFactory orderEntityManagerFactory) {
+        super(entityManagerFactory);
+        this.orderTransactionManager = new JpaTransactionManager(orderEntityManagerFactory);
+        this.orderTransactionManager.setTransactionSynchronization(SYNCHRONIZATION_NEVER);
+        this.orderTransactionManager.afterPropertiesSet();
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        TransactionStatus orderStatus = orderTransactionManager.getTransaction(definition);
+        try {
+            super.doBegin(transaction, definition);
+        } catch (RuntimeException | Error e) {
+            orderTransactionManager.rollback(orderStatus);
+            throw e;
+        }
+        TransactionSynchronizationManager.bindResource(orderTransactionManager, orderStatus);
+    }
+
+    @Override
+    protected Object doSuspend(Object transaction) {
+        Object suspendedResources = super.doSuspend(transaction);
+        return new SuspendedOrderResources(suspendedResources,
+                TransactionSynchronizationManager.unbindResourceIfPossible(orderTransactionManager),
+                TransactionSynchronizationManager.unbindResourceIfPossible(orderTransactionManager.getEntityManagerFactory()),
+                orderTransactionManager.getDataSource() == null ? null
+                        : TransactionSynchronizationManager.unbindResourceIfPossible(orderTransactionManager.getDataSource()));
+    }
+
+    @Override
+    protected void doResume(Object transaction, Object suspendedResources) {
+        SuspendedOrderResources resources = (SuspendedOrderResources) suspendedResources;
+        super.doResume(transaction, resources.suspendedResources);
+        bindIfPresent(orderTransactionManager, resources.orderStatus);
+        bindIfPresent(orderTransactionManager.getEntityManagerFactory(), resources.entityManagerHolder);
+        if (orderTransactionManager.getDataSource() != null) {
+            bindIfPresent(orderTransactionManager.getDataSource(), resources.connectionHolder);
+        }
+    }
+
+    @Override
+    protected void doCommit(DefaultTransactionStatus status) {
+        TransactionStatus orderStatus = getOrderStatus();
+        if (!status.isReadOnly()) {
+            flushOrderEntityManager();
+        }
+        super.doCommit(status);
+        try {
+            orderTransactionManager.commit(orderStatus);
+        } catch (RuntimeException | Error e) {
+            log.error("공통 DB 는 커밋되었지만 주문 샤드 DB 커밋에 실패하였습니다. shardId={}", ShardContextHolder.getShardId(), e);
+            throw e;
+        }
+    }
+
+    @Override
+    protected void doRollback(DefaultTransactionStatus status) {
+        TransactionStatus orderStatus = getOrderStatus();
+        try {
+            super.doRollback(status);
+        } finally {
+            if (!orderStatus.isCompleted()) {
+                orderTransactionManager.rollback(orderStatus);
+            }
+        }
+    }
+
+    @Override
+    protected void doSetRollbackOnly(DefaultTransactionStatus status) {
+        super.doSetRollbackOnly(status);
+        getOrderStatus().setRollbackOnly();
+    }
+
+    @Override
+    protected void doCleanupAfterCompletion(Object transaction) {
+        super.doCleanupAfterCompletion(transaction);
+        TransactionSynchronizationManager.unbindResourceIfPossible(orderTransactionManager);
+    }
+
+    private TransactionStatus getOrderStatus() {
+        return (TransactionStatus) TransactionSynchronizationManager.getResource(orderTransactionManager);
+    }
+
+    private void flushOrderEntityManager() {
+        EntityManagerHolder entityManagerHolder = (EntityManagerHolder) TransactionSynchronizationManager
+                .getResource(orderTransactionManager.getEntityManagerFactory());
+        if (entityManagerHolder == null) {
+            return;
+        }
+        try {
+            entityManagerHolder.getEntityManager().flush();
+        } catch (PersistenceException e) {
+            throw DataAccessUtils.translateIfNecessary(e, getJpaDialect());
+        }
+    }
+
+    private static void bindIfPresent(Object key, Object resource) {
+        if (resource != null) {
+            TransactionSynchronizationManager.bindResource(key, resource);
+        }
+    }
+
+    private static class SuspendedOrderResources {
+
+        private final Object suspendedResources;
+        private final Object orderStatus;
+        private final Object entityManagerHolder;
+        private final Object connectionHolder;
+
+        SuspendedOrderResources(Object suspendedResources, Object orderStatus, Object entityManagerHolder, Object connectionHolder) {
+            this.suspendedResources = suspendedResources;
+            this.orderStatus = orderStatus;
+            this.entityManagerHolder = entityManagerHolder;
+            this.connectionHolder = connectionHolder;
+        }
+    }
+}
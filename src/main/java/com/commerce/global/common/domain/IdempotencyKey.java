@@ -0,0 +1,150 @@
+package com.commerce.global.common.domain;
+
+import com.commerce.global.common.IEnumType;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+import static com.fasterxml.jackson.annotation.JsonFormat.Shape.STRING;
+import static lombok.AccessLevel.PROTECTED;
+
+/**
+ * Idempotency-Key 헤더로 들어온 요청의 처리 상태와 응답 (재시작 이후에도 같은 키의 요청을 다시 처리하지 않도록 저장한다)
+ * 처리중인 키는 lease_expired_at 까지만 처리중으로 보므로, 처리하던 서버가 죽어 남은 키도 그 이후에는 같은 키의 요청이 이어받아 처리한다.
+ * 요청 본문은 request_hash 로 저장하여 같은 키로 본문이 다른 요청이 들어오면 처리하지 않는다.
+ */
+@Getter
+@Entity
+@Table(name = "IDEMPOTENCY_KEY", indexes = {
+        @Index(name = "idx_idempotency_key_expired_at", columnList = "expired_at")})
+@NoArgsConstructor(access = PROTECTED)
+public class IdempotencyKey {
+
+    @Id
+    @Column(name = "idempotency_key", length = 200, updatable = false)
+    private String key;
+
+    @Column(name = "request_method", nullable = false, length = 10, updatable = false)
+    private String requestMethod;
+
+    @Column(name = "request_uri", nullable = false, length = 200, updatable = false)
+    private String requestUri;
+
+    @Column(name = "request_hash", nullable = false, length = 64, updatable = false)
+    private String requestHash;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 30)
+    private IdempotencyStatus status;
+
+    @Column(name = "response_status")
+    private Integer responseStatus;
+
+    @Column(name = "response_content_type", length = 100)
+    private String responseContentType;
+
+    @Lob
+    @Column(name = "response_body")
+    private String responseBody;
+
+    @JsonFormat(shape = STRING, pattern = "yyyy-MM-dd HH:mm:ss", timezone = "Asia/Seoul")
+    @Column(name = "expired_at", nullable = false, updatable = false)
+    private LocalDateTime expiredAt;
+
+    @JsonFormat(shape = STRING, pattern = "yyyy-MM-dd HH:mm:ss", timezone = "Asia/Seoul")
+    @Column(name = "lease_expired_at", nullable = false)
+    private LocalDateTime leaseExpiredAt;
+
+    @JsonFormat(shape = STRING, pattern = "yyyy-MM-dd HH:mm:ss", timezone = "Asia/Seoul")
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @JsonFormat(shape = STRING, pattern = "yyyy-MM-dd HH:mm:ss", timezone = "Asia/Seoul")
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Builder
+    public IdempotencyKey(String key, String requestMethod, String requestUri, String requestHash, LocalDateTime expiredAt, LocalDateTime leaseExpiredAt) {
+        this.key = key;
+        this.requestMethod = requestMethod;
+        this.requestUri = requestUri;
+        this.requestHash = requestHash;
+        this.status = IdempotencyStatus.IN_PROGRESS;
+        this.expiredAt = expiredAt;
+        this.leaseExpiredAt = leaseExpiredAt;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public enum IdempotencyStatus implements IEnumType {
+        IN_PROGRESS ("처리중"),
+        COMPLETED   ("처리완료");
+
+        private final String value;
+        IdempotencyStatus(String value) { this.value = value; }
+
+        @Override
+        public String getCode() {
+            return name();
+        }
+
+        @Override
+        public String getName() {
+            return value;
+        }
+    }
+
+    /**
+     * 처리 완료 (응답 저장)
+     * @param responseStatus 응답 상태 코드
+     * @param responseContentType 응답 content type
+     * @param responseBody 응답 본문
+     */
+    public void complete(int responseStatus, String responseContentType, String responseBody) {
+        this.status = IdempotencyStatus.COMPLETED;
+        this.responseStatus = responseStatus;
+        this.responseContentType = responseContentType;
+        this.responseBody = responseBody;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public boolean isCompleted() {
+        return this.status == IdempotencyStatus.COMPLETED;
+    }
+
+    /**
+     * 만료 여부
+     * @param now 현재 시각
+     */
+    public boolean isExpired(LocalDateTime now) {
+        return !this.expiredAt.isAfter(now);
+    }
+
+    /**
+     * 처리중 기한 만료 여부 (처리중인 키를 다른 요청이 이어받을 수 있는지)
+     * @param now 현재 시각
+     */
+    public boolean isLeaseExpired(LocalDateTime now) {
+        return !isCompleted() && !this.leaseExpiredAt.isAfter(now);
+    }
+
+    /**
+     * 같은 요청에 사용된 키인지 확인
+     * @param requestMethod HTTP 메소드
+     * @param requestUri 요청 URI
+     */
+    public boolean matches(String requestMethod, String requestUri) {
+        return this.requestMethod.equals(requestMethod) && this.requestUri.equals(requestUri);
+    }
+
+    /**
+     * 같은 요청 본문에 사용된 키인지 확인
+     * @param requestHash 요청 본문의 SHA-256 hex
+     */
+    public boolean matchesRequestHash(String requestHash) {
+        return this.requestHash.equals(requestHash);
+    }
+}
@@ -0,0 +1,37 @@
+package com.commerce.global.common.domain;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, String> {
+
+    /**
+     * 처리중 기한이 지난 키 이어받기 (여러 서버가 동시에 이어받아도 한 곳만 1 을 반환한다)
+     * @return 이어받은 키 수
+     */
+    @Modifying
+    @Query("update IdempotencyKey k set k.leaseExpiredAt = :leaseExpiredAt"
+            + " where k.key = :key and k.status = com.commerce.global.common.domain.IdempotencyKey$IdempotencyStatus.IN_PROGRESS"
+            + " and k.leaseExpiredAt <= :now")
+    int takeOver(@Param("key") String key, @Param("now") LocalDateTime now, @Param("leaseExpiredAt") LocalDateTime leaseExpiredAt);
+
+    /**
+     * 처리중인 키의 처리중 기한 연장 (요청을 처리하는 동안 다른 요청이 이어받지 않도록 한다)
+     * @return 연장된 키 수
+     */
+    @Modifying
+    @Query("update IdempotencyKey k set k.leaseExpiredAt = :leaseExpiredAt"
+            + " where k.key in :keys and k.status = com.commerce.global.common.domain.IdempotencyKey$IdempotencyStatus.IN_PROGRESS")
+    int renewLease(@Param("keys") Collection<String> keys, @Param("leaseExpiredAt") LocalDateTime leaseExpiredAt);
+
+    @Modifying
+    @Query("delete from IdempotencyKey k where k.expiredAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,80 @@
+package com.commerce.global.common.domain;
+
+import com.commerce.global.common.IEnumType;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+import static com.commerce.global.common.constants.CommonConstants.SNOWFLAKE_ID_GENERATOR;
+import static com.commerce.global.common.constants.CommonConstants.SNOWFLAKE_ID_GENERATOR_STRATEGY;
+import static com.fasterxml.jackson.annotation.JsonFormat.Shape.STRING;
+import static lombok.AccessLevel.PROTECTED;
+
+/**
+ * 주문 샤드 커밋 기록 (공통 DB)
+ * 주문 샤드 모드에서 공통 DB 와 주문 샤드를 함께 변경하는 트랜잭션은 공통 DB 에 이 기록을, 주문 샤드에 같은 id 의 ShardCommitMarker 를 함께 저장한다.
+ * 공통 DB 는 커밋되었지만 주문 샤드 커밋이 실패하면 이 기록만 남으므로, ShardCommitReconciler 가 payload 로 공통 DB 의 재고, 장바구니 변경을 되돌린다.
+ */
+@Getter
+@Entity
+@Table(name = "SHARD_COMMIT", indexes = {
+        @Index(name = "idx_shard_commit_created_at", columnList = "created_at")})
+@NoArgsConstructor(access = PROTECTED)
+public class ShardCommit {
+
+    @Id
+    @GeneratedValue(generator = SNOWFLAKE_ID_GENERATOR)
+    @GenericGenerator(name = SNOWFLAKE_ID_GENERATOR, strategy = SNOWFLAKE_ID_GENERATOR_STRATEGY)
+    @Column(name = "id", updatable = false)
+    private Long id;
+
+    @Column(name = "shard_id", nullable = false, updatable = false)
+    private int shardId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "commit_type", nullable = false, length = 30, updatable = false)
+    private ShardCommitType commitType;
+
+    /**
+     * 주문번호별, item id 별 재고 수량 (JSON)
+     */
+    @Lob
+    @Column(name = "payload", nullable = false, updatable = false)
+    private String payload;
+
+    @JsonFormat(shape = STRING, pattern = "yyyy-MM-dd HH:mm:ss", timezone = "Asia/Seoul")
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Builder
+    public ShardCommit(int shardId, ShardCommitType commitType, String payload) {
+        this.shardId = shardId;
+        this.commitType = commitType;
+        this.payload = payload;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public enum ShardCommitType implements IEnumType {
+        ORDER_ADDED     ("주문 추가"),
+        ORDER_COMPLETED ("주문 완료"),
+        ORDER_CANCELED  ("주문 취소");
+
+        private final String value;
+        ShardCommitType(String value) { this.value = value; }
+
+        @Override
+        public String getCode() {
+            return name();
+        }
+
+        @Override
+        public String getName() {
+            return value;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.commerce.global.common.domain;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ShardCommitRepository extends JpaRepository<ShardCommit, Long> {
+    List<ShardCommit> findTop500ByCreatedAtLessThanEqualOrderByIdAsc(LocalDateTime createdAt);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    ShardCommit findForUpdateById(Long id);
+}
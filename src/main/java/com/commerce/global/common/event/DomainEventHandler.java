@@ -0,0 +1,20 @@
+package com.commerce.global.common.event;
+
+/**
+ * 이벤트 버스 consumer
+ * 등록된 handler 마다 전용 스레드가 하나씩 붙어 발행된 모든 이벤트를 순서대로 받으며, handler 끼리는 서로를 기다리지 않고 병렬로 처리한다.
+ */
+public interface DomainEventHandler {
+
+    /**
+     * 처리할 이벤트인지 확인
+     * @param event 발행된 이벤트
+     */
+    boolean supports(Object event);
+
+    /**
+     * 이벤트 처리 (커밋 이후 consumer 스레드에서 호출되므로 트랜잭션이 필요하면 직접 시작해야 한다)
+     * @param event 발행된 이벤트
+     */
+    void handle(Object event);
+}
@@ -0,0 +1,77 @@
+package com.commerce.global.common.event;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.stream.Collectors;
+
+/**
+ * 도메인 이벤트 발행
+ * 트랜잭션 안에서 발행한 이벤트는 커밋된 이후에 링 버퍼 이벤트 버스로 넘기므로, 롤백된 작업의 이벤트는 consumer 에 전달되지 않는다.
+ * 이벤트 버스의 backpressure 상태 (대기 횟수/시간, 버린 이벤트 수, consumer 별 lag) 는 metrics-log-millis 마다 로그로 남긴다.
+ * 배송 생성, 재고 변경처럼 주문과 함께 반영되어야 하는 작업은 지금처럼 트랜잭션 안에서 처리하고, 요청 스레드에서 할 필요가 없는 작업만 DomainEventHandler 로 옮긴다.
+ */
+@Slf4j
+@Component
+public class DomainEventPublisher {
+
+    private final RingBufferEventBus eventBus;
+
+    public DomainEventPublisher(ObjectProvider<DomainEventHandler> handlers,
+                                @Value("${event.bus.buffer-size:1024}") int bufferSize,
+                                @Value("${event.bus.wait-strategy:BLOCKING}") WaitStrategy waitStrategy,
+                                @Value("${event.bus.publish-timeout-millis:100}") long publishTimeoutMillis) {
+        this.eventBus = new RingBufferEventBus(bufferSize, waitStrategy, publishTimeoutMillis,
+                handlers.orderedStream().collect(Collectors.toList()));
+    }
+
+    @PostConstruct
+    public void start() {
+        eventBus.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        eventBus.stop();
+    }
+
+    /**
+     * 이벤트 발행
+     * 트랜잭션 안에서 호출되면 커밋된 이후에 발행한다.
+     * @param event 이벤트
+     */
+    public void publishAfterCommit(Object event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(event);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publish(event);
+            }
+        });
+    }
+
+    public EventBusMetrics getMetrics() {
+        return eventBus.getMetrics();
+    }
+
+    @Scheduled(fixedDelayString = "${event.bus.metrics-log-millis:60000}")
+    public void logMetrics() {
+        log.info("이벤트 버스 상태 {}", getMetrics());
+    }
+
+    private void publish(Object event) {
+        if (!eventBus.publish(event)) {
+            log.warn("이벤트 버스가 가득 차서 이벤트를 버렸습니다. event={}", event.getClass().getSimpleName());
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.commerce.global.common.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * 이벤트 버스 상태 (backpressure 확인용)
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class EventBusMetrics {
+
+    /** 버퍼 크기 */
+    private final int bufferSize;
+    /** 발행된 이벤트 수 */
+    private final long publishedCount;
+    /** 가장 느린 consumer 기준으로 더 발행할 수 있는 이벤트 수 */
+    private final long remainingCapacity;
+    /** 버퍼가 가득 차서 발행하는 쪽이 기다린 횟수 */
+    private final long backpressureCount;
+    /** 버퍼가 가득 차서 발행하는 쪽이 기다린 시간의 합 (nanos) */
+    private final long backpressureNanos;
+    /** 기다려도 자리가 나지 않아 버린 이벤트 수 */
+    private final long droppedCount;
+    private final List<ConsumerMetrics> consumers;
+
+    @Getter
+    @ToString
+    @RequiredArgsConstructor
+    public static class ConsumerMetrics {
+
+        private final String name;
+        /** 아직 처리하지 않은 이벤트 수 */
+        private final long lag;
+        /** 처리 중 예외가 발생한 이벤트 수 */
+        private final long failedCount;
+    }
+}
@@ -0,0 +1,246 @@
+package com.commerce.global.common.event;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * 링 버퍼 이벤트 버스 (Disruptor 방식)
+ * 미리 할당한 배열에 발행 순번(sequence)을 돌려가며 이벤트를 담고, handler 마다 전용 스레드가 자신이 처리한 순번을 따라가며 이벤트를 읽는다.
+ * 발행은 CAS 로 순번을 받아 슬롯에 쓰는 것이 전부라 락과 큐 노드 할당이 없고, consumer 는 쌓여있는 이벤트를 한번에 처리한 뒤 순번을 한번만 갱신한다.
+ * 가장 느린 consumer 가 한바퀴 뒤처지면 버퍼가 가득 찬 것으로 보고 발행하는 쪽이 publishTimeoutMillis 까지 기다렸다가, 그래도 자리가 없으면 이벤트를 버린다.
+ */
+@Slf4j
+public class RingBufferEventBus {
+
+    private static final long STOP_TIMEOUT_MILLIS = 1000L;
+
+    private final Object[] entries;
+    private final AtomicIntegerArray availableRounds;
+    private final int mask;
+    private final int indexShift;
+    private final WaitStrategy waitStrategy;
+    private final long publishTimeoutNanos;
+    private final Object monitor = new Object();
+    private final AtomicLong claimed = new AtomicLong(-1);
+    private final List<EventConsumer> consumers = new ArrayList<>();
+    private final LongAdder backpressureCount = new LongAdder();
+    private final LongAdder backpressureNanos = new LongAdder();
+    private final LongAdder droppedCount = new LongAdder();
+    private volatile long gatingSequenceCache = -1;
+    private volatile boolean running;
+
+    /**
+     * @param bufferSize 버퍼 크기 (2의 거듭제곱)
+     * @param waitStrategy consumer 대기 방식
+     * @param publishTimeoutMillis 버퍼가 가득 찼을 때 발행하는 쪽이 기다리는 최대 시간
+     * @param handlers consumer 목록
+     */
+    public RingBufferEventBus(int bufferSize, WaitStrategy waitStrategy, long publishTimeoutMillis, List<DomainEventHandler> handlers) {
+        if (bufferSize < 1 || Integer.bitCount(bufferSize) != 1) {
+            throw new IllegalArgumentException("bufferSize 는 2의 거듭제곱이어야 합니다. bufferSize=" + bufferSize);
+        }
+        this.entries = new Object[bufferSize];
+        this.availableRounds = new AtomicIntegerArray(bufferSize);
+        for (int i = 0; i < bufferSize; i++) {
+            availableRounds.set(i, -1);
+        }
+        this.mask = bufferSize - 1;
+        this.indexShift = Integer.numberOfTrailingZeros(bufferSize);
+        this.waitStrategy = waitStrategy;
+        this.publishTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(publishTimeoutMillis);
+        handlers.forEach(handler -> consumers.add(new EventConsumer(handler)));
+    }
+
+    public void start() {
+        running = true;
+        consumers.forEach(consumer -> {
+            Thread thread = new Thread(consumer, "domain-event-" + consumer.name);
+            thread.setDaemon(true);
+            thread.start();
+            consumer.thread = thread;
+        });
+    }
+
+    /**
+     * 종료 (consumer 는 이미 발행된 이벤트를 마저 처리하고 끝난다)
+     */
+    public void stop() {
+        running = false;
+        waitStrategy.signalAll(monitor);
+        for (EventConsumer consumer : consumers) {
+            if (consumer.thread == null) {
+                continue;
+            }
+            try {
+                consumer.thread.join(STOP_TIMEOUT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            consumer.thread.interrupt();
+        }
+    }
+
+    /**
+     * 이벤트 발행
+     * @param event 이벤트
+     * @return 발행 여부 (버퍼가 가득 차서 버린 경우 false)
+     */
+    public boolean publish(Object event) {
+        if (consumers.isEmpty()) {
+            return true;
+        }
+        long sequence = claim();
+        if (sequence < 0) {
+            droppedCount.increment();
+            return false;
+        }
+        int index = index(sequence);
+        entries[index] = event;
+        availableRounds.set(index, round(sequence));
+        waitStrategy.signalAll(monitor);
+        return true;
+    }
+
+    public EventBusMetrics getMetrics() {
+        long cursor = claimed.get();
+        long gatingSequence = consumers.isEmpty() ? cursor : minimumConsumerSequence();
+        return new EventBusMetrics(
+                entries.length,
+                cursor + 1,
+                entries.length - (cursor - gatingSequence),
+                backpressureCount.sum(),
+                backpressureNanos.sum(),
+                droppedCount.sum(),
+                consumers.stream()
+                        .map(consumer -> new EventBusMetrics.ConsumerMetrics(
+                                consumer.name, cursor - consumer.sequence.get(), consumer.failedCount.sum()))
+                        .collect(Collectors.toList()));
+    }
+
+    /**
+     * 발행할 순번 받기
+     * 가장 느린 consumer 가 아직 읽지 않은 슬롯까지 돌아오면 자리가 날 때까지 기다린다.
+     * @return 순번 (기다려도 자리가 나지 않으면 -1)
+     */
+    private long claim() {
+        boolean waiting = false;
+        long waitStartNanos = 0;
+        while (true) {
+            long current = claimed.get();
+            long next = current + 1;
+            long wrapPoint = next - entries.length;
+            if (wrapPoint > gatingSequenceCache) {
+                long gatingSequence = minimumConsumerSequence();
+                gatingSequenceCache = gatingSequence;
+                if (wrapPoint > gatingSequence) {
+                    if (!waiting) {
+                        waiting = true;
+                        waitStartNanos = System.nanoTime();
+                        backpressureCount.increment();
+                    }
+                    long waitedNanos = System.nanoTime() - waitStartNanos;
+                    if (waitedNanos >= publishTimeoutNanos) {
+                        backpressureNanos.add(waitedNanos);
+                        return -1;
+                    }
+                    LockSupport.parkNanos(1L);
+                    continue;
+                }
+            }
+            if (claimed.compareAndSet(current, next)) {
+                if (waiting) {
+                    backpressureNanos.add(System.nanoTime() - waitStartNanos);
+                }
+                return next;
+            }
+        }
+    }
+
+    private long minimumConsumerSequence() {
+        long minimum = Long.MAX_VALUE;
+        for (EventConsumer consumer : consumers) {
+            minimum = Math.min(minimum, consumer.sequence.get());
+        }
+        return minimum;
+    }
+
+    private boolean isAvailable(long sequence) {
+        return availableRounds.get(index(sequence)) == round(sequence);
+    }
+
+    private int index(long sequence) {
+        return (int) (sequence & mask);
+    }
+
+    private int round(long sequence) {
+        return (int) (sequence >>> indexShift);
+    }
+
+    private class EventConsumer implements Runnable {
+
+        private final DomainEventHandler handler;
+        private final String name;
+        private final AtomicLong sequence = new AtomicLong(-1);
+        private final LongAdder failedCount = new LongAdder();
+        private final BooleanSupplier ready = () -> !running || isAvailable(sequence.get() + 1);
+        private Thread thread;
+
+        EventConsumer(DomainEventHandler handler) {
+            this.handler = handler;
+            this.name = handler.getClass().getSimpleName();
+        }
+
+        @Override
+        public void run() {
+            int idleCount = 0;
+            while (true) {
+                long next = sequence.get() + 1;
+                if (!isAvailable(next)) {
+                    if (!running) {
+                        return;
+                    }
+                    try {
+                        waitStrategy.idle(idleCount, monitor, ready);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    if (idleCount < Integer.MAX_VALUE) {
+                        idleCount++;
+                    }
+                    continue;
+                }
+
+                idleCount = 0;
+                long last = next;
+                while (isAvailable(last + 1)) {
+                    last++;
+                }
+                for (long current = next; current <= last; current++) {
+                    dispatch(entries[index(current)]);
+                }
+                sequence.set(last);
+            }
+        }
+
+        private void dispatch(Object event) {
+            try {
+                if (handler.supports(event)) {
+                    handler.handle(event);
+                }
+            } catch (RuntimeException e) {
+                failedCount.increment();
+                log.error("이벤트 처리에 실패하였습니다. handler={}, event={}", name, event.getClass().getSimpleName(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.commerce.global.common.event;
+
+import com.commerce.global.common.IEnumType;
+
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 이벤트 버스 consumer 가 처리할 이벤트가 없을 때 기다리는 방식
+ * BUSY_SPIN 이 지연 시간은 가장 짧지만 consumer 마다 CPU 코어 하나를 점유하고, BLOCKING 은 CPU 를 쓰지 않는 대신 발행할 때마다 깨우는 비용이 든다.
+ */
+public enum WaitStrategy implements IEnumType {
+    BUSY_SPIN   ("계속 확인"),
+    YIELDING    ("확인 후 양보"),
+    SLEEPING    ("확인, 양보 후 휴면"),
+    BLOCKING    ("발행될 때까지 대기");
+
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 100;
+    private static final long SLEEP_NANOS = 100_000L;
+    private static final long BLOCKING_TIMEOUT_MILLIS = 10L;
+
+    private final String value;
+    WaitStrategy(String value) { this.value = value; }
+
+    @Override
+    public String getCode() {
+        return name();
+    }
+
+    @Override
+    public String getName() {
+        return value;
+    }
+
+    /**
+     * 한번 대기
+     * @param idleCount 연속으로 대기한 횟수
+     * @param monitor BLOCKING 대기에 사용하는 모니터 (발행하는 쪽에서 notifyAll 한다)
+     * @param ready 대기를 끝낼 조건 (BLOCKING 은 모니터를 잡은 상태에서 다시 확인하여 알림을 놓치지 않는다)
+     */
+    void idle(int idleCount, Object monitor, BooleanSupplier ready) throws InterruptedException {
+        switch (this) {
+            case BUSY_SPIN:
+                Thread.onSpinWait();
+                break;
+            case YIELDING:
+                if (idleCount < SPIN_TRIES) {
+                    Thread.onSpinWait();
+                } else {
+                    Thread.yield();
+                }
+                break;
+            case SLEEPING:
+                if (idleCount < SPIN_TRIES) {
+                    Thread.onSpinWait();
+                } else if (idleCount < SPIN_TRIES + YIELD_TRIES) {
+                    Thread.yield();
+                } else {
+                    LockSupport.parkNanos(SLEEP_NANOS);
+                }
+                break;
+            case BLOCKING:
+                synchronized (monitor) {
+                    if (!ready.getAsBoolean()) {
+                        monitor.wait(BLOCKING_TIMEOUT_MILLIS);
+                    }
+                }
+                break;
+        }
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+    }
+
+    /**
+     * 대기중인 consumer 깨우기 (BLOCKING 만 해당)
+     * @param monitor idle 에 넘긴 모니터
+     */
+    void signalAll(Object monitor) {
+        if (this != BLOCKING) {
+            return;
+        }
+        synchronized (monitor) {
+            monitor.notifyAll();
+        }
+    }
+}
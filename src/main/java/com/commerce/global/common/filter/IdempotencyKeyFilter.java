@@ -0,0 +1,383 @@
+package com.commerce.global.common.filter;
+
+import com.commerce.global.common.domain.IdempotencyKey;
+import com.commerce.global.common.dto.ErrorResponseDto;
+import com.commerce.global.common.service.IdempotencyKeyServiceImpl;
+import com.commerce.global.common.util.ExpiringLruCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletException;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static com.commerce.global.common.constants.CommonConstants.IDEMPOTENCY_KEY_HEADER;
+import static com.commerce.global.common.constants.CommonConstants.IDEMPOTENT_REPLAYED_HEADER;
+import static com.commerce.global.common.constants.ErrorStatusCode.BAD_REQUEST;
+import static com.commerce.global.common.constants.ErrorStatusCode.CONFLICT;
+import static com.commerce.global.common.constants.ErrorStatusCode.INTERNAL_SERVER_ERROR;
+import static com.commerce.global.common.constants.ErrorStatusCode.UNPROCESSABLE_ENTITY;
+
+/**
+ * Idempotency-Key 헤더가 있는 POST/PUT 요청을 한번만 처리한다.
+ * 처리중인 요청과 처리가 끝난 응답을 메모리에 보관하여 같은 키로 다시 들어온 요청은 먼저 들어온 요청의 결과를 기다렸다가 그대로 응답한다.
+ * 키는 IDEMPOTENCY_KEY 테이블에도 저장하므로 서버가 재시작되거나 다른 서버로 들어온 요청도 다시 처리하지 않는다.
+ * 같은 키로 요청 본문이 다른 요청이 들어오면 처리하지 않고 422 로 응답한다.
+ * 처리중인 키는 lease-renew-millis 마다 처리중 기한을 연장하므로, 처리 시간이 lease-seconds 보다 길어져도 다른 요청이 이어받지 않는다.
+ * 5xx 응답이나 예외로 끝난 요청은 저장하지 않고, 같은 키로 다시 처리할 수 있다.
+ */
+@Slf4j
+@Component
+public class IdempotencyKeyFilter extends OncePerRequestFilter {
+
+    private static final int MAX_KEY_LENGTH = 100;
+    private static final int MAX_ATTEMPTS = 3;
+    private static final String ANONYMOUS = "anonymous";
+
+    private final IdempotencyKeyServiceImpl idempotencyKeyServiceImpl;
+    private final ObjectMapper objectMapper;
+    private final ExpiringLruCache<String, IdempotentRequest> requests;
+    private final Set<String> executingKeys = ConcurrentHashMap.newKeySet();
+    private final long waitMillis;
+
+    public IdempotencyKeyFilter(IdempotencyKeyServiceImpl idempotencyKeyServiceImpl,
+                                ObjectMapper objectMapper,
+                                @Value("${idempotency.max-size:10000}") int maxSize,
+                                @Value("${idempotency.wait-millis:5000}") long waitMillis,
+                                @Value("${idempotency.lease-renew-millis:20000}") long leaseRenewMillis) {
+        if (leaseRenewMillis >= TimeUnit.SECONDS.toMillis(idempotencyKeyServiceImpl.getLeaseSeconds())) {
+            throw new IllegalStateException("idempotency.lease-renew-millis 는 idempotency.lease-seconds 보다 짧아야 합니다.");
+        }
+        this.idempotencyKeyServiceImpl = idempotencyKeyServiceImpl;
+        this.objectMapper = objectMapper;
+        this.requests = new ExpiringLruCache<>(maxSize, TimeUnit.SECONDS.toMillis(idempotencyKeyServiceImpl.getTtlSeconds()));
+        this.waitMillis = waitMillis;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String method = request.getMethod();
+        return !("POST".equals(method) || "PUT".equals(method)) || !StringUtils.hasText(request.getHeader(IDEMPOTENCY_KEY_HEADER));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            writeError(response, BAD_REQUEST, "Idempotency-Key 는 " + MAX_KEY_LENGTH + "자 이하로 입력해주세요.");
+            return;
+        }
+
+        String key = getUserId() + ":" + idempotencyKey;
+        String method = request.getMethod();
+        String uri = request.getRequestURI();
+        CachedBodyRequest cachedBodyRequest = new CachedBodyRequest(request);
+        String requestHash = cachedBodyRequest.hash();
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            IdempotentRequest current = new IdempotentRequest(method, uri, requestHash);
+            IdempotentRequest previous = requests.putIfAbsent(key, current);
+            if (previous == null) {
+                execute(key, current, cachedBodyRequest, response, filterChain);
+                return;
+            }
+            if (!previous.matches(method, uri)) {
+                writeError(response, BAD_REQUEST, "다른 요청에 사용된 Idempotency-Key 입니다.");
+                return;
+            }
+            if (!previous.requestHash.equals(requestHash)) {
+                writeError(response, UNPROCESSABLE_ENTITY, "요청 본문이 다른 요청에 사용된 Idempotency-Key 입니다.");
+                return;
+            }
+
+            Optional<IdempotentResponse> previousResponse = previous.await(waitMillis);
+            if (previousResponse.isPresent()) {
+                replay(response, previousResponse.get());
+                return;
+            }
+            if (!previous.isFailed()) {
+                break;
+            }
+        }
+        writeError(response, CONFLICT, "같은 Idempotency-Key 의 요청을 처리중입니다.");
+    }
+
+    /**
+     * 먼저 들어온 요청 처리
+     * 저장된 키가 있으면 저장된 응답을 돌려주고, 없으면 요청을 처리한 뒤 응답을 저장한다.
+     */
+    private void execute(String key, IdempotentRequest current, HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        Optional<IdempotencyKey> storedKey;
+        try {
+            storedKey = idempotencyKeyServiceImpl.begin(key, current.method, current.uri, current.requestHash);
+        } catch (DataIntegrityViolationException e) {
+            fail(key, current, false);
+            writeError(response, CONFLICT, "같은 Idempotency-Key 의 요청을 처리중입니다.");
+            return;
+        }
+
+        if (storedKey.isPresent()) {
+            IdempotencyKey stored = storedKey.get();
+            if (!stored.matches(current.method, current.uri)) {
+                fail(key, current, false);
+                writeError(response, BAD_REQUEST, "다른 요청에 사용된 Idempotency-Key 입니다.");
+            } else if (!stored.matchesRequestHash(current.requestHash)) {
+                fail(key, current, false);
+                writeError(response, UNPROCESSABLE_ENTITY, "요청 본문이 다른 요청에 사용된 Idempotency-Key 입니다.");
+            } else if (stored.isCompleted()) {
+                IdempotentResponse storedResponse = IdempotentResponse.from(stored);
+                current.complete(storedResponse);
+                replay(response, storedResponse);
+            } else {
+                fail(key, current, false);
+                writeError(response, CONFLICT, "같은 Idempotency-Key 의 요청을 처리중입니다.");
+            }
+            return;
+        }
+
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        boolean completed = false;
+        executingKeys.add(key);
+        try {
+            filterChain.doFilter(request, responseWrapper);
+            if (responseWrapper.getStatus() < INTERNAL_SERVER_ERROR) {
+                IdempotentResponse idempotentResponse = new IdempotentResponse(
+                        responseWrapper.getStatus(), responseWrapper.getContentType(), responseWrapper.getContentAsByteArray());
+                current.complete(idempotentResponse);
+                completed = true;
+                saveResponse(key, idempotentResponse);
+            }
+        } finally {
+            executingKeys.remove(key);
+            if (!completed) {
+                fail(key, current, true);
+            }
+            responseWrapper.copyBodyToResponse();
+        }
+    }
+
+    /**
+     * 이 서버에서 처리중인 키의 처리중 기한 연장 (처리가 lease-seconds 보다 길어져도 다른 요청이 이어받지 않도록 한다)
+     */
+    @Scheduled(fixedDelayString = "${idempotency.lease-renew-millis:20000}")
+    public void renewLeases() {
+        if (executingKeys.isEmpty()) {
+            return;
+        }
+        try {
+            idempotencyKeyServiceImpl.renewLeases(new ArrayList<>(executingKeys));
+        } catch (RuntimeException e) {
+            log.error("idempotency key 처리중 기한 연장에 실패하였습니다. size={}", executingKeys.size(), e);
+        }
+    }
+
+    /**
+     * 응답 저장 (요청은 이미 처리되었으므로 저장에 실패해도 응답은 그대로 내려준다)
+     */
+    private void saveResponse(String key, IdempotentResponse idempotentResponse) {
+        try {
+            idempotencyKeyServiceImpl.complete(key, idempotentResponse.status, idempotentResponse.contentType,
+                    new String(idempotentResponse.body, StandardCharsets.UTF_8));
+        } catch (RuntimeException e) {
+            log.error("idempotency key 응답 저장에 실패하였습니다. key={}", key, e);
+        }
+    }
+
+    /**
+     * 처리 실패 (기다리던 요청은 다시 처리를 시도한다)
+     * @param removeStoredKey 저장한 키도 삭제할지 여부
+     */
+    private void fail(String key, IdempotentRequest current, boolean removeStoredKey) {
+        requests.remove(key, current);
+        current.fail();
+        if (!removeStoredKey) {
+            return;
+        }
+        try {
+            idempotencyKeyServiceImpl.remove(key);
+        } catch (RuntimeException e) {
+            log.error("idempotency key 삭제에 실패하였습니다. key={}", key, e);
+        }
+    }
+
+    private void replay(HttpServletResponse response, IdempotentResponse idempotentResponse) throws IOException {
+        response.setStatus(idempotentResponse.status);
+        if (idempotentResponse.contentType != null) {
+            response.setContentType(idempotentResponse.contentType);
+        }
+        response.setHeader(IDEMPOTENT_REPLAYED_HEADER, "true");
+        response.setContentLength(idempotentResponse.body.length);
+        response.getOutputStream().write(idempotentResponse.body);
+    }
+
+    private void writeError(HttpServletResponse response, int status, String message) throws IOException {
+        response.setStatus(status);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponseDto(status, message));
+    }
+
+    private String getUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null ? ANONYMOUS : authentication.getName();
+    }
+
+    /**
+     * 먼저 들어온 요청 (같은 키로 들어온 요청은 이 요청의 응답을 기다린다)
+     */
+    static class IdempotentRequest {
+
+        private final String method;
+        private final String uri;
+        private final String requestHash;
+        private final CompletableFuture<IdempotentResponse> response = new CompletableFuture<>();
+
+        IdempotentRequest(String method, String uri, String requestHash) {
+            this.method = method;
+            this.uri = uri;
+            this.requestHash = requestHash;
+        }
+
+        boolean matches(String method, String uri) {
+            return this.method.equals(method) && this.uri.equals(uri);
+        }
+
+        void complete(IdempotentResponse idempotentResponse) {
+            response.complete(idempotentResponse);
+        }
+
+        void fail() {
+            response.complete(null);
+        }
+
+        boolean isFailed() {
+            return response.isDone() && response.getNow(null) == null;
+        }
+
+        /**
+         * 응답 대기
+         * @param waitMillis 최대 대기 시간
+         * @return 처리된 응답 (처리에 실패했거나 시간이 초과되면 empty)
+         */
+        Optional<IdempotentResponse> await(long waitMillis) {
+            try {
+                return Optional.ofNullable(response.get(waitMillis, TimeUnit.MILLISECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Optional.empty();
+            } catch (ExecutionException | TimeoutException e) {
+                return Optional.empty();
+            }
+        }
+    }
+
+    static class IdempotentResponse {
+
+        private final int status;
+        private final String contentType;
+        private final byte[] body;
+
+        IdempotentResponse(int status, String contentType, byte[] body) {
+            this.status = status;
+            this.contentType = contentType;
+            this.body = body;
+        }
+
+        static IdempotentResponse from(IdempotencyKey idempotencyKey) {
+            String responseBody = idempotencyKey.getResponseBody();
+            return new IdempotentResponse(idempotencyKey.getResponseStatus(), idempotencyKey.getResponseContentType(),
+                    responseBody == null ? new byte[0] : responseBody.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * 요청 본문을 미리 읽어둔 요청 (본문 hash 를 구한 뒤에도 컨트롤러가 본문을 다시 읽을 수 있다)
+     */
+    static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = StreamUtils.copyToByteArray(request.getInputStream());
+        }
+
+        /**
+         * 요청 본문의 SHA-256 hex
+         */
+        String hash() {
+            try {
+                StringBuilder hash = new StringBuilder();
+                for (byte b : MessageDigest.getInstance("SHA-256").digest(body)) {
+                    hash.append(String.format("%02x", b));
+                }
+                return hash.toString();
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream inputStream = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return inputStream.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return inputStream.read();
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String characterEncoding = getCharacterEncoding();
+            Charset charset = characterEncoding == null ? StandardCharsets.UTF_8 : Charset.forName(characterEncoding);
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+}
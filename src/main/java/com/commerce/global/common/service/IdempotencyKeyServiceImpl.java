@@ -0,0 +1,122 @@
+package com.commerce.global.common.service;
+
+import com.commerce.global.common.domain.IdempotencyKey;
+import com.commerce.global.common.domain.IdempotencyKeyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+public class IdempotencyKeyServiceImpl {
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final long ttlSeconds;
+    private final long leaseSeconds;
+
+    public IdempotencyKeyServiceImpl(IdempotencyKeyRepository idempotencyKeyRepository,
+                                     @Value("${idempotency.ttl-seconds:86400}") long ttlSeconds,
+                                     @Value("${idempotency.lease-seconds:60}") long leaseSeconds) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.ttlSeconds = ttlSeconds;
+        this.leaseSeconds = leaseSeconds;
+    }
+
+    public long getTtlSeconds() {
+        return ttlSeconds;
+    }
+
+    public long getLeaseSeconds() {
+        return leaseSeconds;
+    }
+
+    /**
+     * 요청 처리 시작 (처리중 상태로 키를 저장한다)
+     * 같은 키가 이미 저장되어 있으면 저장하지 않고 저장된 키를 반환한다. 만료된 키는 지우고 새로 저장한다.
+     * 처리중 기한 (lease-seconds) 이 지나도록 처리중인 키는 처리하던 서버가 응답을 저장하지 못하고 죽은 것으로 보고 같은 요청이 이어받아 처리한다.
+     * 다른 서버에서 같은 키를 동시에 저장하면 DataIntegrityViolationException 이 발생한다.
+     * @param key idempotency key
+     * @param requestMethod HTTP 메소드
+     * @param requestUri 요청 URI
+     * @param requestHash 요청 본문의 SHA-256 hex
+     * @return 이미 저장되어 있던 키 (처리를 시작하면 empty)
+     */
+    @Transactional
+    public Optional<IdempotencyKey> begin(String key, String requestMethod, String requestUri, String requestHash) {
+        LocalDateTime now = LocalDateTime.now();
+        Optional<IdempotencyKey> storedKey = idempotencyKeyRepository.findById(key);
+        if (storedKey.isPresent()) {
+            IdempotencyKey stored = storedKey.get();
+            if (!stored.isExpired(now)) {
+                if (stored.isLeaseExpired(now) && stored.matches(requestMethod, requestUri) && stored.matchesRequestHash(requestHash)
+                        && idempotencyKeyRepository.takeOver(key, now, now.plusSeconds(leaseSeconds)) == 1) {
+                    log.warn("처리중 기한이 지난 idempotency key 를 이어받아 처리합니다. key={}, leaseExpiredAt={}", key, stored.getLeaseExpiredAt());
+                    return Optional.empty();
+                }
+                return storedKey;
+            }
+            idempotencyKeyRepository.delete(stored);
+            idempotencyKeyRepository.flush();
+        }
+
+        idempotencyKeyRepository.saveAndFlush(IdempotencyKey.builder()
+                .key(key)
+                .requestMethod(requestMethod)
+                .requestUri(requestUri)
+                .requestHash(requestHash)
+                .expiredAt(now.plusSeconds(ttlSeconds))
+                .leaseExpiredAt(now.plusSeconds(leaseSeconds))
+                .build());
+        return Optional.empty();
+    }
+
+    /**
+     * 요청 처리 완료 (응답 저장)
+     * @param key idempotency key
+     * @param responseStatus 응답 상태 코드
+     * @param responseContentType 응답 content type
+     * @param responseBody 응답 본문
+     */
+    @Transactional
+    public void complete(String key, int responseStatus, String responseContentType, String responseBody) {
+        idempotencyKeyRepository.findById(key)
+                .ifPresent(idempotencyKey -> idempotencyKey.complete(responseStatus, responseContentType, responseBody));
+    }
+
+    /**
+     * 처리중인 키의 처리중 기한 연장
+     * @param keys 이 서버에서 처리중인 idempotency key 목록
+     */
+    @Transactional
+    public void renewLeases(Collection<String> keys) {
+        idempotencyKeyRepository.renewLease(keys, LocalDateTime.now().plusSeconds(leaseSeconds));
+    }
+
+    /**
+     * 키 삭제 (처리에 실패한 요청은 같은 키로 다시 처리할 수 있도록 지운다)
+     * @param key idempotency key
+     */
+    @Transactional
+    public void remove(String key) {
+        idempotencyKeyRepository.findById(key).ifPresent(idempotencyKeyRepository::delete);
+    }
+
+    /**
+     * 만료된 키 삭제
+     */
+    @Transactional
+    @Scheduled(fixedDelayString = "${idempotency.purge-millis:600000}")
+    public void removeExpiredKeys() {
+        int deleted = idempotencyKeyRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.info("만료된 idempotency key 를 삭제하였습니다. size={}", deleted);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.commerce.global.common.util;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * 캐시 상태 (적중률 확인용)
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class CacheMetrics {
+
+    /** 저장된 값 수 */
+    private final int size;
+    /** 조회에 성공한 횟수 */
+    private final long hitCount;
+    /** 값이 없거나 만료되어 조회에 실패한 횟수 */
+    private final long missCount;
+    /** 최대 크기를 넘거나 만료되어 제거된 값 수 */
+    private final long evictionCount;
+}
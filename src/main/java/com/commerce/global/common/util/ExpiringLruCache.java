@@ -0,0 +1,165 @@
+package com.commerce.global.common.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * 크기 제한과 만료 시간이 있는 LRU 캐시
+ * 최대 크기를 넘으면 가장 오래 사용되지 않은 값부터 제거하고, 만료 시간이 지난 값은 조회 시점에 제거한다.
+ * get 의 적중/실패 횟수와 제거된 값 수를 세어 getMetrics 로 확인할 수 있다.
+ * @param <K> 키
+ * @param <V> 값
+ */
+public class ExpiringLruCache<K, V> {
+
+    private final int maxSize;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+    private final LinkedHashMap<K, Entry<V>> entries;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    public ExpiringLruCache(int maxSize, long ttlMillis) {
+        this(maxSize, ttlMillis, System::currentTimeMillis);
+    }
+
+    public ExpiringLruCache(int maxSize, long ttlMillis, LongSupplier clock) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > ExpiringLruCache.this.maxSize) {
+                    evictionCount++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * 값 조회 (만료된 값은 제거하고 null 을 반환한다)
+     * @param key 키
+     */
+    public synchronized V get(K key) {
+        V value = find(key);
+        if (value == null) {
+            missCount++;
+        } else {
+            hitCount++;
+        }
+        return value;
+    }
+
+    /**
+     * 값 저장 (만료 시간을 새로 시작한다)
+     * @param key 키
+     * @param value 값
+     */
+    public synchronized void put(K key, V value) {
+        entries.put(key, new Entry<>(value, clock.getAsLong() + ttlMillis));
+    }
+
+    /**
+     * 만료되지 않은 값이 없을 때만 저장
+     * @param key 키
+     * @param value 값
+     * @return 이미 저장되어 있던 값 (저장에 성공하면 null)
+     */
+    public synchronized V putIfAbsent(K key, V value) {
+        V current = find(key);
+        if (current != null) {
+            return current;
+        }
+        put(key, value);
+        return null;
+    }
+
+    /**
+     * 값 제거
+     * @param key 키
+     */
+    public synchronized void remove(K key) {
+        entries.remove(key);
+    }
+
+    /**
+     * 저장된 값이 주어진 값과 같을 때만 제거
+     * @param key 키
+     * @param value 값
+     */
+    public synchronized boolean remove(K key, V value) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null || entry.value != value) {
+            return false;
+        }
+        entries.remove(key);
+        return true;
+    }
+
+    /**
+     * 만료된 값을 모두 제거
+     * @return 제거한 개수
+     */
+    public synchronized int purgeExpired() {
+        long now = clock.getAsLong();
+        int purged = 0;
+        Iterator<Entry<V>> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().isExpired(now)) {
+                iterator.remove();
+                purged++;
+            }
+        }
+        evictionCount += purged;
+        return purged;
+    }
+
+    /**
+     * 모든 값 제거
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized CacheMetrics getMetrics() {
+        return new CacheMetrics(entries.size(), hitCount, missCount, evictionCount);
+    }
+
+    private V find(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired(clock.getAsLong())) {
+            entries.remove(key);
+            evictionCount++;
+            return null;
+        }
+        return entry.value;
+    }
+
+    private static class Entry<V> {
+
+        private final V value;
+        private final long expireAtMillis;
+
+        Entry(V value, long expireAtMillis) {
+            this.value = value;
+            this.expireAtMillis = expireAtMillis;
+        }
+
+        boolean isExpired(long nowMillis) {
+            return expireAtMillis <= nowMillis;
+        }
+    }
+}
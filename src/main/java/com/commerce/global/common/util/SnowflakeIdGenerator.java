@@ -0,0 +1,80 @@
+package com.commerce.global.common.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 시간순으로 정렬되는 64bit id 생성기 (Snowflake 방식)
+ * 부호 1bit + 기준 시각 이후 경과 millis 41bit + 노드 id 10bit + 같은 millis 안의 순번 12bit 로 구성된다.
+ * 서버마다 다른 노드 id 를 주면 DB 를 거치지 않고도 여러 서버에서 겹치지 않는 id 를 만들 수 있다.
+ * 마지막 시각과 순번을 하나의 AtomicLong 에 담아 CAS 로 갱신하므로 락이 없다.
+ * 한 millis 에 순번을 다 쓰거나 시계가 뒤로 가면 마지막 시각을 이어서 사용하고(순번이 넘치면 다음 millis 로 넘어간다),
+ * 실제 시각보다 maxBackwardMillis 이상 앞서게 되면 id 가 겹치지 않도록 예외를 던진다.
+ * 서버를 재시작할 때는 이전 실행에서 사용한 시각을 알 수 없으므로, 재시작 전후로 시계가 크게 뒤로 가지 않아야 한다.
+ */
+public class SnowflakeIdGenerator {
+
+    public static final long EPOCH_MILLIS = 1640995200000L; // 2022-01-01T00:00:00Z
+    public static final int NODE_ID_BITS = 10;
+    public static final int SEQUENCE_BITS = 12;
+    public static final long MAX_NODE_ID = (1L << NODE_ID_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final int TIMESTAMP_SHIFT = NODE_ID_BITS + SEQUENCE_BITS;
+
+    private final long nodeId;
+    private final long maxBackwardMillis;
+    private final LongSupplier clock;
+    private final AtomicLong lastState = new AtomicLong(); // 마지막 시각 << SEQUENCE_BITS | 순번
+
+    public SnowflakeIdGenerator(long nodeId, long maxBackwardMillis) {
+        this(nodeId, maxBackwardMillis, System::currentTimeMillis);
+    }
+
+    public SnowflakeIdGenerator(long nodeId, long maxBackwardMillis, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("노드 id 는 0 ~ " + MAX_NODE_ID + " 사이로 설정해주세요. nodeId=" + nodeId);
+        }
+        this.nodeId = nodeId;
+        this.maxBackwardMillis = maxBackwardMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * id 생성
+     * @throws IllegalStateException 시계가 maxBackwardMillis 이상 뒤로 간 경우
+     */
+    public long nextId() {
+        while (true) {
+            long current = lastState.get();
+            long lastTimestamp = current >>> SEQUENCE_BITS;
+            long now = clock.getAsLong() - EPOCH_MILLIS;
+            long next;
+            if (now > lastTimestamp) {
+                next = now << SEQUENCE_BITS;
+            } else if (lastTimestamp - now < maxBackwardMillis) {
+                next = current + 1;
+            } else {
+                throw new IllegalStateException("시계가 " + (lastTimestamp - now) + "ms 뒤로 가서 id 를 생성할 수 없습니다.");
+            }
+            if (lastState.compareAndSet(current, next)) {
+                return (next >>> SEQUENCE_BITS) << TIMESTAMP_SHIFT | nodeId << SEQUENCE_BITS | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    /**
+     * id 를 생성한 시각 (epoch millis)
+     * @param id 생성된 id
+     */
+    public static long extractTimestamp(long id) {
+        return (id >>> TIMESTAMP_SHIFT) + EPOCH_MILLIS;
+    }
+
+    /**
+     * id 를 생성한 노드 id
+     * @param id 생성된 id
+     */
+    public static long extractNodeId(long id) {
+        return (id >>> SEQUENCE_BITS) & MAX_NODE_ID;
+    }
+}
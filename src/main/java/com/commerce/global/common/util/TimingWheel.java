@@ -0,0 +1,86 @@
+package com.commerce.global.common.util;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * 해시드 타이밍 휠
+ * 만료 시각을 tick 단위로 나누어 wheelSize 개의 버킷에 담아두고, 시간이 지난 버킷만 확인하여 만료된 값을 꺼낸다.
+ * 등록/만료 처리 비용이 전체 등록 건수와 무관하게 버킷 크기에만 비례한다.
+ * @param <T> 만료 시 꺼낼 값
+ */
+public class TimingWheel<T> {
+
+    private final long tickMillis;
+    private final List<LinkedList<Entry<T>>> buckets;
+    private long currentTick;
+
+    public TimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        this.tickMillis = tickMillis;
+        this.buckets = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            buckets.add(new LinkedList<>());
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /**
+     * 값 등록 (이미 지난 만료 시각은 다음 tick 에 만료된다)
+     * @param value 만료 시 꺼낼 값
+     * @param expireAtMillis 만료 시각 (epoch millis)
+     */
+    public synchronized void schedule(T value, long expireAtMillis) {
+        long deadlineTick = Math.max(currentTick + 1, (expireAtMillis + tickMillis - 1) / tickMillis);
+        buckets.get(bucketIndex(deadlineTick)).add(new Entry<>(value, deadlineTick));
+    }
+
+    /**
+     * 현재 시각까지 tick 을 진행하고 만료된 값을 꺼냄
+     * @param nowMillis 현재 시각 (epoch millis)
+     * @return 만료된 값 목록
+     */
+    public synchronized List<T> advance(long nowMillis) {
+        long nowTick = nowMillis / tickMillis;
+        List<T> expired = new ArrayList<>();
+        if (nowTick <= currentTick) {
+            return expired;
+        }
+        long ticks = Math.min(nowTick - currentTick, buckets.size());
+        for (long tick = nowTick - ticks + 1; tick <= nowTick; tick++) {
+            Iterator<Entry<T>> iterator = buckets.get(bucketIndex(tick)).iterator();
+            while (iterator.hasNext()) {
+                Entry<T> entry = iterator.next();
+                if (entry.deadlineTick <= nowTick) {
+                    expired.add(entry.value);
+                    iterator.remove();
+                }
+            }
+        }
+        currentTick = nowTick;
+        return expired;
+    }
+
+    /**
+     * 등록된 값 개수
+     */
+    public synchronized int size() {
+        return buckets.stream().mapToInt(List::size).sum();
+    }
+
+    private int bucketIndex(long tick) {
+        return (int) (tick % buckets.size());
+    }
+
+    private static class Entry<T> {
+
+        private final T value;
+        private final long deadlineTick;
+
+        private Entry(T value, long deadlineTick) {
+            this.value = value;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+}
@@ -3,22 +3,40 @@ package com.commerce.order.controller;
 import com.commerce.global.common.CommonResponse;
 import com.commerce.global.common.dto.PagingCommonRequestDto;
 import com.commerce.order.dto.AddOrderRequestDto;
+import com.commerce.order.dto.OrderIdsRequestDto;
+import com.commerce.order.dto.OrderScrollRequestDto;
+import com.commerce.order.service.OrderBatchServiceImpl;
 import com.commerce.order.service.OrderServiceImpl;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequiredArgsConstructor
 public class OrderController {
 
     private final OrderServiceImpl orderServiceImpl;
+    private final OrderBatchServiceImpl orderBatchServiceImpl;
 
     @GetMapping("/v1/orders")
     public ResponseEntity<?> orders(PagingCommonRequestDto pagingCommonRequestDto) {
         return CommonResponse.setResponse(orderServiceImpl.findOrders(pagingCommonRequestDto.getLimit(), pagingCommonRequestDto.getOffset()));
     }
 
+    @GetMapping("/v1/orders/scroll")
+    public ResponseEntity<?> scrollOrders(OrderScrollRequestDto orderScrollRequestDto) {
+        return CommonResponse.setResponse(orderServiceImpl.scrollOrders(orderScrollRequestDto.getCursor(), orderScrollRequestDto.getSize()));
+    }
+
+    @GetMapping(value = "/v1/orders/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportOrders() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(orderServiceImpl.exportOrders());
+    }
+
     @PostMapping("/v1/order")
     public ResponseEntity<?> addOrder(@RequestBody AddOrderRequestDto addOrderRequestDto) {
         orderServiceImpl.addOrder(addOrderRequestDto.getCartIds());
@@ -36,4 +54,15 @@ public class OrderController {
         orderServiceImpl.cancelOrder(orderId);
         return CommonResponse.setResponse();
     }
+
+    @PostMapping("/v1/orders/complete")
+    public ResponseEntity<?> completeOrders(@RequestBody OrderIdsRequestDto orderIdsRequestDto) {
+        return CommonResponse.setResponse(orderBatchServiceImpl.completeOrders(orderIdsRequestDto.getOrderIds()));
+    }
+
+    @PostMapping("/v1/orders/cancel")
+    public ResponseEntity<?> cancelOrders(@RequestBody OrderIdsRequestDto orderIdsRequestDto) {
+        orderBatchServiceImpl.cancelOrders(orderIdsRequestDto.getOrderIds());
+        return CommonResponse.setResponse();
+    }
 }
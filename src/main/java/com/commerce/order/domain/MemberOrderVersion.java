@@ -0,0 +1,33 @@
+package com.commerce.order.domain;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import static lombok.AccessLevel.PROTECTED;
+
+/**
+ * 회원 주문 목록 버전 (MEMBER_ORDER_VERSION)
+ * 회원의 주문 목록 조회 테이블이 바뀌는 트랜잭션 안에서 버전을 올리고, 주문 목록 캐시는 조회할 때 이 버전과 비교하여
+ * 다른 서버에서 바뀐 목록도 바로 다시 조회한다.
+ * member_id 가 ALL_MEMBERS_ID 인 행은 샤드 전체 버전으로, 조회 테이블을 다시 만들 때 올린다.
+ */
+@Getter
+@Entity
+@Table(name = "MEMBER_ORDER_VERSION")
+@NoArgsConstructor(access = PROTECTED)
+public class MemberOrderVersion {
+
+    public static final long ALL_MEMBERS_ID = 0L;
+
+    @Id
+    @Column(name = "member_id", updatable = false)
+    private Long memberId;
+
+    @Column(name = "version", nullable = false)
+    private long version;
+}
@@ -0,0 +1,28 @@
+package com.commerce.order.domain;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface MemberOrderVersionRepository extends JpaRepository<MemberOrderVersion, Long> {
+
+    /**
+     * 회원 주문 목록 버전 (회원 버전 + 샤드 전체 버전)
+     * 두 버전 모두 올라가기만 하므로 합계도 어느 한쪽이 바뀌면 반드시 커진다.
+     */
+    @Query(value = "select coalesce(sum(version), 0) from MEMBER_ORDER_VERSION"
+            + " where member_id in (:memberId, " + MemberOrderVersion.ALL_MEMBERS_ID + ")", nativeQuery = true)
+    long findVersion(@Param("memberId") Long memberId);
+
+    /**
+     * 버전 올리기 (행이 없으면 1 로 추가)
+     * 커밋될 때까지 행 잠금을 가지고 있으므로 여러 회원을 올릴 때는 회원 번호 순으로 호출해야 교착 상태가 생기지 않는다.
+     */
+    @Modifying
+    @Query(value = "insert into MEMBER_ORDER_VERSION (member_id, version) values (:memberId, 1)"
+            + " on duplicate key update version = version + 1", nativeQuery = true)
+    int increaseVersion(@Param("memberId") Long memberId);
+}
@@ -0,0 +1,109 @@
+package com.commerce.order.domain;
+
+import com.commerce.delivery.domain.Delivery;
+import com.commerce.delivery.domain.Delivery.DeliveryStatus;
+import com.commerce.global.common.Address;
+import com.commerce.order.domain.Order.OrderStatus;
+import com.commerce.order.dto.DeliveryResponseDto;
+import com.commerce.order.dto.OrderResponseDto;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+import static lombok.AccessLevel.PROTECTED;
+
+/**
+ * 회원 주문 목록 조회 테이블 (MEMBER_ORDER_VIEW)
+ * 주문 목록 응답(OrderResponseDto)에 필요한 주문, 배송 컬럼을 회원 번호와 함께 한 행에 담아두어 ORDERS, DELIVERY 를 join 하지 않고 인덱스 범위 조회 한번으로 주문 목록을 조회한다.
+ * 배송 정보가 만들어질 때(주문 완료) 추가하고, 주문이나 배송 상태가 바뀌는 트랜잭션 안에서 함께 갱신한다.
+ * 주문번호를 그대로 id 로 사용하므로 Persistable 로 새 행 여부를 알려 저장할 때 select 를 하지 않는다.
+ */
+@Getter
+@Entity
+@Table(name = "MEMBER_ORDER_VIEW", indexes = {
+        @Index(name = "idx_member_order_view_member_id_order_id", columnList = "member_id, order_id")})
+@NoArgsConstructor(access = PROTECTED)
+public class MemberOrderView implements Persistable<Long> {
+
+    @Id
+    @Column(name = "order_id", updatable = false)
+    private Long orderId;
+
+    @Column(name = "member_id", nullable = false, updatable = false)
+    private Long memberId;
+
+    @Column(name = "name", nullable = false)
+    private String name;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 30)
+    private OrderStatus status;
+
+    @Column(name = "total_price", nullable = false)
+    private int totalPrice;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "delivery_id", nullable = false, updatable = false)
+    private Long deliveryId;
+
+    @Embedded
+    private Address address;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "delivery_status", nullable = false, length = 30)
+    private DeliveryStatus deliveryStatus;
+
+    @Transient
+    private boolean newView;
+
+    /**
+     * @param delivery 배송 객체 (주문 포함)
+     */
+    public MemberOrderView(Delivery delivery) {
+        Order order = delivery.getOrder();
+        this.orderId = order.getId();
+        this.memberId = order.getMemberId();
+        this.name = order.getName();
+        this.totalPrice = order.getTotalPrice();
+        this.createdAt = order.getCreatedAt();
+        this.deliveryId = delivery.getId();
+        this.address = delivery.getAddress();
+        this.newView = true;
+        update(delivery);
+    }
+
+    /**
+     * 주문, 배송 상태 갱신
+     * @param delivery 배송 객체 (주문 포함)
+     */
+    public void update(Delivery delivery) {
+        this.status = delivery.getOrder().getStatus();
+        this.deliveryStatus = delivery.getStatus();
+    }
+
+    public OrderResponseDto toOrderResponseDto() {
+        return new OrderResponseDto(orderId, name, status, totalPrice, createdAt,
+                new DeliveryResponseDto(deliveryId, address, deliveryStatus));
+    }
+
+    @Override
+    public Long getId() {
+        return orderId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newView;
+    }
+
+    @PostPersist
+    @PostLoad
+    void markNotNew() {
+        this.newView = false;
+    }
+}
@@ -0,0 +1,28 @@
+package com.commerce.order.domain;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface MemberOrderViewRepository extends JpaRepository<MemberOrderView, Long> {
+
+    List<MemberOrderView> findAllByMemberIdOrderByOrderIdAsc(Long memberId, Pageable pageable);
+
+    /**
+     * 원본 테이블에서 주문 목록 조회 테이블 다시 채우기 (배송 정보가 있는 활성 주문)
+     */
+    @Modifying
+    @Query(value = "insert into MEMBER_ORDER_VIEW (order_id, member_id, name, status, total_price, created_at"
+            + ", delivery_id, address, address_detail, zip_code, delivery_status)"
+            + " select o.id, o.member_id, o.name, o.status, o.total_price, o.created_at"
+            + ", d.id, d.address, d.address_detail, d.zip_code, d.status"
+            + " from ORDERS o"
+            + " join DELIVERY d on d.order_id = o.id"
+            + " where o.activated = true and d.activated = true", nativeQuery = true)
+    int insertAllFromOrders();
+}
@@ -5,12 +5,12 @@ import com.commerce.delivery.domain.Delivery;
 import com.commerce.global.common.BaseEntity;
 import com.commerce.global.common.IEnumType;
 import com.commerce.global.common.exception.BadRequestException;
-import com.commerce.user.domain.Member;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.GenericGenerator;
 import org.springframework.util.ObjectUtils;
 
 import javax.persistence.*;
@@ -19,28 +19,33 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static com.commerce.delivery.domain.Delivery.DeliveryStatus.STAND_BY;
+import static com.commerce.global.common.constants.CommonConstants.SNOWFLAKE_ID_GENERATOR;
+import static com.commerce.global.common.constants.CommonConstants.SNOWFLAKE_ID_GENERATOR_STRATEGY;
 import static com.commerce.order.domain.Order.OrderStatus.CANCELED;
 import static com.commerce.order.domain.Order.OrderStatus.COMPLETED;
 import static javax.persistence.CascadeType.PERSIST;
-import static javax.persistence.FetchType.LAZY;
-import static javax.persistence.GenerationType.IDENTITY;
 import static lombok.AccessLevel.PROTECTED;
 
 @Getter
 @Entity
 @DynamicUpdate
-@Table(name = "ORDERS")
+@Table(name = "ORDERS", indexes = {
+        @Index(name = "idx_orders_member_id_activated_created_at_id", columnList = "member_id, activated, created_at, id"),
+        @Index(name = "idx_orders_status_activated_created_at", columnList = "status, activated, created_at")})
 @NoArgsConstructor(access = PROTECTED)
 public class Order extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = IDENTITY)
-    @Column(name = "id", insertable = false, updatable = false)
+    @GeneratedValue(generator = SNOWFLAKE_ID_GENERATOR)
+    @GenericGenerator(name = SNOWFLAKE_ID_GENERATOR, strategy = SNOWFLAKE_ID_GENERATOR_STRATEGY)
+    @Column(name = "id", updatable = false)
     private Long id;
 
-    @ManyToOne(fetch = LAZY)
-    @JoinColumn(name = "member_id", referencedColumnName = "id", updatable = false)
-    private Member member;
+    /**
+     * 회원 번호 (회원은 공통 DB, 주문은 회원의 샤드 DB 에 있으므로 연관관계 대신 번호만 저장한다)
+     */
+    @Column(name = "member_id", nullable = false, updatable = false)
+    private Long memberId;
 
     @OneToOne(mappedBy = "order", cascade = PERSIST)
     private Delivery delivery;
@@ -60,9 +65,9 @@ public class Order extends BaseEntity {
     private int totalPrice;
 
     @Builder
-    public Order (Long id, Member member, Delivery delivery, List<OrderItem> orderItems, String name, int totalPrice) {
+    public Order (Long id, Long memberId, Delivery delivery, List<OrderItem> orderItems, String name, int totalPrice) {
         this.id = id;
-        this.member = member;
+        this.memberId = memberId;
         this.orderItems = orderItems;
         this.delivery = delivery;
         this.name = name;
@@ -108,6 +113,27 @@ public class Order extends BaseEntity {
         }
     }
 
+    /**
+     * 요청한 주문이 모두 존재하는지 체크
+     * @param orders 조회된 주문 목록
+     * @param orderIds 요청한 주문번호 목록 (중복 제거)
+     */
+    public static void checkOrdersExist(List<Order> orders, List<Long> orderIds) {
+        if (orders.size() < orderIds.size()) {
+            throw new BadRequestException("주문이 존재하지 않습니다.");
+        }
+    }
+
+    /**
+     * 회원의 주문인지 체크 (다른 회원의 주문은 존재하지 않는 주문으로 처리한다)
+     * @param memberId 회원 번호
+     */
+    public void checkOrderMember(Long memberId) {
+        if (!this.memberId.equals(memberId)) {
+            throw new BadRequestException("주문이 존재하지 않습니다.");
+        }
+    }
+
     /**
      * 주문 취소 체크
      */
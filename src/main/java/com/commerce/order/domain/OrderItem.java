@@ -5,12 +5,18 @@ import com.fasterxml.jackson.annotation.JsonFormat;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
 
 import javax.persistence.*;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
 
+import static com.commerce.global.common.constants.CommonConstants.SNOWFLAKE_ID_GENERATOR;
+import static com.commerce.global.common.constants.CommonConstants.SNOWFLAKE_ID_GENERATOR_STRATEGY;
 import static com.fasterxml.jackson.annotation.JsonFormat.Shape.STRING;
-import static javax.persistence.GenerationType.IDENTITY;
 import static lombok.AccessLevel.PROTECTED;
 
 @Getter
@@ -20,8 +26,9 @@ import static lombok.AccessLevel.PROTECTED;
 public class OrderItem {
 
     @Id
-    @GeneratedValue(strategy = IDENTITY)
-    @Column(name = "id", insertable = false, updatable = false)
+    @GeneratedValue(generator = SNOWFLAKE_ID_GENERATOR)
+    @GenericGenerator(name = SNOWFLAKE_ID_GENERATOR, strategy = SNOWFLAKE_ID_GENERATOR_STRATEGY)
+    @Column(name = "id", updatable = false)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -62,4 +69,13 @@ public class OrderItem {
         this.activated = true;
         this.createdAt = LocalDateTime.now();
     }
+
+    /**
+     * item id 별 재고 사용 수량 합계 (같은 item 의 주문 아이템이 여러 건이면 합산)
+     * @param orderItems 주문 아이템 목록
+     */
+    public static Map<Long, Integer> sumItemUsedQuantityByItemId(List<OrderItem> orderItems) {
+        return orderItems.stream()
+                .collect(Collectors.groupingBy(OrderItem::getItemId, TreeMap::new, Collectors.summingInt(OrderItem::getItemUsedQuantity)));
+    }
 }
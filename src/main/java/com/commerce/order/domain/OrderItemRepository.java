@@ -8,4 +8,6 @@ import java.util.List;
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
 
     List<OrderItem> findAllByOrderIdAndActivated(Long orderId, boolean activated);
+
+    List<OrderItem> findAllByOrderIdInAndActivated(List<Long> orderIds, boolean activated);
 }
@@ -0,0 +1,106 @@
+package com.commerce.order.domain;
+
+import com.commerce.global.common.IEnumType;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+import static com.commerce.global.common.constants.CommonConstants.SNOWFLAKE_ID_GENERATOR;
+import static com.commerce.global.common.constants.CommonConstants.SNOWFLAKE_ID_GENERATOR_STRATEGY;
+import static com.fasterxml.jackson.annotation.JsonFormat.Shape.STRING;
+import static lombok.AccessLevel.PROTECTED;
+
+/**
+ * 주문 이벤트 outbox
+ * 주문 변경과 같은 트랜잭션에서 저장하고, OrderOutboxRelay 가 발행되지 않은 이벤트를 id 순서로 꺼내 sink 로 전달한다.
+ * id 는 DB 를 거치지 않고 할당하여 여러 주문의 이벤트를 JDBC batch 로 저장한다. id 는 생성 시각 순일 뿐 커밋 순서와 다를 수 있으므로
+ * 주문별 순서는 order_sequence (주문 추가 1, 완료 2, 취소 3) 로 판단한다. 주문 상태는 이 순서로만 바뀌므로 같은 주문의 이벤트는 order_sequence 가 항상 커진다.
+ */
+@Getter
+@Entity
+@Table(name = "ORDER_OUTBOX", indexes = {
+        @Index(name = "idx_order_outbox_published_at_id", columnList = "published_at, id")})
+@NoArgsConstructor(access = PROTECTED)
+public class OrderOutbox {
+
+    @Id
+    @GeneratedValue(generator = SNOWFLAKE_ID_GENERATOR)
+    @GenericGenerator(name = SNOWFLAKE_ID_GENERATOR, strategy = SNOWFLAKE_ID_GENERATOR_STRATEGY)
+    @Column(name = "id", updatable = false)
+    private Long id;
+
+    @Column(name = "order_id", nullable = false, updatable = false)
+    private Long orderId;
+
+    /**
+     * 주문별 이벤트 순서
+     */
+    @Column(name = "order_sequence", nullable = false, updatable = false)
+    private int orderSequence;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 30, updatable = false)
+    private OrderEventType eventType;
+
+    @Lob
+    @Column(name = "payload", nullable = false, updatable = false)
+    private String payload;
+
+    @JsonFormat(shape = STRING, pattern = "yyyy-MM-dd HH:mm:ss", timezone = "Asia/Seoul")
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @JsonFormat(shape = STRING, pattern = "yyyy-MM-dd HH:mm:ss", timezone = "Asia/Seoul")
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+
+    @Builder
+    public OrderOutbox(Long id, Long orderId, OrderEventType eventType, String payload) {
+        this.id = id;
+        this.orderId = orderId;
+        this.eventType = eventType;
+        this.orderSequence = eventType.getOrderSequence();
+        this.payload = payload;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public enum OrderEventType implements IEnumType {
+        ORDER_ADDED     ("주문 추가", 1),
+        ORDER_COMPLETED ("주문 완료", 2),
+        ORDER_CANCELED  ("주문 취소", 3);
+
+        private final String value;
+        private final int orderSequence;
+        OrderEventType(String value, int orderSequence) {
+            this.value = value;
+            this.orderSequence = orderSequence;
+        }
+
+        @Override
+        public String getCode() {
+            return name();
+        }
+
+        @Override
+        public String getName() {
+            return value;
+        }
+
+        public int getOrderSequence() {
+            return orderSequence;
+        }
+    }
+
+    /**
+     * 발행 완료 처리
+     * @param publishedAt 발행 일시
+     */
+    public void markPublished(LocalDateTime publishedAt) {
+        this.publishedAt = publishedAt;
+    }
+}
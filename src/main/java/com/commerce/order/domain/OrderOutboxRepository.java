@@ -0,0 +1,24 @@
+package com.commerce.order.domain;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OrderOutboxRepository extends JpaRepository<OrderOutbox, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<OrderOutbox> findAllForUpdateByPublishedAtIsNullOrderByIdAsc(Pageable pageable);
+
+    @Modifying
+    @Query("delete from OrderOutbox o where o.publishedAt <= :publishedAt")
+    int deletePublishedBefore(@Param("publishedAt") LocalDateTime publishedAt);
+}
@@ -3,10 +3,14 @@ package com.commerce.order.domain;
 import com.commerce.order.domain.Order;
 import com.commerce.order.repository.OrderRepositoryCustom;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.LockModeType;
+
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long>, OrderRepositoryCustom {
 
-    Order findByIdAndActivated(Long id, boolean activated);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Order findForUpdateByIdAndActivated(Long id, boolean activated);
 }
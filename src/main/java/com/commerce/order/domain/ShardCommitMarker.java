@@ -0,0 +1,54 @@
+package com.commerce.order.domain;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+import static lombok.AccessLevel.PROTECTED;
+
+/**
+ * 주문 샤드 커밋 표시 (주문 샤드)
+ * 공통 DB 의 ShardCommit 과 같은 id 로 주문 변경과 같은 트랜잭션에 저장하여, 이 행이 있으면 주문 샤드까지 커밋된 것으로 판단한다.
+ * ShardCommit 의 id 를 그대로 사용하므로 Persistable 로 새 행 여부를 알려 저장할 때 select 를 하지 않는다.
+ */
+@Getter
+@Entity
+@Table(name = "SHARD_COMMIT_MARKER")
+@NoArgsConstructor(access = PROTECTED)
+public class ShardCommitMarker implements Persistable<Long> {
+
+    @Id
+    @Column(name = "id", updatable = false)
+    private Long id;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Transient
+    private boolean newMarker;
+
+    /**
+     * @param id ShardCommit id
+     */
+    @Builder
+    public ShardCommitMarker(Long id) {
+        this.id = id;
+        this.createdAt = LocalDateTime.now();
+        this.newMarker = true;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newMarker;
+    }
+
+    @PostPersist
+    @PostLoad
+    void markNotNew() {
+        this.newMarker = false;
+    }
+}
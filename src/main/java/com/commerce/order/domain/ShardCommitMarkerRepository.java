@@ -0,0 +1,14 @@
+package com.commerce.order.domain;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+
+@Repository
+public interface ShardCommitMarkerRepository extends JpaRepository<ShardCommitMarker, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    ShardCommitMarker findForUpdateById(Long id);
+}
@@ -0,0 +1,38 @@
+package com.commerce.order.dto;
+
+import com.commerce.cart.domain.Cart;
+import com.commerce.global.common.exception.BadRequestException;
+import com.commerce.user.domain.Member;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 주문 생성 검증 결과 (검증에 사용한 회원, 장바구니 목록과 위반 항목 목록)
+ */
+@Getter
+public class CheckoutValidationResult {
+
+    private final Member member;
+    private final List<Cart> carts;
+    private final List<CheckoutViolation> violations;
+
+    public CheckoutValidationResult(Member member, List<Cart> carts, List<CheckoutViolation> violations) {
+        this.member = member;
+        this.carts = carts;
+        this.violations = violations;
+    }
+
+    public boolean isValid() {
+        return violations.isEmpty();
+    }
+
+    /**
+     * 위반 항목이 있으면 첫번째 위반 항목의 메시지로 예외를 던진다.
+     */
+    public void checkValid() {
+        if (!isValid()) {
+            throw new BadRequestException(violations.get(0).getMessage());
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.commerce.order.dto;
+
+import com.commerce.global.common.IEnumType;
+import lombok.Getter;
+
+/**
+ * 주문 생성 검증 위반 항목
+ */
+@Getter
+public class CheckoutViolation {
+
+    private final ViolationType type;
+    private final Long targetId;
+    private final String message;
+
+    public CheckoutViolation(ViolationType type, Long targetId) {
+        this.type = type;
+        this.targetId = targetId;
+        this.message = type.getMessage();
+    }
+
+    public enum ViolationType implements IEnumType {
+        MEMBER_NOT_FOUND    ("MEMBER_NOT_FOUND", "회원 정보를 찾을 수 없습니다."),
+        CART_EMPTY          ("CART_EMPTY", "장바구니에 담긴 상품이 없습니다."),
+        CART_NOT_FOUND      ("CART_NOT_FOUND", "장바구니에 담긴 상품의 정보가 올바르지 않습니다."),
+        PRODUCT_NOT_FOUND   ("PRODUCT_NOT_FOUND", "상품이 존재하지 않습니다."),
+        OPTION_NOT_FOUND    ("OPTION_NOT_FOUND", "해당 옵션이 존재하지 않습니다."),
+        ITEM_NOT_FOUND      ("ITEM_NOT_FOUND", "재고 상품이 존재하지 않습니다."),
+        STOCK_SHORTAGE      ("STOCK_SHORTAGE", "재고가 부족합니다.");
+
+        private final String value;
+        private final String message;
+        ViolationType(String value, String message) {
+            this.value = value;
+            this.message = message;
+        }
+
+        @Override
+        public String getCode() {
+            return name();
+        }
+
+        @Override
+        public String getName() {
+            return value;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
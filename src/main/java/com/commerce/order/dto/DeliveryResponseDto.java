@@ -1,6 +1,7 @@
 package com.commerce.order.dto;
 
 import com.commerce.global.common.Address;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.Setter;
@@ -10,6 +11,7 @@ import static com.commerce.delivery.domain.Delivery.DeliveryStatus;
 @Getter
 @Setter
 @Builder
+@AllArgsConstructor
 public class DeliveryResponseDto {
 
     private Long id;
@@ -0,0 +1,30 @@
+package com.commerce.order.dto;
+
+import lombok.Getter;
+
+/**
+ * 주문 일괄 완료 결과 (주문 1건당 1개)
+ */
+@Getter
+public class OrderCompleteResultDto {
+
+    private static final String SUCCESS_MESSAGE = "success";
+
+    private final Long orderId;
+    private final boolean completed;
+    private final String message;
+
+    private OrderCompleteResultDto(Long orderId, boolean completed, String message) {
+        this.orderId = orderId;
+        this.completed = completed;
+        this.message = message;
+    }
+
+    public static OrderCompleteResultDto success(Long orderId) {
+        return new OrderCompleteResultDto(orderId, true, SUCCESS_MESSAGE);
+    }
+
+    public static OrderCompleteResultDto failure(Long orderId, String message) {
+        return new OrderCompleteResultDto(orderId, false, message);
+    }
+}
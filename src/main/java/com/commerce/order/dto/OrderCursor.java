@@ -0,0 +1,52 @@
+package com.commerce.order.dto;
+
+import com.commerce.global.common.exception.BadRequestException;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * 주문 목록 커서 (마지막으로 조회한 주문의 생성일시와 id)
+ * 클라이언트에는 Base64 로 인코딩한 문자열로 전달한다.
+ */
+@Getter
+public class OrderCursor {
+
+    private static final String DELIMITER = "|";
+
+    private final LocalDateTime createdAt;
+    private final Long id;
+
+    public OrderCursor(LocalDateTime createdAt, Long id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    public static OrderCursor from(OrderResponseDto orderResponseDto) {
+        return new OrderCursor(orderResponseDto.getCreatedAt(), orderResponseDto.getId());
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((createdAt + DELIMITER + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 커서 문자열 디코딩
+     * @param cursor 커서 문자열 (비어있으면 첫 페이지)
+     * @return 커서 (첫 페이지면 null)
+     */
+    public static OrderCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String[] values = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\" + DELIMITER);
+            return new OrderCursor(LocalDateTime.parse(values[0]), Long.valueOf(values[1]));
+        } catch (RuntimeException e) {
+            throw new BadRequestException("커서 정보가 올바르지 않습니다.");
+        }
+    }
+}
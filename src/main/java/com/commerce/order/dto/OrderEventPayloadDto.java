@@ -0,0 +1,34 @@
+package com.commerce.order.dto;
+
+import com.commerce.order.domain.Order;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+import static com.commerce.order.domain.Order.OrderStatus;
+import static com.fasterxml.jackson.annotation.JsonFormat.Shape.STRING;
+
+/**
+ * 주문 이벤트 내용 (outbox payload 로 저장)
+ */
+@Getter
+public class OrderEventPayloadDto {
+
+    private final Long orderId;
+    private final Long memberId;
+    private final String name;
+    private final OrderStatus status;
+    private final int totalPrice;
+    @JsonFormat(shape = STRING, pattern = "yyyy-MM-dd HH:mm:ss", timezone = "Asia/Seoul")
+    private final LocalDateTime occurredAt;
+
+    public OrderEventPayloadDto(Order order) {
+        this.orderId = order.getId();
+        this.memberId = order.getMemberId();
+        this.name = order.getName();
+        this.status = order.getStatus();
+        this.totalPrice = order.getTotalPrice();
+        this.occurredAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,42 @@
+package com.commerce.order.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.commerce.order.domain.Order.OrderStatus;
+import static com.fasterxml.jackson.annotation.JsonFormat.Shape.STRING;
+
+/**
+ * 주문 내역 내보내기 응답 (NDJSON 1줄)
+ */
+@Getter
+public class OrderExportDto {
+
+    private final Long id;
+    private final String name;
+    private final OrderStatus status;
+    private final int totalPrice;
+    @JsonFormat(shape = STRING, pattern = "yyyy-MM-dd HH:mm:ss", timezone = "Asia/Seoul")
+    private final LocalDateTime createdAt;
+    private final List<OrderExportItemDto> items = new ArrayList<>();
+
+    public OrderExportDto(OrderExportRowDto row) {
+        this.id = row.getOrderId();
+        this.name = row.getName();
+        this.status = row.getStatus();
+        this.totalPrice = row.getTotalPrice();
+        this.createdAt = row.getCreatedAt();
+    }
+
+    /**
+     * 주문 아이템 추가
+     * @param row 같은 주문의 조회 결과
+     */
+    public void addItem(OrderExportRowDto row) {
+        this.items.add(new OrderExportItemDto(row));
+    }
+}
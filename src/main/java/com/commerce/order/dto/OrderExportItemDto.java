@@ -0,0 +1,21 @@
+package com.commerce.order.dto;
+
+import lombok.Getter;
+
+@Getter
+public class OrderExportItemDto {
+
+    private final Long itemId;
+    private final int salePrice;
+    private final int supplyPrice;
+    private final int userPurchaseQuantity;
+    private final int itemUsedQuantity;
+
+    public OrderExportItemDto(OrderExportRowDto row) {
+        this.itemId = row.getItemId();
+        this.salePrice = row.getSalePrice();
+        this.supplyPrice = row.getSupplyPrice();
+        this.userPurchaseQuantity = row.getUserPurchaseQuantity();
+        this.itemUsedQuantity = row.getItemUsedQuantity();
+    }
+}
@@ -0,0 +1,28 @@
+package com.commerce.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+import static com.commerce.order.domain.Order.OrderStatus;
+
+/**
+ * 주문 내역 내보내기 조회 결과 (주문 아이템 1건당 1행)
+ */
+@Getter
+@AllArgsConstructor
+public class OrderExportRowDto {
+
+    private Long orderId;
+    private String name;
+    private OrderStatus status;
+    private int totalPrice;
+    private LocalDateTime createdAt;
+    private Long itemId;
+    private int salePrice;
+    private int supplyPrice;
+    private int userPurchaseQuantity;
+    private int itemUsedQuantity;
+
+}
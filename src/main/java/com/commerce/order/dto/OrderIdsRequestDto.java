@@ -0,0 +1,14 @@
+package com.commerce.order.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class OrderIdsRequestDto {
+
+    private List<Long> orderIds;
+
+}
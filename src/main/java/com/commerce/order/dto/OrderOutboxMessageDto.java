@@ -0,0 +1,36 @@
+package com.commerce.order.dto;
+
+import com.commerce.order.domain.OrderOutbox;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+import static com.commerce.order.domain.OrderOutbox.OrderEventType;
+import static com.fasterxml.jackson.annotation.JsonFormat.Shape.STRING;
+
+/**
+ * sink 로 전달하는 주문 이벤트
+ */
+@Getter
+public class OrderOutboxMessageDto {
+
+    private final Long id;
+    private final Long orderId;
+    private final int orderSequence;
+    private final OrderEventType eventType;
+    @JsonRawValue
+    private final String payload;
+    @JsonFormat(shape = STRING, pattern = "yyyy-MM-dd HH:mm:ss", timezone = "Asia/Seoul")
+    private final LocalDateTime createdAt;
+
+    public OrderOutboxMessageDto(OrderOutbox orderOutbox) {
+        this.id = orderOutbox.getId();
+        this.orderId = orderOutbox.getOrderId();
+        this.orderSequence = orderOutbox.getOrderSequence();
+        this.eventType = orderOutbox.getEventType();
+        this.payload = orderOutbox.getPayload();
+        this.createdAt = orderOutbox.getCreatedAt();
+    }
+}
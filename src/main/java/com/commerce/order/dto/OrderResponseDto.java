@@ -1,9 +1,12 @@
 package com.commerce.order.dto;
 
 import com.commerce.order.domain.Order;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.time.LocalDateTime;
+
 import static com.commerce.order.domain.Order.OrderStatus;
 
 @Getter
@@ -15,6 +18,8 @@ public class OrderResponseDto {
     private OrderStatus status;
     private int totalPrice;
     private DeliveryResponseDto delivery;
+    @JsonIgnore
+    private LocalDateTime createdAt;
 
     public OrderResponseDto(Order order) {
         this.id = order.getId();
@@ -22,6 +27,26 @@ public class OrderResponseDto {
         this.status = order.getStatus();
         this.totalPrice = order.getTotalPrice();
         this.delivery = order.getDelivery().toDeliveryResponseDto();
+        this.createdAt = order.getCreatedAt();
+    }
+
+    /**
+     * QueryDSL Projections 용 생성자
+     */
+    public OrderResponseDto(Long id, String name, OrderStatus status, int totalPrice, DeliveryResponseDto delivery) {
+        this.id = id;
+        this.name = name;
+        this.status = status;
+        this.totalPrice = totalPrice;
+        this.delivery = delivery;
+    }
+
+    /**
+     * 커서 조회용 생성자 (다음 커서를 만들 수 있도록 생성일시도 담는다)
+     */
+    public OrderResponseDto(Long id, String name, OrderStatus status, int totalPrice, LocalDateTime createdAt, DeliveryResponseDto delivery) {
+        this(id, name, status, totalPrice, delivery);
+        this.createdAt = createdAt;
     }
 
 }
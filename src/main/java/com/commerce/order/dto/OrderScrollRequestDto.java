@@ -0,0 +1,13 @@
+package com.commerce.order.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class OrderScrollRequestDto {
+
+    private String cursor;
+    private int size = 10;
+
+}
@@ -0,0 +1,19 @@
+package com.commerce.order.dto;
+
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class OrderScrollResponseDto {
+
+    private final List<OrderResponseDto> orders;
+    private final String nextCursor;
+    private final boolean hasNext;
+
+    public OrderScrollResponseDto(List<OrderResponseDto> orders, String nextCursor) {
+        this.orders = orders;
+        this.nextCursor = nextCursor;
+        this.hasNext = nextCursor != null;
+    }
+}
@@ -0,0 +1,188 @@
+package com.commerce.order.repository;
+
+import com.commerce.global.common.datasource.ShardContextHolder;
+import org.hibernate.Session;
+
+import javax.persistence.EntityManager;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 월별 주문 보관 테이블 (ORDERS_ARCHIVE_yyyyMM, ORDER_ITEM_ARCHIVE_yyyyMM, DELIVERY_ARCHIVE_yyyyMM)
+ * 주문 생성월마다 테이블이 생기므로 엔티티로 매핑하지 않고 native query 로 접근한다.
+ * 보관 테이블의 생성과 이동은 COLUMNS 의 컬럼 목록으로만 하므로 원본 테이블에 컬럼이 추가되어도 생성된 보관 테이블과 컬럼이 어긋나지 않는다.
+ * 원본 테이블에 COLUMNS 에 없는 컬럼이 있으면 그 컬럼의 값을 잃지 않도록 옮기지 않고 예외를 던진다. (컬럼을 추가하면 COLUMNS 와 이미 만든 보관 테이블에도 추가해야 한다)
+ * 보관 테이블은 샤드마다 따로 있으므로 보관 월 목록과 컬럼 확인 여부는 현재 샤드 (ShardContextHolder) 별로 저장한다.
+ * create table ... as select 는 DB 마다 NOT NULL 제약을 옮기는 방식이 달라 primary key 대신 id unique index 를 만든다.
+ */
+class OrderArchiveTables {
+
+    static final String ORDERS = "ORDERS";
+    static final String ORDER_ITEM = "ORDER_ITEM";
+    static final String DELIVERY = "DELIVERY";
+
+    private static final Map<String, List<String>> COLUMNS = Map.of(
+            ORDERS, List.of("id", "member_id", "name", "status", "total_price", "activated", "created_at", "updated_at"),
+            ORDER_ITEM, List.of("id", "order_id", "item_id", "default_price", "sale_price", "discount_price", "discount_rate", "discount_method"
+                    , "supply_price", "user_purchase_quantity", "item_used_quantity", "activated", "created_at"),
+            DELIVERY, List.of("id", "member_id", "order_id", "address", "address_detail", "zip_code", "status", "activated", "created_at", "updated_at"));
+
+    private static final String ARCHIVE_INFIX = "_ARCHIVE_";
+    private static final DateTimeFormatter SUFFIX_FORMATTER = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final long REFRESH_MILLIS = 60_000L;
+    private static final int NO_SHARD = -1;
+
+    private final EntityManager entityManager;
+    private final Map<Integer, LoadedMonths> months = new ConcurrentHashMap<>();
+    private final Set<Integer> columnsCheckedShardIds = ConcurrentHashMap.newKeySet();
+
+    OrderArchiveTables(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * 보관 테이블 이름
+     * @param table 원본 테이블 이름
+     * @param month 주문 생성월
+     */
+    static String name(String table, YearMonth month) {
+        return table + ARCHIVE_INFIX + month.format(SUFFIX_FORMATTER);
+    }
+
+    /**
+     * 보관 테이블로 옮기는 컬럼 목록 (쉼표로 구분)
+     * @param table 원본 테이블 이름
+     */
+    static String columns(String table) {
+        return String.join(", ", COLUMNS.get(table));
+    }
+
+    /**
+     * 원본 테이블에 보관 테이블로 옮기지 않는 컬럼이 있는지 확인 (한번 확인하면 다시 확인하지 않는다)
+     */
+    void checkColumns() {
+        int shardId = currentShardId();
+        if (columnsCheckedShardIds.contains(shardId)) {
+            return;
+        }
+        for (String table : List.of(ORDERS, ORDER_ITEM, DELIVERY)) {
+            List<String> missingColumns = findColumns(table).stream()
+                    .filter(column -> !COLUMNS.get(table).contains(column))
+                    .collect(Collectors.toList());
+            if (!missingColumns.isEmpty()) {
+                throw new IllegalStateException(table + " 에 보관 테이블로 옮기지 않는 컬럼이 있습니다. columns=" + missingColumns);
+            }
+        }
+        columnsCheckedShardIds.add(shardId);
+    }
+
+    /**
+     * 현재 샤드에 보관 테이블이 있는 월 목록 (최근 월부터)
+     * 다른 서버에서 만든 테이블도 조회되도록 REFRESH_MILLIS 마다 다시 읽는다.
+     */
+    List<YearMonth> findMonths() {
+        int shardId = currentShardId();
+        LoadedMonths loaded = months.get(shardId);
+        if (loaded == null || System.currentTimeMillis() - loaded.loadedAt > REFRESH_MILLIS) {
+            loaded = new LoadedMonths(loadMonths(), System.currentTimeMillis());
+            months.put(shardId, loaded);
+        }
+        return loaded.months;
+    }
+
+    /**
+     * 현재 샤드에 보관 테이블 생성 (이미 있는 테이블은 건너뛴다)
+     * ORDERS 보관 테이블이 있는 월만 보관 월로 보므로 ORDERS 보관 테이블을 마지막에 만든다.
+     * MySQL 은 DDL 을 실행하면 진행중인 트랜잭션을 커밋하므로 옮기는 트랜잭션과 분리하여 호출해야 한다.
+     * 여러 서버에서 같은 테이블을 동시에 만들면 한쪽은 실패하며, 다음 실행 때 이미 있는 테이블로 보고 건너뛴다.
+     * @param month 주문 생성월
+     */
+    void create(YearMonth month) {
+        createTable(ORDER_ITEM, month, "order_id");
+        createTable(DELIVERY, month, "order_id");
+        createTable(ORDERS, month, "member_id, created_at, id");
+        months.remove(currentShardId());
+    }
+
+    private static int currentShardId() {
+        Integer shardId = ShardContextHolder.getShardId();
+        return shardId == null ? NO_SHARD : shardId;
+    }
+
+    private void createTable(String table, YearMonth month, String indexColumns) {
+        String archiveTable = name(table, month);
+        if (exists(archiveTable)) {
+            return;
+        }
+        entityManager.createNativeQuery("create table " + archiveTable + " as select " + columns(table) + " from " + table + " where 1 = 0").executeUpdate();
+        entityManager.createNativeQuery("create unique index uk_" + archiveTable.toLowerCase() + "_id on " + archiveTable + " (id)").executeUpdate();
+        entityManager.createNativeQuery("create index idx_" + archiveTable.toLowerCase() + " on " + archiveTable + " (" + indexColumns + ")").executeUpdate();
+    }
+
+    private boolean exists(String tableName) {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (ResultSet tables = connection.getMetaData().getTables(connection.getCatalog(), null, tableName, new String[]{"TABLE"})) {
+                return tables.next();
+            }
+        });
+    }
+
+    private List<String> findColumns(String table) {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            List<String> columns = new ArrayList<>();
+            try (ResultSet resultSet = connection.getMetaData().getColumns(connection.getCatalog(), null, table, null)) {
+                while (resultSet.next()) {
+                    columns.add(resultSet.getString("COLUMN_NAME").toLowerCase());
+                }
+            }
+            return columns;
+        });
+    }
+
+    private List<YearMonth> loadMonths() {
+        List<YearMonth> loaded = entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            String escape = metaData.getSearchStringEscape();
+            String prefix = ORDERS + ARCHIVE_INFIX;
+            String pattern = prefix.replace("_", escape + "_") + "%";
+            List<YearMonth> result = new ArrayList<>();
+            try (ResultSet tables = metaData.getTables(connection.getCatalog(), null, pattern, new String[]{"TABLE"})) {
+                while (tables.next()) {
+                    String tableName = tables.getString("TABLE_NAME").toUpperCase();
+                    if (!tableName.startsWith(prefix)) {
+                        continue;
+                    }
+                    try {
+                        result.add(YearMonth.parse(tableName.substring(prefix.length()), SUFFIX_FORMATTER));
+                    } catch (DateTimeParseException ignored) {
+                        // 규칙에 맞지 않는 이름의 테이블은 보관 테이블이 아니다
+                    }
+                }
+            }
+            return result;
+        });
+        loaded.sort(Comparator.reverseOrder());
+        return List.copyOf(loaded);
+    }
+
+    private static class LoadedMonths {
+
+        private final List<YearMonth> months;
+        private final long loadedAt;
+
+        LoadedMonths(List<YearMonth> months, long loadedAt) {
+            this.months = months;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
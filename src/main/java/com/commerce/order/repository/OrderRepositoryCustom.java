@@ -1,13 +1,39 @@
 package com.commerce.order.repository;
 
 import com.commerce.order.domain.Order;
-import org.springframework.data.domain.Pageable;
+import com.commerce.order.dto.OrderCursor;
+import com.commerce.order.dto.OrderExportRowDto;
+import com.commerce.order.dto.OrderResponseDto;
 
+import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 public interface OrderRepositoryCustom {
 
-    List<Order> findWithMemberAndDeliveryByMemberId(String userId, Pageable pageable);
-    
     Order findWithDeliveryByOrderId(Long orderId);
+
+    List<Order> findWithDeliveryByOrderIds(List<Long> orderIds);
+
+    List<Order> findWithOptionalDeliveryByOrderIdsForUpdate(List<Long> orderIds);
+
+    List<Long> findActivatedOrderIds(List<Long> orderIds);
+
+    List<OrderResponseDto> findOrderResponsesByMemberIdAfterCursor(Long memberId, OrderCursor cursor, int size);
+
+    Stream<OrderExportRowDto> streamOrderExportRowsByMemberId(Long memberId, int fetchSize);
+
+    Map<YearMonth, List<Long>> findArchivableOrderIds(LocalDateTime cutoff, int limit, boolean forUpdate);
+
+    List<YearMonth> findArchiveMonths();
+
+    void createArchiveTables(YearMonth month);
+
+    int archiveOrders(YearMonth month, List<Long> orderIds);
+
+    List<Long> findStalePreparationOrderIdsForUpdate(LocalDateTime cutoff, int limit);
+
+    List<Long> deactivatePreparationOrders(List<Long> orderIds);
 }
@@ -1,41 +1,393 @@
 package com.commerce.order.repository;
 
+import com.commerce.delivery.domain.Delivery.DeliveryStatus;
+import com.commerce.global.common.Address;
 import com.commerce.order.domain.Order;
+import com.commerce.order.domain.Order.OrderStatus;
+import com.commerce.order.dto.DeliveryResponseDto;
+import com.commerce.order.dto.OrderCursor;
+import com.commerce.order.dto.OrderExportRowDto;
+import com.commerce.order.dto.OrderResponseDto;
+import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.jpa.impl.JPAQueryFactory;
-import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Pageable;
+import org.hibernate.jpa.QueryHints;
+import org.springframework.data.jpa.repository.JpaContext;
 
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import javax.persistence.Query;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import static com.commerce.delivery.domain.QDelivery.delivery;
+import static com.commerce.order.domain.Order.OrderStatus.CANCELED;
+import static com.commerce.order.domain.Order.OrderStatus.COMPLETED;
+import static com.commerce.order.domain.Order.OrderStatus.PREPARATION;
 import static com.commerce.order.domain.QOrder.order;
+import static com.commerce.order.domain.QOrderItem.orderItem;
 
-@RequiredArgsConstructor
 public class OrderRepositoryCustomImpl implements OrderRepositoryCustom {
 
+    private static final Comparator<OrderResponseDto> LATEST_FIRST =
+            Comparator.comparing(OrderResponseDto::getCreatedAt).thenComparing(OrderResponseDto::getId).reversed();
+
     private final JPAQueryFactory queryFactory;
+    private final EntityManager entityManager;
+    private final OrderArchiveTables orderArchiveTables;
+
+    /**
+     * 샤드 모드에서는 주문 테이블이 별도 영속성 유닛에 있으므로 기본 EntityManager 대신 Order 를 관리하는 EntityManager 를 사용한다.
+     */
+    public OrderRepositoryCustomImpl(JpaContext jpaContext) {
+        this.entityManager = jpaContext.getEntityManagerByManagedType(Order.class);
+        this.queryFactory = new JPAQueryFactory(entityManager);
+        this.orderArchiveTables = new OrderArchiveTables(entityManager);
+    }
 
     @Override
-    public List<Order> findWithMemberAndDeliveryByMemberId(String userId, Pageable pageable) {
-        return queryFactory
-                .selectFrom(order)
-                .join(order.member).fetchJoin()
+    public Order findWithDeliveryByOrderId(Long orderId) {
+        return queryFactory.selectFrom(order)
                 .join(order.delivery).fetchJoin()
-                .where(order.member.userId.eq(userId)
+                .where(order.id.eq(orderId)
                         , order.activated.eq(true)
-                        , order.member.activated.eq(true)
                         , order.delivery.activated.eq(true))
-                .offset(pageable.getOffset())
-                .limit(pageable.getPageSize())
-                .fetch();
+                .fetchFirst();
     }
 
     @Override
-    public Order findWithDeliveryByOrderId(Long orderId) {
+    public List<Order> findWithDeliveryByOrderIds(List<Long> orderIds) {
         return queryFactory.selectFrom(order)
                 .join(order.delivery).fetchJoin()
-                .where(order.id.eq(orderId)
+                .where(order.id.in(orderIds)
                         , order.activated.eq(true)
                         , order.delivery.activated.eq(true))
-                .fetchFirst();
+                .orderBy(order.id.asc())
+                .fetch();
+    }
+
+    /**
+     * 주문 목록 잠금 조회 (아직 배송 정보가 없는 주문도 조회한다)
+     * 배송 정보를 함께 조회하지 않으면 주문마다 배송 정보 조회 쿼리가 추가로 실행된다.
+     * 주문 정리(OrderSweeper)가 같은 주문을 비활성화하지 않도록 트랜잭션이 끝날 때까지 주문번호 순으로 잠근다.
+     * @param orderIds 주문번호 목록
+     */
+    @Override
+    public List<Order> findWithOptionalDeliveryByOrderIdsForUpdate(List<Long> orderIds) {
+        return queryFactory.selectFrom(order)
+                .leftJoin(order.delivery).fetchJoin()
+                .where(order.id.in(orderIds)
+                        , order.activated.eq(true))
+                .orderBy(order.id.asc())
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .fetch();
+    }
+
+    /**
+     * 현재 샤드에 있는 활성 주문번호 조회 (여러 샤드에 나뉜 주문을 일괄 처리할 때 샤드별 주문을 찾는다)
+     * @param orderIds 주문번호 목록
+     */
+    @Override
+    public List<Long> findActivatedOrderIds(List<Long> orderIds) {
+        return queryFactory.select(order.id)
+                .from(order)
+                .where(order.id.in(orderIds)
+                        , order.activated.eq(true))
+                .fetch();
+    }
+
+    /**
+     * 주문 목록 커서 조회 (생성일시, id 역순, 보관 테이블 포함)
+     * 운영 테이블에서 먼저 조회하고, 한 페이지를 다 채우지 못했거나 마지막 주문보다 최근 주문이 있을 수 있는 보관 월만 union all 쿼리 하나로 조회하여 합친다.
+     * 보관 월은 생성월 기준이라 한 페이지가 찬 뒤에는 마지막 주문보다 오래된 월을 조회하지 않는다.
+     * @param memberId 회원 번호
+     * @param cursor 마지막으로 조회한 주문의 커서 (첫 페이지면 null)
+     * @param size 조회할 개수
+     */
+    @Override
+    public List<OrderResponseDto> findOrderResponsesByMemberIdAfterCursor(Long memberId, OrderCursor cursor, int size) {
+        List<OrderResponseDto> orderResponses = queryFactory
+                .select(Projections.constructor(OrderResponseDto.class
+                        , order.id
+                        , order.name
+                        , order.status
+                        , order.totalPrice
+                        , order.createdAt
+                        , Projections.constructor(DeliveryResponseDto.class
+                                , delivery.id
+                                , delivery.address
+                                , delivery.status)))
+                .from(order)
+                .join(order.delivery, delivery)
+                .where(order.memberId.eq(memberId)
+                        , order.activated.eq(true)
+                        , delivery.activated.eq(true)
+                        , afterCursor(cursor))
+                .orderBy(order.createdAt.desc(), order.id.desc())
+                .limit(size)
+                .fetch();
+
+        List<OrderResponseDto> operationalResponses = orderResponses;
+        List<YearMonth> months = orderArchiveTables.findMonths().stream()
+                .filter(month -> cursor == null || !month.atDay(1).atStartOfDay().isAfter(cursor.getCreatedAt()))
+                .filter(month -> operationalResponses.size() < size
+                        || month.plusMonths(1).atDay(1).atStartOfDay().isAfter(operationalResponses.get(size - 1).getCreatedAt()))
+                .collect(Collectors.toList());
+        if (!months.isEmpty()) {
+            List<OrderResponseDto> merged = new ArrayList<>(orderResponses);
+            merged.addAll(findArchivedOrderResponses(months, memberId, cursor, size));
+            merged.sort(LATEST_FIRST);
+            orderResponses = merged.size() > size ? merged.subList(0, size) : merged;
+        }
+        return orderResponses;
+    }
+
+    /**
+     * 주문 내역 내보내기 조회 (주문 아이템 1건당 1행, 같은 주문의 행은 연속으로 조회된다)
+     * 결과를 한번에 List 로 올리지 않고 forward-only 커서로 fetchSize 씩 읽는다. 반환된 Stream 은 트랜잭션 안에서 사용하고 close 해야 한다.
+     * 운영 테이블을 모두 읽은 뒤 보관 테이블을 최근 월부터 이어서 읽는다.
+     * MySQL 에서 행 단위로 읽으려면 JDBC URL 에 useCursorFetch=true 를 지정해야 한다.
+     * @param memberId 회원 번호
+     * @param fetchSize 한번에 읽어올 행 수
+     */
+    @Override
+    public Stream<OrderExportRowDto> streamOrderExportRowsByMemberId(Long memberId, int fetchSize) {
+        Stream<OrderExportRowDto> rows = queryFactory
+                .select(Projections.constructor(OrderExportRowDto.class
+                        , order.id
+                        , order.name
+                        , order.status
+                        , order.totalPrice
+                        , order.createdAt
+                        , orderItem.itemId
+                        , orderItem.price.salePrice
+                        , orderItem.supplyPrice
+                        , orderItem.userPurchaseQuantity
+                        , orderItem.itemUsedQuantity))
+                .from(orderItem)
+                .join(orderItem.order, order)
+                .where(order.memberId.eq(memberId)
+                        , order.activated.eq(true)
+                        , orderItem.activated.eq(true))
+                .orderBy(order.createdAt.desc(), order.id.desc(), orderItem.id.asc())
+                .setHint(QueryHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(QueryHints.HINT_READONLY, true)
+                .stream();
+
+        List<YearMonth> months = orderArchiveTables.findMonths();
+        if (months.isEmpty()) {
+            return rows;
+        }
+        return Stream.concat(rows, months.stream().flatMap(month -> streamArchivedOrderExportRows(month, memberId, fetchSize)));
+    }
+
+    /**
+     * 보관 대상 주문 조회 (완료/취소된 주문 중 기준 시각 이전에 생성된 주문, id 순)
+     * @param cutoff 기준 시각
+     * @param limit 조회할 개수
+     * @param forUpdate 조회한 주문을 잠글지 여부
+     * @return 생성월 별 주문번호 목록
+     */
+    @Override
+    public Map<YearMonth, List<Long>> findArchivableOrderIds(LocalDateTime cutoff, int limit, boolean forUpdate) {
+        List<?> rows = entityManager.createNativeQuery("select id, created_at from " + OrderArchiveTables.ORDERS
+                        + " where status in (:statuses) and created_at < :cutoff order by id limit :limit"
+                        + (forUpdate ? " for update" : ""))
+                .setParameter("statuses", List.of(COMPLETED.name(), CANCELED.name()))
+                .setParameter("cutoff", cutoff)
+                .setParameter("limit", limit)
+                .getResultList();
+
+        Map<YearMonth, List<Long>> orderIds = new TreeMap<>();
+        rows.forEach(row -> {
+            Object[] columns = (Object[]) row;
+            orderIds.computeIfAbsent(YearMonth.from(toLocalDateTime(columns[1])), month -> new ArrayList<>())
+                    .add(((Number) columns[0]).longValue());
+        });
+        return orderIds;
+    }
+
+    @Override
+    public List<YearMonth> findArchiveMonths() {
+        return orderArchiveTables.findMonths();
+    }
+
+    @Override
+    public void createArchiveTables(YearMonth month) {
+        orderArchiveTables.create(month);
+    }
+
+    /**
+     * 주문, 주문 아이템, 배송 정보를 생성월의 보관 테이블로 옮김
+     * @param month 주문 생성월 (보관 테이블이 있어야 한다)
+     * @param orderIds 주문번호 목록
+     * @return 옮긴 주문 수
+     */
+    @Override
+    public int archiveOrders(YearMonth month, List<Long> orderIds) {
+        String orders = OrderArchiveTables.ORDERS;
+        String orderItems = OrderArchiveTables.ORDER_ITEM;
+        String deliveries = OrderArchiveTables.DELIVERY;
+        orderArchiveTables.checkColumns();
+        executeUpdate(archiveSql(orderItems, month, "order_id"), orderIds);
+        executeUpdate(archiveSql(deliveries, month, "order_id"), orderIds);
+        int archived = executeUpdate(archiveSql(orders, month, "id"), orderIds);
+        executeUpdate("delete from " + orderItems + " where order_id in (:orderIds)", orderIds);
+        executeUpdate("delete from " + deliveries + " where order_id in (:orderIds)", orderIds);
+        executeUpdate("delete from " + orders + " where id in (:orderIds)", orderIds);
+        return archived;
+    }
+
+    /**
+     * 오래된 주문 준비 상태 주문 조회 (생성일시 순, 조회한 주문은 트랜잭션이 끝날 때까지 잠근다)
+     * (status, activated, created_at) 인덱스 범위만 읽는다.
+     * @param cutoff 이 시각 이전에 생성된 주문
+     * @param limit 조회할 개수
+     */
+    @Override
+    public List<Long> findStalePreparationOrderIdsForUpdate(LocalDateTime cutoff, int limit) {
+        return queryFactory
+                .select(order.id)
+                .from(order)
+                .where(order.status.eq(PREPARATION)
+                        , order.activated.eq(true)
+                        , order.createdAt.lt(cutoff))
+                .orderBy(order.createdAt.asc())
+                .limit(limit)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .fetch();
+    }
+
+    /**
+     * 주문 준비 상태 주문과 주문 아이템 비활성화
+     * update 뒤에 주문 준비 상태로 비활성화된 주문을 다시 조회하여 그 주문의 주문 아이템만 비활성화한다. (그 사이 완료된 주문은 제외된다)
+     * @param orderIds findStalePreparationOrderIdsForUpdate 로 잠근 주문번호 목록
+     * @return 비활성화한 주문번호 목록
+     */
+    @Override
+    public List<Long> deactivatePreparationOrders(List<Long> orderIds) {
+        queryFactory.update(order)
+                .set(order.activated, false)
+                .set(order.updatedAt, LocalDateTime.now())
+                .where(order.id.in(orderIds)
+                        , order.status.eq(PREPARATION)
+                        , order.activated.eq(true))
+                .execute();
+        List<Long> deactivatedOrderIds = queryFactory.select(order.id)
+                .from(order)
+                .where(order.id.in(orderIds)
+                        , order.status.eq(PREPARATION)
+                        , order.activated.eq(false))
+                .orderBy(order.id.asc())
+                .fetch();
+        if (!deactivatedOrderIds.isEmpty()) {
+            queryFactory.update(orderItem)
+                    .set(orderItem.activated, false)
+                    .where(orderItem.order.id.in(deactivatedOrderIds))
+                    .execute();
+        }
+        return deactivatedOrderIds;
+    }
+
+    private static String archiveSql(String table, YearMonth month, String orderIdColumn) {
+        String columns = OrderArchiveTables.columns(table);
+        return "insert into " + OrderArchiveTables.name(table, month) + " (" + columns + ")"
+                + " select " + columns + " from " + table + " where " + orderIdColumn + " in (:orderIds)";
+    }
+
+    private int executeUpdate(String sql, List<Long> orderIds) {
+        return entityManager.createNativeQuery(sql).setParameter("orderIds", orderIds).executeUpdate();
+    }
+
+    /**
+     * 보관 테이블 주문 목록 조회 (월별 쿼리를 union all 로 묶어 한번에 조회한다)
+     * 월마다 (member_id, created_at, id) 인덱스로 size 개까지만 읽은 뒤 합쳐서 size 개를 자른다.
+     */
+    private List<OrderResponseDto> findArchivedOrderResponses(List<YearMonth> months, Long memberId, OrderCursor cursor, int size) {
+        String archivedOrders = months.stream()
+                .map(month -> "(select o.id, o.name, o.status, o.total_price, o.created_at"
+                        + ", d.id as delivery_id, d.address, d.address_detail, d.zip_code, d.status as delivery_status"
+                        + " from " + OrderArchiveTables.name(OrderArchiveTables.ORDERS, month) + " o"
+                        + " join " + OrderArchiveTables.name(OrderArchiveTables.DELIVERY, month) + " d on d.order_id = o.id"
+                        + " where o.member_id = :memberId and o.activated = true and d.activated = true"
+                        + (cursor == null ? "" : " and (o.created_at < :createdAt or (o.created_at = :createdAt and o.id < :id))")
+                        + " order by o.created_at desc, o.id desc limit :size)")
+                .collect(Collectors.joining(" union all "));
+        Query query = entityManager.createNativeQuery("select * from (" + archivedOrders + ") a"
+                        + " order by a.created_at desc, a.id desc limit :size")
+                .setParameter("memberId", memberId)
+                .setParameter("size", size);
+        if (cursor != null) {
+            query.setParameter("createdAt", cursor.getCreatedAt()).setParameter("id", cursor.getId());
+        }
+        List<?> rows = query.getResultList();
+        return rows.stream()
+                .map(row -> {
+                    Object[] columns = (Object[]) row;
+                    return new OrderResponseDto(
+                            ((Number) columns[0]).longValue(),
+                            (String) columns[1],
+                            OrderStatus.valueOf((String) columns[2]),
+                            ((Number) columns[3]).intValue(),
+                            toLocalDateTime(columns[4]),
+                            DeliveryResponseDto.builder()
+                                    .id(((Number) columns[5]).longValue())
+                                    .address(Address.builder()
+                                            .address((String) columns[6])
+                                            .addressDetail((String) columns[7])
+                                            .zipCode((String) columns[8])
+                                            .build())
+                                    .status(DeliveryStatus.valueOf((String) columns[9]))
+                                    .build());
+                })
+                .collect(Collectors.toList());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Stream<OrderExportRowDto> streamArchivedOrderExportRows(YearMonth month, Long memberId, int fetchSize) {
+        Stream<Object[]> rows = entityManager.createNativeQuery("select o.id, o.name, o.status, o.total_price, o.created_at"
+                        + ", i.item_id, i.sale_price, i.supply_price, i.user_purchase_quantity, i.item_used_quantity"
+                        + " from " + OrderArchiveTables.name(OrderArchiveTables.ORDER_ITEM, month) + " i"
+                        + " join " + OrderArchiveTables.name(OrderArchiveTables.ORDERS, month) + " o on o.id = i.order_id"
+                        + " where o.member_id = :memberId and o.activated = true and i.activated = true"
+                        + " order by o.created_at desc, o.id desc, i.id asc")
+                .setParameter("memberId", memberId)
+                .setHint(QueryHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(QueryHints.HINT_READONLY, true)
+                .getResultStream();
+        return rows.map(columns -> new OrderExportRowDto(
+                ((Number) columns[0]).longValue(),
+                (String) columns[1],
+                OrderStatus.valueOf((String) columns[2]),
+                ((Number) columns[3]).intValue(),
+                toLocalDateTime(columns[4]),
+                ((Number) columns[5]).longValue(),
+                ((Number) columns[6]).intValue(),
+                ((Number) columns[7]).intValue(),
+                ((Number) columns[8]).intValue(),
+                ((Number) columns[9]).intValue()));
+    }
+
+    private LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof Timestamp) {
+            return ((Timestamp) value).toLocalDateTime();
+        }
+        return (LocalDateTime) value;
+    }
+
+    private BooleanExpression afterCursor(OrderCursor cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        return order.createdAt.lt(cursor.getCreatedAt())
+                .or(order.createdAt.eq(cursor.getCreatedAt()).and(order.id.lt(cursor.getId())));
     }
 }
@@ -0,0 +1,85 @@
+package com.commerce.order.service;
+
+import com.commerce.cart.domain.Cart;
+import com.commerce.cart.repository.CartRepository;
+import com.commerce.order.dto.CheckoutValidationResult;
+import com.commerce.order.dto.CheckoutViolation;
+import com.commerce.product.domain.Item;
+import com.commerce.product.service.ItemServiceImpl;
+import com.commerce.user.domain.Member;
+import com.commerce.user.domain.MemberRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ObjectUtils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.commerce.order.dto.CheckoutViolation.ViolationType.CART_EMPTY;
+import static com.commerce.order.dto.CheckoutViolation.ViolationType.CART_NOT_FOUND;
+import static com.commerce.order.dto.CheckoutViolation.ViolationType.ITEM_NOT_FOUND;
+import static com.commerce.order.dto.CheckoutViolation.ViolationType.MEMBER_NOT_FOUND;
+import static com.commerce.order.dto.CheckoutViolation.ViolationType.OPTION_NOT_FOUND;
+import static com.commerce.order.dto.CheckoutViolation.ViolationType.PRODUCT_NOT_FOUND;
+import static com.commerce.order.dto.CheckoutViolation.ViolationType.STOCK_SHORTAGE;
+
+/**
+ * 주문 생성 검증
+ * 회원, 장바구니, 상품, 옵션, 재고 상품을 한번의 조회로 가져와 장바구니 개수와 무관하게 조회 횟수를 일정하게 유지한다.
+ * 장바구니가 조회되지 않은 경우에만 회원을 따로 조회하여 위반 항목을 구분한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class CheckoutValidator {
+
+    private final CartRepository cartRepository;
+    private final MemberRepository memberRepository;
+    private final ItemServiceImpl itemServiceImpl;
+
+    /**
+     * 주문 생성 검증
+     * @param userId 회원 아이디
+     * @param cartIds 장바구니 아이디 목록
+     */
+    public CheckoutValidationResult validate(String userId, List<Long> cartIds) {
+        List<Cart> carts = cartRepository.findCheckoutCartsByCartIdsAndUserId(cartIds, userId);
+        if (carts.isEmpty()) {
+            Member member = memberRepository.findByUserIdAndActivated(userId, true);
+            CheckoutViolation violation = new CheckoutViolation(ObjectUtils.isEmpty(member) ? MEMBER_NOT_FOUND : CART_EMPTY, null);
+            return new CheckoutValidationResult(member, carts, List.of(violation));
+        }
+
+        List<CheckoutViolation> violations = new ArrayList<>();
+        Set<Long> foundCartIds = carts.stream().map(Cart::getId).collect(Collectors.toSet());
+        new LinkedHashSet<>(cartIds).stream()
+                .filter(cartId -> !foundCartIds.contains(cartId))
+                .forEach(cartId -> violations.add(new CheckoutViolation(CART_NOT_FOUND, cartId)));
+
+        carts.forEach(cart -> {
+            if (!cart.getProduct().isActivated()) {
+                violations.add(new CheckoutViolation(PRODUCT_NOT_FOUND, cart.getId()));
+            }
+            if (!cart.getOption().isActivated()) {
+                violations.add(new CheckoutViolation(OPTION_NOT_FOUND, cart.getId()));
+            }
+            if (!cart.getItem().isActivated()) {
+                violations.add(new CheckoutViolation(ITEM_NOT_FOUND, cart.getId()));
+            }
+        });
+
+        List<Cart> activatedItemCarts = carts.stream().filter(cart -> cart.getItem().isActivated()).collect(Collectors.toList());
+        Map<Long, Integer> stockQuantities = itemServiceImpl.getStockQuantities(
+                activatedItemCarts.stream().map(Cart::getItem).distinct().collect(Collectors.toList()));
+        Cart.sumItemUsedQuantityByItemId(activatedItemCarts).forEach((itemId, quantity) -> {
+            if (stockQuantities.getOrDefault(itemId, 0) < quantity) {
+                violations.add(new CheckoutViolation(STOCK_SHORTAGE, itemId));
+            }
+        });
+
+        return new CheckoutValidationResult(carts.get(0).getMember(), carts, violations);
+    }
+}
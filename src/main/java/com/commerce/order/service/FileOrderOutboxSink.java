@@ -0,0 +1,47 @@
+package com.commerce.order.service;
+
+import com.commerce.order.dto.OrderOutboxMessageDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+
+/**
+ * 주문 이벤트를 로컬 파일에 NDJSON 으로 이어 쓴다. (테스트/로컬 확인용, order.outbox.file.path 를 지정한 경우에만 사용)
+ */
+@Component
+@ConditionalOnExpression("'${order.outbox.file.path:}' != ''")
+public class FileOrderOutboxSink implements OrderOutboxSink {
+
+    private final ObjectMapper objectMapper;
+    private final Path path;
+
+    public FileOrderOutboxSink(ObjectMapper objectMapper, @Value("${order.outbox.file.path}") String path) {
+        this.objectMapper = objectMapper;
+        this.path = Paths.get(path);
+    }
+
+    @Override
+    public synchronized void publish(List<OrderOutboxMessageDto> messages) {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8, CREATE, APPEND)) {
+            for (OrderOutboxMessageDto message : messages) {
+                writer.write(objectMapper.writeValueAsString(message));
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.commerce.order.service;
+
+import com.commerce.order.dto.OrderOutboxMessageDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 같은 애플리케이션 안의 @EventListener(OrderOutboxMessageDto) 로 주문 이벤트를 전달한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class InProcessOrderOutboxSink implements OrderOutboxSink {
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    @Override
+    public void publish(List<OrderOutboxMessageDto> messages) {
+        messages.forEach(applicationEventPublisher::publishEvent);
+    }
+}
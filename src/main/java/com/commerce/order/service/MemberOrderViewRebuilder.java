@@ -0,0 +1,41 @@
+package com.commerce.order.service;
+
+import com.commerce.global.common.datasource.ShardRouter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * 주문 목록 조회 테이블 재생성
+ * 테이블을 처음 만들었거나 원본 테이블을 직접 수정한 경우 --order.view.rebuild=true 로 실행하면 시작할 때 원본 테이블로 다시 채운다.
+ * 조회 테이블은 주문과 같은 샤드에 있으므로 샤드마다 다시 채운다.
+ */
+@Slf4j
+@Component
+public class MemberOrderViewRebuilder implements ApplicationRunner {
+
+    private final MemberOrderViewServiceImpl memberOrderViewServiceImpl;
+    private final ShardRouter shardRouter;
+    private final boolean rebuild;
+
+    public MemberOrderViewRebuilder(MemberOrderViewServiceImpl memberOrderViewServiceImpl,
+                                    ShardRouter shardRouter,
+                                    @Value("${order.view.rebuild:false}") boolean rebuild) {
+        this.memberOrderViewServiceImpl = memberOrderViewServiceImpl;
+        this.shardRouter = shardRouter;
+        this.rebuild = rebuild;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!rebuild) {
+            return;
+        }
+        for (int shardId = 0; shardId < shardRouter.getShardCount(); shardId++) {
+            int rebuilt = shardRouter.callOnShard(shardId, memberOrderViewServiceImpl::rebuild);
+            log.info("주문 목록 조회 테이블을 다시 만들었습니다. shardId={}, size={}", shardId, rebuilt);
+        }
+    }
+}
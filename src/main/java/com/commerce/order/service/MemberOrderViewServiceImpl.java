@@ -0,0 +1,113 @@
+package com.commerce.order.service;
+
+import com.commerce.delivery.domain.Delivery;
+import com.commerce.order.domain.MemberOrderView;
+import com.commerce.order.domain.MemberOrderVersion;
+import com.commerce.order.domain.MemberOrderVersionRepository;
+import com.commerce.order.domain.MemberOrderViewRepository;
+import com.commerce.order.dto.OrderResponseDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 회원 주문 목록 조회 테이블 (MEMBER_ORDER_VIEW) 관리
+ * 주문, 배송 상태를 바꾸는 트랜잭션 안에서 함께 반영하므로 커밋된 주문 목록은 원본 테이블과 항상 같다.
+ * 조회 테이블이 바뀐 회원의 주문 목록 버전도 같은 트랜잭션에서 올려, 모든 서버의 주문 목록 캐시가 커밋된 이후에는 다시 조회하게 한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class MemberOrderViewServiceImpl {
+
+    private final MemberOrderViewRepository memberOrderViewRepository;
+    private final MemberOrderVersionRepository memberOrderVersionRepository;
+    private final OrderListCache orderListCache;
+
+    /**
+     * 회원 주문 목록 조회 (주문번호 순, 앞쪽 페이지는 회원 주문 목록 버전이 같으면 캐시에서 조회)
+     * @param memberId 회원 번호
+     * @param pageable 페이지 정보
+     */
+    public List<OrderResponseDto> findOrders(Long memberId, Pageable pageable) {
+        long version = memberOrderVersionRepository.findVersion(memberId);
+        return orderListCache.get(memberId, version, pageable.getPageNumber(), pageable.getPageSize(), () ->
+                memberOrderViewRepository.findAllByMemberIdOrderByOrderIdAsc(memberId, pageable).stream()
+                        .map(MemberOrderView::toOrderResponseDto)
+                        .collect(Collectors.toList()));
+    }
+
+    /**
+     * 주문, 배송 상태 반영
+     * @param delivery 배송 객체 (주문 포함)
+     */
+    @Transactional
+    public void apply(Delivery delivery) {
+        applyAll(List.of(delivery));
+    }
+
+    /**
+     * 여러 주문의 주문, 배송 상태 반영
+     * 이미 있는 행은 한번에 조회하여 상태만 바꾸고, 없는 행은 새로 추가한다.
+     * @param deliveries 배송 목록 (주문 포함)
+     */
+    @Transactional
+    public void applyAll(List<Delivery> deliveries) {
+        Map<Long, MemberOrderView> views = memberOrderViewRepository.findAllById(deliveries.stream()
+                        .map(delivery -> delivery.getOrder().getId())
+                        .collect(Collectors.toList())).stream()
+                .collect(Collectors.toMap(MemberOrderView::getOrderId, Function.identity()));
+
+        List<MemberOrderView> newViews = new ArrayList<>();
+        deliveries.forEach(delivery -> {
+            MemberOrderView view = views.get(delivery.getOrder().getId());
+            if (view == null) {
+                newViews.add(new MemberOrderView(delivery));
+            } else {
+                view.update(delivery);
+            }
+        });
+        memberOrderViewRepository.saveAll(newViews);
+        increaseVersions(deliveries.stream().map(delivery -> delivery.getOrder().getMemberId()));
+    }
+
+    /**
+     * 보관 테이블로 옮긴 주문 제거
+     * @param orderIds 주문번호 목록
+     */
+    @Transactional
+    public void removeAll(List<Long> orderIds) {
+        increaseVersions(memberOrderViewRepository.findAllById(orderIds).stream().map(MemberOrderView::getMemberId));
+        memberOrderViewRepository.deleteAllByIdInBatch(orderIds);
+    }
+
+    /**
+     * 원본 테이블(ORDERS, DELIVERY)로 현재 샤드의 조회 테이블 다시 만들기
+     * 하나의 트랜잭션에서 지우고 다시 채우므로 커밋 전까지 다른 트랜잭션은 이전 내용을 조회한다.
+     * @return 채운 주문 수
+     */
+    @Transactional
+    public int rebuild() {
+        memberOrderViewRepository.deleteAllInBatch();
+        memberOrderVersionRepository.increaseVersion(MemberOrderVersion.ALL_MEMBERS_ID);
+        return memberOrderViewRepository.insertAllFromOrders();
+    }
+
+    /**
+     * 회원 주문 목록 버전 올리기 (교착 상태를 피하기 위해 회원 번호 순으로 올린다)
+     * @param memberIds 회원 번호 (중복 가능)
+     */
+    private void increaseVersions(Stream<Long> memberIds) {
+        memberIds.distinct()
+                .sorted()
+                .forEach(memberOrderVersionRepository::increaseVersion);
+    }
+}
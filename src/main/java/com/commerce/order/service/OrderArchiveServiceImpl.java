@@ -0,0 +1,66 @@
+package com.commerce.order.service;
+
+import com.commerce.order.domain.OrderRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 완료/취소된 오래된 주문을 주문 아이템, 배송 정보와 함께 생성월의 보관 테이블로 옮긴다.
+ */
+@Service
+@Transactional(readOnly = true)
+public class OrderArchiveServiceImpl {
+
+    private final OrderRepository orderRepository;
+    private final MemberOrderViewServiceImpl memberOrderViewServiceImpl;
+    private final int chunkSize;
+
+    public OrderArchiveServiceImpl(OrderRepository orderRepository,
+                                   MemberOrderViewServiceImpl memberOrderViewServiceImpl,
+                                   @Value("${order.archive.chunk-size:500}") int chunkSize) {
+        this.orderRepository = orderRepository;
+        this.memberOrderViewServiceImpl = memberOrderViewServiceImpl;
+        this.chunkSize = chunkSize;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * 다음에 옮길 주문의 보관 테이블 생성 (DDL 이므로 옮기는 트랜잭션과 분리한다)
+     * @param cutoff 이 시각 이전에 생성된 주문을 옮긴다
+     */
+    @Transactional
+    public void prepareArchiveTables(LocalDateTime cutoff) {
+        List<YearMonth> archiveMonths = orderRepository.findArchiveMonths();
+        orderRepository.findArchivableOrderIds(cutoff, chunkSize, false).keySet().stream()
+                .filter(month -> !archiveMonths.contains(month))
+                .forEach(orderRepository::createArchiveTables);
+    }
+
+    /**
+     * 주문을 chunk-size 만큼 잠그고 보관 테이블로 옮김
+     * 보관 테이블이 아직 없는 월의 주문은 건너뛰고 다음 실행 때 옮긴다. 옮긴 주문은 주문 목록 조회 테이블에서도 제거한다.
+     * @param cutoff 이 시각 이전에 생성된 주문을 옮긴다
+     * @return 옮긴 주문 수
+     */
+    @Transactional
+    public int archive(LocalDateTime cutoff) {
+        List<YearMonth> archiveMonths = orderRepository.findArchiveMonths();
+        int archived = 0;
+        for (Map.Entry<YearMonth, List<Long>> entry : orderRepository.findArchivableOrderIds(cutoff, chunkSize, true).entrySet()) {
+            if (archiveMonths.contains(entry.getKey())) {
+                archived += orderRepository.archiveOrders(entry.getKey(), entry.getValue());
+                memberOrderViewServiceImpl.removeAll(entry.getValue());
+            }
+        }
+        return archived;
+    }
+}
@@ -0,0 +1,69 @@
+package com.commerce.order.service;
+
+import com.commerce.global.common.datasource.ShardRouter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+/**
+ * 주문 보관 작업
+ * retention-months 이전 달까지 생성된 완료/취소 주문을 chunk 단위 트랜잭션으로 나누어 월별 보관 테이블로 옮기고, 한번에 max-chunks 개의 chunk 까지 연속으로 처리한다.
+ * 보관 테이블은 샤드마다 따로 있으므로 샤드마다 차례로 옮긴다.
+ */
+@Slf4j
+@Component
+public class OrderArchiver {
+
+    private final OrderArchiveServiceImpl orderArchiveServiceImpl;
+    private final ShardRouter shardRouter;
+    private final int retentionMonths;
+    private final int maxChunks;
+
+    public OrderArchiver(OrderArchiveServiceImpl orderArchiveServiceImpl,
+                         ShardRouter shardRouter,
+                         @Value("${order.archive.retention-months:12}") int retentionMonths,
+                         @Value("${order.archive.max-chunks:20}") int maxChunks) {
+        this.orderArchiveServiceImpl = orderArchiveServiceImpl;
+        this.shardRouter = shardRouter;
+        this.retentionMonths = retentionMonths;
+        this.maxChunks = maxChunks;
+    }
+
+    @Scheduled(cron = "${order.archive.cron:0 0 4 * * *}")
+    public void archive() {
+        LocalDateTime cutoff = YearMonth.now().minusMonths(retentionMonths).atDay(1).atStartOfDay();
+        for (int shardId = 0; shardId < shardRouter.getShardCount(); shardId++) {
+            int total = 0;
+            try {
+                total = shardRouter.callOnShard(shardId, () -> archiveShard(cutoff));
+            } catch (RuntimeException e) {
+                log.error("주문 보관에 실패하였습니다. shardId={}, cutoff={}", shardId, cutoff, e);
+            }
+            if (total > 0) {
+                log.info("주문을 보관 테이블로 옮겼습니다. shardId={}, cutoff={}, size={}", shardId, cutoff, total);
+            }
+        }
+    }
+
+    /**
+     * 현재 샤드의 주문을 max-chunks 개의 chunk 까지 보관 테이블로 옮김
+     * @param cutoff 이 시각 이전에 생성된 주문을 옮긴다
+     * @return 옮긴 주문 수
+     */
+    private int archiveShard(LocalDateTime cutoff) {
+        int total = 0;
+        for (int chunk = 0; chunk < maxChunks; chunk++) {
+            orderArchiveServiceImpl.prepareArchiveTables(cutoff);
+            int archived = orderArchiveServiceImpl.archive(cutoff);
+            total += archived;
+            if (archived < orderArchiveServiceImpl.getChunkSize()) {
+                break;
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,89 @@
+package com.commerce.order.service;
+
+import com.commerce.global.common.datasource.ShardRouter;
+import com.commerce.global.common.exception.BadRequestException;
+import com.commerce.order.dto.OrderCompleteResultDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * 여러 회원의 주문 일괄 처리
+ * 주문은 회원의 샤드에 나뉘어 있으므로 샤드마다 요청한 주문을 찾아 샤드별 트랜잭션으로 처리한다.
+ * 샤드별로 트랜잭션을 시작해야 하므로 이 서비스는 트랜잭션 없이 실행한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class OrderBatchServiceImpl {
+
+    private static final String ORDER_NOT_FOUND_MESSAGE = "주문이 존재하지 않습니다.";
+
+    private final OrderServiceImpl orderServiceImpl;
+    private final ShardRouter shardRouter;
+
+    /**
+     * 주문 일괄 완료 (주문별 완료 결과를 요청 순서대로 반환한다)
+     * @param orderIds 주문번호 목록
+     */
+    public List<OrderCompleteResultDto> completeOrders(List<Long> orderIds) {
+        List<Long> distinctOrderIds = OrderServiceImpl.distinctOrderIds(orderIds);
+        if (shardRouter.getShardCount() == 1) {
+            return shardRouter.callOnShard(0, () -> orderServiceImpl.completeOrders(distinctOrderIds));
+        }
+
+        Map<Long, OrderCompleteResultDto> results = new HashMap<>();
+        findShardOrderIds(distinctOrderIds).forEach((shardId, shardOrderIds) ->
+                shardRouter.callOnShard(shardId, () -> orderServiceImpl.completeOrders(shardOrderIds))
+                        .forEach(result -> results.put(result.getOrderId(), result)));
+        return distinctOrderIds.stream()
+                .map(orderId -> results.getOrDefault(orderId, OrderCompleteResultDto.failure(orderId, ORDER_NOT_FOUND_MESSAGE)))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 주문 일괄 취소 (하나라도 취소할 수 없는 주문이 있으면 전체를 취소하지 않는다)
+     * 모든 샤드에서 취소 가능 여부를 먼저 확인한 뒤 샤드별로 취소하므로, 확인 이후 다른 요청이 주문을 바꾸면 일부 샤드만 취소될 수 있다.
+     * @param orderIds 주문번호 목록
+     */
+    public void cancelOrders(List<Long> orderIds) {
+        List<Long> distinctOrderIds = OrderServiceImpl.distinctOrderIds(orderIds);
+        if (shardRouter.getShardCount() == 1) {
+            shardRouter.runOnShard(0, () -> orderServiceImpl.cancelOrders(distinctOrderIds));
+            return;
+        }
+
+        Map<Integer, List<Long>> shardOrderIds = findShardOrderIds(distinctOrderIds);
+        if (shardOrderIds.values().stream().mapToInt(List::size).sum() < distinctOrderIds.size()) {
+            throw new BadRequestException(ORDER_NOT_FOUND_MESSAGE);
+        }
+        shardOrderIds.forEach((shardId, ids) -> shardRouter.runOnShard(shardId, () -> orderServiceImpl.checkOrdersCancelable(ids)));
+        shardOrderIds.forEach((shardId, ids) -> shardRouter.runOnShard(shardId, () -> orderServiceImpl.cancelOrders(ids)));
+    }
+
+    /**
+     * 주문번호가 있는 샤드 찾기 (어느 샤드에도 없는 주문번호는 제외된다)
+     * @param orderIds 주문번호 목록 (중복 제거)
+     * @return 샤드 번호별 주문번호 목록
+     */
+    private Map<Integer, List<Long>> findShardOrderIds(List<Long> orderIds) {
+        Map<Integer, List<Long>> shardOrderIds = new TreeMap<>();
+        Set<Long> remainingOrderIds = new LinkedHashSet<>(orderIds);
+        for (int shardId = 0; shardId < shardRouter.getShardCount() && !remainingOrderIds.isEmpty(); shardId++) {
+            List<Long> requestOrderIds = new ArrayList<>(remainingOrderIds);
+            List<Long> foundOrderIds = shardRouter.callOnShard(shardId, () -> orderServiceImpl.findOrderIds(requestOrderIds));
+            if (!foundOrderIds.isEmpty()) {
+                shardOrderIds.put(shardId, foundOrderIds);
+                foundOrderIds.forEach(remainingOrderIds::remove);
+            }
+        }
+        return shardOrderIds;
+    }
+}
@@ -0,0 +1,19 @@
+package com.commerce.order.service;
+
+import com.commerce.order.domain.Order;
+import lombok.Getter;
+
+/**
+ * 주문 취소 이벤트 (커밋 이후 이벤트 버스로 발행)
+ */
+@Getter
+public class OrderCanceledEvent {
+
+    private final Long orderId;
+    private final int totalPrice;
+
+    public OrderCanceledEvent(Order order) {
+        this.orderId = order.getId();
+        this.totalPrice = order.getTotalPrice();
+    }
+}
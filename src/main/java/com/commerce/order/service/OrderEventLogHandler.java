@@ -0,0 +1,29 @@
+package com.commerce.order.service;
+
+import com.commerce.global.common.event.DomainEventHandler;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * 주문 완료/취소 이벤트 로그 (요청 스레드 밖에서 남긴다)
+ */
+@Slf4j
+@Component
+public class OrderEventLogHandler implements DomainEventHandler {
+
+    @Override
+    public boolean supports(Object event) {
+        return event instanceof OrderCompletedEvent || event instanceof OrderCanceledEvent;
+    }
+
+    @Override
+    public void handle(Object event) {
+        if (event instanceof OrderCompletedEvent) {
+            OrderCompletedEvent completedEvent = (OrderCompletedEvent) event;
+            log.info("주문이 완료되었습니다. orderId={}, totalPrice={}", completedEvent.getOrderId(), completedEvent.getTotalPrice());
+            return;
+        }
+        OrderCanceledEvent canceledEvent = (OrderCanceledEvent) event;
+        log.info("주문이 취소되었습니다. orderId={}, totalPrice={}", canceledEvent.getOrderId(), canceledEvent.getTotalPrice());
+    }
+}
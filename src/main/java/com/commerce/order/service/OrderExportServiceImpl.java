@@ -0,0 +1,93 @@
+package com.commerce.order.service;
+
+import com.commerce.global.common.datasource.ShardRouter;
+import com.commerce.order.domain.OrderRepository;
+import com.commerce.order.dto.OrderExportDto;
+import com.commerce.order.dto.OrderExportRowDto;
+import com.commerce.user.domain.Member;
+import com.commerce.user.domain.MemberRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * 회원의 전체 주문 내역을 NDJSON (주문 1건당 JSON 1줄) 으로 내보낸다.
+ * 조회 결과를 forward-only 커서로 읽으면서 주문 단위로 바로 써 내려가므로 주문 건수와 관계없이 메모리에는 주문 1건만 올라간다.
+ */
+@Service
+@Transactional(readOnly = true)
+public class OrderExportServiceImpl {
+
+    private static final int FLUSH_INTERVAL = 100;
+    private static final byte LINE_SEPARATOR = '\n';
+
+    private final OrderRepository orderRepository;
+    private final MemberRepository memberRepository;
+    private final ObjectMapper objectMapper;
+    private final ShardRouter shardRouter;
+    private final int fetchSize;
+
+    public OrderExportServiceImpl(OrderRepository orderRepository,
+                                  MemberRepository memberRepository,
+                                  ObjectMapper objectMapper,
+                                  ShardRouter shardRouter,
+                                  @Value("${order.export.fetch-size:500}") int fetchSize) {
+        this.orderRepository = orderRepository;
+        this.memberRepository = memberRepository;
+        this.objectMapper = objectMapper;
+        this.shardRouter = shardRouter;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * 주문 내역 내보내기
+     * 첫 주문을 쓰고 바로 flush 하여 조회가 끝나기 전에 응답을 보내기 시작하고, 이후에는 FLUSH_INTERVAL 건마다 flush 한다.
+     * 회원이 없으면 빈 응답을 보낸다.
+     * @param userId 회원 아이디
+     * @param outputStream 응답 스트림
+     * @return 내보낸 주문 수
+     */
+    public int exportOrders(String userId, OutputStream outputStream) throws IOException {
+        Member member = memberRepository.findByUserIdAndActivated(userId, true);
+        int exportedCount = 0;
+        if (member == null) {
+            outputStream.flush();
+            return exportedCount;
+        }
+        shardRouter.bind(member.getId());
+        try (Stream<OrderExportRowDto> rows = orderRepository.streamOrderExportRowsByMemberId(member.getId(), fetchSize)) {
+            Iterator<OrderExportRowDto> iterator = rows.iterator();
+            OrderExportDto current = null;
+            while (iterator.hasNext()) {
+                OrderExportRowDto row = iterator.next();
+                if (current != null && !current.getId().equals(row.getOrderId())) {
+                    write(outputStream, current, ++exportedCount);
+                    current = null;
+                }
+                if (current == null) {
+                    current = new OrderExportDto(row);
+                }
+                current.addItem(row);
+            }
+            if (current != null) {
+                write(outputStream, current, ++exportedCount);
+            }
+        }
+        outputStream.flush();
+        return exportedCount;
+    }
+
+    private void write(OutputStream outputStream, OrderExportDto orderExportDto, int exportedCount) throws IOException {
+        outputStream.write(objectMapper.writeValueAsBytes(orderExportDto));
+        outputStream.write(LINE_SEPARATOR);
+        if (exportedCount == 1 || exportedCount % FLUSH_INTERVAL == 0) {
+            outputStream.flush();
+        }
+    }
+}
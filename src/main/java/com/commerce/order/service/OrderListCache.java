@@ -0,0 +1,129 @@
+package com.commerce.order.service;
+
+import com.commerce.global.common.util.CacheMetrics;
+import com.commerce.global.common.util.ExpiringLruCache;
+import com.commerce.order.dto.OrderResponseDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 회원별 주문 목록 캐시 (앞쪽 max-pages 페이지만 캐시한다)
+ * 캐시는 서버마다 따로 가지고 있으므로 지우는 대신, 조회할 때마다 DB 의 회원 주문 목록 버전 (MEMBER_ORDER_VERSION) 을 받아
+ * 캐시한 목록의 버전과 같을 때만 캐시를 사용한다. 주문 목록을 바꾸는 트랜잭션이 버전을 함께 올리므로 어느 서버에서 바뀌었든
+ * 커밋된 이후의 조회는 이전 목록을 받지 않는다.
+ * 버전과 목록은 같은 트랜잭션에서 조회하므로 목록은 그 버전 이후의 내용이고, 더 낮은 버전으로 조회한 목록은 캐시에 저장하지 않는다.
+ * 캐시 상태는 metrics-log-millis 마다 로그로 남긴다.
+ */
+@Slf4j
+@Component
+public class OrderListCache {
+
+    private final ExpiringLruCache<Long, VersionedPages> cache;
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final int maxPages;
+
+    public OrderListCache(@Value("${order.list-cache.max-size:10000}") int maxSize,
+                          @Value("${order.list-cache.ttl-seconds:60}") long ttlSeconds,
+                          @Value("${order.list-cache.max-pages:3}") int maxPages) {
+        this.cache = new ExpiringLruCache<>(maxSize, ttlSeconds * 1000);
+        this.maxPages = maxPages;
+    }
+
+    /**
+     * 주문 목록 조회 (캐시한 목록의 버전이 다르거나 캐시에 없으면 loader 로 조회하여 저장한다)
+     * @param memberId 회원 번호
+     * @param version 회원 주문 목록 버전 (loader 와 같은 트랜잭션에서 조회한 값)
+     * @param page 페이지 번호 (0 부터 시작)
+     * @param size 한 페이지에 보여줄 개수
+     * @param loader DB 조회
+     */
+    public List<OrderResponseDto> get(Long memberId, long version, int page, int size, Supplier<List<OrderResponseDto>> loader) {
+        if (page >= maxPages) {
+            return loader.get();
+        }
+        PageKey pageKey = new PageKey(page, size);
+        VersionedPages pages = cache.get(memberId);
+        List<OrderResponseDto> cached = pages == null || pages.version != version ? null : pages.pages.get(pageKey);
+        if (cached != null) {
+            hitCount.increment();
+            return cached;
+        }
+
+        missCount.increment();
+        List<OrderResponseDto> orders = List.copyOf(loader.get());
+        put(memberId, version, pageKey, orders);
+        return orders;
+    }
+
+    /**
+     * 캐시 상태 (적중/실패 횟수는 페이지 단위, 크기와 제거된 수는 회원 단위)
+     */
+    public CacheMetrics getMetrics() {
+        CacheMetrics metrics = cache.getMetrics();
+        return new CacheMetrics(metrics.getSize(), hitCount.sum(), missCount.sum(), metrics.getEvictionCount());
+    }
+
+    @Scheduled(fixedDelayString = "${order.list-cache.metrics-log-millis:60000}")
+    public void logMetrics() {
+        log.info("주문 목록 캐시 상태 {}", getMetrics());
+    }
+
+    private synchronized void put(Long memberId, long version, PageKey pageKey, List<OrderResponseDto> orders) {
+        VersionedPages pages = cache.get(memberId);
+        if (pages != null && pages.version > version) {
+            return;
+        }
+        if (pages == null || pages.version < version) {
+            pages = new VersionedPages(version);
+            cache.put(memberId, pages);
+        }
+        pages.pages.put(pageKey, orders);
+    }
+
+    private static class VersionedPages {
+
+        private final long version;
+        private final Map<PageKey, List<OrderResponseDto>> pages = new ConcurrentHashMap<>();
+
+        VersionedPages(long version) {
+            this.version = version;
+        }
+    }
+
+    private static class PageKey {
+
+        private final int page;
+        private final int size;
+
+        PageKey(int page, int size) {
+            this.page = page;
+            this.size = size;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof PageKey)) {
+                return false;
+            }
+            PageKey pageKey = (PageKey) o;
+            return page == pageKey.page && size == pageKey.size;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * page + size;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.commerce.order.service;
+
+import com.commerce.global.common.datasource.ShardRouter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * 주문 이벤트 relay
+ * relay-millis 마다 발행되지 않은 이벤트를 batch 단위로 sink 에 전달하고, 한번에 max-batches 개의 batch 까지 연속으로 처리한다.
+ * 발행 후 retention-hours 가 지난 이벤트는 삭제한다.
+ * 이벤트는 주문과 같은 샤드에 저장되므로 샤드마다 차례로 처리하며, 한 샤드가 실패해도 다른 샤드는 계속 처리한다.
+ */
+@Slf4j
+@Component
+public class OrderOutboxRelay {
+
+    private final OrderOutboxServiceImpl orderOutboxServiceImpl;
+    private final ShardRouter shardRouter;
+    private final int maxBatches;
+    private final long retentionHours;
+
+    public OrderOutboxRelay(OrderOutboxServiceImpl orderOutboxServiceImpl,
+                            ShardRouter shardRouter,
+                            @Value("${order.outbox.max-batches:10}") int maxBatches,
+                            @Value("${order.outbox.retention-hours:72}") long retentionHours) {
+        this.orderOutboxServiceImpl = orderOutboxServiceImpl;
+        this.shardRouter = shardRouter;
+        this.maxBatches = maxBatches;
+        this.retentionHours = retentionHours;
+    }
+
+    @Scheduled(fixedDelayString = "${order.outbox.relay-millis:1000}")
+    public void relay() {
+        for (int shardId = 0; shardId < shardRouter.getShardCount(); shardId++) {
+            try {
+                shardRouter.runOnShard(shardId, this::relayShard);
+            } catch (RuntimeException e) {
+                log.error("주문 이벤트 전달에 실패하였습니다. shardId={}", shardId, e);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${order.outbox.purge-millis:3600000}")
+    public void removePublished() {
+        LocalDateTime publishedAt = LocalDateTime.now().minusHours(retentionHours);
+        for (int shardId = 0; shardId < shardRouter.getShardCount(); shardId++) {
+            try {
+                int removed = shardRouter.callOnShard(shardId, () -> orderOutboxServiceImpl.removePublished(publishedAt));
+                if (removed > 0) {
+                    log.info("발행된 주문 이벤트를 삭제하였습니다. shardId={}, size={}", shardId, removed);
+                }
+            } catch (RuntimeException e) {
+                log.error("발행된 주문 이벤트 삭제에 실패하였습니다. shardId={}", shardId, e);
+            }
+        }
+    }
+
+    /**
+     * 현재 샤드의 발행되지 않은 이벤트를 max-batches 개의 batch 까지 전달
+     */
+    private void relayShard() {
+        for (int batch = 0; batch < maxBatches; batch++) {
+            if (orderOutboxServiceImpl.relay() < orderOutboxServiceImpl.getBatchSize()) {
+                return;
+            }
+        }
+    }
+}
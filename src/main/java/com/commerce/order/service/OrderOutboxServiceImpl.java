@@ -0,0 +1,111 @@
+package com.commerce.order.service;
+
+import com.commerce.order.domain.Order;
+import com.commerce.order.domain.OrderOutbox;
+import com.commerce.order.domain.OrderOutboxRepository;
+import com.commerce.order.dto.OrderEventPayloadDto;
+import com.commerce.order.dto.OrderOutboxMessageDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.commerce.order.domain.OrderOutbox.OrderEventType;
+
+/**
+ * 주문 이벤트 outbox
+ * 주문 변경 트랜잭션 안에서 이벤트를 ORDER_OUTBOX 에 저장하고, relay 시 발행되지 않은 이벤트를 batch 단위로 sink 에 전달한다.
+ * 전달 후 커밋 전에 실패하면 다시 전달되므로 sink 는 같은 이벤트를 여러번 받을 수 있다. (이벤트 id 로 중복 제거)
+ */
+@Service
+@Transactional(readOnly = true)
+public class OrderOutboxServiceImpl {
+
+    private final OrderOutboxRepository orderOutboxRepository;
+    private final List<OrderOutboxSink> orderOutboxSinks;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+
+    public OrderOutboxServiceImpl(OrderOutboxRepository orderOutboxRepository,
+                                  List<OrderOutboxSink> orderOutboxSinks,
+                                  ObjectMapper objectMapper,
+                                  @Value("${order.outbox.batch-size:100}") int batchSize) {
+        this.orderOutboxRepository = orderOutboxRepository;
+        this.orderOutboxSinks = orderOutboxSinks;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * 주문 이벤트 저장 (호출한 트랜잭션과 함께 커밋된다)
+     * @param order 주문 객체
+     * @param eventType 이벤트 종류
+     */
+    @Transactional
+    public void record(Order order, OrderEventType eventType) {
+        orderOutboxRepository.save(createOrderOutbox(order, eventType));
+    }
+
+    /**
+     * 여러 주문의 이벤트 저장
+     * @param orders 주문 목록
+     * @param eventType 이벤트 종류
+     */
+    @Transactional
+    public void recordAll(List<Order> orders, OrderEventType eventType) {
+        orderOutboxRepository.saveAll(orders.stream()
+                .map(order -> createOrderOutbox(order, eventType))
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * 발행되지 않은 이벤트를 batch-size 만큼 sink 로 전달하고 발행 완료 처리
+     * 조회한 이벤트는 트랜잭션이 끝날 때까지 잠그므로 여러 서버에서 relay 해도 같은 이벤트를 동시에 전달하지 않는다.
+     * @return 전달한 이벤트 수
+     */
+    @Transactional
+    public int relay() {
+        List<OrderOutbox> orderOutboxes = orderOutboxRepository.findAllForUpdateByPublishedAtIsNullOrderByIdAsc(PageRequest.of(0, batchSize));
+        if (orderOutboxes.isEmpty()) {
+            return 0;
+        }
+
+        List<OrderOutboxMessageDto> messages = orderOutboxes.stream().map(OrderOutboxMessageDto::new).collect(Collectors.toList());
+        orderOutboxSinks.forEach(sink -> sink.publish(messages));
+        LocalDateTime publishedAt = LocalDateTime.now();
+        orderOutboxes.forEach(orderOutbox -> orderOutbox.markPublished(publishedAt));
+        return orderOutboxes.size();
+    }
+
+    /**
+     * 발행된 지 오래된 이벤트 삭제
+     * @param publishedAt 이 일시 이전에 발행된 이벤트를 삭제
+     * @return 삭제한 이벤트 수
+     */
+    @Transactional
+    public int removePublished(LocalDateTime publishedAt) {
+        return orderOutboxRepository.deletePublishedBefore(publishedAt);
+    }
+
+    private OrderOutbox createOrderOutbox(Order order, OrderEventType eventType) {
+        try {
+            return OrderOutbox.builder()
+                    .orderId(order.getId())
+                    .eventType(eventType)
+                    .payload(objectMapper.writeValueAsString(new OrderEventPayloadDto(order)))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("주문 이벤트를 변환하지 못했습니다. orderId=" + order.getId(), e);
+        }
+    }
+}
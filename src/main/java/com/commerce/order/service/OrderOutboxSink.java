@@ -0,0 +1,17 @@
+package com.commerce.order.service;
+
+import com.commerce.order.dto.OrderOutboxMessageDto;
+
+import java.util.List;
+
+/**
+ * 주문 이벤트를 전달받는 곳 (예외를 던지면 해당 batch 는 발행되지 않은 상태로 남아 다음 relay 에서 다시 전달된다)
+ */
+public interface OrderOutboxSink {
+
+    /**
+     * 주문 이벤트 전달
+     * @param messages id 순서로 정렬된 주문 이벤트 목록 (id 순서는 커밋 순서와 다를 수 있으므로 같은 주문의 이벤트 순서는 orderSequence 로 판단한다)
+     */
+    void publish(List<OrderOutboxMessageDto> messages);
+}
@@ -1,19 +1,25 @@
 package com.commerce.order.service;
 
 import com.commerce.cart.domain.Cart;
-import com.commerce.cart.repository.CartRepository;
+import com.commerce.cart.service.CartStore;
 import com.commerce.delivery.domain.Delivery;
 import com.commerce.delivery.domain.Delivery.DeliveryStatus;
 import com.commerce.delivery.repository.DeliveryRepository;
+import com.commerce.global.common.datasource.ShardRouter;
+import com.commerce.global.common.domain.ShardCommit.ShardCommitType;
+import com.commerce.global.common.event.DomainEventPublisher;
 import com.commerce.global.common.exception.BadRequestException;
 import com.commerce.global.common.token.JwtTokenManager;
 import com.commerce.order.domain.Order;
 import com.commerce.order.domain.OrderItem;
+import com.commerce.order.dto.CheckoutValidationResult;
+import com.commerce.order.dto.OrderCompleteResultDto;
+import com.commerce.order.dto.OrderCursor;
 import com.commerce.order.dto.OrderResponseDto;
+import com.commerce.order.dto.OrderScrollResponseDto;
 import com.commerce.order.domain.OrderItemRepository;
 import com.commerce.order.domain.OrderRepository;
-import com.commerce.product.domain.Item;
-import com.commerce.product.domain.ItemRepository;
+import com.commerce.product.service.StockServiceImpl;
 import com.commerce.user.domain.Member;
 import com.commerce.user.domain.MemberRepository;
 import lombok.RequiredArgsConstructor;
@@ -21,14 +27,22 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static com.commerce.delivery.domain.Delivery.DeliveryStatus.STAND_BY;
 import static com.commerce.order.domain.Order.OrderStatus.CANCELED;
 import static com.commerce.order.domain.Order.OrderStatus.COMPLETED;
+import static com.commerce.order.domain.OrderOutbox.OrderEventType.ORDER_ADDED;
+import static com.commerce.order.domain.OrderOutbox.OrderEventType.ORDER_CANCELED;
+import static com.commerce.order.domain.OrderOutbox.OrderEventType.ORDER_COMPLETED;
 
 @Slf4j
 @Service
@@ -36,102 +50,294 @@ import static com.commerce.order.domain.Order.OrderStatus.COMPLETED;
 @Transactional(readOnly = true)
 public class OrderServiceImpl {
 
+    private static final int MAX_SCROLL_SIZE = 100;
+    private static final int MAX_BATCH_SIZE = 500;
+
     private final OrderRepository orderRepository;
     private final OrderItemRepository orderItemRepository;
-    private final CartRepository cartRepository;
     private final DeliveryRepository deliveryRepository;
     private final MemberRepository memberRepository;
-    private final ItemRepository itemRepository;
+    private final StockServiceImpl stockServiceImpl;
+    private final CheckoutValidator checkoutValidator;
+    private final CartStore cartStore;
+    private final OrderExportServiceImpl orderExportServiceImpl;
+    private final OrderOutboxServiceImpl orderOutboxServiceImpl;
+    private final MemberOrderViewServiceImpl memberOrderViewServiceImpl;
+    private final ShardCommitServiceImpl shardCommitServiceImpl;
+    private final DomainEventPublisher domainEventPublisher;
+    private final ShardRouter shardRouter;
     private final JwtTokenManager jwtTokenManager;
 
     /**
-     * 주문 목록 조회
+     * 주문 목록 조회 (주문 목록 조회 테이블에서 주문번호 순으로 조회)
      * @param limit : 페이지 번호(0 부터 시작)
      * @param offset : 한 페이지에 보여줄 개수
      */
     public List<OrderResponseDto> findOrders(int limit, int offset) {
-        return orderRepository.findWithMemberAndDeliveryByMemberId(jwtTokenManager.getUserIdByToken(), PageRequest.of(limit, offset))
-                .stream().map(OrderResponseDto::new).collect(Collectors.toList());
+        Member member = bindTokenMember();
+        return memberOrderViewServiceImpl.findOrders(member.getId(), PageRequest.of(limit, offset));
+    }
+
+    /**
+     * 주문 목록 커서 조회 (보관 테이블로 옮긴 오래된 주문도 이어서 조회한다)
+     * @param cursor 이전 응답의 nextCursor (첫 페이지는 null)
+     * @param size 한 페이지에 보여줄 개수 (1 ~ 100)
+     */
+    public OrderScrollResponseDto scrollOrders(String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_SCROLL_SIZE));
+        Member member = bindTokenMember();
+        List<OrderResponseDto> orders = orderRepository.findOrderResponsesByMemberIdAfterCursor(
+                member.getId(), OrderCursor.decode(cursor), pageSize + 1);
+
+        String nextCursor = null;
+        if (orders.size() > pageSize) {
+            orders = orders.subList(0, pageSize);
+            nextCursor = OrderCursor.from(orders.get(pageSize - 1)).encode();
+        }
+        return new OrderScrollResponseDto(orders, nextCursor);
+    }
+
+    /**
+     * 전체 주문 내역 내보내기 (NDJSON)
+     * 응답은 요청 스레드가 아닌 비동기 스레드에서 쓰므로 회원 아이디는 요청 스레드에서 미리 꺼내둔다.
+     */
+    public StreamingResponseBody exportOrders() {
+        String userId = jwtTokenManager.getUserIdByToken();
+        return outputStream -> orderExportServiceImpl.exportOrders(userId, outputStream);
     }
 
     /**
      * 주문 추가 (주문 준비)
+     * 장바구니와 재고는 공통 DB 에서 검증하고, 검증된 회원의 주문 샤드에 주문을 저장한다.
+     * 주문 샤드 커밋이 실패하면 ShardCommitReconciler 가 예약된 재고와 장바구니를 되돌린다.
      * @param cartIds 장바구니 아이디
      */
     @Transactional
     public void addOrder(List<Long> cartIds) {
-        Member member = memberRepository.findByUserIdAndActivated(jwtTokenManager.getUserIdByToken(), true);
-        member.checkMemberExist(member);
+        String userId = jwtTokenManager.getUserIdByToken();
+        Member storedCartMember = flushStoredCarts(userId);
+        CheckoutValidationResult validationResult = checkoutValidator.validate(userId, cartIds);
+        validationResult.checkValid();
+        shardRouter.bind(validationResult.getMember().getId());
 
-        List<Cart> carts = cartRepository.findCartsByCartIdsAndMemberId(cartIds, member.getId());
-        Cart.checkCartsEmpty(carts);
-        Cart.checkContainCartsByIds(carts, cartIds);
+        List<Cart> carts = validationResult.getCarts();
+        Order order = saveOrder(validationResult.getMember(), carts);
+        saveOrderItems(carts, order);
+        Map<Long, Integer> stockQuantities = Cart.sumItemUsedQuantityByItemId(carts);
+        stockServiceImpl.reserve(order.getId(), stockQuantities);
+        shardCommitServiceImpl.record(ShardCommitType.ORDER_ADDED, Map.of(order.getId(), stockQuantities));
+        orderOutboxServiceImpl.record(order, ORDER_ADDED);
+        if (storedCartMember != null) {
+            cartStore.evictAfterCommit(List.of(storedCartMember.getId()));
+        }
+    }
 
-        List<Long> itemIds = carts.stream().map(Cart -> Cart.getItem().getId()).collect(Collectors.toList());
-        checkItems(itemIds);
-        carts.forEach(cart -> {
-            Item item = itemRepository.findById(cart.getItem().getId())
-                    .orElseThrow(() -> new BadRequestException("재고 상품이 존재하지 않습니다."));
-            item.compareStockQuantityWithItemQuantity(cart.getItemUsedQuantity());
-        });
+    /**
+     * 토큰의 회원을 조회하고 현재 트랜잭션을 회원의 주문 샤드로 고정
+     * 회원은 공통 DB 에 있으므로 샤드를 지정하기 전에 조회할 수 있다.
+     */
+    private Member bindTokenMember() {
+        Member member = memberRepository.findByUserIdAndActivated(jwtTokenManager.getUserIdByToken(), true);
+        Member.checkMemberExist(member);
+        shardRouter.bind(member.getId());
+        return member;
+    }
 
-        Order order = saveOrder(member, carts);
-        saveOrderItems(carts, order);
+    /**
+     * 메모리 장바구니 저장소를 사용하면 주문할 장바구니를 읽기 전에 회원의 장바구니를 CART 에 먼저 반영
+     * @param userId 회원 아이디
+     * @return 장바구니를 반영한 회원 (저장소를 사용하지 않거나 회원이 없으면 null)
+     */
+    private Member flushStoredCarts(String userId) {
+        if (!cartStore.isEnabled()) {
+            return null;
+        }
+        Member member = memberRepository.findByUserIdAndActivated(userId, true);
+        if (member != null) {
+            cartStore.flush(member.getId());
+        }
+        return member;
     }
 
     /**
      * 주문 완료
+     * 회원의 주문 샤드를 지정하여 주문, 배송을 변경하고, 재고는 같은 트랜잭션에서 공통 DB 의 재고를 차감한다.
+     * 주문 정리(OrderSweeper)가 같은 주문을 비활성화하지 않도록 주문을 잠그고 조회한다.
      * @param orderId 주문번호
      */
     @Transactional
     public void completeOrder(Long orderId) {
-        Member member = memberRepository.findByUserIdAndActivated(jwtTokenManager.getUserIdByToken(), true);
-        Order order = orderRepository.findByIdAndActivated(orderId, true);
+        Member member = bindTokenMember();
+        Order order = orderRepository.findForUpdateByIdAndActivated(orderId, true);
+        Order.checkOrderExist(order);
+        order.checkOrderMember(member.getId());
         order.checkOrderCompletePossibility();
         order.updateOrderStatus(COMPLETED);
-        saveDelivery(member, order);
+        Delivery delivery = saveDelivery(member, order);
 
         List<OrderItem> orderItems = orderItemRepository.findAllByOrderIdAndActivated(orderId, true);
-        List<Long> itemIds = orderItems.stream().map(OrderItem -> OrderItem.getItemId()).collect(Collectors.toList());
-        checkItems(itemIds);
-        orderItems.forEach(orderItem -> {
-            Item item = itemRepository.findById(orderItem.getItemId())
-                    .orElseThrow(() -> new BadRequestException("재고 상품이 존재하지 않습니다."));
-            item.compareStockQuantityWithItemQuantity(orderItem.getItemUsedQuantity());
-            item.subtractStock(orderItem.getItemUsedQuantity());
+        Map<Long, Integer> stockQuantities = OrderItem.sumItemUsedQuantityByItemId(orderItems);
+        stockServiceImpl.subtract(orderId, stockQuantities);
+        shardCommitServiceImpl.record(ShardCommitType.ORDER_COMPLETED, Map.of(orderId, stockQuantities));
+        orderOutboxServiceImpl.record(order, ORDER_COMPLETED);
+        memberOrderViewServiceImpl.apply(delivery);
+        domainEventPublisher.publishAfterCommit(new OrderCompletedEvent(order));
+    }
+
+    /**
+     * 주문 일괄 완료 (현재 샤드의 주문, 여러 샤드의 주문은 OrderBatchServiceImpl 이 샤드별로 나누어 호출한다)
+     * 주문과 주문 아이템을 한번에 조회하고, 전체 주문의 재고 차감 수량을 item 별로 합산하여 한번에 차감한 뒤 배송 정보를 batch insert 한다.
+     * @param orderIds 주문번호 목록
+     */
+    @Transactional
+    public List<OrderCompleteResultDto> completeOrders(List<Long> orderIds) {
+        List<Long> distinctOrderIds = distinctOrderIds(orderIds);
+        Map<Long, Order> orders = orderRepository.findWithOptionalDeliveryByOrderIdsForUpdate(distinctOrderIds).stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
+        Map<Long, Member> members = memberRepository.findAllById(orders.values().stream()
+                        .map(Order::getMemberId)
+                        .distinct()
+                        .collect(Collectors.toList())).stream()
+                .collect(Collectors.toMap(Member::getId, Function.identity()));
+
+        Map<Long, String> failureMessages = new HashMap<>();
+        List<Long> completableOrderIds = new ArrayList<>();
+        distinctOrderIds.forEach(orderId -> {
+            try {
+                Order order = orders.get(orderId);
+                Order.checkOrderExist(order);
+                Member.checkMemberExist(members.get(order.getMemberId()));
+                order.checkOrderCompletePossibility();
+                completableOrderIds.add(orderId);
+            } catch (BadRequestException e) {
+                failureMessages.put(orderId, e.getMessage());
+            }
         });
+
+        if (!completableOrderIds.isEmpty()) {
+            Map<Long, Map<Long, Integer>> orderStockQuantities = sumItemUsedQuantityByOrderId(
+                    orderItemRepository.findAllByOrderIdInAndActivated(completableOrderIds, true));
+            stockServiceImpl.subtractAll(orderStockQuantities).forEach(orderId -> failureMessages.put(orderId, "재고가 부족합니다."));
+            orderStockQuantities.keySet().removeIf(failureMessages::containsKey);
+            shardCommitServiceImpl.record(ShardCommitType.ORDER_COMPLETED, orderStockQuantities);
+            List<Order> completedOrders = completableOrderIds.stream()
+                    .filter(orderId -> !failureMessages.containsKey(orderId))
+                    .map(orders::get)
+                    .collect(Collectors.toList());
+            List<Delivery> deliveries = new ArrayList<>();
+            completedOrders.forEach(order -> {
+                order.updateOrderStatus(COMPLETED);
+                deliveries.add(createDelivery(members.get(order.getMemberId()), order));
+            });
+            deliveryRepository.saveAll(deliveries);
+            orderOutboxServiceImpl.recordAll(completedOrders, ORDER_COMPLETED);
+            memberOrderViewServiceImpl.applyAll(deliveries);
+            completedOrders.forEach(order -> domainEventPublisher.publishAfterCommit(new OrderCompletedEvent(order)));
+        }
+
+        return distinctOrderIds.stream()
+                .map(orderId -> failureMessages.containsKey(orderId)
+                        ? OrderCompleteResultDto.failure(orderId, failureMessages.get(orderId))
+                        : OrderCompleteResultDto.success(orderId))
+                .collect(Collectors.toList());
     }
 
     /**
-     * 주문 취소
+     * 주문 취소 (회원의 주문 샤드에서 회원의 주문만 취소한다)
      * @param orderId 주문번호
      */
     @Transactional
     public void cancelOrder(Long orderId) {
+        Member member = bindTokenMember();
         Order order = orderRepository.findWithDeliveryByOrderId(orderId);
-        order.checkOrderExist(order);
-        order.checkOrderCanceled();
-        order.checkDeliveryCancelPossibility(order);
+        Order.checkOrderExist(order);
+        order.checkOrderMember(member.getId());
+        cancel(order);
+
+        List<OrderItem> orderItems = orderItemRepository.findAllByOrderIdAndActivated(orderId, true);
+        Map<Long, Integer> stockQuantities = OrderItem.sumItemUsedQuantityByItemId(orderItems);
+        stockServiceImpl.addStocks(stockQuantities);
+        shardCommitServiceImpl.record(ShardCommitType.ORDER_CANCELED, Map.of(orderId, stockQuantities));
+        orderOutboxServiceImpl.record(order, ORDER_CANCELED);
+        memberOrderViewServiceImpl.apply(order.getDelivery());
+        domainEventPublisher.publishAfterCommit(new OrderCanceledEvent(order));
+    }
+
+    /**
+     * 주문 일괄 취소 (현재 샤드의 주문, 하나라도 취소할 수 없는 주문이 있으면 전체를 취소하지 않는다)
+     * 주문과 주문 아이템을 한번에 조회하고, 전체 주문의 재고 복구 수량을 item 별로 합산하여 한번에 반영한다.
+     * @param orderIds 주문번호 목록
+     */
+    @Transactional
+    public void cancelOrders(List<Long> orderIds) {
+        List<Long> distinctOrderIds = distinctOrderIds(orderIds);
+        List<Order> orders = orderRepository.findWithDeliveryByOrderIds(distinctOrderIds);
+        Order.checkOrdersExist(orders, distinctOrderIds);
+        orders.forEach(this::cancel);
+
+        List<OrderItem> orderItems = orderItemRepository.findAllByOrderIdInAndActivated(distinctOrderIds, true);
+        stockServiceImpl.addStocks(OrderItem.sumItemUsedQuantityByItemId(orderItems));
+        shardCommitServiceImpl.record(ShardCommitType.ORDER_CANCELED, sumItemUsedQuantityByOrderId(orderItems));
+        orderOutboxServiceImpl.recordAll(orders, ORDER_CANCELED);
+        memberOrderViewServiceImpl.applyAll(orders.stream().map(Order::getDelivery).collect(Collectors.toList()));
+        orders.forEach(order -> domainEventPublisher.publishAfterCommit(new OrderCanceledEvent(order)));
+    }
+
+    /**
+     * 현재 샤드에 있는 활성 주문번호 조회
+     * @param orderIds 주문번호 목록
+     */
+    public List<Long> findOrderIds(List<Long> orderIds) {
+        return orderRepository.findActivatedOrderIds(orderIds);
+    }
+
+    /**
+     * 주문 일괄 취소 가능 체크 (현재 샤드의 주문, 여러 샤드의 주문을 취소하기 전에 샤드마다 먼저 확인한다)
+     * @param orderIds 주문번호 목록 (중복 제거)
+     */
+    public void checkOrdersCancelable(List<Long> orderIds) {
+        List<Order> orders = orderRepository.findWithDeliveryByOrderIds(orderIds);
+        Order.checkOrdersExist(orders, orderIds);
+        orders.forEach(OrderServiceImpl::checkCancelable);
+    }
+
+    /**
+     * 주문 및 배송 상태 취소로 변경
+     * @param order 주문 객체 (배송 정보 포함)
+     */
+    private void cancel(Order order) {
+        checkCancelable(order);
         order.updateOrderStatus(CANCELED);
         order.getDelivery().updateDeliveryStatus(DeliveryStatus.CANCELED);
+    }
 
-        List<OrderItem> orderItems = orderItemRepository.findAllByOrderIdAndActivated(orderId, true);
-        List<Long> itemIds = orderItems.stream().map(OrderItem::getItemId).collect(Collectors.toList());
-        checkItems(itemIds);
-        orderItems.forEach(orderItem -> {
-            Item item = itemRepository.findById(orderItem.getItemId())
-                    .orElseThrow(() -> new BadRequestException("재고 상품이 존재하지 않습니다."));
-            item.addStock(orderItem.getItemUsedQuantity());
-        });
+    private static void checkCancelable(Order order) {
+        order.checkOrderCanceled();
+        order.checkDeliveryCancelPossibility(order);
     }
 
     /**
-     * item 존재 체크
-     * @param itemIds item id 목록
+     * 일괄 처리할 주문번호 중복 제거 및 개수 체크
+     * @param orderIds 주문번호 목록
      */
-    private void checkItems(List<Long> itemIds) {
-        List<Item> items = itemRepository.findAllByIdInAndActivated(itemIds, true);
-        Item.checkItemSize(items);
+    static List<Long> distinctOrderIds(List<Long> orderIds) {
+        if (orderIds == null || orderIds.isEmpty() || orderIds.size() > MAX_BATCH_SIZE) {
+            throw new BadRequestException("주문번호는 1 ~ " + MAX_BATCH_SIZE + "건까지 요청할 수 있습니다.");
+        }
+        return orderIds.stream().distinct().collect(Collectors.toList());
+    }
+
+    /**
+     * 주문 아이템을 주문별 재고 수량으로 묶기
+     * @param orderItems 주문 아이템 목록
+     * @return 주문번호별, item id 별 재고 수량
+     */
+    private static Map<Long, Map<Long, Integer>> sumItemUsedQuantityByOrderId(List<OrderItem> orderItems) {
+        Map<Long, Map<Long, Integer>> orderStockQuantities = new LinkedHashMap<>();
+        orderItems.stream()
+                .collect(Collectors.groupingBy(orderItem -> orderItem.getOrder().getId()))
+                .forEach((orderId, items) -> orderStockQuantities.put(orderId, OrderItem.sumItemUsedQuantityByItemId(items)));
+        return orderStockQuantities;
     }
 
     /**
@@ -139,13 +345,22 @@ public class OrderServiceImpl {
      * @param member 회원 객체
      * @param order 주문 객체
      */
-    private void saveDelivery(Member member, Order order) {
-        deliveryRepository.save(Delivery.builder()
-                .member(member)
+    private Delivery saveDelivery(Member member, Order order) {
+        return deliveryRepository.save(createDelivery(member, order));
+    }
+
+    /**
+     * 배송정보 생성
+     * @param member 회원 객체
+     * @param order 주문 객체
+     */
+    private Delivery createDelivery(Member member, Order order) {
+        return Delivery.builder()
+                .memberId(member.getId())
                 .order(order)
                 .address(member.getAddress())
                 .status(STAND_BY)
-                .build());
+                .build();
     }
 
     /**
@@ -164,7 +379,7 @@ public class OrderServiceImpl {
                     .userPurchaseQuantity(cart.getUserPurchaseQuantity())
                     .itemUsedQuantity(cart.getItemUsedQuantity())
                     .build());
-            cart.updateActivated(false);
+            cart.checkout(order.getId());
         });
         orderItemRepository.saveAll(orderItems);
     }
@@ -177,7 +392,7 @@ public class OrderServiceImpl {
     private Order saveOrder(Member member, List<Cart> carts) {
         return orderRepository.save(
                 Order.builder()
-                        .member(member)
+                        .memberId(member.getId())
                         .name(Order.createOrderNameByCarts(carts))
                         .totalPrice(Order.calculateTotalPrice(carts))
                         .build());
@@ -0,0 +1,96 @@
+package com.commerce.order.service;
+
+import com.commerce.cart.domain.Cart;
+import com.commerce.cart.repository.CartRepository;
+import com.commerce.cart.service.CartStore;
+import com.commerce.order.domain.OrderRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 완료되지 않고 남은 주문 준비 상태 주문 정리
+ * 오래된 주문 준비 주문을 chunk-size 만큼 잠그고 주문, 주문 아이템을 한번에 비활성화한 뒤, 실제로 비활성화된 주문의 장바구니만 다시 활성화한다.
+ * 메모리 장바구니 저장소를 사용하면 다시 활성화한 장바구니가 보이도록 커밋된 이후에 해당 회원을 저장소에서 내린다.
+ * 예약된 재고는 예약 만료 시간(stock.reservation.ttl-seconds)이 지나면 StockReservationReleaser 가 해제하므로 여기서는 해제하지 않는다.
+ */
+@Service
+@Transactional(readOnly = true)
+public class OrderSweepServiceImpl {
+
+    private final OrderRepository orderRepository;
+    private final CartRepository cartRepository;
+    private final CartStore cartStore;
+    private final int chunkSize;
+
+    public OrderSweepServiceImpl(OrderRepository orderRepository,
+                                 CartRepository cartRepository,
+                                 CartStore cartStore,
+                                 @Value("${order.sweep.chunk-size:200}") int chunkSize) {
+        this.orderRepository = orderRepository;
+        this.cartRepository = cartRepository;
+        this.cartStore = cartStore;
+        this.chunkSize = chunkSize;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * 오래된 주문 준비 주문을 chunk-size 만큼 비활성화
+     * @param cutoff 이 시각 이전에 생성된 주문을 정리한다
+     * @return 비활성화한 주문 수
+     */
+    @Transactional
+    public int sweep(LocalDateTime cutoff) {
+        List<Long> orderIds = orderRepository.findStalePreparationOrderIdsForUpdate(cutoff, chunkSize);
+        if (orderIds.isEmpty()) {
+            return 0;
+        }
+        List<Long> deactivatedOrderIds = orderRepository.deactivatePreparationOrders(orderIds);
+        if (!deactivatedOrderIds.isEmpty()) {
+            reactivateCarts(deactivatedOrderIds);
+        }
+        return deactivatedOrderIds.size();
+    }
+
+    /**
+     * 주문했던 장바구니 다시 활성화 (주문 샤드에 저장되지 않은 주문의 장바구니를 되돌릴 때도 사용한다)
+     * 회원이 그 사이 같은 item, 상품, 옵션을 장바구니에 다시 담았으면 중복되지 않도록 활성화하지 않는다. (CART 의 unique key 와 같은 기준)
+     * @param orderIds 주문번호 목록
+     */
+    @Transactional
+    public void reactivateCarts(List<Long> orderIds) {
+        List<Cart> carts = cartRepository.findCheckedOutCartsByOrderIds(orderIds);
+        if (carts.isEmpty()) {
+            return;
+        }
+        List<Long> memberIds = carts.stream().map(cart -> cart.getMember().getId()).distinct().collect(Collectors.toList());
+        Set<String> cartKeys = cartRepository.findActiveCartsByMemberIds(memberIds).stream()
+                .map(OrderSweepServiceImpl::cartKey)
+                .collect(Collectors.toCollection(HashSet::new));
+
+        List<Long> reactivatableCartIds = new ArrayList<>();
+        carts.forEach(cart -> {
+            if (cartKeys.add(cartKey(cart))) {
+                reactivatableCartIds.add(cart.getId());
+            }
+        });
+        if (!reactivatableCartIds.isEmpty()) {
+            cartRepository.reactivateCarts(reactivatableCartIds);
+            cartStore.evictAfterCommit(memberIds);
+        }
+    }
+
+    private static String cartKey(Cart cart) {
+        return cart.getMember().getId() + ":" + cart.getItem().getId() + ":" + cart.getProduct().getId() + ":" + cart.getOption().getId();
+    }
+}
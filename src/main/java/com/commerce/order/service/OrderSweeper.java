@@ -0,0 +1,138 @@
+package com.commerce.order.service;
+
+import com.commerce.global.common.datasource.ShardContextHolder;
+import com.commerce.global.common.datasource.ShardRouter;
+import com.commerce.global.common.datasource.ShardRoutingDataSource;
+import com.github.gavlyukovskiy.boot.jdbc.decorator.DecoratedDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+/**
+ * 주문 준비 상태 주문 정리 작업
+ * stale-hours 가 지나도록 완료되지 않은 주문을 chunk 단위 트랜잭션으로 나누어 비활성화하고, 한번에 max-chunks 개의 chunk 까지 연속으로 처리한다.
+ * 주문은 회원의 샤드에 나뉘어 있으므로 샤드마다 차례로 정리한다.
+ * 주문 요청과 DB 커넥션을 다투지 않도록 chunk 마다 커넥션 풀 사용률을 확인하여 max-pool-usage 를 넘거나 커넥션을 기다리는 요청이 있으면 이번 실행을 멈추고 다음 실행 때 이어서 정리한다.
+ * 장바구니는 공통 DB, 주문은 샤드 DB 를 사용하므로 공통 DB 커넥션 풀과 현재 샤드의 커넥션 풀을 모두 확인한다.
+ */
+@Slf4j
+@Component
+public class OrderSweeper {
+
+    private final OrderSweepServiceImpl orderSweepServiceImpl;
+    private final ShardRouter shardRouter;
+    private final DataSource dataSource;
+    private final DataSource orderDataSource;
+    private final long staleHours;
+    private final int maxChunks;
+    private final double maxPoolUsage;
+
+    public OrderSweeper(OrderSweepServiceImpl orderSweepServiceImpl,
+                        ShardRouter shardRouter,
+                        DataSource dataSource,
+                        @Qualifier("orderDataSource") ObjectProvider<DataSource> orderDataSource,
+                        @Value("${order.sweep.stale-hours:24}") long staleHours,
+                        @Value("${order.sweep.max-chunks:5}") int maxChunks,
+                        @Value("${order.sweep.max-pool-usage:0.5}") double maxPoolUsage) {
+        this.orderSweepServiceImpl = orderSweepServiceImpl;
+        this.shardRouter = shardRouter;
+        this.dataSource = dataSource;
+        this.orderDataSource = orderDataSource.getIfAvailable();
+        this.staleHours = staleHours;
+        this.maxChunks = maxChunks;
+        this.maxPoolUsage = maxPoolUsage;
+    }
+
+    @Scheduled(fixedDelayString = "${order.sweep.sweep-millis:60000}")
+    public void sweep() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(staleHours);
+        for (int shardId = 0; shardId < shardRouter.getShardCount(); shardId++) {
+            int total = 0;
+            try {
+                total = shardRouter.callOnShard(shardId, () -> sweepShard(cutoff));
+            } catch (RuntimeException e) {
+                log.error("주문 준비 상태 주문 정리에 실패하였습니다. shardId={}, cutoff={}", shardId, cutoff, e);
+            }
+            if (total > 0) {
+                log.info("완료되지 않은 주문을 비활성화하였습니다. shardId={}, cutoff={}, size={}", shardId, cutoff, total);
+            }
+        }
+    }
+
+    /**
+     * 현재 샤드의 주문을 max-chunks 개의 chunk 까지 정리
+     * @param cutoff 이 시각 이전에 생성된 주문을 정리한다
+     * @return 비활성화한 주문 수
+     */
+    private int sweepShard(LocalDateTime cutoff) {
+        int total = 0;
+        for (int chunk = 0; chunk < maxChunks && !isPoolBusy(); chunk++) {
+            int swept = orderSweepServiceImpl.sweep(cutoff);
+            total += swept;
+            if (swept < orderSweepServiceImpl.getChunkSize()) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * 공통 DB 와 현재 샤드의 커넥션 풀 사용률 확인 (샤드를 사용하지 않으면 주문도 공통 DB 를 사용한다)
+     */
+    private boolean isPoolBusy() {
+        return isPoolBusy(findHikariDataSource(dataSource))
+                || (orderDataSource != null && isPoolBusy(findHikariDataSource(orderDataSource)));
+    }
+
+    /**
+     * 커넥션 풀 사용률 확인 (Hikari 풀을 찾지 못했거나 아직 풀이 만들어지지 않았으면 확인하지 않는다)
+     */
+    private boolean isPoolBusy(HikariDataSource hikariDataSource) {
+        if (hikariDataSource == null) {
+            return false;
+        }
+        HikariPoolMXBean pool = hikariDataSource.getHikariPoolMXBean();
+        if (pool == null) {
+            return false;
+        }
+        return pool.getThreadsAwaitingConnection() > 0
+                || pool.getActiveConnections() >= hikariDataSource.getMaximumPoolSize() * maxPoolUsage;
+    }
+
+    /**
+     * p6spy, LazyConnectionDataSourceProxy, 샤드 라우팅으로 감싼 DataSource 에서 실제 Hikari 풀 찾기
+     * 샤드 라우팅 DataSource 는 현재 스레드에 지정된 샤드의 풀을 찾는다.
+     */
+    static HikariDataSource findHikariDataSource(DataSource dataSource) {
+        if (dataSource instanceof HikariDataSource) {
+            return (HikariDataSource) dataSource;
+        }
+        if (dataSource instanceof DecoratedDataSource) {
+            return findHikariDataSource(((DecoratedDataSource) dataSource).getRealDataSource());
+        }
+        if (dataSource instanceof DelegatingDataSource) {
+            return findHikariDataSource(((DelegatingDataSource) dataSource).getTargetDataSource());
+        }
+        if (dataSource instanceof ShardRoutingDataSource) {
+            Integer shardId = ShardContextHolder.getShardId();
+            return shardId == null ? null : findHikariDataSource(((ShardRoutingDataSource) dataSource).getShard(shardId));
+        }
+        try {
+            return dataSource != null && dataSource.isWrapperFor(HikariDataSource.class)
+                    ? dataSource.unwrap(HikariDataSource.class)
+                    : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.commerce.order.service;
+
+import com.commerce.global.common.datasource.ShardRouter;
+import com.commerce.global.common.domain.ShardCommit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 주문 샤드 커밋 기록 확인 (shard.enabled=true 일 때만 사용)
+ * grace-seconds 가 지난 기록을 기록의 샤드에서 하나씩 확인하여, 주문 샤드에 커밋되지 않은 공통 DB 변경(재고, 장바구니)을 되돌린다.
+ * 한 기록의 확인이 실패해도 다른 기록은 계속 확인하고, 실패한 기록은 다음 주기에 다시 확인한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shard.enabled", havingValue = "true")
+public class ShardCommitReconciler {
+
+    private final ShardCommitServiceImpl shardCommitServiceImpl;
+    private final ShardRouter shardRouter;
+    private final long graceSeconds;
+
+    public ShardCommitReconciler(ShardCommitServiceImpl shardCommitServiceImpl,
+                                 ShardRouter shardRouter,
+                                 @Value("${shard.commit.grace-seconds:60}") long graceSeconds) {
+        this.shardCommitServiceImpl = shardCommitServiceImpl;
+        this.shardRouter = shardRouter;
+        this.graceSeconds = graceSeconds;
+    }
+
+    @Scheduled(fixedDelayString = "${shard.commit.reconcile-millis:10000}")
+    public void reconcile() {
+        List<ShardCommit> shardCommits = shardCommitServiceImpl.findStaleCommits(LocalDateTime.now().minusSeconds(graceSeconds));
+        for (ShardCommit shardCommit : shardCommits) {
+            try {
+                boolean compensated = shardRouter.callOnShard(shardCommit.getShardId(),
+                        () -> shardCommitServiceImpl.reconcile(shardCommit.getId()));
+                if (compensated) {
+                    log.warn("주문 샤드에 커밋되지 않은 변경을 되돌렸습니다. id={}, shardId={}, commitType={}",
+                            shardCommit.getId(), shardCommit.getShardId(), shardCommit.getCommitType());
+                }
+            } catch (RuntimeException e) {
+                log.error("주문 샤드 커밋 기록 확인에 실패하였습니다. id={}, shardId={}", shardCommit.getId(), shardCommit.getShardId(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.commerce.order.service;
+
+import com.commerce.global.common.datasource.ShardContextHolder;
+import com.commerce.global.common.datasource.ShardRouter;
+import com.commerce.global.common.domain.ShardCommit;
+import com.commerce.global.common.domain.ShardCommit.ShardCommitType;
+import com.commerce.global.common.domain.ShardCommitRepository;
+import com.commerce.order.domain.ShardCommitMarker;
+import com.commerce.order.domain.ShardCommitMarkerRepository;
+import com.commerce.product.service.StockServiceImpl;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 주문 샤드 커밋 기록과 복구
+ * 주문 샤드 모드의 트랜잭션은 공통 DB 를 먼저 커밋한 뒤 주문 샤드를 커밋하므로 (ShardTransactionManager), 주문 샤드 커밋만 실패하면 공통 DB 변경만 남는다.
+ * 그래서 공통 DB 를 변경하는 주문 트랜잭션은 공통 DB 에 ShardCommit 을, 주문 샤드에 같은 id 의 ShardCommitMarker 를 함께 저장하고,
+ * 표시가 없는 기록은 주문 샤드가 롤백된 것이므로 기록의 재고 수량으로 공통 DB 변경을 되돌린다.
+ * - 주문 추가 : 예약된 재고를 해제하고 주문했던 장바구니를 다시 활성화한다.
+ * - 주문 완료 : 차감한 재고를 복구한다. (주문은 주문 준비 상태로 남으므로 다시 완료하면 재고를 한번만 차감한다)
+ * - 주문 취소 : 복구한 재고를 다시 차감한다. (그 사이 재고가 팔려 차감하지 못하면 에러 로그를 남긴다)
+ * 주문 정리(OrderSweeper)는 주문 샤드 커밋이 실패해도 다음 정리에서 같은 주문을 다시 비활성화하므로 기록하지 않는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ShardCommitServiceImpl {
+
+    private static final TypeReference<Map<Long, Map<Long, Integer>>> PAYLOAD_TYPE = new TypeReference<>() {};
+
+    private final ShardCommitRepository shardCommitRepository;
+    private final ShardCommitMarkerRepository shardCommitMarkerRepository;
+    private final StockServiceImpl stockServiceImpl;
+    private final OrderSweepServiceImpl orderSweepServiceImpl;
+    private final ShardRouter shardRouter;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 주문 샤드 커밋 기록 (샤드를 지정한 주문 트랜잭션 안에서 호출한다, 주문 샤드를 사용하지 않으면 기록하지 않는다)
+     * @param commitType 기록 종류
+     * @param orderStockQuantities 주문번호별, item id 별 예약, 차감 또는 복구한 재고 수량
+     */
+    @Transactional
+    public void record(ShardCommitType commitType, Map<Long, Map<Long, Integer>> orderStockQuantities) {
+        if (!shardRouter.isEnabled() || orderStockQuantities.isEmpty()) {
+            return;
+        }
+        Integer shardId = ShardContextHolder.getShardId();
+        if (shardId == null) {
+            throw new IllegalStateException("주문 샤드를 지정한 뒤 기록해야 합니다.");
+        }
+        ShardCommit shardCommit = shardCommitRepository.save(ShardCommit.builder()
+                .shardId(shardId)
+                .commitType(commitType)
+                .payload(toPayload(orderStockQuantities))
+                .build());
+        shardCommitMarkerRepository.save(ShardCommitMarker.builder().id(shardCommit.getId()).build());
+    }
+
+    /**
+     * 확인하지 않고 남아있는 오래된 기록 조회
+     * @param createdAt 이 시각 이전에 생성된 기록만 조회
+     */
+    public List<ShardCommit> findStaleCommits(LocalDateTime createdAt) {
+        return shardCommitRepository.findTop500ByCreatedAtLessThanEqualOrderByIdAsc(createdAt);
+    }
+
+    /**
+     * 기록의 주문 샤드 커밋 여부를 확인하여 기록을 삭제 (기록의 샤드를 지정하여 호출한다)
+     * 기록과 표시를 잠그고 조회하므로, 아직 커밋중인 주문 샤드의 표시는 그 트랜잭션이 끝날 때까지 기다린 뒤 판단한다.
+     * 표시가 있으면 표시도 함께 삭제하고, 없으면 공통 DB 변경을 되돌린다.
+     * @param shardCommitId 기록 id
+     * @return 공통 DB 변경을 되돌렸으면 true
+     */
+    @Transactional
+    public boolean reconcile(Long shardCommitId) {
+        ShardCommit shardCommit = shardCommitRepository.findForUpdateById(shardCommitId);
+        if (shardCommit == null) {
+            return false;
+        }
+        ShardCommitMarker marker = shardCommitMarkerRepository.findForUpdateById(shardCommitId);
+        if (marker != null) {
+            shardCommitMarkerRepository.delete(marker);
+        } else {
+            compensate(shardCommit.getCommitType(), fromPayload(shardCommit));
+        }
+        shardCommitRepository.delete(shardCommit);
+        return marker == null;
+    }
+
+    /**
+     * 주문 샤드에 커밋되지 않은 공통 DB 변경 되돌리기
+     * @param commitType 기록 종류
+     * @param orderStockQuantities 주문번호별, item id 별 재고 수량
+     */
+    private void compensate(ShardCommitType commitType, Map<Long, Map<Long, Integer>> orderStockQuantities) {
+        List<Long> orderIds = new ArrayList<>(orderStockQuantities.keySet());
+        switch (commitType) {
+            case ORDER_ADDED:
+                stockServiceImpl.releaseReservations(orderIds);
+                orderSweepServiceImpl.reactivateCarts(orderIds);
+                break;
+            case ORDER_COMPLETED:
+                Map<Long, Integer> stockQuantities = new TreeMap<>();
+                orderStockQuantities.values().forEach(quantities ->
+                        quantities.forEach((itemId, quantity) -> stockQuantities.merge(itemId, quantity, Integer::sum)));
+                stockServiceImpl.addStocks(stockQuantities);
+                break;
+            case ORDER_CANCELED:
+                List<Long> failedOrderIds = stockServiceImpl.subtractAll(orderStockQuantities);
+                if (!failedOrderIds.isEmpty()) {
+                    log.error("취소되지 않은 주문의 재고를 다시 차감하지 못하였습니다. orderIds={}", failedOrderIds);
+                }
+                break;
+            default:
+                throw new IllegalStateException("지원하지 않는 기록 종류입니다. commitType=" + commitType);
+        }
+    }
+
+    private String toPayload(Map<Long, Map<Long, Integer>> orderStockQuantities) {
+        try {
+            return objectMapper.writeValueAsString(orderStockQuantities);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("주문 샤드 커밋 기록을 변환하지 못했습니다. orderIds=" + orderStockQuantities.keySet(), e);
+        }
+    }
+
+    private Map<Long, Map<Long, Integer>> fromPayload(ShardCommit shardCommit) {
+        try {
+            return new TreeMap<>(objectMapper.readValue(shardCommit.getPayload(), PAYLOAD_TYPE));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("주문 샤드 커밋 기록을 읽지 못했습니다. id=" + shardCommit.getId(), e);
+        }
+    }
+}
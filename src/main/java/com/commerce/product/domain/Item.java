@@ -6,6 +6,7 @@ import com.commerce.global.common.exception.BadRequestException;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.DynamicUpdate;
 
 import javax.persistence.*;
@@ -44,6 +45,10 @@ public class Item extends BaseEntity {
     @Column(name = "stock_quantity", nullable = false)
     private int stockQuantity;
 
+    @ColumnDefault("0")
+    @Column(name = "reserved_quantity", nullable = false)
+    private int reservedQuantity;
+
     @OneToMany(mappedBy = "item", cascade = PERSIST)
     private List<ItemProductMapping> productProductMappings = new ArrayList<>();
 
@@ -77,21 +82,29 @@ public class Item extends BaseEntity {
     }
 
     /**
-     * 재고와 매개변수 데이터의 재고 수량을 비교
-     * @param itemQuantity 비교할 재고 수량
+     * 판매 가능한 재고 수량 (재고에서 예약된 수량을 뺀 수량)
+     */
+    public int getAvailableStockQuantity() {
+        return this.stockQuantity - this.reservedQuantity;
+    }
+
+    /**
+     * 재고 차감에 실패한 item 이 있는지 체크
+     * @param failedItemIds 재고 차감에 실패한 item id 목록
      */
-    public void compareStockQuantityWithItemQuantity(int itemQuantity) {
-        if (this.stockQuantity < itemQuantity) {
+    public static void checkSubtractStockFailed(List<Long> failedItemIds) {
+        if (!failedItemIds.isEmpty()) {
             throw new BadRequestException("재고가 부족합니다.");
         }
     }
 
     /**
-     * 재고 목록 크기가 0보다 큰지 체크
-     * @param items item 객체 목록
+     * 재고 증가에 실패한 item 이 있는지 체크
+     * @param updatedCount 재고가 증가된 item 수
+     * @param itemCount 재고를 증가시킬 item 수
      */
-    public static void checkItemSize(List<Item> items) {
-        if (items.size() < 1) {
+    public static void checkAddStockFailed(long updatedCount, int itemCount) {
+        if (updatedCount < itemCount) {
             throw new BadRequestException("재고 상품이 존재하지 않습니다.");
         }
     }
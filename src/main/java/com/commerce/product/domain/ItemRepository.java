@@ -1,14 +1,20 @@
 package com.commerce.product.domain;
 
 import com.commerce.product.domain.Item;
+import com.commerce.product.repository.ItemRepositoryCustom;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.LockModeType;
 import java.util.List;
 
 @Repository
-public interface ItemRepository extends JpaRepository<Item, Long> {
+public interface ItemRepository extends JpaRepository<Item, Long>, ItemRepositoryCustom {
     Item findByIdAndActivated(Long itemId, boolean activated);
 
     List<Item> findAllByIdInAndActivated(List<Long> itemIds, boolean activated);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Item findForUpdateById(Long itemId);
 }
@@ -0,0 +1,84 @@
+package com.commerce.product.domain;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.fasterxml.jackson.annotation.JsonFormat.Shape.STRING;
+import static javax.persistence.GenerationType.IDENTITY;
+import static lombok.AccessLevel.PROTECTED;
+
+/**
+ * item 재고를 여러 row 로 나누어 저장하는 재고 샤드
+ * 주문이 몰리는 item 의 재고 변경이 하나의 ITEM row lock 에 몰리지 않도록 샤드 단위로 차감/증가한다.
+ */
+@Getter
+@Entity
+@Table(name = "ITEM_STOCK_SHARD", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_item_stock_shard_item_id_shard_no", columnNames = {"item_id", "shard_no"})})
+@NoArgsConstructor(access = PROTECTED)
+public class ItemStockShard {
+
+    @Id
+    @GeneratedValue(strategy = IDENTITY)
+    @Column(name = "id", insertable = false, updatable = false)
+    private Long id;
+
+    @Column(name = "item_id", nullable = false, updatable = false)
+    private Long itemId;
+
+    @Column(name = "shard_no", nullable = false, updatable = false)
+    private int shardNo;
+
+    @Column(name = "stock_quantity", nullable = false)
+    private int stockQuantity;
+
+    @JsonFormat(shape = STRING, pattern = "yyyy-MM-dd HH:mm:ss", timezone = "Asia/Seoul")
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @JsonFormat(shape = STRING, pattern = "yyyy-MM-dd HH:mm:ss", timezone = "Asia/Seoul")
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Builder
+    public ItemStockShard(Long id, Long itemId, int shardNo, int stockQuantity) {
+        this.id = id;
+        this.itemId = itemId;
+        this.shardNo = shardNo;
+        this.stockQuantity = stockQuantity;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    /**
+     * item 재고를 샤드 개수만큼 나누어 샤드 목록 생성 (나머지는 앞 번호 샤드부터 1개씩 더한다)
+     * @param itemId item id
+     * @param stockQuantity 나눌 재고 수량
+     * @param shardCount 샤드 개수
+     */
+    public static List<ItemStockShard> split(Long itemId, int stockQuantity, int shardCount) {
+        List<ItemStockShard> shards = new ArrayList<>(shardCount);
+        for (int shardNo = 0; shardNo < shardCount; shardNo++) {
+            shards.add(ItemStockShard.builder()
+                    .itemId(itemId)
+                    .shardNo(shardNo)
+                    .stockQuantity(stockQuantity / shardCount + (shardNo < stockQuantity % shardCount ? 1 : 0))
+                    .build());
+        }
+        return shards;
+    }
+
+    /**
+     * 샤드 재고 합계
+     * @param shards 재고 샤드 목록
+     */
+    public static int sumStockQuantity(List<ItemStockShard> shards) {
+        return shards.stream().mapToInt(ItemStockShard::getStockQuantity).sum();
+    }
+}
@@ -0,0 +1,17 @@
+package com.commerce.product.domain;
+
+import com.commerce.product.repository.ItemStockShardRepositoryCustom;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import java.util.List;
+
+@Repository
+public interface ItemStockShardRepository extends JpaRepository<ItemStockShard, Long>, ItemStockShardRepositoryCustom {
+    boolean existsByItemId(Long itemId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<ItemStockShard> findAllForUpdateByItemIdOrderByShardNoAsc(Long itemId);
+}
@@ -0,0 +1,62 @@
+package com.commerce.product.domain;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.commerce.global.common.constants.CommonConstants.SNOWFLAKE_ID_GENERATOR;
+import static com.commerce.global.common.constants.CommonConstants.SNOWFLAKE_ID_GENERATOR_STRATEGY;
+import static com.fasterxml.jackson.annotation.JsonFormat.Shape.STRING;
+import static lombok.AccessLevel.PROTECTED;
+
+/**
+ * StockSequencer 가 차감했지만 아직 주문 트랜잭션이 확정하지 않은 재고
+ * writer 가 재고 차감과 같은 트랜잭션에서 저장하고, 주문 트랜잭션이 같은 트랜잭션에서 삭제하여 확정한다.
+ * 주문 트랜잭션이 롤백되거나 확정 전에 서버가 종료되어 남은 행은 재고를 다시 증가시키고 삭제한다.
+ * id 는 DB 를 거치지 않고 할당하여 writer 가 한번에 승인한 차감을 JDBC batch 로 저장한다.
+ */
+@Getter
+@Entity
+@Table(name = "STOCK_HOLD", indexes = {
+        @Index(name = "idx_stock_hold_created_at", columnList = "created_at")})
+@NoArgsConstructor(access = PROTECTED)
+public class StockHold {
+
+    @Id
+    @GeneratedValue(generator = SNOWFLAKE_ID_GENERATOR)
+    @GenericGenerator(name = SNOWFLAKE_ID_GENERATOR, strategy = SNOWFLAKE_ID_GENERATOR_STRATEGY)
+    @Column(name = "id", updatable = false)
+    private Long id;
+
+    @Column(name = "item_id", nullable = false, updatable = false)
+    private Long itemId;
+
+    @Column(name = "quantity", nullable = false, updatable = false)
+    private int quantity;
+
+    @JsonFormat(shape = STRING, pattern = "yyyy-MM-dd HH:mm:ss", timezone = "Asia/Seoul")
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Builder
+    public StockHold(Long id, Long itemId, int quantity) {
+        this.id = id;
+        this.itemId = itemId;
+        this.quantity = quantity;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    /**
+     * 보류된 재고 수량 합계
+     * @param holds 재고 보류 목록
+     */
+    public static int sumQuantity(List<StockHold> holds) {
+        return holds.stream().mapToInt(StockHold::getQuantity).sum();
+    }
+}
@@ -0,0 +1,19 @@
+package com.commerce.product.domain;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface StockHoldRepository extends JpaRepository<StockHold, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<StockHold> findAllForUpdateByIdInOrderByIdAsc(Collection<Long> ids);
+
+    List<StockHold> findTop500ByCreatedAtLessThanEqualOrderByIdAsc(LocalDateTime createdAt);
+}
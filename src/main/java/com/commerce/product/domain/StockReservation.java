@@ -0,0 +1,134 @@
+package com.commerce.product.domain;
+
+import com.commerce.global.common.IEnumType;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import static com.fasterxml.jackson.annotation.JsonFormat.Shape.STRING;
+import static javax.persistence.GenerationType.IDENTITY;
+import static lombok.AccessLevel.PROTECTED;
+
+/**
+ * 주문 준비 단계에서 잡아둔 item 재고 (만료 시각이 지나면 해제된다)
+ */
+@Getter
+@Entity
+@Table(name = "STOCK_RESERVATION", indexes = {
+        @Index(name = "idx_stock_reservation_order_id", columnList = "order_id"),
+        @Index(name = "idx_stock_reservation_status_expired_at", columnList = "status, expired_at")})
+@NoArgsConstructor(access = PROTECTED)
+public class StockReservation {
+
+    @Id
+    @GeneratedValue(strategy = IDENTITY)
+    @Column(name = "id", insertable = false, updatable = false)
+    private Long id;
+
+    @Column(name = "order_id", nullable = false, updatable = false)
+    private Long orderId;
+
+    @Column(name = "item_id", nullable = false, updatable = false)
+    private Long itemId;
+
+    @Column(name = "quantity", nullable = false, updatable = false)
+    private int quantity;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 30)
+    private ReservationStatus status;
+
+    @JsonFormat(shape = STRING, pattern = "yyyy-MM-dd HH:mm:ss", timezone = "Asia/Seoul")
+    @Column(name = "expired_at", nullable = false, updatable = false)
+    private LocalDateTime expiredAt;
+
+    @JsonFormat(shape = STRING, pattern = "yyyy-MM-dd HH:mm:ss", timezone = "Asia/Seoul")
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @JsonFormat(shape = STRING, pattern = "yyyy-MM-dd HH:mm:ss", timezone = "Asia/Seoul")
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Builder
+    public StockReservation(Long id, Long orderId, Long itemId, int quantity, LocalDateTime expiredAt) {
+        this.id = id;
+        this.orderId = orderId;
+        this.itemId = itemId;
+        this.quantity = quantity;
+        this.status = ReservationStatus.ACTIVE;
+        this.expiredAt = expiredAt;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public enum ReservationStatus implements IEnumType {
+        ACTIVE      ("ACTIVE"),
+        CONVERTED   ("CONVERTED"),
+        RELEASED    ("RELEASED");
+
+        private final String value;
+        ReservationStatus(String value) { this.value = value; }
+
+        @Override
+        public String getCode() {
+            return name();
+        }
+
+        @Override
+        public String getName() {
+            return value;
+        }
+    }
+
+    /**
+     * 예약 상태 변경
+     * @param status 변경할 예약 상태값
+     */
+    public void updateStatus(ReservationStatus status) {
+        this.status = status;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    /**
+     * item id 별 예약 수량 합계
+     * @param reservations 재고 예약 목록
+     */
+    public static Map<Long, Integer> sumQuantityByItemId(List<StockReservation> reservations) {
+        return reservations.stream()
+                .collect(Collectors.groupingBy(StockReservation::getItemId, TreeMap::new, Collectors.summingInt(StockReservation::getQuantity)));
+    }
+
+    /**
+     * 주문번호별, item id 별 예약 수량 합계
+     * @param reservations 재고 예약 목록
+     */
+    public static Map<Long, Map<Long, Integer>> sumQuantityByOrderIdAndItemId(List<StockReservation> reservations) {
+        return reservations.stream()
+                .collect(Collectors.groupingBy(StockReservation::getOrderId, TreeMap::new,
+                        Collectors.groupingBy(StockReservation::getItemId, TreeMap::new, Collectors.summingInt(StockReservation::getQuantity))));
+    }
+
+    /**
+     * 필요한 재고 수량에서 예약으로 확보한 수량을 뺀 나머지 (나머지가 없는 item 은 제외)
+     * @param stockQuantities item id 별 필요한 재고 수량
+     * @param reservedQuantities item id 별 예약으로 확보한 재고 수량
+     */
+    public static Map<Long, Integer> excludeReservedQuantities(Map<Long, Integer> stockQuantities, Map<Long, Integer> reservedQuantities) {
+        Map<Long, Integer> remainingQuantities = new TreeMap<>();
+        stockQuantities.forEach((itemId, quantity) -> {
+            int remainingQuantity = quantity - reservedQuantities.getOrDefault(itemId, 0);
+            if (remainingQuantity > 0) {
+                remainingQuantities.put(itemId, remainingQuantity);
+            }
+        });
+        return remainingQuantities;
+    }
+}
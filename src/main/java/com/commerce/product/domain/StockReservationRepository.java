@@ -0,0 +1,21 @@
+package com.commerce.product.domain;
+
+import com.commerce.product.domain.StockReservation.ReservationStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface StockReservationRepository extends JpaRepository<StockReservation, Long> {
+    List<StockReservation> findAllByStatus(ReservationStatus status);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<StockReservation> findAllForUpdateByOrderIdInAndStatusOrderByIdAsc(List<Long> orderIds, ReservationStatus status);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<StockReservation> findAllForUpdateByIdInAndStatusAndExpiredAtLessThanEqualOrderByIdAsc(List<Long> ids, ReservationStatus status, LocalDateTime expiredAt);
+}
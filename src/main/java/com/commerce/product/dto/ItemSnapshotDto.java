@@ -0,0 +1,22 @@
+package com.commerce.product.dto;
+
+import com.commerce.global.common.Price;
+import com.commerce.product.domain.Item;
+import lombok.Getter;
+
+/**
+ * 장바구니 목록에서 사용하는 item 가격, 판매 가능한 재고 수량
+ */
+@Getter
+public class ItemSnapshotDto {
+
+    private final Long itemId;
+    private final Price price;
+    private final int stockQuantity;
+
+    public ItemSnapshotDto(Item item, int stockQuantity) {
+        this.itemId = item.getId();
+        this.price = item.getPrice();
+        this.stockQuantity = stockQuantity;
+    }
+}
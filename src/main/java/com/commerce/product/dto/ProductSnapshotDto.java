@@ -0,0 +1,24 @@
+package com.commerce.product.dto;
+
+import com.commerce.product.domain.Product;
+import com.commerce.product.domain.Product.DisplayStatus;
+import lombok.Getter;
+
+/**
+ * 장바구니 목록에서 사용하는 상품 이름, 이미지, 전시 상태
+ */
+@Getter
+public class ProductSnapshotDto {
+
+    private final Long productId;
+    private final String name;
+    private final String imgPath;
+    private final DisplayStatus status;
+
+    public ProductSnapshotDto(Product product) {
+        this.productId = product.getId();
+        this.name = product.getName();
+        this.imgPath = product.getImgPath();
+        this.status = product.getStatus();
+    }
+}
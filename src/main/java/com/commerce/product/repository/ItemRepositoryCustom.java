@@ -0,0 +1,17 @@
+package com.commerce.product.repository;
+
+import java.util.List;
+import java.util.Map;
+
+public interface ItemRepositoryCustom {
+
+    List<Long> subtractStocks(Map<Long, Integer> stockQuantities);
+
+    long addStocks(Map<Long, Integer> stockQuantities);
+
+    List<Long> reserveStocks(Map<Long, Integer> stockQuantities);
+
+    List<Long> convertReservedStocks(Map<Long, Integer> stockQuantities);
+
+    List<Long> releaseReservedStocks(Map<Long, Integer> stockQuantities);
+}
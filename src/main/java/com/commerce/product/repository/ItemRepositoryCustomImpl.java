@@ -0,0 +1,147 @@
+package com.commerce.product.repository;
+
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.CaseBuilder;
+import com.querydsl.core.types.dsl.NumberExpression;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import static com.commerce.product.domain.QItem.item;
+
+@RequiredArgsConstructor
+public class ItemRepositoryCustomImpl implements ItemRepositoryCustom {
+
+    private static final int ADD_STOCKS_CHUNK_SIZE = 100;
+
+    private final JPAQueryFactory queryFactory;
+
+    /**
+     * 재고 차감 (예약되지 않은 재고가 차감할 수량 이상인 경우에만 차감)
+     * item id 순서로 update 하여 동시 주문 간 row lock 획득 순서를 맞춘다.
+     * @param stockQuantities item id 별 차감할 재고 수량
+     * @return 재고 부족 또는 비활성화로 차감되지 않은 item id 목록
+     */
+    @Override
+    public List<Long> subtractStocks(Map<Long, Integer> stockQuantities) {
+        List<Long> failedItemIds = new ArrayList<>();
+        new TreeMap<>(stockQuantities).forEach((itemId, quantity) -> {
+            long updatedCount = queryFactory.update(item)
+                    .set(item.stockQuantity, item.stockQuantity.subtract(quantity))
+                    .set(item.updatedAt, LocalDateTime.now())
+                    .where(item.id.eq(itemId)
+                            , item.activated.eq(true)
+                            , item.stockQuantity.subtract(item.reservedQuantity).goe(quantity))
+                    .execute();
+            if (updatedCount < 1) {
+                failedItemIds.add(itemId);
+            }
+        });
+        return failedItemIds;
+    }
+
+    /**
+     * 재고 증가
+     * item 별로 UPDATE 를 나누지 않고 CASE 식으로 ADD_STOCKS_CHUNK_SIZE 개씩 묶어 하나의 UPDATE 로 반영한다.
+     * 주문 취소 등으로 재고를 되돌리는 경우 주문 이후에 비활성화된 item 도 있으므로 활성화 여부와 관계없이 증가시킨다.
+     * @param stockQuantities item id 별 추가할 재고 수량
+     * @return 재고가 증가된 item 수
+     */
+    @Override
+    public long addStocks(Map<Long, Integer> stockQuantities) {
+        List<Map.Entry<Long, Integer>> entries = new ArrayList<>(new TreeMap<>(stockQuantities).entrySet());
+        long updatedCount = 0;
+        for (int from = 0; from < entries.size(); from += ADD_STOCKS_CHUNK_SIZE) {
+            List<Map.Entry<Long, Integer>> chunk = entries.subList(from, Math.min(from + ADD_STOCKS_CHUNK_SIZE, entries.size()));
+            CaseBuilder.Cases<Integer, NumberExpression<Integer>> cases = null;
+            for (Map.Entry<Long, Integer> entry : chunk) {
+                BooleanExpression condition = item.id.eq(entry.getKey());
+                NumberExpression<Integer> addedStockQuantity = item.stockQuantity.add(entry.getValue());
+                cases = cases == null
+                        ? new CaseBuilder().when(condition).then(addedStockQuantity)
+                        : cases.when(condition).then(addedStockQuantity);
+            }
+            updatedCount += queryFactory.update(item)
+                    .set(item.stockQuantity, cases.otherwise(item.stockQuantity))
+                    .set(item.updatedAt, LocalDateTime.now())
+                    .where(item.id.in(chunk.stream().map(Map.Entry::getKey).collect(Collectors.toList())))
+                    .execute();
+        }
+        return updatedCount;
+    }
+
+    /**
+     * 재고 예약 (예약되지 않은 재고가 예약할 수량 이상인 경우에만 예약)
+     * @param stockQuantities item id 별 예약할 재고 수량
+     * @return 재고 부족 또는 비활성화로 예약되지 않은 item id 목록
+     */
+    @Override
+    public List<Long> reserveStocks(Map<Long, Integer> stockQuantities) {
+        List<Long> failedItemIds = new ArrayList<>();
+        new TreeMap<>(stockQuantities).forEach((itemId, quantity) -> {
+            long updatedCount = queryFactory.update(item)
+                    .set(item.reservedQuantity, item.reservedQuantity.add(quantity))
+                    .set(item.updatedAt, LocalDateTime.now())
+                    .where(item.id.eq(itemId)
+                            , item.activated.eq(true)
+                            , item.stockQuantity.subtract(item.reservedQuantity).goe(quantity))
+                    .execute();
+            if (updatedCount < 1) {
+                failedItemIds.add(itemId);
+            }
+        });
+        return failedItemIds;
+    }
+
+    /**
+     * 예약된 재고를 차감으로 전환 (재고와 예약 수량을 함께 차감)
+     * @param stockQuantities item id 별 전환할 재고 수량
+     * @return 예약 수량이 부족하여 전환되지 않은 item id 목록
+     */
+    @Override
+    public List<Long> convertReservedStocks(Map<Long, Integer> stockQuantities) {
+        List<Long> failedItemIds = new ArrayList<>();
+        new TreeMap<>(stockQuantities).forEach((itemId, quantity) -> {
+            long updatedCount = queryFactory.update(item)
+                    .set(item.stockQuantity, item.stockQuantity.subtract(quantity))
+                    .set(item.reservedQuantity, item.reservedQuantity.subtract(quantity))
+                    .set(item.updatedAt, LocalDateTime.now())
+                    .where(item.id.eq(itemId)
+                            , item.stockQuantity.goe(quantity)
+                            , item.reservedQuantity.goe(quantity))
+                    .execute();
+            if (updatedCount < 1) {
+                failedItemIds.add(itemId);
+            }
+        });
+        return failedItemIds;
+    }
+
+    /**
+     * 예약된 재고 해제
+     * @param stockQuantities item id 별 해제할 재고 수량
+     * @return 예약 수량이 해제할 수량보다 적어 해제되지 않은 item id 목록
+     */
+    @Override
+    public List<Long> releaseReservedStocks(Map<Long, Integer> stockQuantities) {
+        List<Long> failedItemIds = new ArrayList<>();
+        new TreeMap<>(stockQuantities).forEach((itemId, quantity) -> {
+            long updatedCount = queryFactory.update(item)
+                    .set(item.reservedQuantity, item.reservedQuantity.subtract(quantity))
+                    .set(item.updatedAt, LocalDateTime.now())
+                    .where(item.id.eq(itemId)
+                            , item.reservedQuantity.goe(quantity))
+                    .execute();
+            if (updatedCount < 1) {
+                failedItemIds.add(itemId);
+            }
+        });
+        return failedItemIds;
+    }
+}
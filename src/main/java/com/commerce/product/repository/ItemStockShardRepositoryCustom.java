@@ -0,0 +1,19 @@
+package com.commerce.product.repository;
+
+import java.util.List;
+import java.util.Map;
+
+public interface ItemStockShardRepositoryCustom {
+
+    boolean subtractStock(Long itemId, int shardNo, int quantity);
+
+    long addStock(Long itemId, int shardNo, int quantity);
+
+    Map<Long, Integer> sumStockQuantityByItemIds(List<Long> itemIds);
+
+    Map<Integer, Integer> findStockQuantitiesForUpdate(Long itemId);
+
+    List<Integer> findShardNos(Long itemId);
+
+    List<Long> findItemIds();
+}
@@ -0,0 +1,115 @@
+package com.commerce.product.repository;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.RequiredArgsConstructor;
+
+import javax.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static com.commerce.product.domain.QItemStockShard.itemStockShard;
+
+@RequiredArgsConstructor
+public class ItemStockShardRepositoryCustomImpl implements ItemStockShardRepositoryCustom {
+
+    private final JPAQueryFactory queryFactory;
+
+    /**
+     * 샤드 재고 차감 (샤드 재고가 차감할 수량 이상인 경우에만 차감)
+     * @param itemId item id
+     * @param shardNo 샤드 번호
+     * @param quantity 차감할 재고 수량
+     * @return 차감 여부
+     */
+    @Override
+    public boolean subtractStock(Long itemId, int shardNo, int quantity) {
+        return queryFactory.update(itemStockShard)
+                .set(itemStockShard.stockQuantity, itemStockShard.stockQuantity.subtract(quantity))
+                .set(itemStockShard.updatedAt, LocalDateTime.now())
+                .where(itemStockShard.itemId.eq(itemId)
+                        , itemStockShard.shardNo.eq(shardNo)
+                        , itemStockShard.stockQuantity.goe(quantity))
+                .execute() > 0;
+    }
+
+    /**
+     * 샤드 재고 증가
+     * @param itemId item id
+     * @param shardNo 샤드 번호
+     * @param quantity 추가할 재고 수량
+     * @return 재고가 증가된 샤드 수
+     */
+    @Override
+    public long addStock(Long itemId, int shardNo, int quantity) {
+        return queryFactory.update(itemStockShard)
+                .set(itemStockShard.stockQuantity, itemStockShard.stockQuantity.add(quantity))
+                .set(itemStockShard.updatedAt, LocalDateTime.now())
+                .where(itemStockShard.itemId.eq(itemId)
+                        , itemStockShard.shardNo.eq(shardNo))
+                .execute();
+    }
+
+    /**
+     * item id 별 샤드 재고 합계 조회 (샤드가 없는 item 은 결과에 포함되지 않는다)
+     * @param itemIds item id 목록
+     */
+    @Override
+    public Map<Long, Integer> sumStockQuantityByItemIds(List<Long> itemIds) {
+        return queryFactory.select(itemStockShard.itemId, itemStockShard.stockQuantity.sum())
+                .from(itemStockShard)
+                .where(itemStockShard.itemId.in(itemIds))
+                .groupBy(itemStockShard.itemId)
+                .fetch()
+                .stream()
+                .collect(Collectors.toMap(tuple -> tuple.get(itemStockShard.itemId)
+                        , tuple -> tuple.get(itemStockShard.stockQuantity.sum())));
+    }
+
+    /**
+     * 샤드 번호 별 재고 수량 조회 (트랜잭션이 끝날 때까지 item 의 샤드를 샤드 번호 순으로 잠근다)
+     * 엔티티 대신 값을 조회하므로 영속성 컨텍스트에 이미 있는 샤드가 아니라 잠근 시점의 재고 수량을 반환한다.
+     * @param itemId item id
+     * @return 샤드 번호 순으로 정렬된 샤드 번호 별 재고 수량
+     */
+    @Override
+    public Map<Integer, Integer> findStockQuantitiesForUpdate(Long itemId) {
+        return queryFactory.select(itemStockShard.shardNo, itemStockShard.stockQuantity)
+                .from(itemStockShard)
+                .where(itemStockShard.itemId.eq(itemId))
+                .orderBy(itemStockShard.shardNo.asc())
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .fetch()
+                .stream()
+                .collect(Collectors.toMap(tuple -> tuple.get(itemStockShard.shardNo)
+                        , tuple -> tuple.get(itemStockShard.stockQuantity)
+                        , (left, right) -> left
+                        , LinkedHashMap::new));
+    }
+
+    /**
+     * item 의 샤드 번호 목록 조회
+     * @param itemId item id
+     */
+    @Override
+    public List<Integer> findShardNos(Long itemId) {
+        return queryFactory.select(itemStockShard.shardNo)
+                .from(itemStockShard)
+                .where(itemStockShard.itemId.eq(itemId))
+                .orderBy(itemStockShard.shardNo.asc())
+                .fetch();
+    }
+
+    /**
+     * 샤드가 있는 item id 목록 조회
+     */
+    @Override
+    public List<Long> findItemIds() {
+        return queryFactory.select(itemStockShard.itemId)
+                .distinct()
+                .from(itemStockShard)
+                .fetch();
+    }
+}
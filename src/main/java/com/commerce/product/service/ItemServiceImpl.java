@@ -2,11 +2,16 @@ package com.commerce.product.service;
 
 import com.commerce.product.domain.Item;
 import com.commerce.product.domain.ItemRepository;
+import com.commerce.product.dto.ItemSnapshotDto;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional(readOnly = true)
@@ -14,6 +19,8 @@ import java.util.List;
 public class ItemServiceImpl {
 
     private final ItemRepository itemRepository;
+    private final ItemStockShardServiceImpl itemStockShardServiceImpl;
+    private final ItemSnapshotCache itemSnapshotCache;
 
     /**
      * 상품 옵션 목록
@@ -23,4 +30,38 @@ public class ItemServiceImpl {
         return null;
     }
 
+    /**
+     * 판매 가능한 재고 수량 조회 (샤드 모드 item 은 샤드 재고 합계, 그 외 item 은 재고에서 예약된 수량을 뺀 수량)
+     * @param item item 객체
+     */
+    public int getStockQuantity(Item item) {
+        return getStockQuantities(List.of(item)).get(item.getId());
+    }
+
+    /**
+     * 판매 가능한 재고 수량 목록 조회 (샤드 모드 item 은 샤드 재고 합계를 한번에 조회)
+     * @param items item 객체 목록
+     * @return item id 별 재고 수량
+     */
+    public Map<Long, Integer> getStockQuantities(List<Item> items) {
+        Map<Long, Integer> shardStockQuantities = itemStockShardServiceImpl.findStockQuantities(
+                items.stream().map(Item::getId).collect(Collectors.toList()));
+        Map<Long, Integer> stockQuantities = new HashMap<>();
+        items.forEach(item -> stockQuantities.put(item.getId(), shardStockQuantities.getOrDefault(item.getId(), item.getAvailableStockQuantity())));
+        return stockQuantities;
+    }
+
+    /**
+     * 장바구니 목록용 item 가격, 판매 가능한 재고 수량 조회 (캐시에 없는 item 만 조회한다)
+     * @param itemIds item id 목록
+     * @return item id 별 가격, 재고 (없는 item 은 포함되지 않는다)
+     */
+    public Map<Long, ItemSnapshotDto> findItemSnapshots(Collection<Long> itemIds) {
+        return itemSnapshotCache.getItems(itemIds, missingItemIds -> {
+            List<Item> items = itemRepository.findAllById(missingItemIds);
+            Map<Long, Integer> stockQuantities = getStockQuantities(items);
+            return items.stream().collect(Collectors.toMap(Item::getId, item -> new ItemSnapshotDto(item, stockQuantities.get(item.getId()))));
+        });
+    }
+
 }
@@ -0,0 +1,158 @@
+package com.commerce.product.service;
+
+import com.commerce.global.common.util.CacheMetrics;
+import com.commerce.global.common.util.ExpiringLruCache;
+import com.commerce.product.dto.ItemSnapshotDto;
+import com.commerce.product.dto.ProductSnapshotDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+/**
+ * 장바구니 목록용 item 가격, 재고와 상품 이름, 이미지, 전시 상태 캐시
+ * 재고나 가격이 바뀌면 커밋된 이후에 evictItemsAfterCommit 으로 해당 item 을 지운다.
+ * 캐시가 없어 DB 에서 조회하는 동안 지워진 item 은 조회한 값이 이전 값일 수 있으므로,
+ * 조회 전후로 id 의 버전(지운 횟수)을 비교하여 바뀌었으면 캐시에 저장하지 않는다. (버전은 id hash 로 나눈 VERSION_STRIPES 개의 칸에 센다)
+ * 다른 서버에서 바뀐 재고는 지우지 못하므로 ttl-seconds 가 지나면 다시 조회한다. 주문 시 재고는 캐시를 거치지 않고 확인한다.
+ * 상품 이름, 이미지, 전시 상태를 바꾸는 기능은 아직 없으므로 상품 캐시는 지우지 않고 ttl-seconds 가 지나면 다시 조회한다.
+ * 캐시 상태는 metrics-log-millis 마다 로그로 남긴다.
+ */
+@Slf4j
+@Component
+public class ItemSnapshotCache {
+
+    private static final int VERSION_STRIPES = 1024;
+
+    private final SnapshotCache<ItemSnapshotDto> items;
+    private final SnapshotCache<ProductSnapshotDto> products;
+
+    public ItemSnapshotCache(@Value("${product.snapshot-cache.max-size:10000}") int maxSize,
+                             @Value("${product.snapshot-cache.ttl-seconds:30}") long ttlSeconds) {
+        this.items = new SnapshotCache<>(maxSize, ttlSeconds * 1000);
+        this.products = new SnapshotCache<>(maxSize, ttlSeconds * 1000);
+    }
+
+    /**
+     * item 가격, 재고 조회 (캐시에 없는 item 만 loader 로 한번에 조회하여 저장한다)
+     * @param itemIds item id 목록
+     * @param loader 캐시에 없는 item id 목록의 DB 조회
+     * @return item id 별 가격, 재고 (없는 item 은 포함되지 않는다)
+     */
+    public Map<Long, ItemSnapshotDto> getItems(Collection<Long> itemIds, Function<List<Long>, Map<Long, ItemSnapshotDto>> loader) {
+        return items.getAll(itemIds, loader);
+    }
+
+    /**
+     * 상품 이름, 이미지, 전시 상태 조회 (캐시에 없는 상품만 loader 로 한번에 조회하여 저장한다)
+     * @param productIds 상품 id 목록
+     * @param loader 캐시에 없는 상품 id 목록의 DB 조회
+     * @return 상품 id 별 이름, 이미지, 전시 상태 (없는 상품은 포함되지 않는다)
+     */
+    public Map<Long, ProductSnapshotDto> getProducts(Collection<Long> productIds, Function<List<Long>, Map<Long, ProductSnapshotDto>> loader) {
+        return products.getAll(productIds, loader);
+    }
+
+    /**
+     * item 캐시 삭제 (트랜잭션 안에서 호출되면 커밋된 이후에 지운다)
+     * @param itemIds item id 목록
+     */
+    public void evictItemsAfterCommit(Collection<Long> itemIds) {
+        evictAfterCommit(items, List.copyOf(itemIds));
+    }
+
+    public CacheMetrics getItemMetrics() {
+        return items.cache.getMetrics();
+    }
+
+    public CacheMetrics getProductMetrics() {
+        return products.cache.getMetrics();
+    }
+
+    @Scheduled(fixedDelayString = "${product.snapshot-cache.metrics-log-millis:60000}")
+    public void logMetrics() {
+        log.info("장바구니 item 캐시 상태 {}, 상품 캐시 상태 {}", getItemMetrics(), getProductMetrics());
+    }
+
+    private void evictAfterCommit(SnapshotCache<?> snapshotCache, List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            snapshotCache.evict(ids);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                snapshotCache.evict(ids);
+            }
+        });
+    }
+
+    private static class SnapshotCache<V> {
+
+        private final ExpiringLruCache<Long, V> cache;
+        private final AtomicLongArray versions = new AtomicLongArray(VERSION_STRIPES);
+
+        SnapshotCache(int maxSize, long ttlMillis) {
+            this.cache = new ExpiringLruCache<>(maxSize, ttlMillis);
+        }
+
+        Map<Long, V> getAll(Collection<Long> ids, Function<List<Long>, Map<Long, V>> loader) {
+            Map<Long, V> result = new HashMap<>();
+            Set<Long> missingIds = new LinkedHashSet<>();
+            ids.forEach(id -> {
+                V cached = cache.get(id);
+                if (cached != null) {
+                    result.put(id, cached);
+                } else {
+                    missingIds.add(id);
+                }
+            });
+            if (missingIds.isEmpty()) {
+                return result;
+            }
+
+            Map<Long, Long> loadVersions = new HashMap<>();
+            missingIds.forEach(id -> loadVersions.put(id, versions.get(stripe(id))));
+            loader.apply(new ArrayList<>(missingIds)).forEach((id, value) -> {
+                result.put(id, value);
+                Long version = loadVersions.get(id);
+                if (version != null) {
+                    put(id, version, value);
+                }
+            });
+            return result;
+        }
+
+        private synchronized void put(Long id, long version, V value) {
+            if (versions.get(stripe(id)) == version) {
+                cache.put(id, value);
+            }
+        }
+
+        private synchronized void evict(List<Long> ids) {
+            ids.forEach(id -> {
+                versions.incrementAndGet(stripe(id));
+                cache.remove(id);
+            });
+        }
+
+        private static int stripe(Long id) {
+            return Math.floorMod(Long.hashCode(id), VERSION_STRIPES);
+        }
+    }
+}
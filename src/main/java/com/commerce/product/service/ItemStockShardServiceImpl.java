@@ -0,0 +1,195 @@
+package com.commerce.product.service;
+
+import com.commerce.global.common.exception.BadRequestException;
+import com.commerce.product.domain.Item;
+import com.commerce.product.domain.ItemRepository;
+import com.commerce.product.domain.ItemStockShard;
+import com.commerce.product.domain.ItemStockShardRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.ObjectUtils;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * 재고 샤드 모드
+ * stock.shard.item-ids 에 등록된 item 은 재고를 ITEM_STOCK_SHARD 의 stock.shard.count 개 row 로 나누어 관리한다.
+ * 차감은 임의의 샤드부터 시도하여 동시 주문이 서로 다른 row 를 변경하도록 하고, 재고 합계는 샤드를 더해서 구한다.
+ * 샤드 모드 item 은 StockSequencer 대상으로 등록되어 있더라도 샤드 경로로 재고를 변경한다.
+ */
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+public class ItemStockShardServiceImpl {
+
+    private final ItemRepository itemRepository;
+    private final ItemStockShardRepository itemStockShardRepository;
+    private final ItemSnapshotCache itemSnapshotCache;
+    private final Set<Long> shardedItemIds;
+    private final int shardCount;
+
+    public ItemStockShardServiceImpl(ItemRepository itemRepository,
+                                     ItemStockShardRepository itemStockShardRepository,
+                                     ItemSnapshotCache itemSnapshotCache,
+                                     @Value("${stock.shard.item-ids:}") List<Long> shardedItemIds,
+                                     @Value("${stock.shard.count:8}") int shardCount) {
+        this.itemRepository = itemRepository;
+        this.itemStockShardRepository = itemStockShardRepository;
+        this.itemSnapshotCache = itemSnapshotCache;
+        this.shardedItemIds = new HashSet<>(shardedItemIds);
+        this.shardCount = shardCount;
+    }
+
+    /**
+     * 샤드 모드 item 의 재고를 샤드로 이동 (이미 샤드가 있는 item 은 건너뛴다)
+     * ITEM row 를 잠근 뒤 샤드 존재 여부를 확인하므로 여러 서버가 동시에 시작해도 샤드를 한번만 생성한다.
+     * ITEM 의 재고는 샤드로 옮긴 뒤 0 으로 만들고, stock.shard.item-ids 에서 제외된 item 의 샤드 재고는 ITEM 으로 되돌린다.
+     */
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    public void initShards() {
+        new TreeSet<>(shardedItemIds).forEach(itemId -> {
+            Item item = itemRepository.findForUpdateById(itemId);
+            if (ObjectUtils.isEmpty(item) || !item.isActivated()) {
+                log.warn("재고 샤드를 생성할 item 이 존재하지 않습니다. itemId={}", itemId);
+                return;
+            }
+            if (itemStockShardRepository.existsByItemId(itemId)) {
+                return;
+            }
+            itemStockShardRepository.saveAll(ItemStockShard.split(itemId, item.getStockQuantity(), shardCount));
+            item.subtractStock(item.getStockQuantity());
+            itemSnapshotCache.evictItemsAfterCommit(List.of(itemId));
+        });
+
+        new TreeSet<>(itemStockShardRepository.findItemIds()).forEach(itemId -> {
+            if (!isSharded(itemId)) {
+                mergeShards(itemId);
+            }
+        });
+    }
+
+    /**
+     * 샤드 모드 item 인지 확인
+     * @param itemId item id
+     */
+    public boolean isSharded(Long itemId) {
+        return shardedItemIds.contains(itemId);
+    }
+
+    /**
+     * 샤드 재고 합계 조회
+     * @param itemIds item id 목록
+     * @return 샤드 모드 item 의 id 별 재고 합계 (샤드 모드가 아니거나 샤드가 없는 item 은 포함되지 않는다)
+     */
+    public Map<Long, Integer> findStockQuantities(List<Long> itemIds) {
+        List<Long> targetItemIds = itemIds.stream().filter(this::isSharded).distinct().collect(Collectors.toList());
+        if (targetItemIds.isEmpty()) {
+            return Map.of();
+        }
+        return itemStockShardRepository.sumStockQuantityByItemIds(targetItemIds);
+    }
+
+    /**
+     * 재고 차감
+     * @param stockQuantities item id 별 차감할 재고 수량
+     * @return 재고 부족으로 차감되지 않은 item id 목록
+     */
+    @Transactional
+    public List<Long> subtractStocks(Map<Long, Integer> stockQuantities) {
+        itemSnapshotCache.evictItemsAfterCommit(stockQuantities.keySet());
+        List<Long> failedItemIds = new ArrayList<>();
+        new TreeMap<>(stockQuantities).forEach((itemId, quantity) -> {
+            if (!subtractStock(itemId, quantity)) {
+                failedItemIds.add(itemId);
+            }
+        });
+        return failedItemIds;
+    }
+
+    /**
+     * 재고 증가 (임의의 샤드 하나에 더한다)
+     * 샤드를 만든 뒤 stock.shard.count 가 늘어나면 고른 번호의 샤드가 없을 수 있으므로, 그 때는 item 에 있는 샤드 중에서 다시 고른다.
+     * @param stockQuantities item id 별 추가할 재고 수량
+     */
+    @Transactional
+    public void addStocks(Map<Long, Integer> stockQuantities) {
+        itemSnapshotCache.evictItemsAfterCommit(stockQuantities.keySet());
+        new TreeMap<>(stockQuantities).forEach((itemId, quantity) -> {
+            if (itemStockShardRepository.addStock(itemId, randomShardNo(), quantity) > 0) {
+                return;
+            }
+            List<Integer> shardNos = itemStockShardRepository.findShardNos(itemId);
+            if (shardNos.isEmpty()) {
+                throw new BadRequestException("재고 상품이 존재하지 않습니다.");
+            }
+            itemStockShardRepository.addStock(itemId, shardNos.get(ThreadLocalRandom.current().nextInt(shardNos.size())), quantity);
+        });
+    }
+
+    /**
+     * 임의의 샤드부터 순서대로 한 샤드에서 전량 차감을 시도하고,
+     * 모든 샤드가 부족하면 item 의 샤드 전체를 잠근 뒤 샤드 재고 합계 안에서 나누어 차감한다.
+     * 나누어 차감할 때도 잠근 시점의 재고 수량으로 조건부 update 를 실행하므로,
+     * 같은 트랜잭션에서 앞서 실행된 bulk update 와 영속성 컨텍스트의 샤드 엔티티 값이 달라도 재고를 덮어쓰지 않는다.
+     */
+    private boolean subtractStock(Long itemId, int quantity) {
+        int startShardNo = randomShardNo();
+        for (int i = 0; i < shardCount; i++) {
+            if (itemStockShardRepository.subtractStock(itemId, (startShardNo + i) % shardCount, quantity)) {
+                return true;
+            }
+        }
+
+        Map<Integer, Integer> shardStockQuantities = itemStockShardRepository.findStockQuantitiesForUpdate(itemId);
+        if (shardStockQuantities.values().stream().mapToInt(Integer::intValue).sum() < quantity) {
+            return false;
+        }
+        int remaining = quantity;
+        for (Map.Entry<Integer, Integer> shardStockQuantity : shardStockQuantities.entrySet()) {
+            int subtractQuantity = Math.min(shardStockQuantity.getValue(), remaining);
+            if (subtractQuantity > 0) {
+                if (!itemStockShardRepository.subtractStock(itemId, shardStockQuantity.getKey(), subtractQuantity)) {
+                    throw new IllegalStateException("잠근 재고 샤드의 재고를 차감하지 못했습니다. itemId=" + itemId + ", shardNo=" + shardStockQuantity.getKey());
+                }
+                remaining -= subtractQuantity;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 샤드 모드에서 제외된 item 의 샤드 재고 합계를 ITEM 재고에 더하고 샤드를 삭제한다.
+     * ITEM row 와 샤드를 잠근 뒤 옮기므로, 아직 샤드로 재고를 변경하는 서버의 요청과 섞이지 않는다.
+     */
+    private void mergeShards(Long itemId) {
+        Item item = itemRepository.findForUpdateById(itemId);
+        List<ItemStockShard> shards = itemStockShardRepository.findAllForUpdateByItemIdOrderByShardNoAsc(itemId);
+        if (ObjectUtils.isEmpty(item) || shards.isEmpty()) {
+            return;
+        }
+        int stockQuantity = ItemStockShard.sumStockQuantity(shards);
+        if (stockQuantity > 0) {
+            item.addStock(stockQuantity);
+        }
+        itemStockShardRepository.deleteAllInBatch(shards);
+        itemSnapshotCache.evictItemsAfterCommit(List.of(itemId));
+        log.info("샤드 모드에서 제외된 item 의 재고를 ITEM 으로 되돌렸습니다. itemId={}, stockQuantity={}", itemId, stockQuantity);
+    }
+
+    private int randomShardNo() {
+        return ThreadLocalRandom.current().nextInt(shardCount);
+    }
+}
@@ -1,10 +1,12 @@
 package com.commerce.product.service;
 
 import com.commerce.global.common.dto.PagingCommonRequestDto;
+import com.commerce.product.domain.Option;
 import com.commerce.product.domain.Product;
 import com.commerce.product.dto.OptionVo;
 import com.commerce.product.dto.ProductDetailResponseDto;
 import com.commerce.product.dto.ProductResponseDto;
+import com.commerce.product.dto.ProductSnapshotDto;
 import com.commerce.product.domain.OptionRepository;
 import com.commerce.product.domain.ProductRepository;
 import lombok.RequiredArgsConstructor;
@@ -12,7 +14,9 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import static com.commerce.product.domain.Product.DisplayStatus.DISPLAY;
@@ -25,6 +29,8 @@ public class ProductServiceImpl {
 
     private final ProductRepository productRepository;
     private final OptionRepository optionRepository;
+    private final ItemServiceImpl itemServiceImpl;
+    private final ItemSnapshotCache itemSnapshotCache;
 
     /**
      * 상품 목록 조회
@@ -45,10 +51,28 @@ public class ProductServiceImpl {
         Product product = productRepository.findByIdAndActivated(id, true);
         Product.checkProductExist(product);
 
+        List<Option> options = optionRepository.findWithItemByProductIdAndActivated(id, true);
+        Map<Long, Integer> stockQuantities = itemServiceImpl.getStockQuantities(
+                options.stream().map(Option::getItem).distinct().collect(Collectors.toList()));
+
         ProductDetailResponseDto responseDto = new ProductDetailResponseDto(product);
-        responseDto.setOptions(optionRepository.findWithItemByProductIdAndActivated(id, true)
-                .stream().map(OptionVo::new).collect(Collectors.toList()));
+        responseDto.setOptions(options.stream().map(option -> {
+            OptionVo optionVo = new OptionVo(option);
+            if (optionVo.isLastStage()) {
+                optionVo.setStockQuantity(stockQuantities.get(option.getItem().getId()));
+            }
+            return optionVo;
+        }).collect(Collectors.toList()));
         return responseDto;
     }
 
+    /**
+     * 장바구니 목록용 상품 이름, 이미지, 전시 상태 조회 (캐시에 없는 상품만 조회한다)
+     * @param productIds 상품 id 목록
+     * @return 상품 id 별 이름, 이미지, 전시 상태 (없는 상품은 포함되지 않는다)
+     */
+    public Map<Long, ProductSnapshotDto> findProductSnapshots(Collection<Long> productIds) {
+        return itemSnapshotCache.getProducts(productIds, missingProductIds -> productRepository.findAllById(missingProductIds).stream()
+                .collect(Collectors.toMap(Product::getId, ProductSnapshotDto::new)));
+    }
 }
@@ -0,0 +1,42 @@
+package com.commerce.product.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 확정되지 않은 재고 보류 해제
+ * 주문 트랜잭션이 확정하지 않은 채로 hold-ttl-seconds 가 지난 보류(서버 종료, 롤백 후 해제 요청 유실 등)를 재고로 되돌린다.
+ * 확정중인 보류는 주문 트랜잭션이 끝날 때까지 기다렸다가 판단하므로, 보류 시간이 짧아도 재고가 이중으로 되돌아가지 않는다.
+ */
+@Slf4j
+@Component
+public class StockHoldReleaser {
+
+    private final StockHoldServiceImpl stockHoldServiceImpl;
+    private final long holdTtlSeconds;
+
+    public StockHoldReleaser(StockHoldServiceImpl stockHoldServiceImpl,
+                             @Value("${stock.sequencer.hold-ttl-seconds:60}") long holdTtlSeconds) {
+        this.stockHoldServiceImpl = stockHoldServiceImpl;
+        this.holdTtlSeconds = holdTtlSeconds;
+    }
+
+    @Scheduled(fixedDelayString = "${stock.sequencer.hold-release-millis:10000}")
+    public void releaseStaleHolds() {
+        List<Long> holdIds = stockHoldServiceImpl.findStaleHoldIds(LocalDateTime.now().minusSeconds(holdTtlSeconds));
+        if (holdIds.isEmpty()) {
+            return;
+        }
+        try {
+            int released = stockHoldServiceImpl.release(holdIds);
+            log.warn("확정되지 않은 재고 보류를 해제하였습니다. released={}", released);
+        } catch (RuntimeException e) {
+            log.error("재고 보류 해제에 실패하였습니다. holdIds={}", holdIds, e);
+        }
+    }
+}
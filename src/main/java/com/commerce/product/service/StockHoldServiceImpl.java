@@ -0,0 +1,134 @@
+package com.commerce.product.service;
+
+import com.commerce.product.domain.Item;
+import com.commerce.product.domain.ItemRepository;
+import com.commerce.product.domain.StockHold;
+import com.commerce.product.domain.StockHoldRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * StockSequencer 의 재고 보류 (STOCK_HOLD)
+ * writer 가 승인한 차감은 재고 차감과 같은 트랜잭션에서 보류로 남기고, 주문 트랜잭션이 보류를 삭제하여 확정한다.
+ * 확정되지 않은 보류는 재고를 다시 증가시키고 삭제하므로, 주문 트랜잭션이 롤백되거나 서버가 종료되어도 차감된 재고가 사라지지 않는다.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class StockHoldServiceImpl {
+
+    private final ItemRepository itemRepository;
+    private final StockHoldRepository stockHoldRepository;
+    private final ItemSnapshotCache itemSnapshotCache;
+
+    /**
+     * 순차 처리 요청 반영 (item 별 writer 스레드가 요청을 모아 호출한다)
+     * ITEM row 를 잠그고 판매 가능한 재고(재고 - 예약 수량)에 증가 요청과 해제할 보류 수량을 더한 수량 안에서 먼저 들어온 차감 요청부터 승인한다.
+     * 비활성화된 item 은 차감을 승인하지 않고 증가와 보류 해제만 반영한다.
+     * @param itemId item id
+     * @param addQuantity 증가할 재고 수량
+     * @param releaseHoldIds 해제할 재고 보류 id 목록 (이미 확정되었거나 해제된 보류는 건너뛴다)
+     * @param subtractQuantities 요청 순서대로의 차감할 재고 수량 목록
+     * @return 차감 요청별 재고 보류 id (승인되지 않은 요청은 null), item 이 없으면 null
+     */
+    @Transactional
+    public List<Long> apply(Long itemId, int addQuantity, List<Long> releaseHoldIds, List<Integer> subtractQuantities) {
+        Item item = itemRepository.findForUpdateById(itemId);
+        if (item == null) {
+            return null;
+        }
+        int releaseQuantity = releaseHolds(releaseHoldIds);
+
+        List<StockHold> requestHolds = new ArrayList<>(subtractQuantities.size());
+        List<StockHold> holds = new ArrayList<>();
+        int remaining = item.getAvailableStockQuantity() + addQuantity + releaseQuantity;
+        for (int quantity : subtractQuantities) {
+            StockHold hold = null;
+            if (item.isActivated() && quantity <= remaining) {
+                hold = StockHold.builder().itemId(itemId).quantity(quantity).build();
+                holds.add(hold);
+                remaining -= quantity;
+            }
+            requestHolds.add(hold);
+        }
+        stockHoldRepository.saveAll(holds);
+
+        int changedQuantity = addQuantity + releaseQuantity - StockHold.sumQuantity(holds);
+        if (changedQuantity > 0) {
+            item.addStock(changedQuantity);
+        } else if (changedQuantity < 0) {
+            item.subtractStock(-changedQuantity);
+        }
+        itemSnapshotCache.evictItemsAfterCommit(List.of(itemId));
+        return requestHolds.stream()
+                .map(hold -> hold == null ? null : hold.getId())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 재고 보류 확정 (주문 트랜잭션 안에서 호출하여 주문과 함께 커밋된다)
+     * 확정 전에 해제된 보류는 재고가 이미 되돌아간 상태이므로 확정되지 않는다.
+     * @param holdIds 재고 보류 id 목록
+     * @return 확정된 재고 보류 id 목록
+     */
+    @Transactional
+    public List<Long> confirm(Collection<Long> holdIds) {
+        List<StockHold> holds = stockHoldRepository.findAllForUpdateByIdInOrderByIdAsc(holdIds);
+        stockHoldRepository.deleteAllInBatch(holds);
+        return holds.stream().map(StockHold::getId).collect(Collectors.toList());
+    }
+
+    /**
+     * 확정되지 않은 재고 보류 해제 (재고를 다시 증가시키고 보류를 삭제한다)
+     * writer 와 같은 순서로 ITEM row 를 먼저 잠근 뒤 보류를 잠근다.
+     * 주문 트랜잭션이 확정중인 보류는 그 트랜잭션이 끝날 때까지 기다린 뒤, 커밋되었으면 건너뛰고 롤백되었으면 해제한다.
+     * @param holdIds 재고 보류 id 목록
+     * @return 해제된 재고 보류 수
+     */
+    @Transactional
+    public int release(Collection<Long> holdIds) {
+        new TreeSet<>(stockHoldRepository.findAllById(holdIds).stream()
+                .map(StockHold::getItemId)
+                .collect(Collectors.toList()))
+                .forEach(itemRepository::findForUpdateById);
+        List<StockHold> holds = stockHoldRepository.findAllForUpdateByIdInOrderByIdAsc(holdIds);
+        if (holds.isEmpty()) {
+            return 0;
+        }
+        Map<Long, Integer> releasedQuantities = new TreeMap<>();
+        holds.forEach(hold -> releasedQuantities.merge(hold.getItemId(), hold.getQuantity(), Integer::sum));
+        stockHoldRepository.deleteAllInBatch(holds);
+        Item.checkAddStockFailed(itemRepository.addStocks(releasedQuantities), releasedQuantities.size());
+        itemSnapshotCache.evictItemsAfterCommit(releasedQuantities.keySet());
+        return holds.size();
+    }
+
+    /**
+     * 확정되지 않고 남아있는 오래된 재고 보류 id 조회
+     * @param createdAt 이 시각 이전에 생성된 보류만 조회
+     */
+    public List<Long> findStaleHoldIds(LocalDateTime createdAt) {
+        return stockHoldRepository.findTop500ByCreatedAtLessThanEqualOrderByIdAsc(createdAt).stream()
+                .map(StockHold::getId)
+                .collect(Collectors.toList());
+    }
+
+    private int releaseHolds(List<Long> holdIds) {
+        if (holdIds.isEmpty()) {
+            return 0;
+        }
+        List<StockHold> holds = stockHoldRepository.findAllForUpdateByIdInOrderByIdAsc(holdIds);
+        stockHoldRepository.deleteAllInBatch(holds);
+        return StockHold.sumQuantity(holds);
+    }
+}
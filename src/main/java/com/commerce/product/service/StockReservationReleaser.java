@@ -0,0 +1,68 @@
+package com.commerce.product.service;
+
+import com.commerce.global.common.util.TimingWheel;
+import com.commerce.product.domain.StockReservation;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * 만료된 재고 예약 해제
+ * 커밋된 예약을 타이밍 휠에 등록해두고, tick 마다 만료된 예약만 꺼내 batch-size 단위로 해제한다.
+ * 서버가 재시작되면 해제되지 않은 예약을 다시 휠에 등록한다.
+ */
+@Slf4j
+@Component
+public class StockReservationReleaser {
+
+    private final StockReservationServiceImpl stockReservationServiceImpl;
+    private final TimingWheel<Long> timingWheel;
+    private final int batchSize;
+
+    public StockReservationReleaser(StockReservationServiceImpl stockReservationServiceImpl,
+                                    @Value("${stock.reservation.tick-millis:1000}") long tickMillis,
+                                    @Value("${stock.reservation.wheel-size:512}") int wheelSize,
+                                    @Value("${stock.reservation.batch-size:100}") int batchSize) {
+        this.stockReservationServiceImpl = stockReservationServiceImpl;
+        this.timingWheel = new TimingWheel<>(tickMillis, wheelSize, System.currentTimeMillis());
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadActiveReservations() {
+        if (stockReservationServiceImpl.isEnabled()) {
+            schedule(stockReservationServiceImpl.findActiveReservations());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onStockReserved(StockReservedEvent event) {
+        schedule(event.getReservations());
+    }
+
+    @Scheduled(fixedDelayString = "${stock.reservation.tick-millis:1000}")
+    public void releaseExpiredReservations() {
+        List<Long> reservationIds = timingWheel.advance(System.currentTimeMillis());
+        for (int from = 0; from < reservationIds.size(); from += batchSize) {
+            List<Long> batch = reservationIds.subList(from, Math.min(from + batchSize, reservationIds.size()));
+            try {
+                stockReservationServiceImpl.release(batch);
+            } catch (RuntimeException e) {
+                log.error("재고 예약 해제에 실패하였습니다. reservationIds={}", batch, e);
+                batch.forEach(reservationId -> timingWheel.schedule(reservationId, System.currentTimeMillis()));
+            }
+        }
+    }
+
+    private void schedule(List<StockReservation> reservations) {
+        reservations.forEach(reservation -> timingWheel.schedule(reservation.getId()
+                , reservation.getExpiredAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()));
+    }
+}
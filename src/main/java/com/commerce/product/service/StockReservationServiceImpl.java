@@ -0,0 +1,171 @@
+package com.commerce.product.service;
+
+import com.commerce.product.domain.Item;
+import com.commerce.product.domain.ItemRepository;
+import com.commerce.product.domain.StockReservation;
+import com.commerce.product.domain.StockReservationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static com.commerce.product.domain.StockReservation.ReservationStatus.ACTIVE;
+import static com.commerce.product.domain.StockReservation.ReservationStatus.CONVERTED;
+import static com.commerce.product.domain.StockReservation.ReservationStatus.RELEASED;
+
+/**
+ * 재고 예약
+ * 주문 준비 시 ITEM 의 reserved_quantity 로 재고를 잡아두고, 주문 완료 시 차감으로 전환하거나 만료 시 해제한다.
+ * 판매 가능한 재고는 stock_quantity - reserved_quantity 이므로 주문 목록을 조회하지 않고 구할 수 있다.
+ */
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+public class StockReservationServiceImpl {
+
+    private final ItemRepository itemRepository;
+    private final StockReservationRepository stockReservationRepository;
+    private final ItemSnapshotCache itemSnapshotCache;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final boolean enabled;
+    private final long ttlSeconds;
+
+    public StockReservationServiceImpl(ItemRepository itemRepository,
+                                       StockReservationRepository stockReservationRepository,
+                                       ItemSnapshotCache itemSnapshotCache,
+                                       ApplicationEventPublisher applicationEventPublisher,
+                                       @Value("${stock.reservation.enabled:true}") boolean enabled,
+                                       @Value("${stock.reservation.ttl-seconds:600}") long ttlSeconds) {
+        this.itemRepository = itemRepository;
+        this.stockReservationRepository = stockReservationRepository;
+        this.itemSnapshotCache = itemSnapshotCache;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.enabled = enabled;
+        this.ttlSeconds = ttlSeconds;
+    }
+
+    /**
+     * 재고 예약 사용 여부
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 재고 예약
+     * 예약되지 않은 재고가 부족한 item 이 있으면 예외를 던진다.
+     * @param orderId 주문번호
+     * @param stockQuantities item id 별 예약할 재고 수량
+     */
+    @Transactional
+    public void reserve(Long orderId, Map<Long, Integer> stockQuantities) {
+        Item.checkSubtractStockFailed(itemRepository.reserveStocks(stockQuantities));
+        itemSnapshotCache.evictItemsAfterCommit(stockQuantities.keySet());
+
+        LocalDateTime expiredAt = LocalDateTime.now().plusSeconds(ttlSeconds);
+        List<StockReservation> reservations = new ArrayList<>();
+        new TreeMap<>(stockQuantities).forEach((itemId, quantity) -> reservations.add(StockReservation.builder()
+                .orderId(orderId)
+                .itemId(itemId)
+                .quantity(quantity)
+                .expiredAt(expiredAt)
+                .build()));
+        stockReservationRepository.saveAll(reservations);
+        applicationEventPublisher.publishEvent(new StockReservedEvent(reservations));
+    }
+
+    /**
+     * 주문의 예약된 재고를 차감으로 전환
+     * @param orderId 주문번호
+     * @return item id 별 전환된 재고 수량 (전환된 수량만큼은 재고 차감이 끝난 상태)
+     */
+    @Transactional
+    public Map<Long, Integer> convert(Long orderId) {
+        return convert(List.of(orderId));
+    }
+
+    /**
+     * 여러 주문의 해제되지 않은 예약 수량 조회
+     * 조회한 예약은 트랜잭션이 끝날 때까지 잠그므로 그 사이에 만료로 해제되지 않는다.
+     * @param orderIds 주문번호 목록
+     * @return 주문번호별, item id 별 예약 수량
+     */
+    @Transactional
+    public Map<Long, Map<Long, Integer>> findReservedQuantities(List<Long> orderIds) {
+        return StockReservation.sumQuantityByOrderIdAndItemId(
+                stockReservationRepository.findAllForUpdateByOrderIdInAndStatusOrderByIdAsc(orderIds, ACTIVE));
+    }
+
+    /**
+     * 여러 주문의 예약된 재고를 차감으로 전환 (전체 주문의 예약 수량을 item 별로 합산하여 한번에 전환한다)
+     * @param orderIds 주문번호 목록
+     * @return item id 별 전환된 재고 수량
+     */
+    @Transactional
+    public Map<Long, Integer> convert(List<Long> orderIds) {
+        List<StockReservation> reservations = stockReservationRepository.findAllForUpdateByOrderIdInAndStatusOrderByIdAsc(orderIds, ACTIVE);
+        if (reservations.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<Long, Integer> reservedQuantities = StockReservation.sumQuantityByItemId(reservations);
+        List<Long> failedItemIds = itemRepository.convertReservedStocks(reservedQuantities);
+        failedItemIds.forEach(reservedQuantities::remove);
+        itemSnapshotCache.evictItemsAfterCommit(reservedQuantities.keySet());
+        reservations.stream()
+                .filter(reservation -> reservedQuantities.containsKey(reservation.getItemId()))
+                .forEach(reservation -> reservation.updateStatus(CONVERTED));
+        return reservedQuantities;
+    }
+
+    /**
+     * 만료된 예약 해제 (이미 전환/해제되었거나 아직 만료되지 않은 예약은 건너뛴다)
+     * @param reservationIds 재고 예약 id 목록
+     * @return 해제된 예약 수
+     */
+    @Transactional
+    public int release(List<Long> reservationIds) {
+        return releaseReservations(stockReservationRepository
+                .findAllForUpdateByIdInAndStatusAndExpiredAtLessThanEqualOrderByIdAsc(reservationIds, ACTIVE, LocalDateTime.now()));
+    }
+
+    /**
+     * 주문의 해제되지 않은 예약을 만료 시간과 관계없이 해제 (주문이 저장되지 않아 완료될 수 없는 예약)
+     * @param orderIds 주문번호 목록
+     * @return 해제된 예약 수
+     */
+    @Transactional
+    public int releaseByOrderIds(List<Long> orderIds) {
+        return releaseReservations(stockReservationRepository.findAllForUpdateByOrderIdInAndStatusOrderByIdAsc(orderIds, ACTIVE));
+    }
+
+    private int releaseReservations(List<StockReservation> reservations) {
+        if (reservations.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, Integer> releasedQuantities = StockReservation.sumQuantityByItemId(reservations);
+        List<Long> failedItemIds = itemRepository.releaseReservedStocks(releasedQuantities);
+        if (!failedItemIds.isEmpty()) {
+            log.warn("예약 수량이 해제할 수량보다 적어 예약을 해제하지 못한 item 이 있습니다. itemIds={}, releasedQuantities={}",
+                    failedItemIds, releasedQuantities);
+        }
+        itemSnapshotCache.evictItemsAfterCommit(releasedQuantities.keySet());
+        reservations.forEach(reservation -> reservation.updateStatus(RELEASED));
+        return reservations.size();
+    }
+
+    /**
+     * 해제되지 않은 예약 목록 조회
+     */
+    public List<StockReservation> findActiveReservations() {
+        return stockReservationRepository.findAllByStatus(ACTIVE);
+    }
+}
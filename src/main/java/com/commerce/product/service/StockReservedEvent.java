@@ -0,0 +1,17 @@
+package com.commerce.product.service;
+
+import com.commerce.product.domain.StockReservation;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 재고 예약 생성 이벤트 (커밋 이후 만료 스케줄에 등록하기 위해 발행)
+ */
+@Getter
+@RequiredArgsConstructor
+public class StockReservedEvent {
+
+    private final List<StockReservation> reservations;
+}
@@ -0,0 +1,306 @@
+package com.commerce.product.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * 선착순 판매 등 주문이 몰리는 item 의 재고 변경을 item 별 큐에 모아 하나의 writer 스레드가 순차 처리한다.
+ * writer 는 큐에 쌓인 요청을 한번에 꺼내 하나의 트랜잭션으로 반영하므로 주문 트랜잭션이 ITEM row lock 을 기다리지 않는다.
+ * 승인된 차감은 STOCK_HOLD 에 보류로 남고 주문 트랜잭션이 같은 트랜잭션에서 확정하며, 확정되지 않은 보류는 재고로 되돌린다 (StockHoldReleaser).
+ * stock.sequencer.hot-item-ids 에 등록된 item 만 대상이며, 그 외 item 은 기존 경로로 재고를 변경한다.
+ */
+@Slf4j
+@Component
+public class StockSequencer {
+
+    private final StockHoldServiceImpl stockHoldServiceImpl;
+    private final int batchSize;
+    private final long timeoutMillis;
+    private final Map<Long, BlockingQueue<StockCommand>> queues = new HashMap<>();
+    private final List<Thread> writers = new ArrayList<>();
+    private volatile boolean running;
+
+    public StockSequencer(StockHoldServiceImpl stockHoldServiceImpl,
+                          @Value("${stock.sequencer.hot-item-ids:}") List<Long> hotItemIds,
+                          @Value("${stock.sequencer.batch-size:100}") int batchSize,
+                          @Value("${stock.sequencer.timeout-millis:500}") long timeoutMillis) {
+        this.stockHoldServiceImpl = stockHoldServiceImpl;
+        this.batchSize = batchSize;
+        this.timeoutMillis = timeoutMillis;
+        hotItemIds.forEach(itemId -> queues.put(itemId, new LinkedBlockingQueue<>()));
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        queues.forEach((itemId, queue) -> {
+            Thread writer = new Thread(() -> drain(itemId, queue), "stock-sequencer-" + itemId);
+            writer.setDaemon(true);
+            writer.start();
+            writers.add(writer);
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        writers.forEach(Thread::interrupt);
+    }
+
+    /**
+     * 순차 처리 대상 item 인지 확인
+     * @param itemId item id
+     */
+    public boolean isSequenced(Long itemId) {
+        return queues.containsKey(itemId);
+    }
+
+    /**
+     * 재고 차감
+     * writer 가 차감한 재고는 보류로 남고, 호출한 트랜잭션에서 보류를 확정한다. 호출한 트랜잭션이 롤백되면 보류를 해제하여 재고를 되돌린다.
+     * 모든 요청의 대기 시간은 timeout-millis 안으로 제한하며, 시간이 지나 결과를 받지 못한 차감은 승인되더라도 바로 해제한다.
+     * 확정하기 전에 오래된 보류로 해제된 차감은 재고가 이미 되돌아갔으므로 차감되지 않은 것으로 본다.
+     * @param stockQuantities item id 별 차감할 재고 수량
+     * @return 품절 또는 응답 시간 초과로 차감되지 않은 item id 목록
+     */
+    public List<Long> subtractStocks(Map<Long, Integer> stockQuantities) {
+        Map<Long, StockCommand> commands = new TreeMap<>();
+        stockQuantities.forEach((itemId, quantity) -> commands.put(itemId, submit(itemId, -quantity)));
+
+        List<Long> failedItemIds = new ArrayList<>();
+        Map<Long, Long> holdIds = new TreeMap<>();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        commands.forEach((itemId, command) -> {
+            if (await(itemId, command, deadline)) {
+                holdIds.put(itemId, command.getHoldId());
+            } else {
+                failedItemIds.add(itemId);
+            }
+        });
+        if (holdIds.isEmpty()) {
+            return failedItemIds;
+        }
+
+        holdIds.forEach(this::releaseOnRollback);
+        List<Long> confirmedHoldIds = stockHoldServiceImpl.confirm(new ArrayList<>(holdIds.values()));
+        holdIds.forEach((itemId, holdId) -> {
+            if (!confirmedHoldIds.contains(holdId)) {
+                failedItemIds.add(itemId);
+            }
+        });
+        return failedItemIds;
+    }
+
+    /**
+     * 재고 증가
+     * 트랜잭션 안에서 호출되면 커밋된 이후에 반영한다.
+     * @param stockQuantities item id 별 추가할 재고 수량
+     */
+    public void addStocks(Map<Long, Integer> stockQuantities) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            stockQuantities.forEach(this::submit);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                stockQuantities.forEach(StockSequencer.this::submit);
+            }
+        });
+    }
+
+    StockCommand submit(Long itemId, int quantity) {
+        StockCommand command = new StockCommand(quantity);
+        queues.get(itemId).add(command);
+        return command;
+    }
+
+    /**
+     * 재고 보류 해제 요청 (writer 가 다른 요청과 같은 트랜잭션에서 보류를 삭제하고 재고를 되돌린다)
+     */
+    private void release(Long itemId, Long holdId) {
+        queues.get(itemId).add(StockCommand.release(holdId));
+    }
+
+    private void releaseOnRollback(Long itemId, Long holdId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    release(itemId, holdId);
+                }
+            }
+        });
+    }
+
+    /**
+     * 요청 결과 대기 (deadline 까지만 기다린다)
+     * 시간 내에 결과를 받지 못하면 요청을 취소하고, writer 가 이미 가져간 요청은 승인되는 대로 보류를 해제한다.
+     */
+    private boolean await(Long itemId, StockCommand command, long deadline) {
+        try {
+            return command.getResult().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            return abandon(itemId, command);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return abandon(itemId, command);
+        } catch (ExecutionException e) {
+            return false;
+        }
+    }
+
+    private boolean abandon(Long itemId, StockCommand command) {
+        if (!command.cancel()) {
+            command.getResult().thenAccept(granted -> {
+                if (granted) {
+                    release(itemId, command.getHoldId());
+                }
+            });
+        }
+        return false;
+    }
+
+    private void drain(Long itemId, BlockingQueue<StockCommand> queue) {
+        List<StockCommand> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                batch.add(queue.take());
+                queue.drainTo(batch, batchSize - 1);
+                apply(itemId, batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("재고 순차 처리에 실패하였습니다. itemId={}, size={}", itemId, batch.size(), e);
+                batch.forEach(command -> command.getResult().completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * 요청을 모아 한번에 반영
+     * 증가 요청과 보류 해제 요청의 수량을 더한 판매 가능한 재고 안에서 먼저 들어온 차감 요청부터 승인하고, 승인된 차감은 보류로 남긴다.
+     * 반영에 실패한 보류 해제 요청은 StockHoldReleaser 가 오래된 보류를 해제할 때 함께 해제된다.
+     */
+    private void apply(Long itemId, List<StockCommand> batch) {
+        List<StockCommand> subtracts = new ArrayList<>(batch.size());
+        List<StockCommand> adds = new ArrayList<>();
+        List<Long> releaseHoldIds = new ArrayList<>();
+        batch.forEach(command -> {
+            if (command.isRelease()) {
+                releaseHoldIds.add(command.getHoldId());
+            } else if (command.claim()) {
+                (command.isAdd() ? adds : subtracts).add(command);
+            }
+        });
+
+        List<Long> holdIds = stockHoldServiceImpl.apply(itemId,
+                adds.stream().mapToInt(StockCommand::getQuantity).sum(),
+                releaseHoldIds,
+                subtracts.stream().map(command -> -command.getQuantity()).collect(Collectors.toList()));
+        adds.forEach(command -> command.getResult().complete(holdIds != null));
+        for (int i = 0; i < subtracts.size(); i++) {
+            StockCommand command = subtracts.get(i);
+            Long holdId = holdIds == null ? null : holdIds.get(i);
+            command.setHoldId(holdId);
+            command.getResult().complete(holdId != null);
+        }
+    }
+
+    static class StockCommand {
+
+        private final int quantity;
+        private final boolean release;
+        private volatile Long holdId;
+        private final AtomicBoolean taken = new AtomicBoolean();
+        private final CompletableFuture<Boolean> result = new CompletableFuture<>();
+
+        StockCommand(int quantity) {
+            this.quantity = quantity;
+            this.release = false;
+        }
+
+        private StockCommand(Long holdId) {
+            this.quantity = 0;
+            this.release = true;
+            this.holdId = holdId;
+        }
+
+        static StockCommand release(Long holdId) {
+            return new StockCommand(holdId);
+        }
+
+        int getQuantity() {
+            return quantity;
+        }
+
+        boolean isAdd() {
+            return quantity > 0;
+        }
+
+        /**
+         * 재고 보류 해제 요청 여부 (호출한 쪽이 결과를 기다리지 않는다)
+         */
+        boolean isRelease() {
+            return release;
+        }
+
+        /**
+         * 승인된 차감의 재고 보류 id
+         */
+        Long getHoldId() {
+            return holdId;
+        }
+
+        void setHoldId(Long holdId) {
+            this.holdId = holdId;
+        }
+
+        CompletableFuture<Boolean> getResult() {
+            return result;
+        }
+
+        /**
+         * writer 가 요청을 가져감
+         */
+        boolean claim() {
+            return taken.compareAndSet(false, true);
+        }
+
+        /**
+         * 호출한 쪽에서 요청을 취소 (writer 가 아직 가져가지 않은 경우에만 취소된다)
+         */
+        boolean cancel() {
+            if (taken.compareAndSet(false, true)) {
+                result.complete(false);
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.commerce.product.service;
+
+import com.commerce.product.domain.Item;
+import com.commerce.product.domain.ItemRepository;
+import com.commerce.product.domain.StockReservation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * 주문 재고 처리
+ * item 에 따라 재고 샤드(ItemStockShardServiceImpl), 순차 처리(StockSequencer), ITEM 직접 UPDATE 중 하나로 나누어 재고를 예약, 차감, 복구한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class StockServiceImpl {
+
+    private final ItemRepository itemRepository;
+    private final ItemStockShardServiceImpl itemStockShardServiceImpl;
+    private final ItemSnapshotCache itemSnapshotCache;
+    private final StockSequencer stockSequencer;
+    private final StockReservationServiceImpl stockReservationServiceImpl;
+
+    /**
+     * 주문 재고 예약 (샤드 모드, 순차 처리 대상 item 은 예약하지 않고 주문 완료 시 차감한다)
+     * @param orderId 주문번호
+     * @param stockQuantities item id 별 예약할 재고 수량
+     */
+    @Transactional
+    public void reserve(Long orderId, Map<Long, Integer> stockQuantities) {
+        if (!stockReservationServiceImpl.isEnabled()) {
+            return;
+        }
+        Map<Long, Integer> reservableStockQuantities = new TreeMap<>();
+        stockQuantities.forEach((itemId, quantity) -> {
+            if (!itemStockShardServiceImpl.isSharded(itemId) && !stockSequencer.isSequenced(itemId)) {
+                reservableStockQuantities.put(itemId, quantity);
+            }
+        });
+        if (!reservableStockQuantities.isEmpty()) {
+            stockReservationServiceImpl.reserve(orderId, reservableStockQuantities);
+        }
+    }
+
+    /**
+     * 주문의 예약된 재고 해제 (만료 시간과 관계없이 해제한다)
+     * @param orderIds 주문번호 목록
+     */
+    @Transactional
+    public void releaseReservations(List<Long> orderIds) {
+        stockReservationServiceImpl.releaseByOrderIds(orderIds);
+    }
+
+    /**
+     * 주문 재고 차감 (예약된 재고는 차감으로 전환하고 나머지 수량만 차감한다)
+     * 재고가 부족한 item 이 있으면 예외를 던진다.
+     * @param orderId 주문번호
+     * @param stockQuantities item id 별 차감할 재고 수량
+     */
+    @Transactional
+    public void subtract(Long orderId, Map<Long, Integer> stockQuantities) {
+        Map<Long, Integer> convertedStockQuantities = stockReservationServiceImpl.convert(orderId);
+        Item.checkSubtractStockFailed(subtractStocks(StockReservation.excludeReservedQuantities(stockQuantities, convertedStockQuantities)));
+    }
+
+    /**
+     * 여러 주문의 재고 차감 (예약된 재고는 재고 차감이 성공한 주문만 차감으로 전환한다)
+     * 전체 주문의 차감 수량을 item 별로 합산하여 한번에 차감하고, 재고가 부족한 item 이 있으면 그 item 을 포함한 주문만 그 item 의 수량을 하나씩 다시 차감한다.
+     * 재고가 부족한 item 은 합산 차감에서 차감되지 않았으므로 복구 없이 다시 차감하며, 다시 차감하지 못한 주문의 나머지 item 만 복구한다.
+     * 순차 처리 대상 item 의 복구는 커밋 이후에 반영되므로, 한 주문에서 일부만 다시 차감된 순차 처리 대상 item 은 이후 주문이 복구 전 재고 기준으로 판단한다.
+     * @param orderStockQuantities 주문번호별, item id 별 차감할 재고 수량
+     * @return 재고가 부족하여 차감하지 못한 주문번호 목록
+     */
+    @Transactional
+    public List<Long> subtractAll(Map<Long, Map<Long, Integer>> orderStockQuantities) {
+        List<Long> orderIds = new ArrayList<>(orderStockQuantities.keySet());
+        Map<Long, Map<Long, Integer>> reservedQuantities = stockReservationServiceImpl.findReservedQuantities(orderIds);
+        Map<Long, Map<Long, Integer>> remainingQuantities = new TreeMap<>();
+        orderStockQuantities.forEach((orderId, quantities) -> remainingQuantities.put(orderId,
+                StockReservation.excludeReservedQuantities(quantities, reservedQuantities.getOrDefault(orderId, Map.of()))));
+
+        List<Long> failedOrderIds = new ArrayList<>();
+        List<Long> failedItemIds = subtractStocks(sumStockQuantities(remainingQuantities.values()));
+        if (!failedItemIds.isEmpty()) {
+            remainingQuantities.forEach((orderId, quantities) -> {
+                Map<Long, Integer> retryQuantities = includeItems(quantities, failedItemIds);
+                if (retryQuantities.isEmpty()) {
+                    return;
+                }
+                List<Long> orderFailedItemIds = subtractStocks(retryQuantities);
+                if (!orderFailedItemIds.isEmpty()) {
+                    addStocks(excludeItems(quantities, orderFailedItemIds));
+                    failedOrderIds.add(orderId);
+                }
+            });
+        }
+
+        List<Long> completedOrderIds = new ArrayList<>(orderIds);
+        completedOrderIds.removeAll(failedOrderIds);
+        Map<Long, Integer> completedReservedQuantities = sumStockQuantities(completedOrderIds.stream()
+                .map(orderId -> reservedQuantities.getOrDefault(orderId, Map.of()))
+                .collect(Collectors.toList()));
+        if (!completedReservedQuantities.isEmpty()) {
+            Map<Long, Integer> convertedStockQuantities = stockReservationServiceImpl.convert(completedOrderIds);
+            Item.checkSubtractStockFailed(subtractStocks(
+                    StockReservation.excludeReservedQuantities(completedReservedQuantities, convertedStockQuantities)));
+        }
+        return failedOrderIds;
+    }
+
+    /**
+     * 재고 증가 (샤드 모드 item 은 재고 샤드에, 순차 처리 대상 item 은 커밋 이후 StockSequencer 를 통해 증가)
+     * 그 외 item 은 하나의 UPDATE 로 한번에 증가시킨다.
+     * @param stockQuantities item id 별 추가할 재고 수량
+     */
+    @Transactional
+    public void addStocks(Map<Long, Integer> stockQuantities) {
+        if (stockQuantities.isEmpty()) {
+            return;
+        }
+        Map<Long, Integer> shardedStockQuantities = new TreeMap<>();
+        Map<Long, Integer> sequencedStockQuantities = new TreeMap<>();
+        Map<Long, Integer> directStockQuantities = new TreeMap<>();
+        route(stockQuantities, shardedStockQuantities, sequencedStockQuantities, directStockQuantities);
+
+        if (!shardedStockQuantities.isEmpty()) {
+            itemStockShardServiceImpl.addStocks(shardedStockQuantities);
+        }
+        if (!sequencedStockQuantities.isEmpty()) {
+            stockSequencer.addStocks(sequencedStockQuantities);
+        }
+        if (!directStockQuantities.isEmpty()) {
+            Item.checkAddStockFailed(itemRepository.addStocks(directStockQuantities), directStockQuantities.size());
+            itemSnapshotCache.evictItemsAfterCommit(directStockQuantities.keySet());
+        }
+    }
+
+    /**
+     * 재고 차감 (샤드 모드 item 은 재고 샤드에서, 순차 처리 대상 item 은 StockSequencer 를 통해 차감)
+     * @param stockQuantities item id 별 차감할 재고 수량
+     * @return 재고가 차감되지 않은 item id 목록
+     */
+    private List<Long> subtractStocks(Map<Long, Integer> stockQuantities) {
+        Map<Long, Integer> shardedStockQuantities = new TreeMap<>();
+        Map<Long, Integer> sequencedStockQuantities = new TreeMap<>();
+        Map<Long, Integer> directStockQuantities = new TreeMap<>();
+        route(stockQuantities, shardedStockQuantities, sequencedStockQuantities, directStockQuantities);
+
+        List<Long> failedItemIds = new ArrayList<>();
+        if (!shardedStockQuantities.isEmpty()) {
+            failedItemIds.addAll(itemStockShardServiceImpl.subtractStocks(shardedStockQuantities));
+        }
+        if (!sequencedStockQuantities.isEmpty()) {
+            failedItemIds.addAll(stockSequencer.subtractStocks(sequencedStockQuantities));
+        }
+        if (!directStockQuantities.isEmpty()) {
+            failedItemIds.addAll(itemRepository.subtractStocks(directStockQuantities));
+            itemSnapshotCache.evictItemsAfterCommit(directStockQuantities.keySet());
+        }
+        return failedItemIds;
+    }
+
+    /**
+     * item 별 재고 처리 방식 분류 (샤드 모드 item 은 순차 처리 대상이어도 재고 샤드로 처리한다)
+     * @param stockQuantities item id 별 재고 수량
+     * @param sharded 재고 샤드로 처리할 재고 수량
+     * @param sequenced StockSequencer 로 처리할 재고 수량
+     * @param direct ITEM 을 직접 UPDATE 할 재고 수량
+     */
+    private void route(Map<Long, Integer> stockQuantities, Map<Long, Integer> sharded,
+                       Map<Long, Integer> sequenced, Map<Long, Integer> direct) {
+        stockQuantities.forEach((itemId, quantity) -> {
+            if (itemStockShardServiceImpl.isSharded(itemId)) {
+                sharded.put(itemId, quantity);
+            } else if (stockSequencer.isSequenced(itemId)) {
+                sequenced.put(itemId, quantity);
+            } else {
+                direct.put(itemId, quantity);
+            }
+        });
+    }
+
+    /**
+     * item id 별 재고 수량 합산
+     * @param stockQuantities item id 별 재고 수량 목록
+     */
+    private static Map<Long, Integer> sumStockQuantities(Collection<Map<Long, Integer>> stockQuantities) {
+        Map<Long, Integer> sum = new TreeMap<>();
+        stockQuantities.forEach(quantities -> quantities.forEach((itemId, quantity) -> sum.merge(itemId, quantity, Integer::sum)));
+        return sum;
+    }
+
+    /**
+     * 재고 수량에서 특정 item 만 선택
+     * @param stockQuantities item id 별 재고 수량
+     * @param itemIds 선택할 item id 목록
+     */
+    private static Map<Long, Integer> includeItems(Map<Long, Integer> stockQuantities, List<Long> itemIds) {
+        Map<Long, Integer> included = new TreeMap<>(stockQuantities);
+        included.keySet().retainAll(itemIds);
+        return included;
+    }
+
+    /**
+     * 재고 수량에서 특정 item 제외
+     * @param stockQuantities item id 별 재고 수량
+     * @param itemIds 제외할 item id 목록
+     */
+    private static Map<Long, Integer> excludeItems(Map<Long, Integer> stockQuantities, List<Long> itemIds) {
+        Map<Long, Integer> remaining = new TreeMap<>(stockQuantities);
+        itemIds.forEach(remaining::remove);
+        return remaining;
+    }
+}
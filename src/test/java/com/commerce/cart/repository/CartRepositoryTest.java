@@ -0,0 +1,213 @@
+package com.commerce.cart.repository;
+
+import com.commerce.cart.domain.Cart;
+import com.commerce.cart.dto.AddCartRequestDto;
+import com.commerce.cart.dto.CartAddTargetDto;
+import com.commerce.cart.dto.CartWriteDto;
+import com.commerce.cart.dto.CartWriteResultDto;
+import com.commerce.global.common.config.TestJPAQueryFactoryConfig;
+import com.commerce.global.common.exception.BadRequestException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace.NONE;
+
+@DataJpaTest
+@Import(TestJPAQueryFactoryConfig.class)
+@AutoConfigureTestDatabase(replace = NONE)
+class CartRepositoryTest {
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Test
+    @DisplayName("장바구니에 담을 아이템, 상품, 옵션, 매핑 정보를 하나의 쿼리로 조회하고, 상품에 속하지 않은 옵션은 조회되지 않는다.")
+    void findCartAddTarget() {
+        // when
+        CartAddTargetDto target = cartRepository.findCartAddTarget(1L, 1L, 1L);
+        CartAddTargetDto otherProductOption = cartRepository.findCartAddTarget(1L, 1L, 3L);
+
+        // then
+        assertThat(target.getItem().getId()).isEqualTo(1L);
+        assertThat(target.getProduct().getId()).isEqualTo(1L);
+        assertThat(target.getOption().getId()).isEqualTo(1L);
+        assertThat(target.getItemProductMappingId()).isNotNull();
+        assertThatThrownBy(() -> CartAddTargetDto.checkExist(otherProductOption)).isInstanceOf(BadRequestException.class)
+                .hasMessage("해당 옵션이 존재하지 않습니다.");
+        assertThatThrownBy(() -> CartAddTargetDto.checkExist(cartRepository.findCartAddTarget(999L, 1L, 1L)))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("해당 아이템이 존재하지 않습니다.");
+    }
+
+    @Test
+    @DisplayName("같은 장바구니를 다시 추가하면 수량을 더하고, 비활성화된 장바구니가 있으면 새 장바구니를 추가한다.")
+    void upsertCart() {
+        // when
+        Long cartId = cartRepository.upsertCart(1L, 1L, 1L, 1L, 1, 1);
+        Long sameCartId = cartRepository.upsertCart(1L, 1L, 1L, 1L, 2, 2);
+        testEntityManager.clear();
+        Cart cart = cartRepository.findById(cartId).orElseThrow();
+        cart.updateActivated(false);
+        testEntityManager.flush();
+        Long newCartId = cartRepository.upsertCart(1L, 1L, 1L, 1L, 1, 1);
+        testEntityManager.clear();
+
+        // then
+        assertThat(sameCartId).isEqualTo(cartId);
+        assertThat(cart.getUserPurchaseQuantity()).isEqualTo(3);
+        assertThat(cart.getItemUsedQuantity()).isEqualTo(3);
+        assertThat(newCartId).isNotEqualTo(cartId);
+        assertThat(cartRepository.findById(newCartId).orElseThrow().getUserPurchaseQuantity()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("여러 줄의 장바구니 추가 정보를 한번에 조회하고, 없는 아이템이나 상품에 속하지 않은 옵션, 비어 있는 줄은 줄마다 구분된다.")
+    void findCartAddTargets() {
+        // when
+        List<CartAddTargetDto> targets = cartRepository.findCartAddTargets(Arrays.asList(
+                addCartRequest(1L, 1L, 1L, 1), addCartRequest(999L, 1L, 1L, 1), addCartRequest(1L, 1L, 3L, 1), null));
+
+        // then
+        assertThat(targets).hasSize(4);
+        assertThat(targets.get(0).getOption().getId()).isEqualTo(1L);
+        assertThat(targets.get(0).getItemProductMappingId()).isNotNull();
+        assertThat(targets.get(1)).isNull();
+        assertThatThrownBy(() -> CartAddTargetDto.checkExist(targets.get(2))).isInstanceOf(BadRequestException.class)
+                .hasMessage("해당 옵션이 존재하지 않습니다.");
+        assertThat(targets.get(3)).isNull();
+    }
+
+    @Test
+    @DisplayName("장바구니를 한번에 추가하면 같은 장바구니는 수량을 더하고, 요청 순서대로 장바구니 아이디를 반환한다.")
+    void upsertCartsAndDeactivateCarts() {
+        // given
+        Long cartId = cartRepository.upsertCart(1L, 1L, 1L, 1L, 1, 1);
+
+        // when
+        List<Long> cartIds = cartRepository.upsertCarts(List.of(cartWrite(1L, 1L, 2), cartWrite(1L, 2L, 1), cartWrite(1L, 1L, 3)));
+        long deactivated = cartRepository.deactivateCarts(List.of(cartIds.get(1), 999L), 1L);
+        testEntityManager.clear();
+
+        // then
+        assertThat(cartIds).containsExactly(cartId, cartIds.get(1), cartId);
+        assertThat(cartIds.get(1)).isNotEqualTo(cartId);
+        assertThat(cartRepository.findById(cartId).orElseThrow().getUserPurchaseQuantity()).isEqualTo(6);
+        assertThat(deactivated).isEqualTo(1);
+        assertThat(cartRepository.findById(cartIds.get(1)).orElseThrow().isActivated()).isFalse();
+    }
+
+    @Test
+    @DisplayName("메모리 장바구니를 batch 로 반영하고, 이미 비활성화된 장바구니는 update 하지 않고 반환한다.")
+    void writeCarts() {
+        // when
+        CartWriteResultDto insertResult = cartRepository.writeCarts(List.of(cartWrite(9000L, false, true, 1)));
+        CartWriteResultDto updateResult = cartRepository.writeCarts(List.of(cartWrite(9000L, true, true, 3)));
+        CartWriteResultDto deleteResult = cartRepository.writeCarts(List.of(cartWrite(9000L, true, false, 3)));
+        CartWriteResultDto staleResult = cartRepository.writeCarts(List.of(cartWrite(9000L, true, true, 5)));
+        testEntityManager.clear();
+
+        // then
+        Cart cart = cartRepository.findById(9000L).orElseThrow();
+        assertThat(insertResult.getStaleCartIds()).isEmpty();
+        assertThat(insertResult.getMergedCartIds()).isEmpty();
+        assertThat(updateResult.getStaleCartIds()).isEmpty();
+        assertThat(deleteResult.getStaleCartIds()).isEmpty();
+        assertThat(staleResult.getStaleCartIds()).containsExactly(9000L);
+        assertThat(cart.isActivated()).isFalse();
+        assertThat(cart.getUserPurchaseQuantity()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("새 장바구니와 같은 회원, 아이템, 상품, 옵션의 활성화된 장바구니가 있으면 덮어쓰지 않고 수량을 더한 뒤 합쳐진 장바구니로 반환한다.")
+    void writeCartsMergeActiveCart() {
+        // given
+        cartRepository.writeCarts(List.of(cartWrite(9000L, false, true, 1)));
+
+        // when
+        CartWriteResultDto retryResult = cartRepository.writeCarts(List.of(cartWrite(9000L, false, true, 1)));
+        CartWriteResultDto mergeResult = cartRepository.writeCarts(List.of(cartWrite(9001L, false, true, 2)));
+        testEntityManager.clear();
+
+        // then
+        Cart cart = cartRepository.findById(9000L).orElseThrow();
+        assertThat(retryResult.getMergedCartIds()).isEmpty();
+        assertThat(mergeResult.getMergedCartIds()).containsExactly(9001L);
+        assertThat(cartRepository.findById(9001L)).isEmpty();
+        assertThat(cart.getUserPurchaseQuantity()).isEqualTo(3);
+    }
+
+    private CartWriteDto cartWrite(Long cartId, boolean persisted, boolean activated, int quantity) {
+        return CartWriteDto.builder()
+                .id(cartId)
+                .memberId(1L)
+                .itemId(1L)
+                .productId(1L)
+                .optionId(1L)
+                .userPurchaseQuantity(quantity)
+                .itemUsedQuantity(quantity)
+                .activated(activated)
+                .persisted(persisted)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    @Test
+    @DisplayName("id 구간 안에서 보관 기간이 지난 비활성화 장바구니만 삭제한다.")
+    void deleteInactiveCarts() {
+        // given
+        Long activeCartId = cartRepository.upsertCart(1L, 1L, 1L, 1L, 1, 1);
+        Long inactiveCartId = cartRepository.upsertCart(1L, 1L, 1L, 2L, 1, 1);
+        Long outOfRangeCartId = cartRepository.upsertCart(1L, 2L, 1L, 2L, 1, 1);
+        cartRepository.deactivateCarts(List.of(inactiveCartId, outOfRangeCartId), 1L);
+        List<Long> cartIds = cartRepository.findIdsAfter(0L, 2);
+
+        // when
+        long recentDeleted = cartRepository.deleteInactiveCarts(0L, cartIds.get(1), LocalDateTime.now().minusDays(1));
+        long deleted = cartRepository.deleteInactiveCarts(0L, cartIds.get(1), LocalDateTime.now().plusSeconds(1));
+        testEntityManager.clear();
+
+        // then
+        assertThat(cartIds).containsExactly(activeCartId, inactiveCartId);
+        assertThat(recentDeleted).isZero();
+        assertThat(deleted).isEqualTo(1);
+        assertThat(cartRepository.findById(activeCartId)).isPresent();
+        assertThat(cartRepository.findById(inactiveCartId)).isEmpty();
+        assertThat(cartRepository.findById(outOfRangeCartId)).isPresent();
+    }
+
+    private AddCartRequestDto addCartRequest(Long itemId, Long productId, Long optionId, int quantity) {
+        AddCartRequestDto requestDto = new AddCartRequestDto();
+        requestDto.setItemId(itemId);
+        requestDto.setProductId(productId);
+        requestDto.setOptionId(optionId);
+        requestDto.setQuantity(quantity);
+        return requestDto;
+    }
+
+    private CartWriteDto cartWrite(Long itemId, Long optionId, int quantity) {
+        return CartWriteDto.builder()
+                .memberId(1L)
+                .itemId(itemId)
+                .productId(1L)
+                .optionId(optionId)
+                .userPurchaseQuantity(quantity)
+                .itemUsedQuantity(quantity)
+                .activated(true)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
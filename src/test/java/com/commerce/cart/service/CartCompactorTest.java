@@ -0,0 +1,74 @@
+package com.commerce.cart.service;
+
+import com.commerce.cart.dto.CartCompactResultDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class CartCompactorTest {
+
+    @Mock
+    private CartCompactServiceImpl cartCompactServiceImpl;
+
+    @Test
+    @DisplayName("초당 확인할 수 있는 row 수를 넘으면 이번 실행을 멈추고, 다음 실행 때 이어서 정리한다.")
+    void stopWhenRateLimited() {
+        // given
+        given(cartCompactServiceImpl.getChunkSize()).willReturn(2);
+        CartCompactor cartCompactor = new CartCompactor(cartCompactServiceImpl, true, 30, 3, 3600000, 24);
+        given(cartCompactServiceImpl.compact(eq(0L), any(LocalDateTime.class))).willReturn(new CartCompactResultDto(10L, 2, 1));
+        given(cartCompactServiceImpl.compact(eq(10L), any(LocalDateTime.class))).willReturn(new CartCompactResultDto(20L, 2, 2));
+
+        // when
+        cartCompactor.compact();
+        cartCompactor.compact();
+
+        // then
+        CartCompactMetrics metrics = cartCompactor.getMetrics();
+        verify(cartCompactServiceImpl, times(2)).compact(any(Long.class), any(LocalDateTime.class));
+        assertThat(metrics.getChunkCount()).isEqualTo(2);
+        assertThat(metrics.getScannedRows()).isEqualTo(4);
+        assertThat(metrics.getReclaimedRows()).isEqualTo(3);
+        assertThat(metrics.getCursor()).isEqualTo(20L);
+        assertThat(metrics.getMaxChunkNanos()).isGreaterThanOrEqualTo(metrics.getLastChunkNanos());
+    }
+
+    @Test
+    @DisplayName("마지막 장바구니까지 확인하면 처음부터 다시 확인하도록 구간 시작을 되돌리고, pass-interval-millis 동안 정리하지 않는다.")
+    void restartPassAfterInterval() {
+        // given
+        given(cartCompactServiceImpl.getChunkSize()).willReturn(2);
+        CartCompactor cartCompactor = new CartCompactor(cartCompactServiceImpl, true, 30, 100, 3600000, 24);
+        given(cartCompactServiceImpl.compact(eq(0L), any(LocalDateTime.class))).willReturn(new CartCompactResultDto(10L, 1, 1));
+
+        // when
+        cartCompactor.compact();
+        cartCompactor.compact();
+
+        // then
+        CartCompactMetrics metrics = cartCompactor.getMetrics();
+        verify(cartCompactServiceImpl, times(1)).compact(any(Long.class), any(LocalDateTime.class));
+        assertThat(metrics.getPassCount()).isEqualTo(1);
+        assertThat(metrics.getCursor()).isZero();
+    }
+
+    @Test
+    @DisplayName("보관 기간이 주문 정리 기준 시간보다 짧으면 시작하지 않는다.")
+    void rejectShortRetention() {
+        assertThatThrownBy(() -> new CartCompactor(cartCompactServiceImpl, true, 1, 100, 3600000, 24))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,154 @@
+package com.commerce.cart.service;
+
+import com.commerce.cart.dto.CartWriteDto;
+import com.commerce.cart.dto.CartWriteResultDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class CartStoreTest {
+
+    @Mock
+    private CartFlushServiceImpl cartFlushServiceImpl;
+
+    private CartStore cartStore;
+
+    @BeforeEach
+    void setUp() {
+        cartStore = new CartStore(cartFlushServiceImpl, true, 4, 4, 600, 500);
+    }
+
+    @Test
+    @DisplayName("같은 장바구니를 다시 담으면 메모리에서 수량을 더하고, 반영할 때 바뀐 장바구니만 한번에 CART 에 쓴다.")
+    @SuppressWarnings("unchecked")
+    void addAndFlush() {
+        // given
+        given(cartFlushServiceImpl.load(1L)).willReturn(List.of(storedCart(100L, 1L, 2L)));
+        given(cartFlushServiceImpl.nextCartId()).willReturn(150L);
+        given(cartFlushServiceImpl.write(anyList())).willReturn(written());
+
+        // when
+        Long cartId = cartStore.add(1L, 1L, 1L, 1L, 1, 1);
+        Long sameCartId = cartStore.add(1L, 1L, 1L, 1L, 2, 2);
+        cartStore.flushAll();
+        cartStore.flushAll();
+
+        // then
+        ArgumentCaptor<List<CartWriteDto>> captor = ArgumentCaptor.forClass(List.class);
+        verify(cartFlushServiceImpl, times(1)).load(1L);
+        verify(cartFlushServiceImpl, times(1)).write(captor.capture());
+        verify(cartFlushServiceImpl, times(1)).nextCartId();
+        assertThat(cartId).isEqualTo(150L);
+        assertThat(sameCartId).isEqualTo(cartId);
+        assertThat(captor.getValue()).singleElement().satisfies(cartWrite -> {
+            assertThat(cartWrite.getId()).isEqualTo(cartId);
+            assertThat(cartWrite.getUserPurchaseQuantity()).isEqualTo(3);
+            assertThat(cartWrite.isPersisted()).isFalse();
+        });
+        assertThat(cartStore.findCarts(1L)).extracting(CartWriteDto::getId).containsExactly(100L, cartId);
+    }
+
+    @Test
+    @DisplayName("삭제한 장바구니는 반영된 뒤 메모리에서 지우고, CART 에서 이미 비활성화되어 update 되지 않은 장바구니는 마지막 반영 이후 더한 수량만 새 장바구니로 다시 담는다.")
+    @SuppressWarnings("unchecked")
+    void deleteAndReaddStaleCart() {
+        // given
+        given(cartFlushServiceImpl.load(1L)).willReturn(List.of(storedCart(100L, 1L, 2L), storedCart(101L, 2L, 3L), storedCart(102L, 3L, 4L)));
+        given(cartFlushServiceImpl.write(anyList())).willReturn(written())
+                .willReturn(new CartWriteResultDto(List.of(101L), List.of()))
+                .willReturn(written());
+        given(cartFlushServiceImpl.nextCartId()).willReturn(160L);
+
+        // when
+        boolean deleted = cartStore.delete(1L, 100L);
+        cartStore.flush(1L);
+        boolean deletedAgain = cartStore.delete(1L, 100L);
+        cartStore.add(1L, 2L, 1L, 3L, 1, 1);
+        cartStore.add(1L, 3L, 1L, 4L, 1, 1);
+        cartStore.flush(1L);
+        cartStore.flush(1L);
+
+        // then
+        ArgumentCaptor<List<CartWriteDto>> captor = ArgumentCaptor.forClass(List.class);
+        verify(cartFlushServiceImpl, times(1)).load(1L);
+        verify(cartFlushServiceImpl, times(3)).write(captor.capture());
+        assertThat(deleted).isTrue();
+        assertThat(deletedAgain).isFalse();
+        assertThat(captor.getAllValues().get(1)).extracting(CartWriteDto::getId).containsExactly(101L, 102L);
+        assertThat(captor.getValue()).singleElement().satisfies(cartWrite -> {
+            assertThat(cartWrite.getId()).isEqualTo(160L);
+            assertThat(cartWrite.getUserPurchaseQuantity()).isEqualTo(1);
+            assertThat(cartWrite.isPersisted()).isFalse();
+        });
+        assertThat(cartStore.findCarts(1L)).extracting(CartWriteDto::getId).containsExactly(102L, 160L);
+    }
+
+    @Test
+    @DisplayName("다른 장바구니에 합쳐진 장바구니가 있으면 모두 반영된 뒤 회원의 장바구니를 CART 에서 다시 읽는다.")
+    void reloadMergedCart() {
+        // given
+        given(cartFlushServiceImpl.load(1L)).willReturn(List.of()).willReturn(List.of(storedCart(100L, 1L, 3L)));
+        given(cartFlushServiceImpl.nextCartId()).willReturn(150L);
+        given(cartFlushServiceImpl.write(anyList())).willReturn(new CartWriteResultDto(List.of(), List.of(150L)));
+
+        // when
+        cartStore.add(1L, 1L, 1L, 1L, 1, 1);
+        cartStore.flush(1L);
+
+        // then
+        assertThat(cartStore.findCarts(1L)).extracting(CartWriteDto::getId).containsExactly(100L);
+        verify(cartFlushServiceImpl, times(2)).load(1L);
+    }
+
+    @Test
+    @DisplayName("칸이 넘치면 반영된 회원만 메모리에서 내리고, 반영되지 않은 회원은 반영한 뒤에 내린다.")
+    void evictOnlyFlushedMembers() {
+        // given
+        cartStore = new CartStore(cartFlushServiceImpl, true, 1, 1, 600, 500);
+        given(cartFlushServiceImpl.load(anyLong())).willReturn(List.of());
+        given(cartFlushServiceImpl.nextCartId()).willReturn(150L, 151L);
+        given(cartFlushServiceImpl.write(anyList())).willReturn(written());
+
+        // when
+        cartStore.add(1L, 1L, 1L, 1L, 1, 1);
+        cartStore.add(2L, 1L, 1L, 1L, 1, 1);
+
+        // then
+        verify(cartFlushServiceImpl, times(1)).write(anyList());
+        assertThat(cartStore.getMemberCount()).isEqualTo(1);
+    }
+
+    private CartWriteDto storedCart(Long id, Long itemId, Long optionId) {
+        return CartWriteDto.builder()
+                .id(id)
+                .memberId(1L)
+                .itemId(itemId)
+                .productId(1L)
+                .optionId(optionId)
+                .userPurchaseQuantity(1)
+                .itemUsedQuantity(1)
+                .activated(true)
+                .persisted(true)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    private static CartWriteResultDto written() {
+        return new CartWriteResultDto(List.of(), List.of());
+    }
+}
@@ -0,0 +1,17 @@
+package com.commerce.global.common.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdGeneratorConfigTest {
+
+    @Test
+    @DisplayName("commerce.id.node-id 가 설정되지 않으면 기본값을 쓰지 않고 서버를 시작하지 않는다.")
+    void nodeIdRequired() {
+        // when, then
+        assertThatThrownBy(() -> new IdGeneratorConfig().snowflakeIdPropertiesCustomizer("", 5000))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
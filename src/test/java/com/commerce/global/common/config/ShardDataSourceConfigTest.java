@@ -0,0 +1,163 @@
+package com.commerce.global.common.config;
+
+import com.commerce.global.common.Price;
+import com.commerce.global.common.datasource.ShardRouter;
+import com.commerce.global.common.datasource.ShardRoutingDataSource;
+import com.commerce.global.common.util.SnowflakeIdGenerator;
+import com.commerce.order.domain.Order;
+import com.commerce.order.domain.OrderItem;
+import com.commerce.order.domain.OrderItemRepository;
+import com.commerce.order.domain.OrderRepository;
+import com.commerce.order.dto.OrderCompleteResultDto;
+import com.commerce.order.service.OrderBatchServiceImpl;
+import com.commerce.order.service.ShardCommitReconciler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.List;
+
+import static com.commerce.global.common.Price.DiscountMethod.NO_DISCOUNT;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:SHARD_GLOBAL;MODE=MYSQL;DB_CLOSE_DELAY=-1;NON_KEYWORDS=USER",
+        "spring.jpa.hibernate.ddl-auto=create",
+        "shard.enabled=true",
+        "shard.count=2",
+        "shard.datasources[0].url=jdbc:h2:mem:SHARD_ORDER_0;MODE=MYSQL;DB_CLOSE_DELAY=-1;NON_KEYWORDS=USER",
+        "shard.datasources[0].username=sa",
+        "shard.datasources[1].url=jdbc:h2:mem:SHARD_ORDER_1;MODE=MYSQL;DB_CLOSE_DELAY=-1;NON_KEYWORDS=USER",
+        "shard.datasources[1].username=sa",
+        "stock.reservation.enabled=false",
+        "shard.commit.grace-seconds=0",
+        "shard.commit.reconcile-millis=3600000",
+        "commerce.id.node-id=7"
+})
+class ShardDataSourceConfigTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    @Qualifier("orderDataSource")
+    private DataSource orderDataSource;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private OrderBatchServiceImpl orderBatchServiceImpl;
+
+    @Autowired
+    private ShardCommitReconciler shardCommitReconciler;
+
+    private ShardRoutingDataSource shardRoutingDataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        shardRoutingDataSource = orderDataSource.unwrap(ShardRoutingDataSource.class);
+    }
+
+    @Test
+    @DisplayName("주문은 회원의 샤드에 저장하고, 상품과 회원은 공통 DB 하나만 사용하여 여러 샤드의 주문을 완료해도 같은 재고를 차감한다. 주문 id 는 commerce.id.node-id 를 사용한다.")
+    void completeOrdersOnEachShardWithGlobalStock() {
+        // given
+        Long firstOrderId = saveOrder(findMemberId(0));
+        Long secondOrderId = saveOrder(findMemberId(1));
+        JdbcTemplate global = new JdbcTemplate(dataSource);
+        int stockQuantity = global.queryForObject("select stock_quantity from ITEM where id = 1", Integer.class);
+
+        // when
+        List<OrderCompleteResultDto> results = orderBatchServiceImpl.completeOrders(List.of(firstOrderId, secondOrderId, -1L));
+
+        // then
+        assertThat(results).extracting(OrderCompleteResultDto::isCompleted).containsExactly(true, true, false);
+        assertThat(global.queryForObject("select stock_quantity from ITEM where id = 1", Integer.class)).isEqualTo(stockQuantity - 2);
+        assertThat(shardOrderIds(0)).containsExactly(firstOrderId);
+        assertThat(shardOrderIds(1)).containsExactly(secondOrderId);
+        assertThat(new JdbcTemplate(shardRoutingDataSource.getShard(1))
+                .queryForObject("select count(*) from DELIVERY where member_id = ?", Long.class, findMemberId(1))).isEqualTo(1L);
+        assertThat(global.queryForList("select table_name from information_schema.tables where table_name = 'ORDERS'")).isEmpty();
+        assertThat(SnowflakeIdGenerator.extractNodeId(firstOrderId)).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("주문 샤드 커밋에 실패하여 커밋 표시가 없는 주문 완료는 공통 DB 에서 차감한 재고를 복구하고, 커밋 표시가 있는 기록은 표시와 함께 삭제한다.")
+    void reconcileUncommittedShardCompletion() {
+        // given
+        Long memberId = findMemberId(1);
+        Long orderId = saveOrder(memberId);
+        JdbcTemplate global = new JdbcTemplate(dataSource);
+        JdbcTemplate secondShard = new JdbcTemplate(shardRoutingDataSource.getShard(1));
+        int stockQuantity = global.queryForObject("select stock_quantity from ITEM where id = 1", Integer.class);
+        orderBatchServiceImpl.completeOrders(List.of(orderId));
+        Long shardCommitId = global.queryForObject("select max(id) from SHARD_COMMIT where shard_id = 1", Long.class);
+        assertThat(secondShard.queryForObject("select count(*) from SHARD_COMMIT_MARKER where id = ?", Long.class, shardCommitId)).isEqualTo(1L);
+
+        // 공통 DB 만 커밋되고 1번 샤드는 롤백된 상태로 되돌린다
+        secondShard.update("delete from MEMBER_ORDER_VIEW where order_id = ?", orderId);
+        secondShard.update("delete from DELIVERY where order_id = ?", orderId);
+        secondShard.update("update ORDERS set status = 'PREPARATION' where id = ?", orderId);
+        secondShard.update("delete from SHARD_COMMIT_MARKER where id = ?", shardCommitId);
+
+        // when
+        shardCommitReconciler.reconcile();
+
+        // then
+        assertThat(global.queryForObject("select stock_quantity from ITEM where id = 1", Integer.class)).isEqualTo(stockQuantity);
+        assertThat(global.queryForObject("select count(*) from SHARD_COMMIT", Long.class)).isZero();
+        assertThat(secondShard.queryForObject("select count(*) from SHARD_COMMIT_MARKER", Long.class)).isZero();
+        assertThat(new JdbcTemplate(shardRoutingDataSource.getShard(0)).queryForObject("select count(*) from SHARD_COMMIT_MARKER", Long.class)).isZero();
+    }
+
+    /**
+     * import.sql 의 회원 중 지정한 샤드의 회원 번호
+     */
+    private Long findMemberId(int shardId) {
+        return new JdbcTemplate(dataSource).queryForList("select id from MEMBER order by id", Long.class).stream()
+                .filter(memberId -> shardRouter.shardOf(memberId) == shardId)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private Long saveOrder(Long memberId) {
+        return transactionTemplate.execute(status -> {
+            shardRouter.bind(memberId);
+            Order order = orderRepository.save(Order.builder()
+                    .memberId(memberId)
+                    .name("test product")
+                    .totalPrice(8000)
+                    .build());
+            orderItemRepository.save(OrderItem.builder()
+                    .order(order)
+                    .itemId(1L)
+                    .price(Price.builder().defaultPrice(8000).salePrice(8000).discountMethod(NO_DISCOUNT).build())
+                    .supplyPrice(6000)
+                    .userPurchaseQuantity(1)
+                    .itemUsedQuantity(1)
+                    .build());
+            return order.getId();
+        });
+    }
+
+    private List<Long> shardOrderIds(int shardId) {
+        return new JdbcTemplate(shardRoutingDataSource.getShard(shardId)).queryForList("select id from ORDERS where status = 'COMPLETED'", Long.class);
+    }
+}
@@ -0,0 +1,105 @@
+package com.commerce.global.common.datasource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ShardRoutingDataSourceTest {
+
+    private final ShardRouter shardRouter = new ShardRouter(true, 2);
+    private DataSource firstShard;
+    private DataSource secondShard;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        firstShard = createShard("shard_0");
+        secondShard = createShard("shard_1");
+        DataSource dataSource = new LazyConnectionDataSourceProxy(new ShardRoutingDataSource(List.of(firstShard, secondShard)));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @Test
+    @DisplayName("트랜잭션 안에서 지정한 회원의 샤드 DB 에만 쓰고, 트랜잭션이 끝나면 샤드 지정이 해제된다.")
+    void routeToMemberShard() {
+        // given
+        Long firstMemberId = findMemberId(0);
+        Long secondMemberId = findMemberId(1);
+
+        // when
+        insertOrder(firstMemberId, 1L);
+        insertOrder(secondMemberId, 2L);
+
+        // then
+        assertThat(new JdbcTemplate(firstShard).queryForList("select id from ORDERS", Long.class)).containsExactly(1L);
+        assertThat(new JdbcTemplate(secondShard).queryForList("select id from ORDERS", Long.class)).containsExactly(2L);
+        assertThat(ShardContextHolder.getShardId()).isNull();
+    }
+
+    @Test
+    @DisplayName("한 트랜잭션에서 다른 샤드의 회원을 지정하면 예외가 발생하고, 트랜잭션 밖에서는 지정할 수 없다.")
+    void bindOtherShardInSameTransaction() {
+        // given
+        Long firstMemberId = findMemberId(0);
+        Long secondMemberId = findMemberId(1);
+
+        // when, then
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> {
+            shardRouter.bind(firstMemberId);
+            shardRouter.bind(secondMemberId);
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(ShardContextHolder.getShardId()).isNull();
+        assertThatThrownBy(() -> shardRouter.bind(firstMemberId)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("샤드를 지정하지 않은 트랜잭션에서는 쿼리할 수 없고, 샤드별 작업은 지정한 샤드에서 실행된 뒤 지정이 해제된다.")
+    void runOnShard() {
+        // when, then
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.update("insert into ORDERS (id, member_id) values (?, ?)", 1L, 1L)))
+                .isInstanceOf(IllegalStateException.class);
+
+        shardRouter.runOnShard(1, () -> transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.update("insert into ORDERS (id, member_id) values (?, ?)", 2L, 1L)));
+        assertThat(new JdbcTemplate(firstShard).queryForList("select id from ORDERS", Long.class)).isEmpty();
+        assertThat(new JdbcTemplate(secondShard).queryForList("select id from ORDERS", Long.class)).containsExactly(2L);
+        assertThat(ShardContextHolder.getShardId()).isNull();
+    }
+
+    private void insertOrder(Long memberId, Long orderId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            shardRouter.bind(memberId);
+            jdbcTemplate.update("insert into ORDERS (id, member_id) values (?, ?)", orderId, memberId);
+        });
+    }
+
+    private Long findMemberId(int shardId) {
+        for (long memberId = 1; ; memberId++) {
+            if (shardRouter.shardOf(memberId) == shardId) {
+                return memberId;
+            }
+        }
+    }
+
+    private DataSource createShard(String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate shardJdbcTemplate = new JdbcTemplate(dataSource);
+        shardJdbcTemplate.execute("drop table if exists ORDERS");
+        shardJdbcTemplate.execute("create table ORDERS (id bigint primary key, member_id bigint not null)");
+        return dataSource;
+    }
+}
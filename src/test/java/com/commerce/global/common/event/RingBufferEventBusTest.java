@@ -0,0 +1,103 @@
+package com.commerce.global.common.event;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RingBufferEventBusTest {
+
+    @Test
+    @DisplayName("consumer 마다 발행된 모든 이벤트를 발행 순서대로 받는다.")
+    void publishToAllConsumersInOrder() throws InterruptedException {
+        // given
+        RecordingHandler first = new RecordingHandler(new CountDownLatch(0));
+        RecordingHandler second = new RecordingHandler(new CountDownLatch(0));
+        RingBufferEventBus eventBus = new RingBufferEventBus(8, WaitStrategy.BLOCKING, 1000, List.of(first, second));
+        eventBus.start();
+
+        // when
+        for (long i = 0; i < 100; i++) {
+            assertThat(eventBus.publish(i)).isTrue();
+        }
+        eventBus.stop();
+
+        // then
+        List<Long> expected = new ArrayList<>();
+        for (long i = 0; i < 100; i++) {
+            expected.add(i);
+        }
+        assertThat(first.events).containsExactlyElementsOf(expected);
+        assertThat(second.events).containsExactlyElementsOf(expected);
+        assertThat(eventBus.getMetrics().getPublishedCount()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("가장 느린 consumer 가 버퍼를 다 채우면 기다렸다가 버리고, backpressure 지표에 남긴다.")
+    void dropWhenBufferIsFull() throws InterruptedException {
+        // given
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingHandler slow = new RecordingHandler(release);
+        RingBufferEventBus eventBus = new RingBufferEventBus(4, WaitStrategy.SLEEPING, 10, List.of(slow));
+        eventBus.start();
+
+        // when
+        List<Boolean> results = new ArrayList<>();
+        for (long i = 0; i < 6; i++) {
+            results.add(eventBus.publish(i));
+        }
+        EventBusMetrics metrics = eventBus.getMetrics();
+        release.countDown();
+        eventBus.stop();
+
+        // then
+        assertThat(results).containsExactly(true, true, true, true, false, false);
+        assertThat(metrics.getDroppedCount()).isEqualTo(2);
+        assertThat(metrics.getBackpressureCount()).isEqualTo(2);
+        assertThat(metrics.getRemainingCapacity()).isZero();
+        assertThat(metrics.getConsumers().get(0).getLag()).isEqualTo(4);
+        assertThat(slow.events).containsExactly(0L, 1L, 2L, 3L);
+    }
+
+    @Test
+    @DisplayName("버퍼 크기가 2의 거듭제곱이 아니면 생성할 수 없다.")
+    void bufferSizeMustBePowerOfTwo() {
+        assertThatThrownBy(() -> new RingBufferEventBus(100, WaitStrategy.BUSY_SPIN, 10, Collections.emptyList()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * 첫 이벤트를 받은 뒤 release 될 때까지 멈춰있는 handler
+     */
+    private static class RecordingHandler implements DomainEventHandler {
+
+        private final CountDownLatch release;
+        private final List<Object> events = Collections.synchronizedList(new ArrayList<>());
+
+        RecordingHandler(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public boolean supports(Object event) {
+            return event instanceof Long;
+        }
+
+        @Override
+        public void handle(Object event) {
+            events.add(event);
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.commerce.global.common.filter;
+
+import com.commerce.global.common.domain.IdempotencyKey;
+import com.commerce.global.common.service.IdempotencyKeyServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.FilterChain;
+import javax.servlet.http.HttpServletResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.commerce.global.common.constants.CommonConstants.IDEMPOTENCY_KEY_HEADER;
+import static com.commerce.global.common.constants.CommonConstants.IDEMPOTENT_REPLAYED_HEADER;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyKeyFilterTest {
+
+    private static final String EMPTY_BODY_HASH = "e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855";
+
+    @Mock
+    private IdempotencyKeyServiceImpl idempotencyKeyServiceImpl;
+
+    private IdempotencyKeyFilter idempotencyKeyFilter;
+
+    @BeforeEach
+    void setUp() {
+        given(idempotencyKeyServiceImpl.getTtlSeconds()).willReturn(60L);
+        given(idempotencyKeyServiceImpl.getLeaseSeconds()).willReturn(60L);
+        idempotencyKeyFilter = new IdempotencyKeyFilter(idempotencyKeyServiceImpl, new ObjectMapper(), 100, 1000, 20000);
+    }
+
+    @Test
+    @DisplayName("같은 Idempotency-Key 로 다시 들어온 요청은 처리하지 않고 먼저 처리한 응답을 그대로 돌려준다.")
+    void replayCompletedResponse() throws Exception {
+        // given
+        AtomicInteger executions = new AtomicInteger();
+        FilterChain filterChain = (request, response) -> {
+            executions.incrementAndGet();
+            response.setContentType("application/json");
+            response.getWriter().write("{\"status\":200}");
+        };
+        given(idempotencyKeyServiceImpl.begin(anyString(), anyString(), anyString(), anyString())).willReturn(Optional.empty());
+
+        // when
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        idempotencyKeyFilter.doFilter(orderRequest("key-1"), first, filterChain);
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        idempotencyKeyFilter.doFilter(orderRequest("key-1"), second, filterChain);
+
+        // then
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(second.getStatus()).isEqualTo(200);
+        assertThat(second.getContentAsString()).isEqualTo(first.getContentAsString());
+        assertThat(second.getHeader(IDEMPOTENT_REPLAYED_HEADER)).isEqualTo("true");
+        verify(idempotencyKeyServiceImpl, times(1)).begin(anyString(), anyString(), anyString(), anyString());
+        verify(idempotencyKeyServiceImpl).complete(anyString(), anyInt(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("메모리에 없는 키라도 테이블에 처리 완료로 저장되어 있으면 저장된 응답을 돌려준다.")
+    void replayStoredResponse() throws Exception {
+        // given
+        IdempotencyKey storedKey = IdempotencyKey.builder()
+                .key("anonymous:key-1")
+                .requestMethod("POST")
+                .requestUri("/v1/order")
+                .requestHash(EMPTY_BODY_HASH)
+                .expiredAt(LocalDateTime.now().plusMinutes(1))
+                .leaseExpiredAt(LocalDateTime.now().plusSeconds(10))
+                .build();
+        storedKey.complete(200, "application/json", "{\"status\":200}");
+        given(idempotencyKeyServiceImpl.begin(anyString(), anyString(), anyString(), anyString())).willReturn(Optional.of(storedKey));
+        AtomicInteger executions = new AtomicInteger();
+
+        // when
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        idempotencyKeyFilter.doFilter(orderRequest("key-1"), response, (req, res) -> executions.incrementAndGet());
+
+        // then
+        assertThat(executions.get()).isZero();
+        assertThat(response.getContentAsString()).isEqualTo("{\"status\":200}");
+    }
+
+    @Test
+    @DisplayName("5xx 로 끝난 요청은 저장하지 않고 같은 키로 다시 처리한다.")
+    void retryFailedResponse() throws Exception {
+        // given
+        AtomicInteger executions = new AtomicInteger();
+        FilterChain filterChain = (request, response) -> {
+            if (executions.incrementAndGet() == 1) {
+                ((HttpServletResponse) response).setStatus(500);
+            }
+        };
+        given(idempotencyKeyServiceImpl.begin(anyString(), anyString(), anyString(), anyString())).willReturn(Optional.empty());
+
+        // when
+        idempotencyKeyFilter.doFilter(orderRequest("key-1"), new MockHttpServletResponse(), filterChain);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        idempotencyKeyFilter.doFilter(orderRequest("key-1"), response, filterChain);
+
+        // then
+        assertThat(executions.get()).isEqualTo(2);
+        assertThat(response.getStatus()).isEqualTo(200);
+        verify(idempotencyKeyServiceImpl).remove("anonymous:key-1");
+    }
+
+    @Test
+    @DisplayName("다른 요청에 사용한 키로 요청하면 처리하지 않는다.")
+    void rejectKeyReusedForOtherRequest() throws Exception {
+        // given
+        given(idempotencyKeyServiceImpl.begin(anyString(), anyString(), anyString(), anyString())).willReturn(Optional.empty());
+        idempotencyKeyFilter.doFilter(orderRequest("key-1"), new MockHttpServletResponse(), (req, res) -> { });
+        MockHttpServletRequest otherRequest = new MockHttpServletRequest("PUT", "/v1/order/1");
+        otherRequest.addHeader(IDEMPOTENCY_KEY_HEADER, "key-1");
+        AtomicInteger executions = new AtomicInteger();
+
+        // when
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        idempotencyKeyFilter.doFilter(otherRequest, response, (req, res) -> executions.incrementAndGet());
+
+        // then
+        assertThat(executions.get()).isZero();
+        assertThat(response.getStatus()).isEqualTo(400);
+        verify(idempotencyKeyServiceImpl, never()).remove(anyString());
+    }
+
+    @Test
+    @DisplayName("같은 키로 요청 본문이 다른 요청이 들어오면 처리하지 않고 422 로 응답한다.")
+    void rejectKeyReusedForOtherBody() throws Exception {
+        // given
+        given(idempotencyKeyServiceImpl.begin(anyString(), anyString(), anyString(), anyString())).willReturn(Optional.empty());
+        MockHttpServletRequest request = orderRequest("key-1");
+        request.setContent("{\"quantity\":1}".getBytes(StandardCharsets.UTF_8));
+        idempotencyKeyFilter.doFilter(request, new MockHttpServletResponse(), (req, res) -> req.getInputStream().readAllBytes());
+        MockHttpServletRequest otherRequest = orderRequest("key-1");
+        otherRequest.setContent("{\"quantity\":2}".getBytes(StandardCharsets.UTF_8));
+        AtomicInteger executions = new AtomicInteger();
+
+        // when
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        idempotencyKeyFilter.doFilter(otherRequest, response, (req, res) -> executions.incrementAndGet());
+
+        // then
+        assertThat(executions.get()).isZero();
+        assertThat(response.getStatus()).isEqualTo(422);
+    }
+
+    @Test
+    @DisplayName("요청을 처리하는 동안에는 처리중인 키의 처리중 기한을 연장하고, 처리가 끝난 키는 연장하지 않는다.")
+    void renewLeaseWhileExecuting() throws Exception {
+        // given
+        given(idempotencyKeyServiceImpl.begin(anyString(), anyString(), anyString(), anyString())).willReturn(Optional.empty());
+
+        // when
+        idempotencyKeyFilter.doFilter(orderRequest("key-1"), new MockHttpServletResponse(), (req, res) -> idempotencyKeyFilter.renewLeases());
+        idempotencyKeyFilter.renewLeases();
+
+        // then
+        verify(idempotencyKeyServiceImpl, times(1)).renewLeases(List.of("anonymous:key-1"));
+    }
+
+    private MockHttpServletRequest orderRequest(String idempotencyKey) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/v1/order");
+        request.addHeader(IDEMPOTENCY_KEY_HEADER, idempotencyKey);
+        return request;
+    }
+}
@@ -0,0 +1,58 @@
+package com.commerce.global.common.service;
+
+import com.commerce.global.common.config.TestJPAQueryFactoryConfig;
+import com.commerce.global.common.domain.IdempotencyKey;
+import com.commerce.global.common.domain.IdempotencyKeyRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace.NONE;
+
+@DataJpaTest
+@Import(TestJPAQueryFactoryConfig.class)
+@AutoConfigureTestDatabase(replace = NONE)
+class IdempotencyKeyServiceImplTest {
+
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Test
+    @DisplayName("처리중 기한이 남은 키는 처리중인 키를 반환하고 다시 처리하지 않는다.")
+    void beginInProgressKey() {
+        // given
+        IdempotencyKeyServiceImpl idempotencyKeyServiceImpl = new IdempotencyKeyServiceImpl(idempotencyKeyRepository, 60, 60);
+        idempotencyKeyServiceImpl.begin("anonymous:key-1", "POST", "/v1/order", "hash-1");
+
+        // when
+        Optional<IdempotencyKey> storedKey = idempotencyKeyServiceImpl.begin("anonymous:key-1", "POST", "/v1/order", "hash-1");
+
+        // then
+        assertThat(storedKey).isPresent();
+        assertThat(storedKey.get().isCompleted()).isFalse();
+    }
+
+    @Test
+    @DisplayName("처리중 기한이 지난 키는 같은 요청이 이어받아 처리하고, 다른 요청이나 다른 요청 본문에 사용된 키는 이어받지 않는다.")
+    void takeOverLeaseExpiredKey() {
+        // given
+        IdempotencyKeyServiceImpl idempotencyKeyServiceImpl = new IdempotencyKeyServiceImpl(idempotencyKeyRepository, 60, 0);
+        idempotencyKeyServiceImpl.begin("anonymous:key-1", "POST", "/v1/order", "hash-1");
+
+        // when
+        Optional<IdempotencyKey> otherRequest = idempotencyKeyServiceImpl.begin("anonymous:key-1", "PUT", "/v1/order/1", "hash-1");
+        Optional<IdempotencyKey> otherBody = idempotencyKeyServiceImpl.begin("anonymous:key-1", "POST", "/v1/order", "hash-2");
+        Optional<IdempotencyKey> retry = idempotencyKeyServiceImpl.begin("anonymous:key-1", "POST", "/v1/order", "hash-1");
+
+        // then
+        assertThat(otherRequest).isPresent();
+        assertThat(otherBody).isPresent();
+        assertThat(retry).isEmpty();
+    }
+}
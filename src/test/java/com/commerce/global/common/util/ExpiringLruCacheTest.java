@@ -0,0 +1,88 @@
+package com.commerce.global.common.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExpiringLruCacheTest {
+
+    @Test
+    @DisplayName("최대 크기를 넘으면 가장 오래 사용되지 않은 값부터 제거한다.")
+    void evictLeastRecentlyUsed() {
+        // given
+        ExpiringLruCache<String, Integer> cache = new ExpiringLruCache<>(2, 1000, () -> 0L);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.get("a");
+
+        // when
+        cache.put("c", 3);
+
+        // then
+        assertThat(cache.get("a")).isEqualTo(1);
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("c")).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("만료 시간이 지난 값은 조회되지 않고, 같은 키로 다시 저장할 수 있다.")
+    void expire() {
+        // given
+        AtomicLong now = new AtomicLong();
+        ExpiringLruCache<String, Integer> cache = new ExpiringLruCache<>(10, 1000, now::get);
+        cache.put("a", 1);
+
+        // when, then
+        assertThat(cache.putIfAbsent("a", 2)).isEqualTo(1);
+        now.set(1000);
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.putIfAbsent("a", 2)).isNull();
+        assertThat(cache.get("a")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("만료된 값을 한번에 제거한다.")
+    void purgeExpired() {
+        // given
+        AtomicLong now = new AtomicLong();
+        ExpiringLruCache<String, Integer> cache = new ExpiringLruCache<>(10, 1000, now::get);
+        cache.put("a", 1);
+        now.set(500);
+        cache.put("b", 2);
+
+        // when
+        now.set(1200);
+        int purged = cache.purgeExpired();
+
+        // then
+        assertThat(purged).isEqualTo(1);
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.get("b")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("조회 적중/실패 횟수와 크기 초과, 만료로 제거된 값 수를 센다.")
+    void metrics() {
+        // given
+        AtomicLong now = new AtomicLong();
+        ExpiringLruCache<String, Integer> cache = new ExpiringLruCache<>(1, 1000, now::get);
+        cache.put("a", 1);
+        cache.put("b", 2);
+
+        // when
+        cache.get("a");
+        cache.get("b");
+        now.set(1000);
+        cache.get("b");
+
+        // then
+        CacheMetrics metrics = cache.getMetrics();
+        assertThat(metrics.getHitCount()).isEqualTo(1);
+        assertThat(metrics.getMissCount()).isEqualTo(2);
+        assertThat(metrics.getEvictionCount()).isEqualTo(2);
+        assertThat(metrics.getSize()).isZero();
+    }
+}
@@ -0,0 +1,101 @@
+package com.commerce.global.common.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.commerce.global.common.util.SnowflakeIdGenerator.EPOCH_MILLIS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SnowflakeIdGeneratorTest {
+
+    @Test
+    @DisplayName("id 에 생성 시각과 노드 id 가 담기고, 같은 millis 안에서는 순번이 증가한다.")
+    void nextIdContainsTimestampAndNodeId() {
+        // given
+        AtomicLong clock = new AtomicLong(EPOCH_MILLIS + 1000);
+        SnowflakeIdGenerator idGenerator = new SnowflakeIdGenerator(7, 10, clock::get);
+
+        // when
+        long first = idGenerator.nextId();
+        long second = idGenerator.nextId();
+
+        // then
+        assertThat(SnowflakeIdGenerator.extractTimestamp(first)).isEqualTo(EPOCH_MILLIS + 1000);
+        assertThat(SnowflakeIdGenerator.extractNodeId(first)).isEqualTo(7);
+        assertThat(second).isEqualTo(first + 1);
+    }
+
+    @Test
+    @DisplayName("한 millis 의 순번을 다 쓰면 다음 millis 를 이어서 사용한다.")
+    void sequenceOverflowMovesToNextMillis() {
+        // given
+        AtomicLong clock = new AtomicLong(EPOCH_MILLIS + 1000);
+        SnowflakeIdGenerator idGenerator = new SnowflakeIdGenerator(1, 10, clock::get);
+
+        // when
+        long last = 0;
+        for (int i = 0; i <= 4096; i++) {
+            long id = idGenerator.nextId();
+            assertThat(id).isGreaterThan(last);
+            last = id;
+        }
+
+        // then
+        assertThat(SnowflakeIdGenerator.extractTimestamp(last)).isEqualTo(EPOCH_MILLIS + 1001);
+    }
+
+    @Test
+    @DisplayName("시계가 허용 범위 안에서 뒤로 가면 마지막 시각을 이어서 사용하고, 범위를 넘으면 예외가 발생한다.")
+    void clockMovedBackwards() {
+        // given
+        AtomicLong clock = new AtomicLong(EPOCH_MILLIS + 1000);
+        SnowflakeIdGenerator idGenerator = new SnowflakeIdGenerator(1, 10, clock::get);
+        long first = idGenerator.nextId();
+
+        // when
+        clock.set(EPOCH_MILLIS + 995);
+        long second = idGenerator.nextId();
+
+        // then
+        assertThat(second).isGreaterThan(first);
+        clock.set(EPOCH_MILLIS + 990);
+        assertThatThrownBy(idGenerator::nextId).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("여러 스레드에서 동시에 생성해도 id 가 겹치지 않는다.")
+    void nextIdConcurrently() throws InterruptedException {
+        // given
+        SnowflakeIdGenerator idGenerator = new SnowflakeIdGenerator(1, 5000);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+
+        // when
+        for (int i = 0; i < 8; i++) {
+            executorService.submit(() -> {
+                for (int j = 0; j < 10000; j++) {
+                    ids.add(idGenerator.nextId());
+                }
+            });
+        }
+        executorService.shutdown();
+        executorService.awaitTermination(10, TimeUnit.SECONDS);
+
+        // then
+        assertThat(ids).hasSize(80000);
+    }
+
+    @Test
+    @DisplayName("노드 id 는 0 ~ 1023 사이여야 한다.")
+    void nodeIdOutOfRange() {
+        assertThatThrownBy(() -> new SnowflakeIdGenerator(1024, 10)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
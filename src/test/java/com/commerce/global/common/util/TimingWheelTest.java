@@ -0,0 +1,37 @@
+package com.commerce.global.common.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimingWheelTest {
+
+    @Test
+    @DisplayName("만료 시각이 지난 값만 꺼내고, 휠을 한바퀴 이상 도는 값은 만료 시각까지 남겨둔다.")
+    void advanceExpiredOnly() {
+        // given
+        TimingWheel<Long> timingWheel = new TimingWheel<>(100, 4, 0);
+        timingWheel.schedule(1L, 200);
+        timingWheel.schedule(2L, 300);
+        timingWheel.schedule(3L, 700);
+
+        // when, then
+        assertThat(timingWheel.advance(250)).containsExactly(1L);
+        assertThat(timingWheel.advance(500)).containsExactly(2L);
+        assertThat(timingWheel.size()).isEqualTo(1);
+        assertThat(timingWheel.advance(700)).containsExactly(3L);
+    }
+
+    @Test
+    @DisplayName("이미 지난 만료 시각으로 등록한 값은 다음 tick 에 꺼낸다.")
+    void schedulePastDeadline() {
+        // given
+        TimingWheel<Long> timingWheel = new TimingWheel<>(100, 4, 1000);
+        timingWheel.schedule(1L, 500);
+
+        // when, then
+        assertThat(timingWheel.advance(1050)).isEmpty();
+        assertThat(timingWheel.advance(1100)).containsExactly(1L);
+    }
+}
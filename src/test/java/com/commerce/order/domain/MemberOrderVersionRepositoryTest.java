@@ -0,0 +1,40 @@
+package com.commerce.order.domain;
+
+import com.commerce.global.common.config.TestJPAQueryFactoryConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace.NONE;
+
+@DataJpaTest
+@Import(TestJPAQueryFactoryConfig.class)
+@AutoConfigureTestDatabase(replace = NONE)
+class MemberOrderVersionRepositoryTest {
+
+    @Autowired
+    private MemberOrderVersionRepository memberOrderVersionRepository;
+
+    @Test
+    @DisplayName("회원 버전은 행이 없으면 0 이고, 회원 버전이나 샤드 전체 버전을 올리면 커진다.")
+    void increaseVersion() {
+        // given
+        long initialVersion = memberOrderVersionRepository.findVersion(1L);
+
+        // when
+        memberOrderVersionRepository.increaseVersion(1L);
+        long memberVersion = memberOrderVersionRepository.findVersion(1L);
+        memberOrderVersionRepository.increaseVersion(1L);
+        memberOrderVersionRepository.increaseVersion(MemberOrderVersion.ALL_MEMBERS_ID);
+
+        // then
+        assertThat(initialVersion).isZero();
+        assertThat(memberVersion).isEqualTo(1L);
+        assertThat(memberOrderVersionRepository.findVersion(1L)).isEqualTo(3L);
+        assertThat(memberOrderVersionRepository.findVersion(2L)).isEqualTo(1L);
+    }
+}
@@ -0,0 +1,104 @@
+package com.commerce.order.domain;
+
+import com.commerce.delivery.domain.Delivery;
+import com.commerce.global.common.config.TestJPAQueryFactoryConfig;
+import com.commerce.order.dto.OrderResponseDto;
+import com.commerce.user.domain.Member;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.commerce.delivery.domain.Delivery.DeliveryStatus.CANCELED;
+import static com.commerce.delivery.domain.Delivery.DeliveryStatus.STAND_BY;
+import static com.commerce.order.domain.Order.OrderStatus.COMPLETED;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace.NONE;
+
+@DataJpaTest
+@Import(TestJPAQueryFactoryConfig.class)
+@AutoConfigureTestDatabase(replace = NONE)
+class MemberOrderViewRepositoryTest {
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private MemberOrderViewRepository memberOrderViewRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Test
+    @DisplayName("원본 테이블로 다시 채운 주문 목록 조회 테이블은 원본 테이블을 join 하여 조회한 주문 목록과 같다.")
+    void insertAllFromOrdersSameAsJoinedOrders() {
+        // given
+        Member member = testEntityManager.find(Member.class, 1L);
+        for (int i = 0; i < 3; i++) {
+            persistDelivery(member);
+        }
+        persistDelivery(testEntityManager.find(Member.class, 2L));
+        testEntityManager.flush();
+        testEntityManager.clear();
+        List<OrderResponseDto> expected = orderRepository.findOrderResponsesByMemberIdAfterCursor(member.getId(), null, 10);
+
+        // when
+        memberOrderViewRepository.deleteAllInBatch();
+        int inserted = memberOrderViewRepository.insertAllFromOrders();
+        List<OrderResponseDto> orders = toOrderResponseDtos(memberOrderViewRepository.findAllByMemberIdOrderByOrderIdAsc(member.getId(), PageRequest.of(0, 10)));
+
+        // then
+        assertThat(inserted).isEqualTo(4);
+        assertThat(orders).usingRecursiveFieldByFieldElementComparator().containsExactlyInAnyOrderElementsOf(expected);
+        assertThat(orders).extracting(OrderResponseDto::getId).isSorted();
+    }
+
+    @Test
+    @DisplayName("주문 목록 조회 테이블의 행은 새로 추가할 때 select 없이 저장하고, 주문과 배송 상태가 바뀌면 상태만 갱신한다.")
+    void saveAndUpdateView() {
+        // given
+        Delivery delivery = persistDelivery(testEntityManager.find(Member.class, 1L));
+        delivery.getOrder().updateOrderStatus(COMPLETED);
+        memberOrderViewRepository.save(new MemberOrderView(delivery));
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        // when
+        MemberOrderView view = memberOrderViewRepository.findById(delivery.getOrder().getId()).orElseThrow();
+        delivery.updateDeliveryStatus(CANCELED);
+        view.update(delivery);
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        // then
+        MemberOrderView updated = memberOrderViewRepository.findById(delivery.getOrder().getId()).orElseThrow();
+        assertThat(updated.getStatus()).isEqualTo(COMPLETED);
+        assertThat(updated.getDeliveryStatus()).isEqualTo(CANCELED);
+        assertThat(updated.getDeliveryId()).isEqualTo(delivery.getId());
+    }
+
+    private Delivery persistDelivery(Member member) {
+        Order order = testEntityManager.persist(Order.builder()
+                .memberId(member.getId())
+                .name("test product")
+                .totalPrice(10000)
+                .build());
+        return testEntityManager.persist(Delivery.builder()
+                .memberId(member.getId())
+                .order(order)
+                .address(member.getAddress())
+                .status(STAND_BY)
+                .build());
+    }
+
+    private List<OrderResponseDto> toOrderResponseDtos(List<MemberOrderView> views) {
+        return views.stream().map(MemberOrderView::toOrderResponseDto).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,128 @@
+package com.commerce.order.domain;
+
+import com.commerce.delivery.domain.Delivery;
+import com.commerce.global.common.config.TestJPAQueryFactoryConfig;
+import com.commerce.order.dto.OrderResponseDto;
+import com.commerce.user.domain.Member;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static com.commerce.delivery.domain.Delivery.DeliveryStatus.STAND_BY;
+import static com.commerce.delivery.domain.QDelivery.delivery;
+import static com.commerce.order.domain.QOrder.order;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace.NONE;
+
+/**
+ * 주문 목록 조회 벤치마크 (엔티티 조회 후 DTO 변환 vs DTO Projections 조회)
+ * 엔티티 조회는 findOrderResponsesByMemberIdAfterCursor 의 첫 페이지와 같은 조건으로 주문과 배송을 fetch join 하여 조회한다.
+ * 기본 test 에서는 제외되며 ./gradlew benchmark 로 실행한다.
+ */
+@Slf4j
+@Tag("benchmark")
+@DataJpaTest
+@Import(TestJPAQueryFactoryConfig.class)
+@AutoConfigureTestDatabase(replace = NONE)
+class OrderHistoryReadBenchmarkTest {
+
+    private static final int ORDER_COUNT = 100;
+    private static final int WARM_UP_ITERATIONS = 50;
+    private static final int ITERATIONS = 300;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private JPAQueryFactory queryFactory;
+
+    @Test
+    @DisplayName("주문 목록 조회 시 DTO Projections 조회와 엔티티 조회의 응답 시간과 메모리 할당량을 비교한다.")
+    void compareEntityAndProjectionRead() {
+        // given
+        Member member = testEntityManager.find(Member.class, 1L);
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            Order persistedOrder = testEntityManager.persist(Order.builder()
+                    .memberId(member.getId())
+                    .name("test product " + i)
+                    .totalPrice(10000)
+                    .build());
+            testEntityManager.persist(Delivery.builder()
+                    .memberId(member.getId())
+                    .order(persistedOrder)
+                    .address(member.getAddress())
+                    .status(STAND_BY)
+                    .build());
+        }
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        Supplier<List<OrderResponseDto>> entityRead = () -> queryFactory.selectFrom(order)
+                .join(order.delivery, delivery).fetchJoin()
+                .where(order.memberId.eq(member.getId())
+                        , order.activated.eq(true)
+                        , delivery.activated.eq(true))
+                .orderBy(order.createdAt.desc(), order.id.desc())
+                .limit(ORDER_COUNT)
+                .fetch()
+                .stream().map(OrderResponseDto::new).collect(Collectors.toList());
+        Supplier<List<OrderResponseDto>> projectionRead = () -> orderRepository.findOrderResponsesByMemberIdAfterCursor(member.getId(), null, ORDER_COUNT);
+
+        // when
+        Result entityResult = measure(entityRead);
+        Result projectionResult = measure(projectionRead);
+
+        // then
+        log.info("[order history read] entity: {} us/op, {} bytes/op", String.format("%.1f", entityResult.nanosPerOp / 1000.0), entityResult.bytesPerOp);
+        log.info("[order history read] projection: {} us/op, {} bytes/op", String.format("%.1f", projectionResult.nanosPerOp / 1000.0), projectionResult.bytesPerOp);
+        assertThat(projectionRead.get()).extracting(OrderResponseDto::getId)
+                .containsExactlyElementsOf(entityRead.get().stream().map(OrderResponseDto::getId).collect(Collectors.toList()));
+    }
+
+    private Result measure(Supplier<List<OrderResponseDto>> read) {
+        for (int i = 0; i < WARM_UP_ITERATIONS; i++) {
+            read.get();
+            testEntityManager.clear();
+        }
+
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long totalNanos = 0;
+        long totalBytes = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long startBytes = threadMXBean.getThreadAllocatedBytes(threadId);
+            long startNanos = System.nanoTime();
+            read.get();
+            totalNanos += System.nanoTime() - startNanos;
+            totalBytes += threadMXBean.getThreadAllocatedBytes(threadId) - startBytes;
+            testEntityManager.clear();
+        }
+        return new Result(totalNanos / ITERATIONS, totalBytes / ITERATIONS);
+    }
+
+    private static class Result {
+
+        private final long nanosPerOp;
+        private final long bytesPerOp;
+
+        private Result(long nanosPerOp, long bytesPerOp) {
+            this.nanosPerOp = nanosPerOp;
+            this.bytesPerOp = bytesPerOp;
+        }
+    }
+}
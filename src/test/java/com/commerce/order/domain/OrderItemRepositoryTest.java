@@ -0,0 +1,72 @@
+package com.commerce.order.domain;
+
+import com.commerce.global.common.Price;
+import com.commerce.global.common.config.TestJPAQueryFactoryConfig;
+import com.commerce.user.domain.Member;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.commerce.global.common.Price.DiscountMethod.NO_DISCOUNT;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace.NONE;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(TestJPAQueryFactoryConfig.class)
+@AutoConfigureTestDatabase(replace = NONE)
+class OrderItemRepositoryTest {
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Test
+    @DisplayName("주문과 주문 아이템 50건을 저장하면 insert 가 batch 로 묶여 prepared statement 가 몇 개만 실행된다.")
+    void saveAllOrderItemsBatchInsert() {
+        // given
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // when
+        Order order = orderRepository.save(Order.builder()
+                .memberId(1L)
+                .name("test product")
+                .totalPrice(10000)
+                .build());
+        List<OrderItem> orderItems = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            orderItems.add(OrderItem.builder()
+                    .order(order)
+                    .itemId(1L)
+                    .price(Price.builder().defaultPrice(1000).salePrice(1000).discountMethod(NO_DISCOUNT).build())
+                    .supplyPrice(500)
+                    .userPurchaseQuantity(1)
+                    .itemUsedQuantity(1)
+                    .build());
+        }
+        orderItemRepository.saveAll(orderItems);
+        testEntityManager.flush();
+
+        // then
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(51);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(10);
+    }
+}
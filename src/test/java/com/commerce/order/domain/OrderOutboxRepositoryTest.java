@@ -0,0 +1,70 @@
+package com.commerce.order.domain;
+
+import com.commerce.global.common.config.TestJPAQueryFactoryConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.commerce.order.domain.OrderOutbox.OrderEventType.ORDER_ADDED;
+import static com.commerce.order.domain.OrderOutbox.OrderEventType.ORDER_CANCELED;
+import static com.commerce.order.domain.OrderOutbox.OrderEventType.ORDER_COMPLETED;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace.NONE;
+
+@DataJpaTest
+@Import(TestJPAQueryFactoryConfig.class)
+@AutoConfigureTestDatabase(replace = NONE)
+class OrderOutboxRepositoryTest {
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private OrderOutboxRepository orderOutboxRepository;
+
+    @Test
+    @DisplayName("발행되지 않은 이벤트만 id 순서로 batch 크기만큼 조회한다.")
+    void findUnpublishedInIdOrder() {
+        // given
+        for (long orderId = 1; orderId <= 4; orderId++) {
+            OrderOutbox orderOutbox = testEntityManager.persist(OrderOutbox.builder().orderId(orderId).eventType(ORDER_ADDED).payload("{}").build());
+            if (orderId == 1) {
+                orderOutbox.markPublished(LocalDateTime.now());
+            }
+        }
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        // when
+        List<OrderOutbox> orderOutboxes = orderOutboxRepository.findAllForUpdateByPublishedAtIsNullOrderByIdAsc(PageRequest.of(0, 2));
+
+        // then
+        assertThat(orderOutboxes.stream().map(OrderOutbox::getOrderId).collect(Collectors.toList())).containsExactly(2L, 3L);
+    }
+
+    @Test
+    @DisplayName("이벤트 id 는 insert 전에 할당되고, 주문별 순서는 이벤트 종류에 따라 주문 추가, 완료, 취소 순으로 커진다.")
+    void assignIdBeforeInsertWithOrderSequence() {
+        // given
+        List<OrderOutbox> orderOutboxes = List.of(
+                OrderOutbox.builder().orderId(1L).eventType(ORDER_ADDED).payload("{}").build(),
+                OrderOutbox.builder().orderId(1L).eventType(ORDER_COMPLETED).payload("{}").build(),
+                OrderOutbox.builder().orderId(1L).eventType(ORDER_CANCELED).payload("{}").build());
+
+        // when
+        orderOutboxes.forEach(testEntityManager::persist);
+
+        // then
+        assertThat(orderOutboxes).allSatisfy(orderOutbox -> assertThat(orderOutbox.getId()).isNotNull());
+        assertThat(orderOutboxes).extracting(OrderOutbox::getOrderSequence).containsExactly(1, 2, 3);
+    }
+}
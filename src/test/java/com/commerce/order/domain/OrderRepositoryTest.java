@@ -0,0 +1,251 @@
+package com.commerce.order.domain;
+
+import com.commerce.delivery.domain.Delivery;
+import com.commerce.global.common.config.TestJPAQueryFactoryConfig;
+import com.commerce.global.common.util.SnowflakeIdGenerator;
+import com.commerce.order.dto.OrderCursor;
+import com.commerce.order.dto.OrderExportRowDto;
+import com.commerce.order.dto.OrderResponseDto;
+import com.commerce.product.domain.Item;
+import com.commerce.user.domain.Member;
+import org.hibernate.Session;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.commerce.delivery.domain.Delivery.DeliveryStatus.STAND_BY;
+import static com.commerce.order.domain.Order.OrderStatus.COMPLETED;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace.NONE;
+
+@DataJpaTest
+@Import(TestJPAQueryFactoryConfig.class)
+@AutoConfigureTestDatabase(replace = NONE)
+class OrderRepositoryTest {
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Test
+    @DisplayName("커서로 주문 목록을 나누어 조회하면 한번에 조회한 목록과 같은 순서로 중복 없이 조회된다.")
+    void findAfterCursorPagesInOrder() {
+        // given
+        Member member = testEntityManager.find(Member.class, 1L);
+        Member otherMember = testEntityManager.find(Member.class, 2L);
+        for (int i = 0; i < 5; i++) {
+            persistOrder(member);
+        }
+        persistOrder(otherMember);
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        // when
+        List<Long> allOrderIds = toIds(orderRepository.findOrderResponsesByMemberIdAfterCursor(member.getId(), null, 100));
+        List<Long> pagedOrderIds = new ArrayList<>();
+        OrderCursor cursor = null;
+        List<OrderResponseDto> page;
+        do {
+            page = orderRepository.findOrderResponsesByMemberIdAfterCursor(member.getId(), cursor, 2);
+            pagedOrderIds.addAll(toIds(page));
+            cursor = page.isEmpty() ? null : OrderCursor.decode(OrderCursor.from(page.get(page.size() - 1)).encode());
+        } while (page.size() == 2);
+
+        // then
+        assertThat(allOrderIds).hasSize(5);
+        assertThat(pagedOrderIds).containsExactlyElementsOf(allOrderIds);
+    }
+
+    @Test
+    @DisplayName("주문 내역 내보내기 조회는 같은 주문의 아이템 행을 연속으로 조회하고, 엔티티를 영속성 컨텍스트에 올리지 않는다.")
+    void streamOrderExportRowsGroupedByOrder() {
+        // given
+        Member member = testEntityManager.find(Member.class, 1L);
+        for (int i = 0; i < 3; i++) {
+            Order order = persistOrder(member);
+            for (long itemId = 1; itemId <= 2; itemId++) {
+                testEntityManager.persist(OrderItem.builder()
+                        .order(order)
+                        .itemId(itemId)
+                        .price(testEntityManager.find(Item.class, itemId).getPrice())
+                        .supplyPrice(1000)
+                        .userPurchaseQuantity(1)
+                        .itemUsedQuantity(1)
+                        .build());
+            }
+        }
+        persistOrder(testEntityManager.find(Member.class, 2L));
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        // when
+        List<Long> orderIds;
+        try (Stream<OrderExportRowDto> rows = orderRepository.streamOrderExportRowsByMemberId(member.getId(), 2)) {
+            orderIds = rows.map(OrderExportRowDto::getOrderId).collect(Collectors.toList());
+        }
+
+        // then
+        assertThat(orderIds).hasSize(6);
+        assertThat(orderIds.stream().distinct().count()).isEqualTo(3);
+        for (int i = 0; i < orderIds.size(); i += 2) {
+            assertThat(orderIds.get(i)).isEqualTo(orderIds.get(i + 1));
+        }
+        assertThat(testEntityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("주문 id 는 DB 를 거치지 않고 생성한 시간순 Snowflake id 로 할당된다.")
+    void assignSnowflakeIds() {
+        // given
+        Member member = testEntityManager.find(Member.class, 1L);
+
+        // when
+        Order first = persistOrder(member);
+        Order second = persistOrder(member);
+
+        // then
+        assertThat(second.getId()).isGreaterThan(first.getId());
+        assertThat(SnowflakeIdGenerator.extractTimestamp(first.getId())).isCloseTo(System.currentTimeMillis(), within(60_000L));
+    }
+
+    @Test
+    @DisplayName("오래된 완료 주문을 생성월 보관 테이블로 옮기면 운영 테이블에서 지워지고, 커서 조회와 내보내기 조회에서는 여러 월의 보관된 주문까지 이어서 조회된다.")
+    void archiveOrdersAndReadThroughArchive() {
+        // given
+        YearMonth archiveMonth = YearMonth.of(2020, 1);
+        YearMonth nextArchiveMonth = archiveMonth.plusMonths(1);
+        orderRepository.createArchiveTables(archiveMonth);
+        orderRepository.createArchiveTables(nextArchiveMonth);
+        Member member = testEntityManager.find(Member.class, 1L);
+        Order archivedOrder = persistOrder(member);
+        archivedOrder.updateOrderStatus(COMPLETED);
+        persistOrderItem(archivedOrder, 1L);
+        Order nextArchivedOrder = persistOrder(member);
+        nextArchivedOrder.updateOrderStatus(COMPLETED);
+        persistOrderItem(nextArchivedOrder, 1L);
+        Order recentOrder = persistOrder(member);
+        persistOrderItem(recentOrder, 1L);
+        testEntityManager.flush();
+        updateCreatedAt(archivedOrder.getId(), archiveMonth.atDay(15).atStartOfDay());
+        updateCreatedAt(nextArchivedOrder.getId(), nextArchiveMonth.atDay(15).atStartOfDay());
+        testEntityManager.clear();
+
+        // when
+        Map<YearMonth, List<Long>> archivableOrderIds = orderRepository.findArchivableOrderIds(LocalDateTime.of(2021, 1, 1, 0, 0), 10, true);
+        int archived = orderRepository.archiveOrders(archiveMonth, archivableOrderIds.get(archiveMonth))
+                + orderRepository.archiveOrders(nextArchiveMonth, archivableOrderIds.get(nextArchiveMonth));
+        testEntityManager.clear();
+
+        // then
+        assertThat(archivableOrderIds.get(archiveMonth)).containsExactly(archivedOrder.getId());
+        assertThat(archivableOrderIds.get(nextArchiveMonth)).containsExactly(nextArchivedOrder.getId());
+        assertThat(archived).isEqualTo(2);
+        assertThat(orderRepository.findById(archivedOrder.getId())).isEmpty();
+
+        List<OrderResponseDto> firstPage = orderRepository.findOrderResponsesByMemberIdAfterCursor(member.getId(), null, 1);
+        List<OrderResponseDto> secondPage = orderRepository.findOrderResponsesByMemberIdAfterCursor(
+                member.getId(), OrderCursor.from(firstPage.get(0)), 2);
+        assertThat(firstPage).extracting(OrderResponseDto::getId).containsExactly(recentOrder.getId());
+        assertThat(secondPage).extracting(OrderResponseDto::getId).containsExactly(nextArchivedOrder.getId(), archivedOrder.getId());
+        assertThat(secondPage.get(1).getDelivery().getStatus()).isEqualTo(STAND_BY);
+
+        try (Stream<OrderExportRowDto> rows = orderRepository.streamOrderExportRowsByMemberId(member.getId(), 2)) {
+            assertThat(rows.map(OrderExportRowDto::getOrderId))
+                    .containsExactly(recentOrder.getId(), nextArchivedOrder.getId(), archivedOrder.getId());
+        }
+    }
+
+    private void updateCreatedAt(Long orderId, LocalDateTime createdAt) {
+        testEntityManager.getEntityManager()
+                .createNativeQuery("update ORDERS set created_at = :createdAt where id = :id")
+                .setParameter("createdAt", createdAt)
+                .setParameter("id", orderId)
+                .executeUpdate();
+    }
+
+    @Test
+    @DisplayName("기준 시각 이전에 생성된 주문 준비 상태 주문만 조회하여 주문과 주문 아이템을 비활성화하고, 그 사이 완료된 주문은 비활성화하지 않는다.")
+    void deactivateStalePreparationOrders() {
+        // given
+        Member member = testEntityManager.find(Member.class, 1L);
+        Order staleOrder = persistOrder(member);
+        persistOrderItem(staleOrder, 1L);
+        Order completedOrder = persistOrder(member);
+        completedOrder.updateOrderStatus(COMPLETED);
+        Order recentOrder = persistOrder(member);
+        testEntityManager.flush();
+        testEntityManager.getEntityManager()
+                .createNativeQuery("update ORDERS set created_at = :createdAt where id in (:ids)")
+                .setParameter("createdAt", LocalDateTime.now().minusDays(2))
+                .setParameter("ids", List.of(staleOrder.getId(), completedOrder.getId()))
+                .executeUpdate();
+        testEntityManager.clear();
+
+        // when
+        List<Long> staleOrderIds = orderRepository.findStalePreparationOrderIdsForUpdate(LocalDateTime.now().minusDays(1), 10);
+        List<Long> deactivatedOrderIds = orderRepository.deactivatePreparationOrders(List.of(staleOrder.getId(), completedOrder.getId()));
+        testEntityManager.clear();
+
+        // then
+        assertThat(staleOrderIds).containsExactly(staleOrder.getId());
+        assertThat(deactivatedOrderIds).containsExactly(staleOrder.getId());
+        assertThat(findOrderActivated(staleOrder.getId())).isFalse();
+        assertThat(findOrderActivated(recentOrder.getId())).isTrue();
+        assertThat(testEntityManager.getEntityManager()
+                .createQuery("select i.activated from OrderItem i where i.order.id = :orderId", Boolean.class)
+                .setParameter("orderId", staleOrder.getId())
+                .getSingleResult()).isFalse();
+    }
+
+    private void persistOrderItem(Order order, Long itemId) {
+        testEntityManager.persist(OrderItem.builder()
+                .order(order)
+                .itemId(itemId)
+                .price(testEntityManager.find(Item.class, itemId).getPrice())
+                .supplyPrice(1000)
+                .userPurchaseQuantity(1)
+                .itemUsedQuantity(1)
+                .build());
+    }
+
+    private Order persistOrder(Member member) {
+        Order order = testEntityManager.persist(Order.builder()
+                .memberId(member.getId())
+                .name("test product")
+                .totalPrice(10000)
+                .build());
+        testEntityManager.persist(Delivery.builder()
+                .memberId(member.getId())
+                .order(order)
+                .address(member.getAddress())
+                .status(STAND_BY)
+                .build());
+        return order;
+    }
+
+    private Boolean findOrderActivated(Long orderId) {
+        return testEntityManager.getEntityManager()
+                .createQuery("select o.activated from Order o where o.id = :orderId", Boolean.class)
+                .setParameter("orderId", orderId)
+                .getSingleResult();
+    }
+
+    private List<Long> toIds(List<OrderResponseDto> orders) {
+        return orders.stream().map(OrderResponseDto::getId).collect(Collectors.toList());
+    }
+}
@@ -33,7 +33,7 @@ class OrderTest {
         Order order = this.testEntityManager.persistAndFlush(Order.builder()
                 .name("test product")
                 .totalPrice(10000)
-                .member(member)
+                .memberId(member.getId())
                 .build());
 
         // when
@@ -0,0 +1,103 @@
+package com.commerce.order.repository;
+
+import com.commerce.global.common.datasource.ShardContextHolder;
+import com.commerce.global.common.datasource.ShardRouter;
+import org.hibernate.Session;
+import org.hibernate.jdbc.ReturningWork;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class OrderArchiveTablesTest {
+
+    private static final int SHARD_COUNT = 2;
+
+    private final ShardRouter shardRouter = new ShardRouter(true, SHARD_COUNT);
+    private final List<Connection> connections = new ArrayList<>();
+    private OrderArchiveTables orderArchiveTables;
+
+    /**
+     * 샤드마다 별도의 H2 메모리 DB 를 만들고, EntityManager 의 native query 와 JDBC 작업을 현재 샤드의 DB 로 보낸다.
+     */
+    @BeforeEach
+    void setUp() throws SQLException {
+        for (int shardId = 0; shardId < SHARD_COUNT; shardId++) {
+            Connection connection = DriverManager.getConnection("jdbc:h2:mem:order_archive_shard_" + shardId + ";MODE=MYSQL");
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("create table ORDERS (id bigint, member_id bigint, name varchar(255), status varchar(20), total_price int"
+                        + ", activated boolean, created_at timestamp, updated_at timestamp)");
+                statement.execute("create table ORDER_ITEM (id bigint, order_id bigint, item_id bigint, default_price int, sale_price int"
+                        + ", discount_price int, discount_rate int, discount_method varchar(20), supply_price int, user_purchase_quantity int"
+                        + ", item_used_quantity int, activated boolean, created_at timestamp)");
+                statement.execute("create table DELIVERY (id bigint, member_id bigint, order_id bigint, address varchar(255), address_detail varchar(255)"
+                        + ", zip_code varchar(10), status varchar(20), activated boolean, created_at timestamp, updated_at timestamp)");
+            }
+            connections.add(connection);
+        }
+
+        EntityManager entityManager = mock(EntityManager.class);
+        Session session = mock(Session.class);
+        given(entityManager.unwrap(Session.class)).willReturn(session);
+        given(session.doReturningWork(any())).willAnswer(invocation -> invocation.<ReturningWork<?>>getArgument(0).execute(currentConnection()));
+        given(entityManager.createNativeQuery(anyString())).willAnswer(invocation -> {
+            String sql = invocation.getArgument(0);
+            return mock(Query.class, queryInvocation -> {
+                try (Statement statement = currentConnection().createStatement()) {
+                    return statement.executeUpdate(sql);
+                }
+            });
+        });
+        orderArchiveTables = new OrderArchiveTables(entityManager);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        for (Connection connection : connections) {
+            connection.close();
+        }
+    }
+
+    @Test
+    @DisplayName("한 샤드에 보관 테이블을 만들어도 다른 샤드의 보관 월 목록에는 포함되지 않고, 그 샤드에서도 보관 테이블을 만들 수 있다.")
+    void findMonthsPerShard() {
+        // given
+        YearMonth month = YearMonth.of(2024, 1);
+
+        // when
+        List<YearMonth> shard0Months = shardRouter.callOnShard(0, () -> {
+            orderArchiveTables.create(month);
+            return orderArchiveTables.findMonths();
+        });
+        List<YearMonth> shard1MonthsBeforeCreate = shardRouter.callOnShard(1, orderArchiveTables::findMonths);
+        List<YearMonth> shard1Months = shardRouter.callOnShard(1, () -> {
+            orderArchiveTables.create(month);
+            return orderArchiveTables.findMonths();
+        });
+
+        // then
+        assertThat(shard0Months).containsExactly(month);
+        assertThat(shard1MonthsBeforeCreate).isEmpty();
+        assertThat(shard1Months).containsExactly(month);
+    }
+
+    private Connection currentConnection() {
+        return connections.get(ShardContextHolder.getShardId());
+    }
+}
@@ -0,0 +1,142 @@
+package com.commerce.order.service;
+
+import com.commerce.cart.domain.Cart;
+import com.commerce.cart.repository.CartRepository;
+import com.commerce.global.common.exception.BadRequestException;
+import com.commerce.order.dto.CheckoutValidationResult;
+import com.commerce.order.dto.CheckoutViolation;
+import com.commerce.product.domain.Item;
+import com.commerce.product.domain.Option;
+import com.commerce.product.domain.Product;
+import com.commerce.product.service.ItemServiceImpl;
+import com.commerce.user.domain.Member;
+import com.commerce.user.domain.MemberRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static com.commerce.order.dto.CheckoutViolation.ViolationType.CART_EMPTY;
+import static com.commerce.order.dto.CheckoutViolation.ViolationType.CART_NOT_FOUND;
+import static com.commerce.order.dto.CheckoutViolation.ViolationType.ITEM_NOT_FOUND;
+import static com.commerce.order.dto.CheckoutViolation.ViolationType.MEMBER_NOT_FOUND;
+import static com.commerce.order.dto.CheckoutViolation.ViolationType.STOCK_SHORTAGE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class CheckoutValidatorTest {
+
+    @Mock
+    private CartRepository cartRepository;
+
+    @Mock
+    private MemberRepository memberRepository;
+
+    @Mock
+    private ItemServiceImpl itemServiceImpl;
+
+    @InjectMocks
+    private CheckoutValidator checkoutValidator;
+
+    @Test
+    @DisplayName("주문 생성 검증 시 회원 정보가 없으면 회원 위반 항목을 반환한다.")
+    void validateMemberNotFound() {
+        // given
+        given(cartRepository.findCheckoutCartsByCartIdsAndUserId(anyList(), anyString())).willReturn(List.of());
+        given(memberRepository.findByUserIdAndActivated(anyString(), anyBoolean())).willReturn(null);
+
+        // when
+        CheckoutValidationResult result = checkoutValidator.validate("test", List.of(1L, 2L, 3L));
+
+        // then
+        assertThat(result.getViolations()).extracting(CheckoutViolation::getType).containsExactly(MEMBER_NOT_FOUND);
+        assertThatThrownBy(result::checkValid).isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    @DisplayName("주문 생성 검증 시 장바구니 정보가 없으면 장바구니 위반 항목을 반환한다.")
+    void validateCartEmpty() {
+        // given
+        given(cartRepository.findCheckoutCartsByCartIdsAndUserId(anyList(), anyString())).willReturn(List.of());
+        given(memberRepository.findByUserIdAndActivated(anyString(), anyBoolean())).willReturn(Member.builder().build());
+
+        // when
+        CheckoutValidationResult result = checkoutValidator.validate("testId", List.of(1L, 2L, 3L));
+
+        // then
+        assertThat(result.getViolations()).extracting(CheckoutViolation::getType).containsExactly(CART_EMPTY);
+    }
+
+    @Test
+    @DisplayName("주문 생성 검증 시 장바구니가 조회되면 회원을 따로 조회하지 않고, 조회되지 않은 장바구니 id 를 위반 항목으로 반환한다.")
+    void validateCartNotFound() {
+        // given
+        Item item = Item.builder().id(1L).stockQuantity(10).build();
+        given(cartRepository.findCheckoutCartsByCartIdsAndUserId(anyList(), anyString())).willReturn(List.of(cart(1L, item, 1)));
+        given(itemServiceImpl.getStockQuantities(anyList())).willReturn(Map.of(1L, 10));
+
+        // when
+        CheckoutValidationResult result = checkoutValidator.validate("testId", List.of(1L, 2L));
+
+        // then
+        assertThat(result.getViolations()).extracting(CheckoutViolation::getType).containsExactly(CART_NOT_FOUND);
+        assertThat(result.getViolations()).extracting(CheckoutViolation::getTargetId).containsExactly(2L);
+        verify(memberRepository, never()).findByUserIdAndActivated(anyString(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("주문 생성 검증 시 비활성화된 재고 상품은 재고를 확인하지 않고 위반 항목으로 반환한다.")
+    void validateItemNotFound() {
+        // given
+        Item item = spy(Item.builder().id(1L).build());
+        given(item.isActivated()).willReturn(false);
+        given(cartRepository.findCheckoutCartsByCartIdsAndUserId(anyList(), anyString())).willReturn(List.of(cart(1L, item, 1)));
+        given(itemServiceImpl.getStockQuantities(List.of())).willReturn(Map.of());
+
+        // when
+        CheckoutValidationResult result = checkoutValidator.validate("testId", List.of(1L));
+
+        // then
+        assertThat(result.getViolations()).extracting(CheckoutViolation::getType).containsExactly(ITEM_NOT_FOUND);
+    }
+
+    @Test
+    @DisplayName("주문 생성 검증 시 같은 재고 상품의 장바구니 수량을 합산하여 재고와 비교한다.")
+    void validateStockShortage() {
+        // given
+        Item item = Item.builder().id(1L).stockQuantity(5).build();
+        given(cartRepository.findCheckoutCartsByCartIdsAndUserId(anyList(), anyString())).willReturn(List.of(cart(1L, item, 3), cart(2L, item, 3)));
+        given(itemServiceImpl.getStockQuantities(List.of(item))).willReturn(Map.of(1L, 5));
+
+        // when
+        CheckoutValidationResult result = checkoutValidator.validate("testId", List.of(1L, 2L));
+
+        // then
+        assertThat(result.getViolations()).extracting(CheckoutViolation::getType).containsExactly(STOCK_SHORTAGE);
+        assertThat(result.getViolations()).extracting(CheckoutViolation::getTargetId).containsExactly(1L);
+    }
+
+    private Cart cart(Long cartId, Item item, int itemUsedQuantity) {
+        return Cart.builder()
+                .id(cartId)
+                .member(Member.builder().build())
+                .product(Product.builder().id(1L).name("테스트 상품").build())
+                .option(Option.builder().id(1L).build())
+                .item(item)
+                .itemUsedQuantity(itemUsedQuantity)
+                .build();
+    }
+}
@@ -0,0 +1,112 @@
+package com.commerce.order.service;
+
+import com.commerce.global.common.datasource.ShardRouter;
+import com.commerce.order.domain.OrderRepository;
+import com.commerce.order.dto.OrderExportRowDto;
+import com.commerce.user.domain.Member;
+import com.commerce.user.domain.MemberRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static com.commerce.order.domain.Order.OrderStatus.COMPLETED;
+import static com.commerce.order.domain.Order.OrderStatus.PREPARATION;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class OrderExportServiceImplTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private MemberRepository memberRepository;
+
+    @Mock
+    private ShardRouter shardRouter;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private OrderExportServiceImpl orderExportServiceImpl;
+
+    @BeforeEach
+    void setUp() {
+        orderExportServiceImpl = new OrderExportServiceImpl(orderRepository, memberRepository, objectMapper, shardRouter, 100);
+    }
+
+    @Test
+    @DisplayName("주문 아이템 행을 주문 단위로 묶어 주문 1건당 JSON 1줄로 내보내고, 조회 Stream 을 닫는다.")
+    void exportOrdersAsNdjson() throws Exception {
+        // given
+        LocalDateTime createdAt = LocalDateTime.of(2022, 10, 1, 12, 0);
+        AtomicBoolean closed = new AtomicBoolean();
+        given(memberRepository.findByUserIdAndActivated("test", true)).willReturn(Member.builder().id(1L).build());
+        given(orderRepository.streamOrderExportRowsByMemberId(eq(1L), anyInt())).willReturn(Stream.of(
+                new OrderExportRowDto(2L, "order 2", COMPLETED, 30000, createdAt, 10L, 10000, 8000, 1, 1),
+                new OrderExportRowDto(2L, "order 2", COMPLETED, 30000, createdAt, 11L, 20000, 15000, 1, 2),
+                new OrderExportRowDto(1L, "order 1", PREPARATION, 5000, createdAt, 10L, 5000, 4000, 1, 1))
+                .onClose(() -> closed.set(true)));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // when
+        int exportedCount = orderExportServiceImpl.exportOrders("test", outputStream);
+
+        // then
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(exportedCount).isEqualTo(2);
+        assertThat(lines).hasSize(2);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertThat(first.get("id").asLong()).isEqualTo(2L);
+        assertThat(first.get("createdAt").asText()).isEqualTo("2022-10-01 12:00:00");
+        assertThat(first.get("items")).hasSize(2);
+        assertThat(objectMapper.readTree(lines[1]).get("items")).hasSize(1);
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    @DisplayName("주문이 없으면 아무것도 쓰지 않는다.")
+    void exportNoOrders() throws Exception {
+        // given
+        given(memberRepository.findByUserIdAndActivated("test", true)).willReturn(Member.builder().id(1L).build());
+        given(orderRepository.streamOrderExportRowsByMemberId(eq(1L), anyInt())).willReturn(Stream.empty());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // when
+        int exportedCount = orderExportServiceImpl.exportOrders("test", outputStream);
+
+        // then
+        assertThat(exportedCount).isZero();
+        assertThat(outputStream.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("회원이 없으면 주문을 조회하지 않고 아무것도 쓰지 않는다.")
+    void exportNoMember() throws Exception {
+        // given
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // when
+        int exportedCount = orderExportServiceImpl.exportOrders("test", outputStream);
+
+        // then
+        assertThat(exportedCount).isZero();
+        assertThat(outputStream.size()).isZero();
+        verifyNoInteractions(orderRepository, shardRouter);
+    }
+}
@@ -0,0 +1,76 @@
+package com.commerce.order.service;
+
+import com.commerce.global.common.util.CacheMetrics;
+import com.commerce.order.dto.OrderResponseDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.commerce.order.domain.Order.OrderStatus.COMPLETED;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderListCacheTest {
+
+    @Test
+    @DisplayName("같은 회원의 같은 페이지는 캐시에서 조회하고, 회원 주문 목록 버전이 바뀌면 다시 DB 에서 조회한다.")
+    void hitUntilVersionChanged() {
+        // given
+        OrderListCache orderListCache = new OrderListCache(100, 60, 3);
+        AtomicInteger loadCount = new AtomicInteger();
+
+        // when
+        orderListCache.get(1L, 0, 0, 10, () -> load(loadCount));
+        orderListCache.get(1L, 0, 0, 10, () -> load(loadCount));
+        orderListCache.get(2L, 0, 0, 10, () -> load(loadCount));
+        orderListCache.get(1L, 1, 0, 10, () -> load(loadCount));
+        orderListCache.get(1L, 1, 0, 10, () -> load(loadCount));
+
+        // then
+        CacheMetrics metrics = orderListCache.getMetrics();
+        assertThat(loadCount).hasValue(3);
+        assertThat(metrics.getHitCount()).isEqualTo(2);
+        assertThat(metrics.getMissCount()).isEqualTo(3);
+        assertThat(metrics.getSize()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("캐시된 버전보다 낮은 버전으로 조회한 목록은 캐시에 저장하지 않는다.")
+    void skipPutOlderVersion() {
+        // given
+        OrderListCache orderListCache = new OrderListCache(100, 60, 3);
+        AtomicInteger loadCount = new AtomicInteger();
+
+        // when
+        orderListCache.get(1L, 2, 0, 10, () -> load(loadCount));
+        orderListCache.get(1L, 1, 1, 10, () -> load(loadCount));
+        orderListCache.get(1L, 2, 1, 10, () -> load(loadCount));
+        orderListCache.get(1L, 2, 0, 10, () -> load(loadCount));
+
+        // then
+        assertThat(loadCount).hasValue(3);
+        assertThat(orderListCache.getMetrics().getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("max-pages 이후 페이지는 캐시하지 않는다.")
+    void skipPagesAfterMaxPages() {
+        // given
+        OrderListCache orderListCache = new OrderListCache(100, 60, 1);
+        AtomicInteger loadCount = new AtomicInteger();
+
+        // when
+        orderListCache.get(1L, 0, 1, 10, () -> load(loadCount));
+        orderListCache.get(1L, 0, 1, 10, () -> load(loadCount));
+
+        // then
+        assertThat(loadCount).hasValue(2);
+        assertThat(orderListCache.getMetrics().getSize()).isZero();
+    }
+
+    private List<OrderResponseDto> load(AtomicInteger loadCount) {
+        loadCount.incrementAndGet();
+        return List.of(new OrderResponseDto(1L, "test product", COMPLETED, 10000, null));
+    }
+}
@@ -0,0 +1,120 @@
+package com.commerce.order.service;
+
+import com.commerce.order.domain.Order;
+import com.commerce.order.domain.OrderOutbox;
+import com.commerce.order.domain.OrderOutboxRepository;
+import com.commerce.order.dto.OrderOutboxMessageDto;
+import com.commerce.user.domain.Member;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static com.commerce.order.domain.OrderOutbox.OrderEventType.ORDER_ADDED;
+import static com.commerce.order.domain.OrderOutbox.OrderEventType.ORDER_COMPLETED;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class OrderOutboxServiceImplTest {
+
+    @Mock
+    private OrderOutboxRepository orderOutboxRepository;
+
+    @Mock
+    private OrderOutboxSink orderOutboxSink;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private OrderOutboxServiceImpl orderOutboxServiceImpl;
+
+    @BeforeEach
+    void setUp() {
+        orderOutboxServiceImpl = new OrderOutboxServiceImpl(orderOutboxRepository, List.of(orderOutboxSink), objectMapper, 100);
+    }
+
+    @Test
+    @DisplayName("주문 이벤트 저장 시 주문 정보를 JSON payload 로 저장한다.")
+    void recordOrderEvent() throws Exception {
+        // given
+        Order order = Order.builder().id(1L).memberId(2L).name("test product").totalPrice(10000).build();
+        ArgumentCaptor<OrderOutbox> captor = ArgumentCaptor.forClass(OrderOutbox.class);
+
+        // when
+        orderOutboxServiceImpl.record(order, ORDER_ADDED);
+
+        // then
+        verify(orderOutboxRepository).save(captor.capture());
+        assertThat(captor.getValue().getOrderId()).isEqualTo(1L);
+        assertThat(captor.getValue().getEventType()).isEqualTo(ORDER_ADDED);
+        assertThat(objectMapper.readTree(captor.getValue().getPayload()).get("memberId").asLong()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("relay 시 발행되지 않은 이벤트를 sink 로 전달하고 발행 완료 처리한다.")
+    void relayPublishesAndMarks() {
+        // given
+        OrderOutbox orderOutbox = OrderOutbox.builder().id(1L).orderId(1L).eventType(ORDER_COMPLETED).payload("{}").build();
+        given(orderOutboxRepository.findAllForUpdateByPublishedAtIsNullOrderByIdAsc(any(Pageable.class))).willReturn(List.of(orderOutbox));
+
+        // when
+        int relayed = orderOutboxServiceImpl.relay();
+
+        // then
+        assertThat(relayed).isEqualTo(1);
+        assertThat(orderOutbox.getPublishedAt()).isNotNull();
+        verify(orderOutboxSink).publish(anyList());
+    }
+
+    @Test
+    @DisplayName("sink 전달에 실패하면 발행 완료 처리하지 않는다.")
+    void relaySinkFailureLeavesUnpublished() {
+        // given
+        OrderOutbox orderOutbox = OrderOutbox.builder().id(1L).orderId(1L).eventType(ORDER_COMPLETED).payload("{}").build();
+        given(orderOutboxRepository.findAllForUpdateByPublishedAtIsNullOrderByIdAsc(any(Pageable.class))).willReturn(List.of(orderOutbox));
+        willThrow(new IllegalStateException("sink down")).given(orderOutboxSink).publish(anyList());
+
+        // when, then
+        assertThatThrownBy(() -> orderOutboxServiceImpl.relay()).isInstanceOf(IllegalStateException.class);
+        assertThat(orderOutbox.getPublishedAt()).isNull();
+    }
+
+    @Test
+    @DisplayName("파일 sink 는 이벤트를 한줄에 하나씩 이어 쓴다.")
+    void fileSinkAppendsNdjson(@TempDir Path tempDir) throws Exception {
+        // given
+        Path path = tempDir.resolve("order-outbox.ndjson");
+        FileOrderOutboxSink fileOrderOutboxSink = new FileOrderOutboxSink(objectMapper, path.toString());
+        OrderOutboxMessageDto first = new OrderOutboxMessageDto(
+                OrderOutbox.builder().id(1L).orderId(1L).eventType(ORDER_ADDED).payload("{\"orderId\":1}").build());
+        OrderOutboxMessageDto second = new OrderOutboxMessageDto(
+                OrderOutbox.builder().id(2L).orderId(1L).eventType(ORDER_COMPLETED).payload("{\"orderId\":1}").build());
+
+        // when
+        fileOrderOutboxSink.publish(List.of(first));
+        fileOrderOutboxSink.publish(List.of(second));
+
+        // then
+        List<String> lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readTree(lines.get(1)).get("eventType").asText()).isEqualTo("ORDER_COMPLETED");
+        assertThat(objectMapper.readTree(lines.get(1)).get("orderSequence").asInt()).isEqualTo(2);
+        assertThat(objectMapper.readTree(lines.get(1)).get("payload").get("orderId").asLong()).isEqualTo(1L);
+    }
+}
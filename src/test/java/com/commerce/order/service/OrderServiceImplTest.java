@@ -1,20 +1,30 @@
 package com.commerce.order.service;
 
 import com.commerce.cart.domain.Cart;
-import com.commerce.cart.repository.CartRepository;
+import com.commerce.cart.service.CartStore;
 import com.commerce.delivery.domain.Delivery;
 import com.commerce.delivery.domain.Delivery.DeliveryStatus;
 import com.commerce.delivery.repository.DeliveryRepository;
 import com.commerce.global.common.Price;
+import com.commerce.global.common.datasource.ShardRouter;
+import com.commerce.global.common.domain.ShardCommit.ShardCommitType;
+import com.commerce.global.common.event.DomainEventPublisher;
 import com.commerce.global.common.exception.BadRequestException;
 import com.commerce.global.common.token.JwtTokenManager;
 import com.commerce.order.domain.Order;
 import com.commerce.order.domain.OrderItem;
 import com.commerce.order.domain.OrderItemRepository;
 import com.commerce.order.domain.OrderRepository;
+import com.commerce.order.dto.CheckoutValidationResult;
+import com.commerce.order.dto.CheckoutViolation;
+import com.commerce.order.dto.DeliveryResponseDto;
+import com.commerce.order.dto.OrderCompleteResultDto;
+import com.commerce.order.dto.OrderCursor;
+import com.commerce.order.dto.OrderResponseDto;
+import com.commerce.order.dto.OrderScrollResponseDto;
 import com.commerce.product.domain.Item;
 import com.commerce.product.domain.Product;
-import com.commerce.product.domain.ItemRepository;
+import com.commerce.product.service.StockServiceImpl;
 import com.commerce.user.domain.Member;
 import com.commerce.user.domain.MemberRepository;
 import org.junit.jupiter.api.DisplayName;
@@ -24,17 +34,23 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 
 import static com.commerce.delivery.domain.Delivery.DeliveryStatus.IN_DELIVERY;
 import static com.commerce.delivery.domain.Delivery.DeliveryStatus.STAND_BY;
 import static com.commerce.order.domain.Order.OrderStatus.CANCELED;
 import static com.commerce.order.domain.Order.OrderStatus.COMPLETED;
+import static com.commerce.order.domain.Order.OrderStatus.PREPARATION;
+import static com.commerce.order.domain.OrderOutbox.OrderEventType.ORDER_COMPLETED;
+import static com.commerce.order.dto.CheckoutViolation.ViolationType.CART_EMPTY;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -47,114 +63,99 @@ class OrderServiceImplTest {
     private OrderItemRepository orderItemRepository;
 
     @Mock
-    private ItemRepository itemRepository;
+    private MemberRepository memberRepository;
 
     @Mock
-    private MemberRepository memberRepository;
+    private DeliveryRepository deliveryRepository;
 
     @Mock
-    private CartRepository cartRepository;
+    private StockServiceImpl stockServiceImpl;
 
     @Mock
-    private DeliveryRepository deliveryRepository;
+    private CheckoutValidator checkoutValidator;
 
     @Mock
-    private JwtTokenManager jwtTokenManager;
+    private CartStore cartStore;
 
-    @InjectMocks
-    private OrderServiceImpl orderServiceImpl;
+    @Mock
+    private OrderExportServiceImpl orderExportServiceImpl;
 
-    @Test
-    @DisplayName("주문 생성 시 회원 정보가 없으면 예외로 던진다.")
-    void addOrderMemberNotFoundThrow() {
-        // given
-        given(memberRepository.findByUserIdAndActivated(anyString(), anyBoolean())).willReturn(null);
-        given(jwtTokenManager.getUserIdByToken()).willReturn("test");
+    @Mock
+    private OrderOutboxServiceImpl orderOutboxServiceImpl;
 
-        // when
-        List<Long> cartIds = List.of(1L, 2L, 3L);
+    @Mock
+    private MemberOrderViewServiceImpl memberOrderViewServiceImpl;
 
-        // then
-        assertThatThrownBy(() -> orderServiceImpl.addOrder(cartIds)).isInstanceOf(BadRequestException.class);
-    }
+    @Mock
+    private ShardCommitServiceImpl shardCommitServiceImpl;
+
+    @Mock
+    private DomainEventPublisher domainEventPublisher;
+
+    @Mock
+    private ShardRouter shardRouter;
+
+    @Mock
+    private JwtTokenManager jwtTokenManager;
+
+    @InjectMocks
+    private OrderServiceImpl orderServiceImpl;
 
     @Test
-    @DisplayName("주문 생성 시 장바구니 정보가 없으면 예외로 던진다.")
-    void addOrderCartNotFoundThrow() {
+    @DisplayName("주문 목록 커서 조회 시 한 건 더 조회된 경우에만 다음 커서를 반환한다.")
+    void scrollOrdersNextCursor() {
         // given
-        given(memberRepository.findByUserIdAndActivated(anyString(), anyBoolean())).willReturn(Member.builder().build());
+        DeliveryResponseDto delivery = Delivery.builder().id(1L).status(STAND_BY).build().toDeliveryResponseDto();
+        List<OrderResponseDto> orders = new ArrayList<>();
+        for (long id = 3; id > 0; id--) {
+            orders.add(new OrderResponseDto(id, "test", PREPARATION, 1000, LocalDateTime.now(), delivery));
+        }
         given(jwtTokenManager.getUserIdByToken()).willReturn("testId");
-        List<Cart> cart = new ArrayList<>();
-        given(cartRepository.findCartsByCartIdsAndMemberId(anyList(), any())).willReturn(cart);
+        given(memberRepository.findByUserIdAndActivated("testId", true)).willReturn(Member.builder().id(1L).build());
+        given(orderRepository.findOrderResponsesByMemberIdAfterCursor(1L, null, 3)).willReturn(orders);
 
         // when
-        List<Long> cartIds = List.of(1L, 2L, 3L);
+        OrderScrollResponseDto responseDto = orderServiceImpl.scrollOrders(null, 2);
 
         // then
-        assertThatThrownBy(() -> orderServiceImpl.addOrder(cartIds)).isInstanceOf(BadRequestException.class);
+        assertThat(responseDto.getOrders()).hasSize(2);
+        assertThat(responseDto.isHasNext()).isTrue();
+        assertThat(OrderCursor.decode(responseDto.getNextCursor()).getId()).isEqualTo(2L);
     }
 
     @Test
-    @DisplayName("주문 생성 시 장바구니에 담긴 상품이 cartIds 에 포함되어 있지 않으면 예외를 던진다.")
-    void addOrderCheckContainCartsByIdsThrow() {
+    @DisplayName("주문 목록 커서 조회 시 커서 정보가 올바르지 않으면 예외를 던진다.")
+    void scrollOrdersInvalidCursorThrow() {
         // given
-        List<Cart> carts = new ArrayList<>();
-        carts.add(Cart.builder().id(1L).build());
-
-        given(memberRepository.findByUserIdAndActivated(anyString(), anyBoolean())).willReturn(Member.builder().build());
         given(jwtTokenManager.getUserIdByToken()).willReturn("testId");
-        given(cartRepository.findCartsByCartIdsAndMemberId(anyList(), any())).willReturn(carts);
-
-        // when
-        List<Long> cartIds = List.of(2L);
 
         // then
-        assertThatThrownBy(() -> orderServiceImpl.addOrder(cartIds)).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> orderServiceImpl.scrollOrders("invalid-cursor", 10)).isInstanceOf(BadRequestException.class);
     }
 
     @Test
-    @DisplayName("주문 생성 시 장바구니 id에 연관된 재고가 없으면 예외를 던진다.")
-    void addOrderCheckItemExistByCartIdThrow() {
+    @DisplayName("주문 생성 시 검증 위반 항목이 있으면 주문을 저장하지 않고 예외를 던진다.")
+    void addOrderViolationThrow() {
         // given
-        List<Item> items = new ArrayList<>();
-        items.add(Item.builder().id(1L).build());
-        List<Cart> carts = new ArrayList<>();
-        carts.add(Cart.builder()
-                .id(1L)
-                .item(Item.builder().id(2L).build())
-                .build());
-
-        given(memberRepository.findByUserIdAndActivated(anyString(), anyBoolean())).willReturn(Member.builder().build());
         given(jwtTokenManager.getUserIdByToken()).willReturn("testId");
-        given(cartRepository.findCartsByCartIdsAndMemberId(anyList(), any())).willReturn(carts);
-        given(itemRepository.findAllByIdInAndActivated(anyList(), anyBoolean())).willReturn(items);
-        given(itemRepository.findById(2L)).willThrow(BadRequestException.class);
+        given(checkoutValidator.validate(anyString(), anyList())).willReturn(new CheckoutValidationResult(null, List.of()
+                , List.of(new CheckoutViolation(CART_EMPTY, null))));
 
         // when
-        List<Long> cartIds = List.of(1L);
+        List<Long> cartIds = List.of(1L, 2L, 3L);
 
         // then
         assertThatThrownBy(() -> orderServiceImpl.addOrder(cartIds)).isInstanceOf(BadRequestException.class);
+        verify(orderRepository, never()).save(any());
     }
 
     @Test
     @DisplayName("주문 생성 시 주문 테이블 저장 메소드를 한번 호출하였는지 확인")
     void addOrderCheckOrderSave() {
         // given
-        List<Item> items = new ArrayList<>();
-        items.add(Item.builder().id(1L).build());
-        List<Cart> carts = new ArrayList<>();
-        carts.add(Cart.builder()
-                .id(1L)
-                .product(Product.builder().id(1L).name("테스트 상품").build())
-                .item(Item.builder().id(1L).price(Price.builder().salePrice(1000).build()).build())
-                .build());
-
-        given(memberRepository.findByUserIdAndActivated(anyString(), anyBoolean())).willReturn(Member.builder().build());
         given(jwtTokenManager.getUserIdByToken()).willReturn("testId");
-        given(cartRepository.findCartsByCartIdsAndMemberId(anyList(), any())).willReturn(carts);
-        given(itemRepository.findAllByIdInAndActivated(anyList(), anyBoolean())).willReturn(items);
-        given(itemRepository.findById(1L)).willReturn(Optional.of(Item.builder().id(1L).build()));
+        given(checkoutValidator.validate(anyString(), anyList())).willReturn(validCheckout(0));
+        given(orderRepository.save(any())).willReturn(Order.builder().id(10L).build());
 
         // when
         List<Long> cartIds = List.of(1L);
@@ -168,20 +169,9 @@ class OrderServiceImplTest {
     @DisplayName("주문 생성 시 주문 아이템 테이블 저장 메소드를 한번 호출하였는지 확인")
     void addOrderCheckOrderItemsSave() {
         // given
-        List<Item> items = new ArrayList<>();
-        items.add(Item.builder().id(1L).build());
-        List<Cart> carts = new ArrayList<>();
-        carts.add(Cart.builder()
-                .id(1L)
-                .product(Product.builder().id(1L).name("테스트 상품").build())
-                .item(Item.builder().id(1L).price(Price.builder().salePrice(1000).build()).build())
-                .build());
-
-        given(memberRepository.findByUserIdAndActivated(anyString(), anyBoolean())).willReturn(Member.builder().build());
         given(jwtTokenManager.getUserIdByToken()).willReturn("testId");
-        given(cartRepository.findCartsByCartIdsAndMemberId(anyList(), any())).willReturn(carts);
-        given(itemRepository.findAllByIdInAndActivated(anyList(), anyBoolean())).willReturn(items);
-        given(itemRepository.findById(1L)).willReturn(Optional.of(Item.builder().id(1L).build()));
+        given(checkoutValidator.validate(anyString(), anyList())).willReturn(validCheckout(0));
+        given(orderRepository.save(any())).willReturn(Order.builder().id(10L).build());
 
         // when
         List<Long> cartIds = List.of(1L);
@@ -192,41 +182,28 @@ class OrderServiceImplTest {
     }
 
     @Test
-    @DisplayName("주문 생성 시 장바구니 id에 연관된 재고가 주문할 수량보다 부족할 경우 예외를 던진다.")
-    void addOrderItemEmptyCheck() {
+    @DisplayName("주문 생성 시 item id 별 재고 사용 수량을 예약한다.")
+    void addOrderReserveStocks() {
         // given
-        List<Item> items = new ArrayList<>();
-        items.add(Item.builder().id(1L).build());
-        List<Cart> carts = new ArrayList<>();
-        carts.add(Cart.builder()
-                .id(1L)
-                .itemUsedQuantity(10)
-                .item(Item.builder().id(2L).build())
-                .build());
-
-        given(memberRepository.findByUserIdAndActivated(anyString(), anyBoolean())).willReturn(Member.builder().build());
         given(jwtTokenManager.getUserIdByToken()).willReturn("testId");
-        given(cartRepository.findCartsByCartIdsAndMemberId(anyList(), any())).willReturn(carts);
-        given(itemRepository.findAllByIdInAndActivated(anyList(), anyBoolean())).willReturn(items);
-        given(itemRepository.findById(2L)).willReturn(Optional.of(Item.builder().id(2L).stockQuantity(5).build()));
+        given(checkoutValidator.validate(anyString(), anyList())).willReturn(validCheckout(2));
+        given(orderRepository.save(any())).willReturn(Order.builder().id(10L).build());
 
         // when
-        List<Long> cartIds = List.of(1L);
+        orderServiceImpl.addOrder(List.of(1L));
 
         // then
-        assertThatThrownBy(() -> orderServiceImpl.addOrder(cartIds))
-                .isInstanceOf(BadRequestException.class);
+        verify(stockServiceImpl, times(1)).reserve(10L, Map.of(1L, 2));
     }
 
     @Test
     @DisplayName("주문 완료 시 이미 주문이 완료된 경우 예외를 던진다.")
     void completeOrderAlreadyCompleteThrow() {
         // given
-        Order order = Order.builder().id(1L).build();
+        Order order = Order.builder().id(1L).memberId(1L).build();
         order.updateOrderStatus(COMPLETED);
-        given(memberRepository.findByUserIdAndActivated(anyString(), anyBoolean())).willReturn(Member.builder().build());
-        given(jwtTokenManager.getUserIdByToken()).willReturn("testId");
-        given(orderRepository.findByIdAndActivated(anyLong(), anyBoolean())).willReturn(order);
+        givenTokenMember();
+        given(orderRepository.findForUpdateByIdAndActivated(anyLong(), anyBoolean())).willReturn(order);
 
         // when
         Long orderId = 1L;
@@ -241,10 +218,8 @@ class OrderServiceImplTest {
     void completeOrderUpdateOrderStatusMethodCallOnceCheck() {
         // given
         Order order = mock(Order.class);
-        given(memberRepository.findByUserIdAndActivated(anyString(), anyBoolean())).willReturn(Member.builder().build());
-        given(jwtTokenManager.getUserIdByToken()).willReturn("testId");
-        given(orderRepository.findByIdAndActivated(anyLong(), anyBoolean())).willReturn(order);
-        given(itemRepository.findAllByIdInAndActivated(anyList(), anyBoolean())).willReturn(List.of(Item.builder().build()));
+        givenTokenMember();
+        given(orderRepository.findForUpdateByIdAndActivated(anyLong(), anyBoolean())).willReturn(order);
 
         // when
         orderServiceImpl.completeOrder(1L);
@@ -254,37 +229,111 @@ class OrderServiceImplTest {
     }
 
     @Test
-    @DisplayName("주문 완료 시 남은재고 수량비교, 재고차감 메소드를 한번 이상 호출한다.")
-    void completeOrderCheckStockQuantityAndSubtractStockCalls() {
+    @DisplayName("주문 완료 시 같은 item 의 주문 아이템 수량을 합산하여 재고차감 메소드를 한번 호출한다.")
+    void completeOrderSubtractStocksCallOnceCheck() {
         // given
-        Order order = Order.builder().build();
-        Item item = mock(Item.class);
-        List<Item> items = new ArrayList<>();
-        items.add(Item.builder().id(1L).stockQuantity(10).build());
-
+        Order order = Order.builder().memberId(1L).build();
         List<OrderItem> orderItems = new ArrayList<>();
         orderItems.add(OrderItem.builder().id(1L).itemId(1L).itemUsedQuantity(5).build());
+        orderItems.add(OrderItem.builder().id(2L).itemId(2L).itemUsedQuantity(3).build());
+        orderItems.add(OrderItem.builder().id(3L).itemId(1L).itemUsedQuantity(2).build());
 
-        given(memberRepository.findByUserIdAndActivated(anyString(), anyBoolean())).willReturn(Member.builder().build());
-        given(jwtTokenManager.getUserIdByToken()).willReturn("testId");
-        given(orderRepository.findByIdAndActivated(anyLong(), anyBoolean())).willReturn(order);
+        givenTokenMember();
+        given(orderRepository.findForUpdateByIdAndActivated(anyLong(), anyBoolean())).willReturn(order);
         given(orderItemRepository.findAllByOrderIdAndActivated(anyLong(), anyBoolean())).willReturn(orderItems);
-        given(itemRepository.findAllByIdInAndActivated(anyList(), anyBoolean())).willReturn(items);
-        given(itemRepository.findById(1L)).willReturn(Optional.ofNullable(item));
 
         // when
         orderServiceImpl.completeOrder(1L);
 
         // then
-        verify(item, atLeastOnce()).compareStockQuantityWithItemQuantity(anyInt());
-        verify(item, atLeastOnce()).subtractStock(anyInt());
+        verify(stockServiceImpl, times(1)).subtract(1L, Map.of(1L, 7, 2L, 3));
+    }
 
+    @Test
+    @DisplayName("주문 완료 시 재고차감에 실패한 item 이 있으면 예외를 던진다.")
+    void completeOrderSubtractStocksFailedThrow() {
+        // given
+        Order order = Order.builder().memberId(1L).build();
+        List<OrderItem> orderItems = new ArrayList<>();
+        orderItems.add(OrderItem.builder().id(1L).itemId(1L).itemUsedQuantity(5).build());
+
+        givenTokenMember();
+        given(orderRepository.findForUpdateByIdAndActivated(anyLong(), anyBoolean())).willReturn(order);
+        given(orderItemRepository.findAllByOrderIdAndActivated(anyLong(), anyBoolean())).willReturn(orderItems);
+        willThrow(new BadRequestException("재고가 부족합니다.")).given(stockServiceImpl).subtract(1L, Map.of(1L, 5));
+
+        // when
+        Long orderId = 1L;
+
+        // then
+        assertThatThrownBy(() -> orderServiceImpl.completeOrder(orderId))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("재고가 부족합니다.");
+    }
+
+    @Test
+    @DisplayName("주문 일괄 완료 시 주문별 재고 차감 수량을 한번에 넘기고, 완료할 수 없는 주문은 사유와 함께 주문별 결과로 반환한다.")
+    void completeOrdersSubtractStocksOnce() {
+        // given
+        Member member = Member.builder().id(1L).build();
+        Order first = Order.builder().id(1L).memberId(member.getId()).build();
+        Order second = Order.builder().id(2L).memberId(member.getId()).build();
+        Order completed = Order.builder().id(3L).memberId(member.getId()).build();
+        completed.updateOrderStatus(COMPLETED);
+        given(orderRepository.findWithOptionalDeliveryByOrderIdsForUpdate(List.of(1L, 2L, 3L, 4L))).willReturn(List.of(first, second, completed));
+        given(memberRepository.findAllById(List.of(1L))).willReturn(List.of(member));
+        given(orderItemRepository.findAllByOrderIdInAndActivated(List.of(1L, 2L), true)).willReturn(List.of(
+                OrderItem.builder().order(first).itemId(1L).itemUsedQuantity(2).build(),
+                OrderItem.builder().order(second).itemId(1L).itemUsedQuantity(3).build(),
+                OrderItem.builder().order(second).itemId(2L).itemUsedQuantity(1).build()));
+        given(stockServiceImpl.subtractAll(Map.of(1L, Map.of(1L, 2), 2L, Map.of(1L, 3, 2L, 1)))).willReturn(List.of());
+
+        // when
+        List<OrderCompleteResultDto> results = orderServiceImpl.completeOrders(List.of(1L, 2L, 3L, 4L));
+
+        // then
+        assertThat(results).extracting(OrderCompleteResultDto::getOrderId).containsExactly(1L, 2L, 3L, 4L);
+        assertThat(results).extracting(OrderCompleteResultDto::isCompleted).containsExactly(true, true, false, false);
+        assertThat(results.get(2).getMessage()).isEqualTo("이미 완료된 주문입니다.");
+        assertThat(results.get(3).getMessage()).isEqualTo("주문이 존재하지 않습니다.");
+        assertThat(first.getStatus()).isEqualTo(COMPLETED);
+        assertThat(second.getStatus()).isEqualTo(COMPLETED);
+        verify(deliveryRepository, times(1)).saveAll(argThat(deliveries -> ((List<?>) deliveries).size() == 2));
+        verify(orderOutboxServiceImpl, times(1)).recordAll(List.of(first, second), ORDER_COMPLETED);
+    }
+
+    @Test
+    @DisplayName("주문 일괄 완료 시 재고를 차감하지 못한 주문만 실패로 처리하고, 완료한 주문의 차감 수량만 주문 샤드 커밋 기록으로 남긴다.")
+    void completeOrdersRetryShortageOrders() {
+        // given
+        Member member = Member.builder().id(1L).build();
+        Order first = Order.builder().id(1L).memberId(member.getId()).build();
+        Order second = Order.builder().id(2L).memberId(member.getId()).build();
+        given(orderRepository.findWithOptionalDeliveryByOrderIdsForUpdate(List.of(1L, 2L))).willReturn(List.of(first, second));
+        given(memberRepository.findAllById(List.of(1L))).willReturn(List.of(member));
+        given(orderItemRepository.findAllByOrderIdInAndActivated(List.of(1L, 2L), true)).willReturn(List.of(
+                OrderItem.builder().order(first).itemId(1L).itemUsedQuantity(3).build(),
+                OrderItem.builder().order(first).itemId(2L).itemUsedQuantity(1).build(),
+                OrderItem.builder().order(second).itemId(1L).itemUsedQuantity(3).build()));
+        given(stockServiceImpl.subtractAll(anyMap())).willReturn(List.of(2L));
+
+        // when
+        List<OrderCompleteResultDto> results = orderServiceImpl.completeOrders(List.of(1L, 2L));
+
+        // then
+        assertThat(results).extracting(OrderCompleteResultDto::isCompleted).containsExactly(true, false);
+        assertThat(results.get(1).getMessage()).isEqualTo("재고가 부족합니다.");
+        assertThat(first.getStatus()).isEqualTo(COMPLETED);
+        assertThat(second.getStatus()).isNotEqualTo(COMPLETED);
+        verify(deliveryRepository, times(1)).saveAll(argThat(deliveries -> ((List<?>) deliveries).size() == 1));
+        verify(shardCommitServiceImpl, times(1)).record(ShardCommitType.ORDER_COMPLETED, Map.of(1L, Map.of(1L, 3, 2L, 1)));
     }
 
     @Test
     @DisplayName("주문 취소 시 주문 데이터가 존재하지 않을 경우 예외를 던진다.")
     void cancelOrderDataNotFoundThrow() {
         // given
+        givenTokenMember();
         given(orderRepository.findWithDeliveryByOrderId(anyLong())).willReturn(null);
 
         // when
@@ -294,11 +343,28 @@ class OrderServiceImplTest {
         assertThatThrownBy(() -> orderServiceImpl.cancelOrder(orderId)).isInstanceOf(BadRequestException.class);
     }
 
+    @Test
+    @DisplayName("주문 취소 시 다른 회원의 주문이면 주문이 없는 것으로 보고 예외를 던진다.")
+    void cancelOrderOtherMemberThrow() {
+        // given
+        givenTokenMember();
+        Delivery delivery = Delivery.builder().id(1L).status(STAND_BY).build();
+        Order order = Order.builder().id(1L).memberId(2L).delivery(delivery).build();
+        given(orderRepository.findWithDeliveryByOrderId(anyLong())).willReturn(order);
+
+        // when, then
+        assertThatThrownBy(() -> orderServiceImpl.cancelOrder(1L)).isInstanceOf(BadRequestException.class)
+                .hasMessage("주문이 존재하지 않습니다.");
+        assertThat(order.getStatus()).isNotEqualTo(CANCELED);
+        verify(stockServiceImpl, never()).addStocks(anyMap());
+    }
+
     @Test
     @DisplayName("주문 취소 시 이미 주문이 취소된 경우 예외를 던진다.")
     void cancelOrderAlreadyCanceledThrow() {
         // given
-        Order order = Order.builder().id(1L).build();
+        givenTokenMember();
+        Order order = Order.builder().id(1L).memberId(1L).build();
         order.updateOrderStatus(CANCELED);
         given(orderRepository.findWithDeliveryByOrderId(anyLong())).willReturn(order);
 
@@ -313,8 +379,9 @@ class OrderServiceImplTest {
     @DisplayName("주문 취소 시 주문 취소가 가능하지 않을 경우 예외를 던진다.")
     void cancelOrderNotCancelableThrow() {
         // given
+        givenTokenMember();
         Delivery delivery = Delivery.builder().id(1L).status(IN_DELIVERY).build();
-        Order order = Order.builder().id(1L).delivery(delivery).build();
+        Order order = Order.builder().id(1L).memberId(1L).delivery(delivery).build();
         order.updateOrderStatus(COMPLETED);
         given(orderRepository.findWithDeliveryByOrderId(anyLong())).willReturn(order);
 
@@ -330,11 +397,11 @@ class OrderServiceImplTest {
     @DisplayName("주문 취소 시 주문상태변경 메소드를 한번 호출하였는지 확인")
     void cancelOrderUpdateOrderStatusMethodCallOnceCheck() {
         // given
+        givenTokenMember();
         Delivery delivery = Delivery.builder().id(1L).status(STAND_BY).build();
-        Order order = spy(Order.builder().id(1L).delivery(delivery).build());
+        Order order = spy(Order.builder().id(1L).memberId(1L).delivery(delivery).build());
         order.updateOrderStatus(COMPLETED);
         given(orderRepository.findWithDeliveryByOrderId(anyLong())).willReturn(order);
-        given(itemRepository.findAllByIdInAndActivated(anyList(), anyBoolean())).willReturn(List.of(Item.builder().build()));
 
         // when
         orderServiceImpl.cancelOrder(1L);
@@ -347,11 +414,11 @@ class OrderServiceImplTest {
     @DisplayName("주문 취소 시 배송상태변경 메소드를 한번 호출하였는지 확인")
     void cancelOrderUpdateDeliveryStatusMethodCallOnceCheck() {
         // given
+        givenTokenMember();
         Delivery delivery = spy(Delivery.builder().id(1L).status(STAND_BY).build());
-        Order order = spy(Order.builder().id(1L).delivery(delivery).build());
+        Order order = spy(Order.builder().id(1L).memberId(1L).delivery(delivery).build());
         order.updateOrderStatus(COMPLETED);
         given(orderRepository.findWithDeliveryByOrderId(anyLong())).willReturn(order);
-        given(itemRepository.findAllByIdInAndActivated(anyList(), anyBoolean())).willReturn(List.of(Item.builder().build()));
 
         // when
         orderServiceImpl.cancelOrder(1L);
@@ -361,25 +428,96 @@ class OrderServiceImplTest {
     }
 
     @Test
-    @DisplayName("주문 취소 시 주문상품의 재고를 복구하는 메소드를 한번 이상 호출하였는지 확인")
-    void cancelOrderAddStockMethodCallsCheck() {
+    @DisplayName("주문 취소 시 바뀐 주문, 배송 상태를 주문 목록 조회 테이블에 반영한다.")
+    void cancelOrderApplyMemberOrderView() {
         // given
+        givenTokenMember();
         Delivery delivery = Delivery.builder().id(1L).status(STAND_BY).build();
-        Order order = Order.builder().id(1L).delivery(delivery).build();
+        Order order = Order.builder().id(1L).memberId(1L).delivery(delivery).build();
+        order.updateOrderStatus(COMPLETED);
+        given(orderRepository.findWithDeliveryByOrderId(anyLong())).willReturn(order);
+
+        // when
+        orderServiceImpl.cancelOrder(1L);
+
+        // then
+        verify(memberOrderViewServiceImpl, times(1)).apply(argThat(applied ->
+                applied == delivery && applied.getStatus() == DeliveryStatus.CANCELED));
+    }
+
+    @Test
+    @DisplayName("주문 취소 시 같은 item 의 주문상품 수량을 합산하여 재고를 한번에 복구한다.")
+    void cancelOrderAddStocksOnce() {
+        // given
+        givenTokenMember();
+        Delivery delivery = Delivery.builder().id(1L).status(STAND_BY).build();
+        Order order = Order.builder().id(1L).memberId(1L).delivery(delivery).build();
         order.updateOrderStatus(COMPLETED);
         List<OrderItem> orderItems = new ArrayList<>();
         orderItems.add(OrderItem.builder().id(1L).itemId(1L).itemUsedQuantity(5).build());
-        Item item = spy(Item.builder().id(1L).stockQuantity(10).build());
+        orderItems.add(OrderItem.builder().id(2L).itemId(1L).itemUsedQuantity(3).build());
+        orderItems.add(OrderItem.builder().id(3L).itemId(2L).itemUsedQuantity(1).build());
         given(orderRepository.findWithDeliveryByOrderId(anyLong())).willReturn(order);
-        given(itemRepository.findAllByIdInAndActivated(anyList(), anyBoolean())).willReturn(List.of(Item.builder().build()));
         given(orderItemRepository.findAllByOrderIdAndActivated(anyLong(), anyBoolean())).willReturn(orderItems);
-        given(itemRepository.findById(1L)).willReturn(Optional.of(item));
 
         // when
         orderServiceImpl.cancelOrder(1L);
 
         // then
-        verify(item, atLeastOnce()).addStock(anyInt());
+        verify(stockServiceImpl, times(1)).addStocks(Map.of(1L, 8, 2L, 1));
+    }
+
+    @Test
+    @DisplayName("주문 일괄 취소 시 전체 주문의 재고 복구 수량을 item 별로 합산하여 한번에 복구한다.")
+    void cancelOrdersAddStocksOnce() {
+        // given
+        List<Order> orders = new ArrayList<>();
+        for (long orderId = 1; orderId <= 2; orderId++) {
+            Order order = Order.builder().id(orderId).delivery(Delivery.builder().status(STAND_BY).build()).build();
+            order.updateOrderStatus(COMPLETED);
+            orders.add(order);
+        }
+        given(orderRepository.findWithDeliveryByOrderIds(List.of(1L, 2L))).willReturn(orders);
+        given(orderItemRepository.findAllByOrderIdInAndActivated(List.of(1L, 2L), true)).willReturn(List.of(
+                OrderItem.builder().id(1L).order(orders.get(0)).itemId(1L).itemUsedQuantity(2).build(),
+                OrderItem.builder().id(2L).order(orders.get(1)).itemId(1L).itemUsedQuantity(4).build()));
+
+        // when
+        orderServiceImpl.cancelOrders(List.of(1L, 2L, 2L));
+
+        // then
+        assertThat(orders).allMatch(order -> order.getStatus() == CANCELED
+                && order.getDelivery().getStatus() == DeliveryStatus.CANCELED);
+        verify(stockServiceImpl, times(1)).addStocks(Map.of(1L, 6));
+    }
+
+    @Test
+    @DisplayName("주문 일괄 취소 시 존재하지 않는 주문이 있으면 예외를 던지고 재고를 복구하지 않는다.")
+    void cancelOrdersNotFoundThrow() {
+        // given
+        Order order = Order.builder().id(1L).delivery(Delivery.builder().status(STAND_BY).build()).build();
+        given(orderRepository.findWithDeliveryByOrderIds(List.of(1L, 2L))).willReturn(List.of(order));
+
+        // when, then
+        assertThatThrownBy(() -> orderServiceImpl.cancelOrders(List.of(1L, 2L))).isInstanceOf(BadRequestException.class)
+                .hasMessage("주문이 존재하지 않습니다.");
+        verify(stockServiceImpl, never()).addStocks(anyMap());
+    }
+
+    private void givenTokenMember() {
+        given(jwtTokenManager.getUserIdByToken()).willReturn("testId");
+        given(memberRepository.findByUserIdAndActivated("testId", true)).willReturn(Member.builder().id(1L).build());
+    }
+
+    private CheckoutValidationResult validCheckout(int itemUsedQuantity) {
+        List<Cart> carts = new ArrayList<>();
+        carts.add(Cart.builder()
+                .id(1L)
+                .itemUsedQuantity(itemUsedQuantity)
+                .product(Product.builder().id(1L).name("테스트 상품").build())
+                .item(Item.builder().id(1L).price(Price.builder().salePrice(1000).build()).build())
+                .build());
+        return new CheckoutValidationResult(Member.builder().build(), carts, List.of());
     }
 
 }
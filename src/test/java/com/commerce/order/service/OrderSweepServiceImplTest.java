@@ -0,0 +1,121 @@
+package com.commerce.order.service;
+
+import com.commerce.cart.domain.Cart;
+import com.commerce.cart.repository.CartRepository;
+import com.commerce.cart.service.CartStore;
+import com.commerce.order.domain.OrderRepository;
+import com.commerce.product.domain.Item;
+import com.commerce.product.domain.Option;
+import com.commerce.product.domain.Product;
+import com.commerce.user.domain.Member;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class OrderSweepServiceImplTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private CartRepository cartRepository;
+
+    @Mock
+    private CartStore cartStore;
+
+    private OrderSweepServiceImpl orderSweepServiceImpl;
+
+    @BeforeEach
+    void setUp() {
+        orderSweepServiceImpl = new OrderSweepServiceImpl(orderRepository, cartRepository, cartStore, 200);
+    }
+
+    @Test
+    @DisplayName("오래된 주문 준비 주문을 비활성화하고, 같은 상품 옵션이 장바구니에 다시 담기지 않은 장바구니만 다시 활성화한다.")
+    void sweepReactivateCartsWithoutDuplicate() {
+        // given
+        Member member = Member.builder().id(1L).build();
+        given(orderRepository.findStalePreparationOrderIdsForUpdate(any(LocalDateTime.class), anyInt())).willReturn(List.of(10L));
+        given(orderRepository.deactivatePreparationOrders(List.of(10L))).willReturn(List.of(10L));
+        given(cartRepository.findCheckedOutCartsByOrderIds(List.of(10L))).willReturn(List.of(cart(1L, member, 1L, 1L), cart(2L, member, 1L, 2L)));
+        given(cartRepository.findActiveCartsByMemberIds(List.of(1L))).willReturn(List.of(cart(3L, member, 1L, 2L)));
+
+        // when
+        int swept = orderSweepServiceImpl.sweep(LocalDateTime.now());
+
+        // then
+        assertThat(swept).isEqualTo(1);
+        verify(cartRepository).reactivateCarts(List.of(1L));
+        verify(cartStore).evictAfterCommit(List.of(1L));
+    }
+
+    @Test
+    @DisplayName("조회한 주문이 그 사이 완료되어 비활성화되지 않았으면 장바구니를 다시 활성화하지 않는다.")
+    void sweepSkipCartsOfCompletedOrders() {
+        // given
+        given(orderRepository.findStalePreparationOrderIdsForUpdate(any(LocalDateTime.class), anyInt())).willReturn(List.of(10L));
+        given(orderRepository.deactivatePreparationOrders(List.of(10L))).willReturn(List.of());
+
+        // when
+        int swept = orderSweepServiceImpl.sweep(LocalDateTime.now());
+
+        // then
+        assertThat(swept).isZero();
+        verify(cartRepository, never()).findCheckedOutCartsByOrderIds(any());
+        verify(cartRepository, never()).reactivateCarts(any());
+    }
+
+    @Test
+    @DisplayName("정리할 주문이 없으면 아무것도 변경하지 않는다.")
+    void sweepNothing() {
+        // given
+        given(orderRepository.findStalePreparationOrderIdsForUpdate(any(LocalDateTime.class), anyInt())).willReturn(List.of());
+
+        // when
+        int swept = orderSweepServiceImpl.sweep(LocalDateTime.now());
+
+        // then
+        assertThat(swept).isZero();
+        verify(orderRepository, never()).deactivatePreparationOrders(any());
+        verify(cartRepository, never()).findCheckedOutCartsByOrderIds(any());
+    }
+
+    @Test
+    @DisplayName("같은 item, 옵션이라도 상품이 다른 장바구니는 중복이 아니므로 모두 다시 활성화한다.")
+    void reactivateCartsOfDifferentProducts() {
+        // given
+        Member member = Member.builder().id(1L).build();
+        given(cartRepository.findCheckedOutCartsByOrderIds(List.of(10L))).willReturn(List.of(cart(1L, member, 1L, 1L), cart(2L, member, 2L, 1L)));
+        given(cartRepository.findActiveCartsByMemberIds(List.of(1L))).willReturn(List.of());
+
+        // when
+        orderSweepServiceImpl.reactivateCarts(List.of(10L));
+
+        // then
+        verify(cartRepository).reactivateCarts(List.of(1L, 2L));
+    }
+
+    private Cart cart(Long cartId, Member member, Long productId, Long optionId) {
+        return Cart.builder()
+                .id(cartId)
+                .member(member)
+                .product(Product.builder().id(productId).build())
+                .item(Item.builder().id(optionId).build())
+                .option(Option.builder().id(optionId).build())
+                .build();
+    }
+}
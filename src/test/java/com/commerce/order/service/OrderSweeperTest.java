@@ -0,0 +1,68 @@
+package com.commerce.order.service;
+
+import com.commerce.global.common.datasource.ShardRouter;
+import com.commerce.global.common.datasource.ShardRoutingDataSource;
+import com.github.gavlyukovskiy.boot.jdbc.decorator.DecoratedDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class OrderSweeperTest {
+
+    @Mock
+    private OrderSweepServiceImpl orderSweepServiceImpl;
+
+    @Mock
+    private ObjectProvider<DataSource> orderDataSourceProvider;
+
+    @Test
+    @DisplayName("p6spy 와 샤드 라우팅으로 감싼 커넥션 풀도 찾아, 현재 샤드의 풀에 커넥션을 기다리는 요청이 있으면 그 샤드는 정리하지 않는다.")
+    void skipBusyShard() {
+        // given
+        HikariDataSource globalPool = pool(0);
+        LazyConnectionDataSourceProxy orderDataSource = new LazyConnectionDataSourceProxy();
+        orderDataSource.setTargetDataSource(new ShardRoutingDataSource(List.of(pool(0), pool(1))));
+        DecoratedDataSource dataSource = mock(DecoratedDataSource.class);
+        given(dataSource.getRealDataSource()).willReturn(globalPool);
+        given(orderDataSourceProvider.getIfAvailable()).willReturn(orderDataSource);
+        given(orderSweepServiceImpl.sweep(any(LocalDateTime.class))).willReturn(0);
+        given(orderSweepServiceImpl.getChunkSize()).willReturn(200);
+        OrderSweeper orderSweeper = new OrderSweeper(orderSweepServiceImpl, new ShardRouter(true, 2),
+                dataSource, orderDataSourceProvider, 24, 5, 0.5);
+
+        // when
+        orderSweeper.sweep();
+
+        // then
+        verify(orderSweepServiceImpl, times(1)).sweep(any(LocalDateTime.class));
+    }
+
+    private HikariDataSource pool(int threadsAwaitingConnection) {
+        HikariDataSource hikariDataSource = mock(HikariDataSource.class);
+        HikariPoolMXBean pool = mock(HikariPoolMXBean.class);
+        given(hikariDataSource.getHikariPoolMXBean()).willReturn(pool);
+        given(pool.getThreadsAwaitingConnection()).willReturn(threadsAwaitingConnection);
+        if (threadsAwaitingConnection == 0) {
+            given(hikariDataSource.getMaximumPoolSize()).willReturn(10);
+            given(pool.getActiveConnections()).willReturn(0);
+        }
+        return hikariDataSource;
+    }
+}
@@ -0,0 +1,142 @@
+package com.commerce.order.service;
+
+import com.commerce.global.common.datasource.ShardRouter;
+import com.commerce.global.common.domain.ShardCommit;
+import com.commerce.global.common.domain.ShardCommit.ShardCommitType;
+import com.commerce.global.common.domain.ShardCommitRepository;
+import com.commerce.order.domain.ShardCommitMarker;
+import com.commerce.order.domain.ShardCommitMarkerRepository;
+import com.commerce.product.service.StockServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ShardCommitServiceImplTest {
+
+    @Mock
+    private ShardCommitRepository shardCommitRepository;
+
+    @Mock
+    private ShardCommitMarkerRepository shardCommitMarkerRepository;
+
+    @Mock
+    private StockServiceImpl stockServiceImpl;
+
+    @Mock
+    private OrderSweepServiceImpl orderSweepServiceImpl;
+
+    @Mock
+    private ShardRouter shardRouter;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private ShardCommitServiceImpl shardCommitServiceImpl;
+
+    @Test
+    @DisplayName("주문 샤드를 사용하지 않으면 주문 샤드 커밋 기록을 남기지 않는다.")
+    void recordSkipWhenShardDisabled() {
+        // given
+        given(shardRouter.isEnabled()).willReturn(false);
+
+        // when
+        shardCommitServiceImpl.record(ShardCommitType.ORDER_COMPLETED, Map.of(1L, Map.of(1L, 2)));
+
+        // then
+        verify(shardCommitRepository, never()).save(any());
+        verify(shardCommitMarkerRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("주문 샤드에 커밋 표시가 있으면 표시와 기록만 삭제하고 공통 DB 변경은 되돌리지 않는다.")
+    void reconcileCommittedShard() {
+        // given
+        ShardCommit shardCommit = shardCommit(ShardCommitType.ORDER_COMPLETED, "{\"1\":{\"1\":2}}");
+        ShardCommitMarker marker = ShardCommitMarker.builder().id(1L).build();
+        given(shardCommitRepository.findForUpdateById(1L)).willReturn(shardCommit);
+        given(shardCommitMarkerRepository.findForUpdateById(1L)).willReturn(marker);
+
+        // when
+        boolean compensated = shardCommitServiceImpl.reconcile(1L);
+
+        // then
+        assertThat(compensated).isFalse();
+        verify(shardCommitMarkerRepository, times(1)).delete(marker);
+        verify(shardCommitRepository, times(1)).delete(shardCommit);
+        verify(stockServiceImpl, never()).addStocks(anyMap());
+    }
+
+    @Test
+    @DisplayName("주문 완료가 주문 샤드에 커밋되지 않았으면 주문들의 차감 수량을 item 별로 합산하여 재고를 복구한다.")
+    void reconcileCompletedOrdersAddStocks() {
+        // given
+        ShardCommit shardCommit = shardCommit(ShardCommitType.ORDER_COMPLETED, "{\"1\":{\"1\":2},\"2\":{\"1\":3,\"2\":1}}");
+        given(shardCommitRepository.findForUpdateById(1L)).willReturn(shardCommit);
+        given(shardCommitMarkerRepository.findForUpdateById(1L)).willReturn(null);
+
+        // when
+        boolean compensated = shardCommitServiceImpl.reconcile(1L);
+
+        // then
+        assertThat(compensated).isTrue();
+        verify(stockServiceImpl, times(1)).addStocks(Map.of(1L, 5, 2L, 1));
+        verify(shardCommitRepository, times(1)).delete(shardCommit);
+    }
+
+    @Test
+    @DisplayName("주문 추가가 주문 샤드에 커밋되지 않았으면 예약된 재고를 해제하고 장바구니를 다시 활성화한다.")
+    void reconcileAddedOrderReleaseReservationsAndCarts() {
+        // given
+        ShardCommit shardCommit = shardCommit(ShardCommitType.ORDER_ADDED, "{\"10\":{\"1\":2}}");
+        given(shardCommitRepository.findForUpdateById(1L)).willReturn(shardCommit);
+        given(shardCommitMarkerRepository.findForUpdateById(1L)).willReturn(null);
+
+        // when
+        shardCommitServiceImpl.reconcile(1L);
+
+        // then
+        verify(stockServiceImpl, times(1)).releaseReservations(List.of(10L));
+        verify(orderSweepServiceImpl, times(1)).reactivateCarts(List.of(10L));
+        verify(stockServiceImpl, never()).addStocks(anyMap());
+    }
+
+    @Test
+    @DisplayName("주문 취소가 주문 샤드에 커밋되지 않았으면 복구한 재고를 다시 차감한다.")
+    void reconcileCanceledOrdersSubtractStocks() {
+        // given
+        ShardCommit shardCommit = shardCommit(ShardCommitType.ORDER_CANCELED, "{\"1\":{\"1\":2}}");
+        given(shardCommitRepository.findForUpdateById(1L)).willReturn(shardCommit);
+        given(shardCommitMarkerRepository.findForUpdateById(1L)).willReturn(null);
+        given(stockServiceImpl.subtractAll(Map.of(1L, Map.of(1L, 2)))).willReturn(List.of());
+
+        // when
+        shardCommitServiceImpl.reconcile(1L);
+
+        // then
+        verify(stockServiceImpl, times(1)).subtractAll(anyMap());
+        verify(orderSweepServiceImpl, never()).reactivateCarts(anyList());
+    }
+
+    private static ShardCommit shardCommit(ShardCommitType commitType, String payload) {
+        return ShardCommit.builder().shardId(1).commitType(commitType).payload(payload).build();
+    }
+}
@@ -0,0 +1,144 @@
+package com.commerce.product.domain;
+
+import com.commerce.global.common.Price;
+import com.commerce.global.common.config.TestJPAQueryFactoryConfig;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.Map;
+
+import static com.commerce.global.common.Price.DiscountMethod.NO_DISCOUNT;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace.NONE;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(TestJPAQueryFactoryConfig.class)
+@AutoConfigureTestDatabase(replace = NONE)
+class ItemRepositoryTest {
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Test
+    @DisplayName("subtractStocks 는 재고가 충분한 item 만 차감하고 재고가 부족한 item id 를 반환한다.")
+    void subtractStocksOnlyWhenEnoughStock() {
+        // given
+        Item enough = persistItem(10);
+        Item shortage = persistItem(3);
+
+        // when
+        List<Long> failedItemIds = itemRepository.subtractStocks(Map.of(enough.getId(), 10, shortage.getId(), 4));
+        testEntityManager.clear();
+
+        // then
+        assertThat(failedItemIds).containsExactly(shortage.getId());
+        assertThat(testEntityManager.find(Item.class, enough.getId()).getStockQuantity()).isEqualTo(0);
+        assertThat(testEntityManager.find(Item.class, shortage.getId()).getStockQuantity()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("reserveStocks 는 예약되지 않은 재고 안에서만 예약하고, 예약된 재고는 subtractStocks 로 차감되지 않는다.")
+    void reserveStocksOnlyWhenEnoughAvailableStock() {
+        // given
+        Item item = persistItem(10);
+
+        // when
+        List<Long> reserveFailedItemIds = itemRepository.reserveStocks(Map.of(item.getId(), 8));
+        List<Long> overReserveFailedItemIds = itemRepository.reserveStocks(Map.of(item.getId(), 3));
+        List<Long> subtractFailedItemIds = itemRepository.subtractStocks(Map.of(item.getId(), 3));
+        List<Long> convertFailedItemIds = itemRepository.convertReservedStocks(Map.of(item.getId(), 8));
+        testEntityManager.clear();
+
+        // then
+        assertThat(reserveFailedItemIds).isEmpty();
+        assertThat(overReserveFailedItemIds).containsExactly(item.getId());
+        assertThat(subtractFailedItemIds).containsExactly(item.getId());
+        assertThat(convertFailedItemIds).isEmpty();
+        Item found = testEntityManager.find(Item.class, item.getId());
+        assertThat(found.getStockQuantity()).isEqualTo(2);
+        assertThat(found.getReservedQuantity()).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("releaseReservedStocks 는 예약 수량이 해제할 수량보다 적은 item 을 해제하지 않고 돌려준다.")
+    void releaseReservedStocksReturnsMismatchedItems() {
+        // given
+        Item reserved = persistItem(10);
+        Item shortage = persistItem(10);
+        itemRepository.reserveStocks(Map.of(reserved.getId(), 5, shortage.getId(), 1));
+
+        // when
+        List<Long> failedItemIds = itemRepository.releaseReservedStocks(Map.of(reserved.getId(), 5, shortage.getId(), 2));
+        testEntityManager.clear();
+
+        // then
+        assertThat(failedItemIds).containsExactly(shortage.getId());
+        assertThat(testEntityManager.find(Item.class, reserved.getId()).getReservedQuantity()).isEqualTo(0);
+        assertThat(testEntityManager.find(Item.class, shortage.getId()).getReservedQuantity()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("addStocks 는 여러 item 의 재고를 하나의 UPDATE 로 증가시키고, 없는 item 은 증가 건수에서 제외한다.")
+    void addStocksInSingleStatement() {
+        // given
+        Item first = persistItem(1);
+        Item second = persistItem(2);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // when
+        long updatedCount = itemRepository.addStocks(Map.of(first.getId(), 3, second.getId(), 5, Long.MAX_VALUE, 1));
+        testEntityManager.clear();
+
+        // then
+        assertThat(updatedCount).isEqualTo(2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(testEntityManager.find(Item.class, first.getId()).getStockQuantity()).isEqualTo(4);
+        assertThat(testEntityManager.find(Item.class, second.getId()).getStockQuantity()).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("addStocks 는 주문 이후에 비활성화된 item 의 재고도 되돌린다.")
+    void addStocksDeactivatedItem() {
+        // given
+        Item item = persistItem(1);
+        testEntityManager.getEntityManager().createQuery("update Item i set i.activated = false where i.id = :id")
+                .setParameter("id", item.getId())
+                .executeUpdate();
+
+        // when
+        long updatedCount = itemRepository.addStocks(Map.of(item.getId(), 3));
+        testEntityManager.clear();
+
+        // then
+        assertThat(updatedCount).isEqualTo(1);
+        assertThat(testEntityManager.find(Item.class, item.getId()).getStockQuantity()).isEqualTo(4);
+    }
+
+    private Item persistItem(int stockQuantity) {
+        Item item = testEntityManager.merge(Item.builder()
+                .name("test item")
+                .imgPath("https://img.test.com/item.jpg")
+                .price(Price.builder().defaultPrice(1000).salePrice(1000).discountMethod(NO_DISCOUNT).build())
+                .supplyPrice(500)
+                .stockQuantity(stockQuantity)
+                .build());
+        testEntityManager.flush();
+        return item;
+    }
+}
@@ -0,0 +1,100 @@
+package com.commerce.product.domain;
+
+import com.commerce.global.common.config.TestJPAQueryFactoryConfig;
+import com.commerce.product.service.ItemSnapshotCache;
+import com.commerce.product.service.ItemStockShardServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace.NONE;
+
+@DataJpaTest
+@Import(TestJPAQueryFactoryConfig.class)
+@AutoConfigureTestDatabase(replace = NONE)
+class ItemStockShardRepositoryTest {
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemStockShardRepository itemStockShardRepository;
+
+    @Test
+    @DisplayName("샤드 재고는 샤드 재고가 충분한 경우에만 차감되고, item id 별 합계로 조회된다.")
+    void subtractStockAndSumStockQuantity() {
+        // given
+        itemStockShardRepository.saveAllAndFlush(ItemStockShard.split(100L, 10, 4));
+        itemStockShardRepository.saveAllAndFlush(ItemStockShard.split(200L, 3, 2));
+
+        // when
+        boolean subtracted = itemStockShardRepository.subtractStock(100L, 0, 3);
+        boolean shortage = itemStockShardRepository.subtractStock(100L, 1, 4);
+        Map<Long, Integer> stockQuantities = itemStockShardRepository.sumStockQuantityByItemIds(List.of(100L, 200L, 300L));
+
+        // then
+        assertThat(subtracted).isTrue();
+        assertThat(shortage).isFalse();
+        assertThat(stockQuantities).containsExactlyInAnyOrderEntriesOf(Map.of(100L, 7, 200L, 3));
+    }
+
+    @Test
+    @DisplayName("샤드 번호 별 재고 수량은 영속성 컨텍스트의 샤드 엔티티가 아니라 bulk update 가 반영된 값으로 조회된다.")
+    void findStockQuantitiesForUpdate() {
+        // given
+        itemStockShardRepository.saveAllAndFlush(ItemStockShard.split(100L, 10, 4));
+        itemStockShardRepository.subtractStock(100L, 0, 3);
+
+        // when
+        Map<Integer, Integer> stockQuantities = itemStockShardRepository.findStockQuantitiesForUpdate(100L);
+
+        // then
+        assertThat(stockQuantities).containsExactly(entry(0, 0), entry(1, 3), entry(2, 2), entry(3, 2));
+    }
+
+    @Test
+    @DisplayName("한 트랜잭션에서 샤드를 나누어 차감한 뒤 bulk update 로 차감해도, 다음 나누어 차감은 이전 재고로 덮어쓰지 않는다.")
+    void subtractStocksAcrossShardsAfterBulkUpdate() {
+        // given
+        itemStockShardRepository.saveAllAndFlush(ItemStockShard.split(100L, 10, 4));
+        ItemStockShardServiceImpl itemStockShardServiceImpl = new ItemStockShardServiceImpl(itemRepository, itemStockShardRepository, new ItemSnapshotCache(100, 30), List.of(100L), 4);
+
+        // when
+        List<Long> firstFailedItemIds = itemStockShardServiceImpl.subtractStocks(Map.of(100L, 7));
+        boolean subtracted = itemStockShardRepository.subtractStock(100L, 3, 1);
+        List<Long> secondFailedItemIds = itemStockShardServiceImpl.subtractStocks(Map.of(100L, 2));
+        List<Long> shortageItemIds = itemStockShardServiceImpl.subtractStocks(Map.of(100L, 1));
+
+        // then
+        assertThat(firstFailedItemIds).isEmpty();
+        assertThat(subtracted).isTrue();
+        assertThat(secondFailedItemIds).isEmpty();
+        assertThat(shortageItemIds).containsExactly(100L);
+        assertThat(itemStockShardRepository.sumStockQuantityByItemIds(List.of(100L))).containsExactly(entry(100L, 0));
+    }
+
+    @Test
+    @DisplayName("샤드를 만든 뒤 샤드 개수가 늘어나도 재고 증가는 item 에 있는 샤드에 더해진다.")
+    void addStocksAfterShardCountIncreased() {
+        // given
+        itemStockShardRepository.saveAllAndFlush(ItemStockShard.split(100L, 10, 4));
+        ItemStockShardServiceImpl itemStockShardServiceImpl = new ItemStockShardServiceImpl(itemRepository, itemStockShardRepository, new ItemSnapshotCache(100, 30), List.of(100L), 8);
+
+        // when
+        for (int i = 0; i < 20; i++) {
+            itemStockShardServiceImpl.addStocks(Map.of(100L, 1));
+        }
+
+        // then
+        assertThat(itemStockShardRepository.findShardNos(100L)).containsExactly(0, 1, 2, 3);
+        assertThat(itemStockShardRepository.sumStockQuantityByItemIds(List.of(100L))).containsExactly(entry(100L, 30));
+    }
+}
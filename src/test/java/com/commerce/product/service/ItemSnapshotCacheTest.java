@@ -0,0 +1,61 @@
+package com.commerce.product.service;
+
+import com.commerce.product.domain.Item;
+import com.commerce.product.dto.ItemSnapshotDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItemSnapshotCacheTest {
+
+    @Test
+    @DisplayName("캐시에 없는 item 만 한번에 조회하고, item 캐시를 지우면 해당 item 만 다시 조회한다.")
+    void loadOnlyMissingItems() {
+        // given
+        ItemSnapshotCache itemSnapshotCache = new ItemSnapshotCache(100, 30);
+        AtomicInteger loadedCount = new AtomicInteger();
+
+        // when
+        itemSnapshotCache.getItems(List.of(1L, 2L), itemIds -> load(itemIds, loadedCount, 10));
+        itemSnapshotCache.evictItemsAfterCommit(List.of(2L));
+        Map<Long, ItemSnapshotDto> items = itemSnapshotCache.getItems(List.of(1L, 2L), itemIds -> load(itemIds, loadedCount, 5));
+
+        // then
+        assertThat(loadedCount).hasValue(3);
+        assertThat(items.get(1L).getStockQuantity()).isEqualTo(10);
+        assertThat(items.get(2L).getStockQuantity()).isEqualTo(5);
+        assertThat(itemSnapshotCache.getItemMetrics().getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("DB 에서 조회하는 동안 item 캐시가 지워지면 조회한 값을 캐시에 저장하지 않는다.")
+    void skipPutWhenEvictedWhileLoading() {
+        // given
+        ItemSnapshotCache itemSnapshotCache = new ItemSnapshotCache(100, 30);
+        AtomicInteger loadedCount = new AtomicInteger();
+
+        // when
+        itemSnapshotCache.getItems(List.of(1L), itemIds -> {
+            Map<Long, ItemSnapshotDto> loaded = load(itemIds, loadedCount, 10);
+            itemSnapshotCache.evictItemsAfterCommit(List.of(1L));
+            return loaded;
+        });
+        Map<Long, ItemSnapshotDto> items = itemSnapshotCache.getItems(List.of(1L), itemIds -> load(itemIds, loadedCount, 9));
+
+        // then
+        assertThat(loadedCount).hasValue(2);
+        assertThat(items.get(1L).getStockQuantity()).isEqualTo(9);
+    }
+
+    private Map<Long, ItemSnapshotDto> load(List<Long> itemIds, AtomicInteger loadedCount, int stockQuantity) {
+        loadedCount.addAndGet(itemIds.size());
+        return itemIds.stream().collect(Collectors.toMap(itemId -> itemId,
+                itemId -> new ItemSnapshotDto(Item.builder().id(itemId).build(), stockQuantity)));
+    }
+}
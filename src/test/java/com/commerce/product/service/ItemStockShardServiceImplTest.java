@@ -0,0 +1,145 @@
+package com.commerce.product.service;
+
+import com.commerce.product.domain.Item;
+import com.commerce.product.domain.ItemRepository;
+import com.commerce.product.domain.ItemStockShard;
+import com.commerce.product.domain.ItemStockShardRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.intThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ItemStockShardServiceImplTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private ItemStockShardRepository itemStockShardRepository;
+
+    private ItemStockShardServiceImpl itemStockShardServiceImpl;
+
+    @BeforeEach
+    void setUp() {
+        itemStockShardServiceImpl = new ItemStockShardServiceImpl(itemRepository, itemStockShardRepository, new ItemSnapshotCache(100, 30), List.of(1L), 4);
+    }
+
+    @Test
+    @DisplayName("재고 샤드 생성 시 재고를 샤드 개수만큼 나누고 나머지는 앞 번호 샤드에 더한다.")
+    void splitStockQuantity() {
+        // when
+        List<ItemStockShard> shards = ItemStockShard.split(1L, 10, 4);
+
+        // then
+        assertThat(shards).extracting(ItemStockShard::getShardNo).containsExactly(0, 1, 2, 3);
+        assertThat(shards).extracting(ItemStockShard::getStockQuantity).containsExactly(3, 3, 2, 2);
+    }
+
+    @Test
+    @DisplayName("재고 샤드 생성 시 ITEM row 를 잠근 뒤 샤드가 이미 있으면 건너뛰고, 샤드 모드에서 제외된 item 의 샤드 재고는 ITEM 으로 되돌린다.")
+    void initShardsMergeRemovedItem() {
+        // given
+        Item shardedItem = Item.builder().id(1L).stockQuantity(0).build();
+        Item removedItem = Item.builder().id(2L).stockQuantity(5).build();
+        List<ItemStockShard> removedShards = ItemStockShard.split(2L, 10, 4);
+        given(itemRepository.findForUpdateById(1L)).willReturn(shardedItem);
+        given(itemRepository.findForUpdateById(2L)).willReturn(removedItem);
+        given(itemStockShardRepository.existsByItemId(1L)).willReturn(true);
+        given(itemStockShardRepository.findItemIds()).willReturn(List.of(1L, 2L));
+        given(itemStockShardRepository.findAllForUpdateByItemIdOrderByShardNoAsc(2L)).willReturn(removedShards);
+
+        // when
+        itemStockShardServiceImpl.initShards();
+
+        // then
+        assertThat(removedItem.getStockQuantity()).isEqualTo(15);
+        verify(itemStockShardRepository, never()).saveAll(anyList());
+        verify(itemStockShardRepository, times(1)).deleteAllInBatch(removedShards);
+    }
+
+    @Test
+    @DisplayName("재고 차감 시 한 샤드에서 차감되면 샤드를 잠그지 않는다.")
+    void subtractStocksSingleShard() {
+        // given
+        given(itemStockShardRepository.subtractStock(eq(1L), anyInt(), eq(2))).willReturn(true);
+
+        // when
+        List<Long> failedItemIds = itemStockShardServiceImpl.subtractStocks(Map.of(1L, 2));
+
+        // then
+        assertThat(failedItemIds).isEmpty();
+        verify(itemStockShardRepository, times(1)).subtractStock(eq(1L), anyInt(), eq(2));
+        verify(itemStockShardRepository, never()).findStockQuantitiesForUpdate(1L);
+    }
+
+    @Test
+    @DisplayName("재고 차감 시 모든 샤드가 부족하면 샤드 재고 합계 안에서 나누어 차감한다.")
+    void subtractStocksAcrossShards() {
+        // given
+        given(itemStockShardRepository.subtractStock(eq(1L), anyInt(), eq(7))).willReturn(false);
+        given(itemStockShardRepository.findStockQuantitiesForUpdate(1L)).willReturn(shardStockQuantities(3, 3, 2, 2));
+        given(itemStockShardRepository.subtractStock(eq(1L), anyInt(), intThat(quantity -> quantity < 7))).willReturn(true);
+
+        // when
+        List<Long> failedItemIds = itemStockShardServiceImpl.subtractStocks(Map.of(1L, 7));
+
+        // then
+        assertThat(failedItemIds).isEmpty();
+        verify(itemStockShardRepository, times(4)).subtractStock(eq(1L), anyInt(), eq(7));
+        verify(itemStockShardRepository, times(1)).subtractStock(1L, 0, 3);
+        verify(itemStockShardRepository, times(1)).subtractStock(1L, 1, 3);
+        verify(itemStockShardRepository, times(1)).subtractStock(1L, 2, 1);
+        verify(itemStockShardRepository, never()).subtractStock(eq(1L), eq(3), intThat(quantity -> quantity < 7));
+    }
+
+    @Test
+    @DisplayName("재고 차감 시 샤드 재고 합계가 부족하면 차감하지 않고 item id 를 반환한다.")
+    void subtractStocksShortage() {
+        // given
+        given(itemStockShardRepository.subtractStock(eq(1L), anyInt(), eq(11))).willReturn(false);
+        given(itemStockShardRepository.findStockQuantitiesForUpdate(1L)).willReturn(shardStockQuantities(3, 3, 2, 2));
+
+        // when
+        List<Long> failedItemIds = itemStockShardServiceImpl.subtractStocks(Map.of(1L, 11));
+
+        // then
+        assertThat(failedItemIds).containsExactly(1L);
+        verify(itemStockShardRepository, times(4)).subtractStock(eq(1L), anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("재고 조회 시 샤드 모드가 아닌 item 만 있으면 샤드 재고를 조회하지 않는다.")
+    void findStockQuantitiesNotSharded() {
+        // when
+        Map<Long, Integer> stockQuantities = itemStockShardServiceImpl.findStockQuantities(List.of(2L, 3L));
+
+        // then
+        assertThat(stockQuantities).isEmpty();
+        verify(itemStockShardRepository, never()).sumStockQuantityByItemIds(anyList());
+    }
+
+    private Map<Integer, Integer> shardStockQuantities(int... stockQuantities) {
+        Map<Integer, Integer> shardStockQuantities = new LinkedHashMap<>();
+        for (int shardNo = 0; shardNo < stockQuantities.length; shardNo++) {
+            shardStockQuantities.put(shardNo, stockQuantities[shardNo]);
+        }
+        return shardStockQuantities;
+    }
+}
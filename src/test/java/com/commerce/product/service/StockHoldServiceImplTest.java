@@ -0,0 +1,90 @@
+package com.commerce.product.service;
+
+import com.commerce.global.common.Price;
+import com.commerce.global.common.config.TestJPAQueryFactoryConfig;
+import com.commerce.product.domain.Item;
+import com.commerce.product.domain.ItemRepository;
+import com.commerce.product.domain.StockHold;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+import java.util.Map;
+
+import static com.commerce.global.common.Price.DiscountMethod.NO_DISCOUNT;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace.NONE;
+
+@DataJpaTest
+@Import({TestJPAQueryFactoryConfig.class, StockHoldServiceImpl.class, ItemSnapshotCache.class})
+@AutoConfigureTestDatabase(replace = NONE)
+class StockHoldServiceImplTest {
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private StockHoldServiceImpl stockHoldServiceImpl;
+
+    @Test
+    @DisplayName("순차 처리 요청은 예약된 수량을 뺀 판매 가능한 재고 안에서만 승인하고, 승인된 차감은 재고 보류로 남긴다.")
+    void applyWithinAvailableStock() {
+        // given
+        Item item = persistItem(10);
+        itemRepository.reserveStocks(Map.of(item.getId(), 6));
+        testEntityManager.clear();
+
+        // when
+        List<Long> holdIds = stockHoldServiceImpl.apply(item.getId(), 0, List.of(), List.of(3, 2, 1));
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        // then
+        assertThat(holdIds.get(0)).isNotNull();
+        assertThat(holdIds.get(1)).isNull();
+        assertThat(holdIds.get(2)).isNotNull();
+        assertThat(testEntityManager.find(Item.class, item.getId()).getStockQuantity()).isEqualTo(6);
+        assertThat(testEntityManager.find(StockHold.class, holdIds.get(0)).getQuantity()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("확정된 재고 보류는 해제해도 재고가 되돌아가지 않고, 확정되지 않은 보류만 재고로 되돌린다.")
+    void releaseOnlyUnconfirmedHolds() {
+        // given
+        Item item = persistItem(10);
+        List<Long> holdIds = stockHoldServiceImpl.apply(item.getId(), 0, List.of(), List.of(3, 2));
+        testEntityManager.flush();
+
+        // when
+        List<Long> confirmedHoldIds = stockHoldServiceImpl.confirm(List.of(holdIds.get(0)));
+        int released = stockHoldServiceImpl.release(holdIds);
+        List<Long> lateConfirmedHoldIds = stockHoldServiceImpl.confirm(List.of(holdIds.get(1)));
+        testEntityManager.clear();
+
+        // then
+        assertThat(confirmedHoldIds).containsExactly(holdIds.get(0));
+        assertThat(released).isEqualTo(1);
+        assertThat(lateConfirmedHoldIds).isEmpty();
+        assertThat(testEntityManager.find(Item.class, item.getId()).getStockQuantity()).isEqualTo(7);
+    }
+
+    private Item persistItem(int stockQuantity) {
+        Item item = testEntityManager.merge(Item.builder()
+                .name("test item")
+                .imgPath("https://img.test.com/item.jpg")
+                .price(Price.builder().defaultPrice(1000).salePrice(1000).discountMethod(NO_DISCOUNT).build())
+                .supplyPrice(500)
+                .stockQuantity(stockQuantity)
+                .build());
+        testEntityManager.flush();
+        return item;
+    }
+}
@@ -0,0 +1,109 @@
+package com.commerce.product.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class StockSequencerTest {
+
+    @Mock
+    private StockHoldServiceImpl stockHoldServiceImpl;
+
+    private StockSequencer stockSequencer;
+
+    @AfterEach
+    void tearDown() {
+        stockSequencer.stop();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("큐에 쌓인 재고 차감 요청은 한번의 재고 변경으로 반영되고, 재고를 넘는 요청은 품절로 응답한다.")
+    void subtractRequestsCoalescedIntoOneUpdate() throws Exception {
+        // given
+        stockSequencer = new StockSequencer(stockHoldServiceImpl, List.of(1L), 100, 1000);
+        given(stockHoldServiceImpl.apply(1L, 0, List.of(), List.of(2, 2, 2))).willReturn(Arrays.asList(11L, 12L, null));
+        CompletableFuture<Boolean> first = stockSequencer.submit(1L, -2).getResult();
+        CompletableFuture<Boolean> second = stockSequencer.submit(1L, -2).getResult();
+        CompletableFuture<Boolean> third = stockSequencer.submit(1L, -2).getResult();
+
+        // when
+        stockSequencer.start();
+
+        // then
+        assertThat(first.get(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(second.get(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(third.get(1, TimeUnit.SECONDS)).isFalse();
+        verify(stockHoldServiceImpl, times(1)).apply(1L, 0, List.of(), List.of(2, 2, 2));
+    }
+
+    @Test
+    @DisplayName("재고 차감 요청이 처리되지 않으면 대기 시간 이후 실패한 item id 로 반환한다.")
+    void subtractStocksTimeoutReturnsFailedItemId() {
+        // given
+        stockSequencer = new StockSequencer(stockHoldServiceImpl, List.of(1L), 100, 10);
+
+        // when
+        List<Long> failedItemIds = stockSequencer.subtractStocks(Map.of(1L, 1));
+
+        // then
+        assertThat(failedItemIds).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("확정하기 전에 해제된 재고 보류는 차감되지 않은 item 으로 반환한다.")
+    void subtractStocksReleasedHoldReturnsFailedItemId() {
+        // given
+        stockSequencer = new StockSequencer(stockHoldServiceImpl, List.of(1L), 100, 1000);
+        given(stockHoldServiceImpl.apply(1L, 0, List.of(), List.of(1))).willReturn(List.of(11L));
+        given(stockHoldServiceImpl.confirm(List.of(11L))).willReturn(List.of());
+        stockSequencer.start();
+
+        // when
+        List<Long> failedItemIds = stockSequencer.subtractStocks(Map.of(1L, 1));
+
+        // then
+        assertThat(failedItemIds).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("재고를 차감한 트랜잭션이 롤백되면 writer 가 재고 보류를 해제한다.")
+    void subtractStocksRollbackReleasesHold() {
+        // given
+        stockSequencer = new StockSequencer(stockHoldServiceImpl, List.of(1L), 100, 1000);
+        given(stockHoldServiceImpl.apply(1L, 0, List.of(), List.of(1))).willReturn(List.of(11L));
+        given(stockHoldServiceImpl.confirm(List.of(11L))).willReturn(List.of(11L));
+        given(stockHoldServiceImpl.apply(1L, 0, List.of(11L), List.of())).willReturn(List.of());
+        stockSequencer.start();
+        TransactionSynchronizationManager.initSynchronization();
+
+        // when
+        List<Long> failedItemIds = stockSequencer.subtractStocks(Map.of(1L, 1));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        // then
+        assertThat(failedItemIds).isEmpty();
+        verify(stockHoldServiceImpl, timeout(1000).times(1)).apply(1L, 0, List.of(11L), List.of());
+    }
+}
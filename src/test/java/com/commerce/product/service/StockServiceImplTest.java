@@ -0,0 +1,171 @@
+package com.commerce.product.service;
+
+import com.commerce.global.common.exception.BadRequestException;
+import com.commerce.product.domain.ItemRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class StockServiceImplTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private ItemStockShardServiceImpl itemStockShardServiceImpl;
+
+    @Mock
+    private ItemSnapshotCache itemSnapshotCache;
+
+    @Mock
+    private StockSequencer stockSequencer;
+
+    @Mock
+    private StockReservationServiceImpl stockReservationServiceImpl;
+
+    @InjectMocks
+    private StockServiceImpl stockServiceImpl;
+
+    @Test
+    @DisplayName("재고 예약 시 샤드 모드 item 과 순차 처리 대상 item 은 예약하지 않는다.")
+    void reserveExceptShardedAndSequencedItems() {
+        // given
+        given(stockReservationServiceImpl.isEnabled()).willReturn(true);
+        given(itemStockShardServiceImpl.isSharded(1L)).willReturn(true);
+        given(stockSequencer.isSequenced(2L)).willReturn(true);
+
+        // when
+        stockServiceImpl.reserve(10L, new TreeMap<>(Map.of(1L, 1, 2L, 2, 3L, 3)));
+
+        // then
+        verify(stockReservationServiceImpl, times(1)).reserve(10L, Map.of(3L, 3));
+    }
+
+    @Test
+    @DisplayName("재고 차감 시 순차 처리 대상 item 은 StockSequencer 로 재고를 차감한다.")
+    void subtractSequencedItemBySequencer() {
+        // given
+        given(stockSequencer.isSequenced(1L)).willReturn(true);
+        given(stockSequencer.subtractStocks(anyMap())).willReturn(List.of());
+        given(itemRepository.subtractStocks(anyMap())).willReturn(List.of());
+
+        // when
+        stockServiceImpl.subtract(1L, new TreeMap<>(Map.of(1L, 5, 2L, 3)));
+
+        // then
+        verify(stockSequencer, times(1)).subtractStocks(Map.of(1L, 5));
+        verify(itemRepository, times(1)).subtractStocks(Map.of(2L, 3));
+    }
+
+    @Test
+    @DisplayName("재고 차감 시 샤드 모드 item 은 재고 샤드에서 재고를 차감한다.")
+    void subtractShardedItemByShard() {
+        // given
+        given(itemStockShardServiceImpl.isSharded(1L)).willReturn(true);
+        given(itemStockShardServiceImpl.subtractStocks(anyMap())).willReturn(List.of());
+        given(itemRepository.subtractStocks(anyMap())).willReturn(List.of());
+
+        // when
+        stockServiceImpl.subtract(1L, new TreeMap<>(Map.of(1L, 5, 2L, 3)));
+
+        // then
+        verify(itemStockShardServiceImpl, times(1)).subtractStocks(Map.of(1L, 5));
+        verify(itemRepository, times(1)).subtractStocks(Map.of(2L, 3));
+        verify(stockSequencer, never()).isSequenced(1L);
+    }
+
+    @Test
+    @DisplayName("재고 차감 시 예약된 재고는 차감으로 전환하고 나머지 수량만 차감한다.")
+    void subtractConvertReservedStocks() {
+        // given
+        given(stockReservationServiceImpl.convert(1L)).willReturn(Map.of(1L, 5, 2L, 1));
+        given(itemRepository.subtractStocks(anyMap())).willReturn(List.of());
+
+        // when
+        stockServiceImpl.subtract(1L, new TreeMap<>(Map.of(1L, 5, 2L, 3)));
+
+        // then
+        verify(itemRepository, times(1)).subtractStocks(Map.of(2L, 2));
+    }
+
+    @Test
+    @DisplayName("재고 차감에 실패한 item 이 있으면 예외를 던진다.")
+    void subtractFailedThrow() {
+        // given
+        given(itemRepository.subtractStocks(anyMap())).willReturn(List.of(1L));
+
+        // when, then
+        assertThatThrownBy(() -> stockServiceImpl.subtract(1L, Map.of(1L, 5)))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("재고가 부족합니다.");
+    }
+
+    @Test
+    @DisplayName("여러 주문의 재고 차감 시 전체 주문의 차감 수량을 item 별로 합산하여 한번에 차감한다.")
+    void subtractAllOnce() {
+        // given
+        given(itemRepository.subtractStocks(Map.of(1L, 5, 2L, 1))).willReturn(List.of());
+
+        // when
+        List<Long> failedOrderIds = stockServiceImpl.subtractAll(orderStockQuantities(
+                Map.of(1L, 2), Map.of(1L, 3, 2L, 1)));
+
+        // then
+        assertThat(failedOrderIds).isEmpty();
+        verify(itemRepository, times(1)).subtractStocks(anyMap());
+    }
+
+    @Test
+    @DisplayName("여러 주문의 재고 차감 시 재고가 부족한 item 을 포함한 주문만 그 item 을 복구 없이 다시 차감하고, 다시 차감하지 못한 주문의 나머지 item 만 복구한다.")
+    void subtractAllRetryShortageOrders() {
+        // given
+        given(itemRepository.subtractStocks(Map.of(1L, 6, 2L, 1))).willReturn(List.of(1L));
+        given(itemRepository.subtractStocks(Map.of(1L, 3))).willReturn(List.of(), List.of(1L));
+        given(itemRepository.addStocks(Map.of(2L, 1))).willReturn(1L);
+
+        // when
+        List<Long> failedOrderIds = stockServiceImpl.subtractAll(orderStockQuantities(
+                Map.of(1L, 3), Map.of(1L, 3, 2L, 1)));
+
+        // then
+        assertThat(failedOrderIds).containsExactly(2L);
+        verify(itemRepository, times(3)).subtractStocks(anyMap());
+        verify(itemRepository, times(1)).addStocks(anyMap());
+    }
+
+    @Test
+    @DisplayName("재고 복구 시 재고를 복구할 item 이 없으면 예외를 던진다.")
+    void addStocksItemNotFoundThrow() {
+        // given
+        given(itemRepository.addStocks(anyMap())).willReturn(0L);
+
+        // when, then
+        assertThatThrownBy(() -> stockServiceImpl.addStocks(Map.of(1L, 5))).isInstanceOf(BadRequestException.class)
+                .hasMessage("재고 상품이 존재하지 않습니다.");
+    }
+
+    @SafeVarargs
+    private static Map<Long, Map<Long, Integer>> orderStockQuantities(Map<Long, Integer>... stockQuantities) {
+        Map<Long, Map<Long, Integer>> orderStockQuantities = new TreeMap<>();
+        for (int i = 0; i < stockQuantities.length; i++) {
+            orderStockQuantities.put(i + 1L, stockQuantities[i]);
+        }
+        return orderStockQuantities;
+    }
+}